@@ -0,0 +1,272 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.rotation.SuperRotationSystem;
+
+/**
+ * The parts of a {@link Board} that the candidate engines share: the background in a {@link RowStore},
+ * the incremental {@link BoardFeatures}, the {@link Score}, spawning, rotation with Super Rotation
+ * System kicks, merging, clearing and garbage rows. An engine only decides how the falling brick
+ * is tested against the background and how it moves. The reference {@link SimpleBoard} does not
+ * extend this class, so a mistake here shows up as a divergence in the fuzzer.
+ */
+public abstract class AbstractBoard implements Board {
+
+    private static final int SPAWN_X = 4;
+    private static final int SPAWN_Y = 1;
+
+    /** The number of rows of the board. */
+    protected final int rows;
+    /** The number of columns of the board. */
+    protected final int columns;
+    /** The current brick and its rotation state. */
+    protected final BrickRotator brickRotator = new BrickRotator();
+    /** The background cells and their row masks. */
+    protected final RowStore rowStore;
+    /** The live view of {@link #rowStore}, indexed [row][column]. */
+    protected final int[][] currentGameMatrix;
+    /** The column of the current brick's top left corner. */
+    protected int x;
+    /** The row of the current brick's top left corner. */
+    protected int y;
+
+    private BrickGenerator brickGenerator;
+    private final BoardFeatures features;
+    private final Score score = new Score();
+
+    /**
+     * Constructs an empty board.
+     *
+     * @param rows           the number of rows
+     * @param columns        the number of columns
+     * @param brickGenerator the brick generator to use
+     */
+    protected AbstractBoard(int rows, int columns, BrickGenerator brickGenerator) {
+        this.rows = rows;
+        this.columns = columns;
+        this.brickGenerator = brickGenerator;
+        rowStore = new RowStore(rows, columns);
+        currentGameMatrix = rowStore.view();
+        features = new BoardFeatures(rowStore);
+    }
+
+    /**
+     * Checks whether a rotation state of the current brick at a position leaves the board
+     * or overlaps a filled cell of the background.
+     *
+     * @param rotation the index of the rotation state
+     * @param left     the column of the brick's top left corner
+     * @param top      the row of the brick's top left corner
+     * @return true if the brick does not fit there
+     */
+    protected abstract boolean collides(int rotation, int left, int top);
+
+    /**
+     * Rotates the current brick counterclockwise.
+     *
+     * @return true if the brick was able to rotate, false if it couldn't rotate (collision or boundary)
+     */
+    @Override
+    public boolean rotateLeftBrick() {
+        return rotateBrick(-1);
+    }
+
+    /**
+     * Rotates the current brick clockwise.
+     *
+     * @return true if the brick was able to rotate, false if it couldn't rotate (collision or boundary)
+     */
+    @Override
+    public boolean rotateRightBrick() {
+        return rotateBrick(1);
+    }
+
+    /**
+     * Rotates the current brick using the Super Rotation System, trying each wall kick
+     * of the rotation in order until one fits.
+     *
+     * @param direction 1 for clockwise, -1 for counterclockwise
+     * @return true if the brick was able to rotate
+     */
+    private boolean rotateBrick(int direction) {
+        int from = brickRotator.getCurrentShapeIndex();
+        int to = brickRotator.getRotatedIndex(direction);
+        int piece = brickRotator.getPiece();
+        int kicks = SuperRotationSystem.getKickCount(piece, from, to);
+        for (int k = 0; k < kicks; k++) {
+            int kickedX = x + SuperRotationSystem.getKickX(piece, from, to, k);
+            int kickedY = y + SuperRotationSystem.getKickY(piece, from, to, k);
+            if (!collides(to, kickedX, kickedY)) {
+                x = kickedX;
+                y = kickedY;
+                brickRotator.setCurrentShape(to);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates a new brick at the top of the board.
+     *
+     * @return true if there is a conflict (game over), false if the brick was created successfully
+     */
+    @Override
+    public boolean createNewBrick() {
+        Brick currentBrick = brickGenerator.getBrick();
+        brickRotator.setBrick(currentBrick);
+        x = SPAWN_X;
+        y = SPAWN_Y;
+        return collides(brickRotator.getCurrentShapeIndex(), x, y);
+    }
+
+    /**
+     * Drops the current brick to the bottom of the board in one move.
+     *
+     * @return true when the operation is complete
+     */
+    @Override
+    public boolean dropBrickToBottom() {
+        while (moveBrickDown()) {
+            // keep falling
+        }
+        return true;
+    }
+
+    /**
+     * Gets the current state of the game board matrix. This is the live view of the row store,
+     * so the same array is returned for the whole game.
+     *
+     * @return a 2D array representing the current state of the board
+     */
+    @Override
+    public int[][] getBoardMatrix() {
+        return currentGameMatrix;
+    }
+
+    /**
+     * Gets the view data for the current brick.
+     *
+     * @return ViewData object containing information about the current brick's position and shape
+     */
+    @Override
+    public ViewData getViewData() {
+        return new ViewData(brickRotator.getCurrentShape(), x, y, brickGenerator.getNextBrick().getShapeMatrix().get(0),
+                brickRotator.getCurrentShapeIndex());
+    }
+
+    /**
+     * Merges the current brick into the background matrix.
+     */
+    @Override
+    public void mergeBrickToBackground() {
+        int[][] shape = brickRotator.getCurrentShape();
+        rowStore.merge(shape, x, y);
+        features.onMerge(shape, x, y);
+    }
+
+    /**
+     * Checks for and removes completed rows from the board. Full rows are found from their masks.
+     *
+     * @return ClearRow object containing information about the cleared rows and score bonus
+     */
+    @Override
+    public ClearRow clearRows() {
+        features.beforeClear();
+        int linesRemoved = rowStore.clearFullRows();
+        return new ClearRow(linesRemoved, currentGameMatrix, MatrixOperations.getScoreBonus(linesRemoved));
+    }
+
+    /**
+     * Pushes a garbage row in from the bottom of the board.
+     * If the rising stack overlaps the current brick, the brick is pushed up with it.
+     *
+     * @param holeColumn the column left empty in the garbage row
+     * @return true if the stack was pushed out of the top of the board (game over)
+     */
+    @Override
+    public boolean addGarbageRow(int holeColumn) {
+        boolean toppedOut = rowStore.pushRow(SimpleBoard.GARBAGE_CELL, holeColumn);
+        features.onGarbage(holeColumn);
+        if (collides(brickRotator.getCurrentShapeIndex(), x, y)) {
+            if (y <= 0) {
+                return true;
+            }
+            y--;
+        }
+        return toppedOut;
+    }
+
+    /**
+     * Gets the board features, kept up to date by merges, clears and garbage rows.
+     *
+     * @return the live features of this board
+     */
+    @Override
+    public BoardFeatures getFeatures() {
+        return features;
+    }
+
+    /**
+     * Gets the current score object.
+     *
+     * @return the Score object for this board
+     */
+    @Override
+    public Score getScore() {
+        return score;
+    }
+
+    /**
+     * Resets the board for a new game with the current brick generator.
+     */
+    @Override
+    public void newGame() {
+        rowStore.clear();
+        features.rebuild();
+        score.reset();
+        createNewBrick();
+    }
+
+    /**
+     * Resets the board for a new game using a specific brick generator.
+     *
+     * @param brickGenerator the brick generator to use for this game and the following ones
+     */
+    @Override
+    public void newGame(BrickGenerator brickGenerator) {
+        this.brickGenerator = brickGenerator;
+        newGame();
+    }
+
+    /**
+     * Replaces the background with the given cells, for example the starting board of a puzzle.
+     *
+     * @param background the cells, indexed [row][column] and the same size as the board
+     */
+    @Override
+    public void loadBackground(int[][] background) {
+        rowStore.clear();
+        for (int r = 0; r < background.length; r++) {
+            for (int c = 0; c < background[r].length; c++) {
+                rowStore.set(r, c, background[r][c]);
+            }
+        }
+        features.rebuild();
+    }
+
+    /**
+     * Puts the current brick at a given rotation state and position without checking for collisions.
+     *
+     * @param rotation the index of the rotation state
+     * @param x        the column of the brick's top left corner
+     * @param y        the row of the brick's top left corner
+     */
+    @Override
+    public void placeBrick(int rotation, int x, int y) {
+        brickRotator.setCurrentShape(rotation);
+        this.x = x;
+        this.y = y;
+    }
+}
@@ -0,0 +1,113 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.BrickShapes;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+
+/**
+ * Board implementation that tests the falling brick against the row bitmasks of the background.
+ * A collision check is one shift and mask test per shape row, using the precomputed masks of
+ * {@link BrickShapes}, and moves neither copy the board nor allocate. The background, the features
+ * and the rules come from {@link AbstractBoard}. {@link SimpleBoard} keeps its own copy of the rules,
+ * so {@link com.comp2042.conformance.BoardFuzzer} checks this engine against an independent reference.
+ */
+public class BitmaskBoard extends AbstractBoard {
+
+    private final int fullMask;
+
+    /**
+     * Constructs a new BitmaskBoard using a RandomBrickGenerator.
+     *
+     * @param rows    the number of rows
+     * @param columns the number of columns
+     */
+    public BitmaskBoard(int rows, int columns) {
+        this(rows, columns, new RandomBrickGenerator());
+    }
+
+    /**
+     * Constructs a new BitmaskBoard.
+     *
+     * @param rows           the number of rows
+     * @param columns        the number of columns
+     * @param brickGenerator the brick generator to use
+     */
+    public BitmaskBoard(int rows, int columns, BrickGenerator brickGenerator) {
+        super(rows, columns, brickGenerator);
+        this.fullMask = (1 << columns) - 1;
+    }
+
+    /**
+     * Checks whether a rotation state of the current brick at a position leaves the board
+     * or overlaps a filled cell, exactly like {@link MatrixOperations#intersect}.
+     */
+    @Override
+    protected boolean collides(int rotation, int left, int top) {
+        int piece = brickRotator.getPiece();
+        for (int j = 0; j < BrickShapes.SIZE; j++) {
+            int shapeRow = BrickShapes.getRowMask(piece, rotation, j);
+            if (shapeRow == 0) {
+                continue;
+            }
+            int row = top + j;
+            if (row < 0 || row >= rows || left >= columns || left <= -BrickShapes.SIZE) {
+                return true;
+            }
+            int placed;
+            if (left >= 0) {
+                placed = shapeRow << left;
+            } else if ((shapeRow & ((1 << -left) - 1)) != 0) {
+                return true;
+            } else {
+                placed = shapeRow >>> -left;
+            }
+            if ((placed & ~fullMask) != 0 || (placed & rowStore.getRowMask(row)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the brick by an offset if the mask test allows it; only the coordinates change.
+     */
+    private boolean move(int dx, int dy) {
+        if (collides(brickRotator.getCurrentShapeIndex(), x + dx, y + dy)) {
+            return false;
+        }
+        x += dx;
+        y += dy;
+        return true;
+    }
+
+    /**
+     * Moves the current brick down one position. The move is tested against the row masks and
+     * only updates the brick's coordinates, so it neither copies the board nor allocates.
+     *
+     * @return true if the brick was able to move, false if it couldn't move (collision or boundary)
+     */
+    @Override
+    public boolean moveBrickDown() {
+        return move(0, 1);
+    }
+
+    /**
+     * Moves the current brick left one position, without copying the board.
+     *
+     * @return true if the brick was able to move, false if it couldn't move (collision or boundary)
+     */
+    @Override
+    public boolean moveBrickLeft() {
+        return move(-1, 0);
+    }
+
+    /**
+     * Moves the current brick right one position, without copying the board.
+     *
+     * @return true if the brick was able to move, false if it couldn't move (collision or boundary)
+     */
+    @Override
+    public boolean moveBrickRight() {
+        return move(1, 0);
+    }
+}
@@ -37,6 +37,13 @@ public interface Board {
      */
     boolean rotateLeftBrick();
 
+    /**
+     * Rotates the current brick clockwise.
+     * 
+     * @return true if the brick was able to rotate, false if it couldn't rotate (collision or boundary)
+     */
+    boolean rotateRightBrick();
+
     /**
      * Creates a new brick at the top of the board.
      * 
@@ -70,6 +77,22 @@ public interface Board {
      */
     ClearRow clearRows();
 
+    /**
+     * Pushes a garbage row in from the bottom of the board, moving the stack up by one row.
+     * 
+     * @param holeColumn the column left empty in the garbage row
+     * @return true if the stack was pushed out of the top of the board (game over)
+     */
+    boolean addGarbageRow(int holeColumn);
+
+    /**
+     * Gets the features of the background (heights, holes, wells, bumpiness, row transitions).
+     * The returned object is read-only for callers and is updated in place as the board changes.
+     * 
+     * @return the live board features
+     */
+    BoardFeatures getFeatures();
+
     /**
      * Gets the current score object.
      * 
@@ -88,6 +111,24 @@ public interface Board {
      * @param brickGenerator the brick generator to use for this game
      */
     void newGame(BrickGenerator brickGenerator);
+
+    /**
+     * Replaces the background with the given cells, for example the starting board of a puzzle.
+     * The current brick is left where it is.
+     *
+     * @param background the cells, indexed [row][column] and the same size as the board
+     */
+    void loadBackground(int[][] background);
+    
+    /**
+     * Puts the current brick at a given rotation state and position without checking for collisions,
+     * for example to restore a saved game.
+     *
+     * @param rotation the index of the rotation state
+     * @param x        the column of the brick's top left corner
+     * @param y        the row of the brick's top left corner
+     */
+    void placeBrick(int rotation, int x, int y);
     
     /**
      * Drops the current brick to the bottom of the board in one move.
@@ -0,0 +1,49 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.BrickGenerator;
+
+import java.util.Locale;
+
+/**
+ * The interchangeable {@link Board} implementations. {@link #SIMPLE} is the reference; every other
+ * engine has to match it step for step, which {@link com.comp2042.conformance.BoardFuzzer} checks.
+ */
+public enum BoardEngine {
+
+    /** The reference engine, {@link SimpleBoard}. */
+    SIMPLE {
+        @Override
+        public Board create(int rows, int columns, BrickGenerator brickGenerator) {
+            return new SimpleBoard(rows, columns, brickGenerator);
+        }
+    },
+
+    /** Row bitmask collision checks, {@link BitmaskBoard}. */
+    BITMASK {
+        @Override
+        public Board create(int rows, int columns, BrickGenerator brickGenerator) {
+            return new BitmaskBoard(rows, columns, brickGenerator);
+        }
+    };
+
+    /**
+     * Creates a board of this engine.
+     *
+     * @param rows           the number of rows
+     * @param columns        the number of columns
+     * @param brickGenerator the brick generator to use
+     * @return the new board, with no brick spawned yet
+     */
+    public abstract Board create(int rows, int columns, BrickGenerator brickGenerator);
+
+    /**
+     * Looks up an engine by name, ignoring case.
+     *
+     * @param name the engine name, for example "simple" or "bitmask"
+     * @return the engine
+     * @throws IllegalArgumentException if there is no engine of that name
+     */
+    public static BoardEngine fromName(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,400 @@
+package com.comp2042;
+
+/**
+ * Board features used by bots, hints and analytics, kept up to date as bricks merge
+ * and rows clear instead of being recomputed from the whole matrix.
+ * Column tops and holes change only in the columns a brick touches, bumpiness and wells
+ * are adjusted around changed columns, and row transitions are recomputed only for changed
+ * rows from their {@link RowStore} bitmasks. {@link #evaluate(int[][], int, int, int[])}
+ * scores a candidate placement in time proportional to the brick, without touching the board.
+ */
+public final class BoardFeatures {
+
+    /** Sum of the column heights. */
+    public static final int AGGREGATE_HEIGHT = 0;
+    /** Height of the highest column. */
+    public static final int MAX_HEIGHT = 1;
+    /** Empty cells with a filled cell somewhere above them. */
+    public static final int HOLES = 2;
+    /** Sum of the height differences between neighbouring columns. */
+    public static final int BUMPINESS = 3;
+    /** Sum of the well depths, a well being a column lower than both neighbours (walls count as high). */
+    public static final int WELLS = 4;
+    /** Filled/empty changes along each row, walls counting as filled. */
+    public static final int ROW_TRANSITIONS = 5;
+    /** Rows a placement completes; always 0 for the board itself. */
+    public static final int COMPLETED_LINES = 6;
+    /** Length of a feature vector. */
+    public static final int SIZE = 7;
+
+    private final RowStore store;
+    private final int rows;
+    private final int columns;
+    private final int fullMask;
+    private final int[] top;
+    private final int[] columnHoles;
+    private final int[] rowTransitions;
+    private final int[] cleared;
+    private final int[] scratchTop = new int[4];
+    private int holes;
+    private int bumpiness;
+    private int wells;
+    private int transitions;
+    private int aggregateHeight;
+    // Lowest column top, the row of the highest filled cell
+    private int highestTop;
+
+    /**
+     * Constructs the features of a row store and computes them once.
+     *
+     * @param store the row store the features describe
+     */
+    public BoardFeatures(RowStore store) {
+        this.store = store;
+        this.rows = store.getRows();
+        this.columns = store.getColumns();
+        this.fullMask = (1 << columns) - 1;
+        top = new int[columns];
+        columnHoles = new int[columns];
+        rowTransitions = new int[rows];
+        cleared = new int[rows];
+        rebuild();
+    }
+
+    public int getColumnHeight(int column) {
+        return rows - top[column];
+    }
+
+    public int getColumnHoles(int column) {
+        return columnHoles[column];
+    }
+
+    public int getWellDepth(int column) {
+        return wellDepth(column, -1, 0);
+    }
+
+    public int getHoles() {
+        return holes;
+    }
+
+    public int getBumpiness() {
+        return bumpiness;
+    }
+
+    public int getWells() {
+        return wells;
+    }
+
+    public int getRowTransitions() {
+        return transitions;
+    }
+
+    public int getAggregateHeight() {
+        return aggregateHeight;
+    }
+
+    public int getMaxHeight() {
+        return rows - highestTop;
+    }
+
+    /**
+     * Copies the current features into a vector.
+     *
+     * @param out an array of at least {@link #SIZE} elements, indexed by the feature constants
+     */
+    public void getVector(int[] out) {
+        out[AGGREGATE_HEIGHT] = aggregateHeight;
+        out[MAX_HEIGHT] = getMaxHeight();
+        out[HOLES] = holes;
+        out[BUMPINESS] = bumpiness;
+        out[WELLS] = wells;
+        out[ROW_TRANSITIONS] = transitions;
+        out[COMPLETED_LINES] = 0;
+    }
+
+    /**
+     * Computes the features the board would have after merging a brick, before any rows are cleared.
+     * The placement must not intersect the board. Only the columns and rows the brick covers, and
+     * their neighbouring columns, are read; a merge only raises columns, so the highest column is
+     * either the current one or one the brick covers.
+     *
+     * @param shape the brick shape, indexed [row][column]
+     * @param x     the column of the shape's left edge
+     * @param y     the row of the shape's top edge
+     * @param out   an array of at least {@link #SIZE} elements receiving the features
+     */
+    public void evaluate(int[][] shape, int x, int y, int[] out) {
+        int holeDelta = 0;
+        for (int i = 0; i < shape.length; i++) {
+            int c = x + i;
+            scratchTop[i] = c >= 0 && c < columns ? top[c] : rows;
+            for (int j = shape.length - 1; j >= 0; j--) {
+                if (shape[j][i] == 0) {
+                    continue;
+                }
+                int r = y + j;
+                if (r > scratchTop[i]) {
+                    holeDelta--;
+                } else {
+                    holeDelta += scratchTop[i] - r - 1;
+                    scratchTop[i] = r;
+                }
+            }
+        }
+        int heightDelta = 0;
+        int maxHeight = getMaxHeight();
+        for (int i = 0; i < shape.length; i++) {
+            int c = x + i;
+            if (c >= 0 && c < columns) {
+                maxHeight = Math.max(maxHeight, rows - scratchTop[i]);
+                heightDelta += top[c] - scratchTop[i];
+            }
+        }
+        int lo = Math.max(0, x - 1);
+        int hi = Math.min(columns - 1, x + shape.length);
+        int bumpinessDelta = 0;
+        int wellDelta = 0;
+        for (int c = lo; c <= hi; c++) {
+            wellDelta += wellDepth(c, x, shape.length) - wellDepth(c, -1, 0);
+            if (c < hi) {
+                bumpinessDelta += Math.abs(heightAt(c, x, shape.length) - heightAt(c + 1, x, shape.length))
+                        - Math.abs(heightAt(c, -1, 0) - heightAt(c + 1, -1, 0));
+            }
+        }
+        int transitionDelta = 0;
+        int completed = 0;
+        for (int j = 0; j < shape.length; j++) {
+            int r = y + j;
+            int bits = 0;
+            for (int i = 0; i < shape.length; i++) {
+                if (shape[j][i] != 0) {
+                    bits |= 1 << (x + i);
+                }
+            }
+            if (bits == 0) {
+                continue;
+            }
+            int mask = store.getRowMask(r) | bits;
+            transitionDelta += transitions(mask) - rowTransitions[r];
+            if (mask == fullMask) {
+                completed++;
+            }
+        }
+        out[AGGREGATE_HEIGHT] = aggregateHeight + heightDelta;
+        out[MAX_HEIGHT] = maxHeight;
+        out[HOLES] = holes + holeDelta;
+        out[BUMPINESS] = bumpiness + bumpinessDelta;
+        out[WELLS] = wells + wellDelta;
+        out[ROW_TRANSITIONS] = transitions + transitionDelta;
+        out[COMPLETED_LINES] = completed;
+    }
+
+    /**
+     * Updates the features after a brick was merged into the row store.
+     *
+     * @param shape the merged brick shape, indexed [row][column]
+     * @param x     the column of the shape's left edge
+     * @param y     the row of the shape's top edge
+     */
+    void onMerge(int[][] shape, int x, int y) {
+        for (int i = 0; i < shape.length; i++) {
+            int c = x + i;
+            for (int j = shape.length - 1; j >= 0; j--) {
+                if (shape[j][i] == 0) {
+                    continue;
+                }
+                int r = y + j;
+                if (r > top[c]) {
+                    // The brick was tucked into a hole
+                    columnHoles[c]--;
+                    holes--;
+                } else {
+                    int gap = top[c] - r - 1;
+                    columnHoles[c] += gap;
+                    holes += gap;
+                    setTop(c, r);
+                }
+            }
+        }
+        for (int j = 0; j < shape.length; j++) {
+            int r = y + j;
+            if (r >= 0 && r < rows) {
+                updateRowTransitions(r);
+            }
+        }
+    }
+
+    /**
+     * Updates the features for the full rows about to be removed.
+     * Must be called before {@link RowStore#clearFullRows()}.
+     */
+    void beforeClear() {
+        int count = 0;
+        for (int r = 0; r < rows; r++) {
+            if (store.isRowFull(r)) {
+                cleared[count++] = r;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        int highest = cleared[0];
+        for (int c = 0; c < columns; c++) {
+            if (top[c] < highest) {
+                setTop(c, top[c] + count);
+                continue;
+            }
+            // The column top is being cleared: find the next filled cell below it
+            int newTop = rows;
+            int skipped = 0;
+            int clearedBelow = count;
+            for (int r = highest; r < rows; r++) {
+                if (store.isRowFull(r)) {
+                    clearedBelow--;
+                } else if (store.get(r, c) != 0) {
+                    newTop = r + clearedBelow;
+                    break;
+                } else {
+                    skipped++;
+                }
+            }
+            columnHoles[c] -= skipped;
+            holes -= skipped;
+            setTop(c, newTop);
+        }
+        // Clearing lowers columns, which setTop does not follow
+        updateHighestTop();
+        // Row transitions fall with their rows; the new top rows are empty
+        int write = rows - 1;
+        for (int r = rows - 1; r >= 0; r--) {
+            if (store.isRowFull(r)) {
+                transitions -= rowTransitions[r];
+            } else {
+                rowTransitions[write--] = rowTransitions[r];
+            }
+        }
+        for (int r = write; r >= 0; r--) {
+            rowTransitions[r] = transitions(0);
+            transitions += rowTransitions[r];
+        }
+    }
+
+    /**
+     * Updates the features after a garbage row was pushed in from the bottom of the row store.
+     *
+     * @param holeColumn the empty column of the garbage row
+     */
+    void onGarbage(int holeColumn) {
+        for (int c = 0; c < columns; c++) {
+            if (top[c] == 0) {
+                // The stack was pushed out of the top, start over
+                rebuild();
+                return;
+            }
+        }
+        for (int c = 0; c < columns; c++) {
+            if (c == holeColumn) {
+                if (top[c] < rows) {
+                    columnHoles[c]++;
+                    holes++;
+                    setTop(c, top[c] - 1);
+                }
+            } else {
+                setTop(c, top[c] == rows ? rows - 1 : top[c] - 1);
+            }
+        }
+        transitions -= rowTransitions[0];
+        System.arraycopy(rowTransitions, 1, rowTransitions, 0, rows - 1);
+        rowTransitions[rows - 1] = transitions(store.getRowMask(rows - 1));
+        transitions += rowTransitions[rows - 1];
+    }
+
+    /**
+     * Recomputes every feature from the row store.
+     */
+    void rebuild() {
+        holes = 0;
+        transitions = 0;
+        for (int c = 0; c < columns; c++) {
+            top[c] = rows;
+            columnHoles[c] = 0;
+            for (int r = 0; r < rows; r++) {
+                if (store.get(r, c) != 0) {
+                    if (top[c] == rows) {
+                        top[c] = r;
+                    }
+                } else if (top[c] != rows) {
+                    columnHoles[c]++;
+                }
+            }
+            holes += columnHoles[c];
+        }
+        for (int r = 0; r < rows; r++) {
+            rowTransitions[r] = transitions(store.getRowMask(r));
+            transitions += rowTransitions[r];
+        }
+        updateHighestTop();
+        aggregateHeight = 0;
+        bumpiness = 0;
+        wells = 0;
+        for (int c = 0; c < columns; c++) {
+            aggregateHeight += rows - top[c];
+            wells += wellDepth(c, -1, 0);
+            if (c + 1 < columns) {
+                bumpiness += Math.abs(top[c] - top[c + 1]);
+            }
+        }
+    }
+
+    private void setTop(int column, int newTop) {
+        int lo = Math.max(0, column - 1);
+        int hi = Math.min(columns - 1, column + 1);
+        for (int c = lo; c <= hi; c++) {
+            wells -= wellDepth(c, -1, 0);
+        }
+        for (int c = lo; c < hi; c++) {
+            bumpiness -= Math.abs(top[c] - top[c + 1]);
+        }
+        aggregateHeight += top[column] - newTop;
+        top[column] = newTop;
+        highestTop = Math.min(highestTop, newTop);
+        for (int c = lo; c <= hi; c++) {
+            wells += wellDepth(c, -1, 0);
+        }
+        for (int c = lo; c < hi; c++) {
+            bumpiness += Math.abs(top[c] - top[c + 1]);
+        }
+    }
+
+    private void updateHighestTop() {
+        highestTop = rows;
+        for (int c = 0; c < columns; c++) {
+            highestTop = Math.min(highestTop, top[c]);
+        }
+    }
+
+    private void updateRowTransitions(int row) {
+        transitions -= rowTransitions[row];
+        rowTransitions[row] = transitions(store.getRowMask(row));
+        transitions += rowTransitions[row];
+    }
+
+    /**
+     * Gets a column height, optionally as it would be with the candidate tops in scratchTop.
+     */
+    private int heightAt(int column, int x, int width) {
+        int i = column - x;
+        return rows - (i >= 0 && i < width ? scratchTop[i] : top[column]);
+    }
+
+    private int wellDepth(int column, int x, int width) {
+        int left = column > 0 ? heightAt(column - 1, x, width) : Integer.MAX_VALUE;
+        int right = column + 1 < columns ? heightAt(column + 1, x, width) : Integer.MAX_VALUE;
+        return Math.max(0, Math.min(left, right) - heightAt(column, x, width));
+    }
+
+    private int transitions(int mask) {
+        int extended = mask << 1 | 1 | 1 << (columns + 1);
+        return Integer.bitCount((extended ^ extended >>> 1) & ((1 << (columns + 1)) - 1));
+    }
+}
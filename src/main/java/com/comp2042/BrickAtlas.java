@@ -0,0 +1,123 @@
+package com.comp2042;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.paint.Paint;
+
+/**
+ * Pre-rendered brick tiles, one rounded and shaded tile per cell colour, laid out side by side in one image.
+ * The tiles are rasterised once, at the brick size times the output scale of the screen so they stay sharp
+ * on HiDPI displays, from the colours of {@link GuiController#getFillColor(int)}.
+ * Rectangles fill with the cached {@link ImagePattern} of a colour, and canvases copy tiles straight
+ * out of the atlas image.
+ */
+public final class BrickAtlas {
+
+    private static final int COLORS = SimpleBoard.GARBAGE_CELL + 1;
+    private static final double ARC_RADIUS = 4.5;
+    private static final double BEVEL = 2;
+
+    private final double size;
+    private final int tilePixels;
+    private final WritableImage atlas;
+    private final Paint[] paints = new Paint[COLORS];
+
+    /**
+     * Renders the atlas.
+     *
+     * @param size  the size of a tile in layout pixels
+     * @param scale the output scale of the screen, 1 on standard displays
+     */
+    public BrickAtlas(double size, double scale) {
+        this.size = size;
+        tilePixels = (int) Math.ceil(size * Math.max(1, scale));
+        double pixelScale = tilePixels / size;
+        atlas = new WritableImage(tilePixels * COLORS, tilePixels);
+        PixelWriter writer = atlas.getPixelWriter();
+        paints[0] = Color.TRANSPARENT;
+        for (int color = 1; color < COLORS; color++) {
+            renderTile(writer, color, (Color) GuiController.getFillColor(color), pixelScale);
+            WritableImage tile = new WritableImage(atlas.getPixelReader(), color * tilePixels, 0, tilePixels, tilePixels);
+            paints[color] = new ImagePattern(tile);
+        }
+    }
+
+    /**
+     * Gets the cached paint of a cell colour.
+     *
+     * @param color the cell value
+     * @return the tile pattern, transparent for empty cells and white for unknown values
+     */
+    public Paint getPaint(int color) {
+        return color >= 0 && color < COLORS ? paints[color] : Color.WHITE;
+    }
+
+    public Image getImage() {
+        return atlas;
+    }
+
+    /**
+     * Copies the tile of a cell colour onto a canvas. Empty cells draw nothing.
+     *
+     * @param gc    the canvas graphics context
+     * @param color the cell value
+     * @param x     the left edge of the cell
+     * @param y     the top edge of the cell
+     */
+    public void drawTile(GraphicsContext gc, int color, double x, double y) {
+        if (color > 0 && color < COLORS) {
+            gc.drawImage(atlas, color * tilePixels, 0, tilePixels, tilePixels, x, y, size, size);
+        }
+    }
+
+    /**
+     * Rasterises one tile: a rounded square with anti-aliased corners, a vertical light falloff
+     * and a bevel that is lighter on the top and left edges and darker on the bottom and right.
+     */
+    private void renderTile(PixelWriter writer, int color, Color base, double pixelScale) {
+        double radius = ARC_RADIUS * pixelScale;
+        double bevel = BEVEL * pixelScale;
+        int left = color * tilePixels;
+        for (int py = 0; py < tilePixels; py++) {
+            for (int px = 0; px < tilePixels; px++) {
+                double cx = px + 0.5;
+                double cy = py + 0.5;
+                double coverage = Math.min(1, Math.max(0, 0.5 - roundedDistance(cx, cy, radius)));
+                if (coverage == 0) {
+                    writer.setArgb(left + px, py, 0);
+                    continue;
+                }
+                double light = 1.15 - 0.3 * cy / tilePixels;
+                if (cx < bevel || cy < bevel) {
+                    light += 0.25;
+                } else if (cx > tilePixels - bevel || cy > tilePixels - bevel) {
+                    light -= 0.3;
+                }
+                int argb = (int) Math.round(coverage * base.getOpacity() * 255) << 24
+                        | channel(base.getRed(), light) << 16
+                        | channel(base.getGreen(), light) << 8
+                        | channel(base.getBlue(), light);
+                writer.setArgb(left + px, py, argb);
+            }
+        }
+    }
+
+    /**
+     * Gets the signed distance from a point to the edge of the rounded tile, negative inside.
+     */
+    private double roundedDistance(double x, double y, double radius) {
+        double half = tilePixels / 2.0;
+        double qx = Math.abs(x - half) - (half - radius);
+        double qy = Math.abs(y - half) - (half - radius);
+        double outside = Math.hypot(Math.max(qx, 0), Math.max(qy, 0));
+        return outside + Math.min(Math.max(qx, qy), 0) - radius;
+    }
+
+    private static int channel(double value, double light) {
+        return (int) Math.round(Math.min(1, Math.max(0, value * light)) * 255);
+    }
+}
@@ -2,19 +2,47 @@ package com.comp2042;
 
 import com.comp2042.logic.bricks.Brick;
 
+import java.util.List;
+
+/**
+ * Holds the rotation states of the current brick.
+ * The shapes are copied once when a brick is set, so reading a rotation state never allocates.
+ */
 public class BrickRotator {
 
-    private Brick brick;
+    private int[][][] shapes;
+    private int piece;
     private int currentShape = 0;
 
-    public NextShapeInfo getNextShape() {
-        int nextShape = currentShape;
-        nextShape = (++nextShape) % brick.getShapeMatrix().size();
-        return new NextShapeInfo(brick.getShapeMatrix().get(nextShape), nextShape);
+    /**
+     * Gets the rotation state reached by turning the current brick.
+     *
+     * @param direction 1 for clockwise, -1 for counterclockwise
+     * @return the index of the rotation state
+     */
+    public int getRotatedIndex(int direction) {
+        return Math.floorMod(currentShape + direction, shapes.length);
+    }
+
+    public int[][] getShape(int index) {
+        return shapes[index];
     }
 
     public int[][] getCurrentShape() {
-        return brick.getShapeMatrix().get(currentShape);
+        return shapes[currentShape];
+    }
+
+    public int getCurrentShapeIndex() {
+        return currentShape;
+    }
+
+    /**
+     * Gets the piece of the current brick, which is the value of its cells.
+     *
+     * @return the piece cell value
+     */
+    public int getPiece() {
+        return piece;
     }
 
     public void setCurrentShape(int currentShape) {
@@ -22,7 +50,16 @@ public class BrickRotator {
     }
 
     public void setBrick(Brick brick) {
-        this.brick = brick;
+        List<int[][]> shapeMatrix = brick.getShapeMatrix();
+        shapes = shapeMatrix.toArray(new int[0][][]);
+        piece = 0;
+        for (int[] row : shapes[0]) {
+            for (int cell : row) {
+                if (cell != 0) {
+                    piece = cell;
+                }
+            }
+        }
         currentShape = 0;
     }
 
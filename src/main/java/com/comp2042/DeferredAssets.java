@@ -0,0 +1,47 @@
+package com.comp2042;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundImage;
+import javafx.scene.layout.BackgroundPosition;
+import javafx.scene.layout.BackgroundRepeat;
+import javafx.scene.layout.BackgroundSize;
+import javafx.scene.layout.Region;
+import javafx.scene.text.Font;
+
+/**
+ * Loads the assets the first frame does not need, the digital font and the window background,
+ * on a background thread once the window is showing. The labels use the default font and the
+ * window has no background image until they arrive; the font is switched on by adding the
+ * {@value #FONT_STYLE_CLASS} style class to the root, which the stylesheet keys the font family on.
+ */
+public final class DeferredAssets {
+
+    /** Style class added to the root once the digital font is loaded. */
+    public static final String FONT_STYLE_CLASS = "digitalFont";
+
+    private DeferredAssets() {
+        //We don't want to instantiate this utility class
+    }
+
+    /**
+     * Starts loading the deferred assets for a window.
+     *
+     * @param root the root of the window's scene
+     */
+    public static void load(Region root) {
+        Thread thread = new Thread(() -> {
+            Font.loadFont(DeferredAssets.class.getClassLoader().getResource("digital.ttf").toExternalForm(), 38);
+            Platform.runLater(() -> root.getStyleClass().add(FONT_STYLE_CLASS));
+            Image image = new Image(DeferredAssets.class.getClassLoader().getResource("background_image.png").toExternalForm());
+            if (!image.isError()) {
+                BackgroundImage background = new BackgroundImage(image, BackgroundRepeat.REPEAT, BackgroundRepeat.REPEAT,
+                        BackgroundPosition.DEFAULT, BackgroundSize.DEFAULT);
+                Platform.runLater(() -> root.setBackground(new Background(background)));
+            }
+        }, "asset-loader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
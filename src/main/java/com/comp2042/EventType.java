@@ -1,5 +1,5 @@
 package com.comp2042;
 
 public enum EventType {
-    DOWN, LEFT, RIGHT, ROTATE
+    DOWN, LEFT, RIGHT, ROTATE, ROTATE_RIGHT
 }
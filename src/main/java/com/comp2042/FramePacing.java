@@ -0,0 +1,106 @@
+package com.comp2042;
+
+import java.util.Arrays;
+
+/**
+ * Frame pacing statistics of the render loop. Every interval between pulses goes into a histogram of
+ * 0.1 ms buckets, so recording allocates nothing. The display's refresh period is taken to be the
+ * median interval, and an interval of one and a half periods or more counts the refreshes it spans
+ * beyond the first as missed vsyncs.
+ */
+public final class FramePacing {
+
+    private static final long BUCKET_NANOS = 100_000;
+    // Up to 100 ms; longer intervals share the last bucket
+    private static final int BUCKETS = 1000;
+
+    private final long[] histogram = new long[BUCKETS];
+    private long frames;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * Records the interval between two pulses.
+     *
+     * @param intervalNanos the interval in nanoseconds
+     */
+    public void record(long intervalNanos) {
+        histogram[(int) Math.min(BUCKETS - 1, intervalNanos / BUCKET_NANOS)]++;
+        frames++;
+        totalNanos += intervalNanos;
+        maxNanos = Math.max(maxNanos, intervalNanos);
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Gets the estimated refresh period, the median interval.
+     *
+     * @return the period in nanoseconds, or 0 before any interval is recorded
+     */
+    public long getPeriodNanos() {
+        return percentile(0.5);
+    }
+
+    /**
+     * Counts the refreshes that passed without a new frame.
+     *
+     * @return the missed vsyncs
+     */
+    public long getMissedVsyncs() {
+        long period = getPeriodNanos();
+        if (period == 0) {
+            return 0;
+        }
+        long missed = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            long interval = b * BUCKET_NANOS + BUCKET_NANOS / 2;
+            if (histogram[b] != 0 && interval * 2 >= period * 3) {
+                missed += histogram[b] * (Math.round((double) interval / period) - 1);
+            }
+        }
+        return missed;
+    }
+
+    /**
+     * Gets an interval percentile, to the middle of its 0.1 ms bucket.
+     *
+     * @param fraction the fraction of intervals at or below the result
+     * @return the interval in nanoseconds, or 0 before any interval is recorded
+     */
+    public long percentile(double fraction) {
+        long rank = (long) Math.ceil(frames * fraction);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += histogram[b];
+            if (seen >= rank && seen > 0) {
+                return b * BUCKET_NANOS + BUCKET_NANOS / 2;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Describes the intervals recorded since the last reset.
+     *
+     * @return a one-line report
+     */
+    public String getReport() {
+        long period = getPeriodNanos();
+        return String.format("frame pacing: %d frames in %.1f s, %.1f Hz, p50 %.2f ms, p99 %.2f ms, max %.2f ms, "
+                        + "%d missed vsyncs", frames, totalNanos / 1e9, period == 0 ? 0 : 1e9 / period,
+                period / 1e6, percentile(0.99) / 1e6, maxNanos / 1e6, getMissedVsyncs());
+    }
+
+    /**
+     * Forgets every recorded interval.
+     */
+    public void reset() {
+        Arrays.fill(histogram, 0);
+        frames = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+}
@@ -1,94 +1,375 @@
 package com.comp2042;
 
+import com.comp2042.checkpoint.Autosave;
+import com.comp2042.checkpoint.Checkpointer;
+import com.comp2042.checkpoint.GameSnapshot;
+import com.comp2042.checkpoint.ResumableGame;
+import com.comp2042.dataset.TrainingDataWriter;
+import com.comp2042.leaderboard.Leaderboard;
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
 import com.comp2042.logic.bricks.RelaxBrickGenerator;
+import com.comp2042.logic.bricks.ReplayableBrickGenerator;
+import com.comp2042.logic.bricks.SequenceBrickGenerator;
+import com.comp2042.logic.gravity.GravityModel;
+import com.comp2042.logic.gravity.GravityTable;
+import com.comp2042.logic.puzzle.Puzzle;
+import com.comp2042.logic.timing.TimerWheel;
+import com.comp2042.net.VersusConnection;
+import com.comp2042.net.VersusMatch;
+import com.comp2042.spectate.SpectatorStream;
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
 
 /**
  * GameController acts as the intermediary between the game logic (Board)
  * and the user interface (GuiController).
  * It handles user input events and updates the game state accordingly.
+ * All game timers (gravity, lock delay, entry delay, line clear delay, auto shift and
+ * survival garbage) run on a single {@link TimerWheel} advanced once per logic frame.
  */
 public class GameController implements InputEventListener {
 
-    private Board board = new SimpleBoard(25, 10);
+    private static final int GRAVITY_TIMER = 0;
+    private static final int LOCK_DELAY_TIMER = 1;
+    private static final int ENTRY_DELAY_TIMER = 2;
+    private static final int LINE_CLEAR_TIMER = 3;
+    private static final int AUTO_SHIFT_TIMER = 4;
+    private static final int GARBAGE_TIMER = 5;
+    private static final int TIMER_COUNT = 6;
+
+    private static final int LOCK_DELAY_FRAMES = 30;
+    private static final int MAX_LOCK_RESETS = 15;
+    private static final int ENTRY_DELAY_FRAMES = 6;
+    private static final int LINE_CLEAR_FRAMES = 12;
+    private static final int AUTO_SHIFT_DELAY_FRAMES = 10;
+    private static final int AUTO_REPEAT_FRAMES = 2;
+    private static final int GARBAGE_FRAMES = 300;
+    private static final int GARBAGE_FRAMES_PER_LEVEL = 60;
+    private static final int MIN_GARBAGE_FRAMES = 60;
+
+    private final Board board;
+    private final LongFunction<BrickGenerator> generators;
+    private final boolean replayable;
+    private ReplayableBrickGenerator dealer;
+    private final GravityModel gravity = new GravityModel(GravityTable.classic());
+    private final TimerWheel timers = new TimerWheel(TIMER_COUNT, 64, this::onTimer);
+    private final SpectatorStream spectators;
     private boolean gameOverReported = false;
 
+    private boolean brickActive;
+    private int lockResets;
+    private EventType shiftDirection;
+    private boolean brickChanged;
+    private ClearRow pendingClear;
+
+    private final VersusMatch versus;
+
+    private TrainingDataWriter trainingData;
+
+    private Leaderboard leaderboard;
+
+    private final Autosave autosave = new Autosave(new ResumableGame() {
+        @Override
+        public GuiController.GameMode getResumableMode() {
+            GuiController.GameMode mode = viewGuiController.getCurrentGameMode();
+            return gameOverReported || !replayable || mode == GuiController.GameMode.VERSUS ? null : mode;
+        }
+
+        @Override
+        public Board getBoard() {
+            return board;
+        }
+
+        @Override
+        public boolean isBrickActive() {
+            return brickActive;
+        }
+
+        @Override
+        public ReplayableBrickGenerator getDealer() {
+            return dealer;
+        }
+
+        @Override
+        public int getLines() {
+            return gravity.getLines();
+        }
+
+        @Override
+        public int getPuzzleIndex() {
+            return puzzleIndex;
+        }
+
+        @Override
+        public int getPuzzlePiecesLeft() {
+            return puzzlePiecesLeft;
+        }
+
+        @Override
+        public LongFunction<BrickGenerator> getGenerators(GuiController.GameMode mode, int index) {
+            if (!replayable || mode == GuiController.GameMode.VERSUS) {
+                return null;
+            }
+            boolean puzzle = mode == GuiController.GameMode.PUZZLE && loadPuzzles();
+            if (puzzle && index >= puzzles.size()) {
+                return null;
+            }
+            return generatorsFor(mode, puzzle, index);
+        }
+
+        @Override
+        public void onResumed(GameSnapshot snapshot, ReplayableBrickGenerator generator) {
+            resumed(snapshot, generator);
+        }
+    });
+
+    private List<Puzzle> puzzles;
+    private int puzzleIndex;
+    private boolean puzzleMode;
+    private int puzzlePiecesLeft;
+
     private final GuiController viewGuiController;
 
     /**
      * Constructs a new GameController with the specified GUI controller.
-     * 
+     *
      * @param c the GuiController to interact with
      */
     public GameController(GuiController c) {
+        this(c, BoardEngine.SIMPLE);
+    }
+
+    /**
+     * Constructs a new GameController playing on a board of the given engine.
+     *
+     * @param c      the GuiController to interact with
+     * @param engine the board implementation to play on
+     */
+    public GameController(GuiController c, BoardEngine engine) {
+        this(c, engine, RandomBrickGenerator::new);
+    }
+
+    /**
+     * Constructs a new GameController dealing bricks from a given generator, for example to replay
+     * the brick sequence of a recording. A new game keeps the generator in classic and challenge modes,
+     * and its games cannot be checkpointed since the generator cannot be rebuilt.
+     *
+     * @param c              the GuiController to interact with
+     * @param engine         the board implementation to play on
+     * @param brickGenerator the brick generator of the first game
+     */
+    public GameController(GuiController c, BoardEngine engine, BrickGenerator brickGenerator) {
+        this(c, engine, seed -> brickGenerator, false);
+    }
+
+    /**
+     * Constructs a new GameController whose classic, challenge and survival games are dealt by seeded
+     * generators, each game with a seed of its own.
+     *
+     * @param c          the GuiController to interact with
+     * @param engine     the board implementation to play on
+     * @param generators builds the brick generator for a seed; the same seed must give the same bricks
+     */
+    public GameController(GuiController c, BoardEngine engine, LongFunction<BrickGenerator> generators) {
+        this(c, engine, generators, true);
+    }
+
+    private GameController(GuiController c, BoardEngine engine, LongFunction<BrickGenerator> generators,
+                           boolean replayable) {
         viewGuiController = c;
+        versus = new VersusMatch(VersusConnection.DEFAULT_PORT, c::showOpponentStatus);
+        this.generators = generators;
+        this.replayable = replayable;
+        board = engine.create(25, 10, deal(generators));
+        spectators = new SpectatorStream(board);
         board.createNewBrick();
+        startBrick();
+        spectators.publishKeyframe();
         viewGuiController.setEventListener(this);
+        viewGuiController.bindSpectatorStream(spectators);
+        viewGuiController.bindGravity(gravity);
         viewGuiController.initGameView(board.getBoardMatrix(), board.getViewData());
         viewGuiController.bindScore(board.getScore().scoreProperty());
     }
 
+    /**
+     * Checks whether a brick is falling, as opposed to the game waiting out an entry or line clear delay
+     * or being over. Used by {@link GuiBenchmark} to send a placement's keys only once its brick is in play.
+     *
+     * @return true if input moves the current brick
+     */
+    boolean isBrickActive() {
+        return brickActive;
+    }
+
+    /**
+     * Sets the leaderboard finished games are recorded on, one board per game mode.
+     * Relax mode games are not recorded.
+     *
+     * @param leaderboard the leaderboard, or null to record nothing
+     */
+    public void setLeaderboard(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Sets where the game in progress is checkpointed, every couple of seconds of play and whenever
+     * {@link #checkpoint()} is called.
+     *
+     * @param checkpointer the checkpointer, or null to keep no checkpoint
+     */
+    public void setCheckpointer(Checkpointer checkpointer) {
+        autosave.setCheckpointer(checkpointer);
+    }
+
+    /**
+     * Starts recording every placement (board, bricks, position and score earned) to a training data file.
+     * Any recording already in progress is finished first.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be created
+     */
+    public void recordTrainingData(Path file) throws IOException {
+        stopRecording();
+        int[][] matrix = board.getBoardMatrix();
+        trainingData = TrainingDataWriter.open(file, matrix.length, matrix[0].length, TrainingDataWriter.DEFAULT_CHUNK_RECORDS);
+    }
+
+    /**
+     * Finishes the training data recording, if any, writing its last chunk and index.
+     */
+    public void stopRecording() {
+        if (trainingData != null) {
+            try {
+                trainingData.close();
+            } catch (IOException ignored) {
+                // Nothing more can be done with a recording that failed to finish
+            }
+            trainingData = null;
+        }
+    }
+
+    /**
+     * Advances all game timers by one frame.
+     *
+     * @return DownData describing what changed, or null if nothing visible changed
+     */
+    @Override
+    public DownData onTickEvent() {
+        brickChanged = false;
+        pendingClear = null;
+        versus.poll(timers.getFrame());
+        timers.advance();
+        autosave.onFrame(timers.getFrame());
+        spectators.onFrame();
+        if (brickChanged) {
+            spectators.publishPiece();
+        }
+        if (!brickChanged && pendingClear == null) {
+            return null;
+        }
+        return new DownData(pendingClear, board.getViewData());
+    }
+
+    /**
+     * Gets how far the brick has fallen towards its next gravity step, so the view can draw it moving
+     * smoothly between logic frames. Whether the row below is free is left to the caller.
+     *
+     * @param frameFraction the part of the current logic frame that has passed, from 0 to 1
+     * @return from 0 right after a step to nearly 1 right before the next, or 0 if no brick is falling
+     *         or it moves several rows per step
+     */
+    @Override
+    public double getFallProgress(double frameFraction) {
+        if (!brickActive || gravity.getRowsPerTick() > 1 || !timers.isScheduled(GRAVITY_TIMER)) {
+            return 0;
+        }
+        int interval = gravity.getTickFrames();
+        double elapsed = interval - timers.getRemainingFrames(GRAVITY_TIMER) + frameFraction;
+        return Math.max(0, Math.min(1, elapsed / interval));
+    }
+
     /**
      * Handles the down movement event.
-     * 
+     * A soft drop onto the stack locks the brick straight away.
+     *
      * @param event the move event
      * @return DownData containing information about the move result
      */
     @Override
     public DownData onDownEvent(MoveEvent event) {
-        boolean canMove = board.moveBrickDown();
-        ClearRow clearRow = null;
-        if (!canMove) {
-            board.mergeBrickToBackground();
-            clearRow = board.clearRows();
-            if (clearRow.getLinesRemoved() > 0) {
-                board.getScore().add(clearRow.getScoreBonus());
-            }
-            // Check if creating a new brick results in a conflict (game over)
-            boolean isGameOver = board.createNewBrick();
-            if (isGameOver && !gameOverReported) {
-                gameOverReported = true;
-                viewGuiController.showGameOverWithScore(board.getScore().scoreProperty().get());
-            }
-
-            viewGuiController.refreshGameBackground(board.getBoardMatrix());
-
+        pendingClear = null;
+        if (brickActive && !board.moveBrickDown()) {
+            lockBrick();
         }
-        return new DownData(clearRow, board.getViewData());
+        spectators.publishPiece();
+        return new DownData(pendingClear, board.getViewData());
     }
 
     /**
      * Handles the left movement event.
-     * 
+     * Starts auto shift to the left; repeated presses while the key is held are ignored.
+     *
      * @param event the move event
      * @return ViewData containing information about the brick's new position
      */
     @Override
     public ViewData onLeftEvent(MoveEvent event) {
-        board.moveBrickLeft();
+        startShift(EventType.LEFT);
+        spectators.publishPiece();
         return board.getViewData();
     }
 
     /**
      * Handles the right movement event.
-     * 
+     * Starts auto shift to the right; repeated presses while the key is held are ignored.
+     *
      * @param event the move event
      * @return ViewData containing information about the brick's new position
      */
     @Override
     public ViewData onRightEvent(MoveEvent event) {
-        board.moveBrickRight();
+        startShift(EventType.RIGHT);
+        spectators.publishPiece();
         return board.getViewData();
     }
 
     /**
-     * Handles the rotation event.
-     * 
+     * Handles a key release, stopping auto shift in that direction.
+     *
+     * @param event the move event
+     */
+    @Override
+    public void onReleaseEvent(MoveEvent event) {
+        if (event.getEventType() == shiftDirection) {
+            shiftDirection = null;
+            timers.cancel(AUTO_SHIFT_TIMER);
+        }
+    }
+
+    /**
+     * Handles the rotation event, counterclockwise for ROTATE and clockwise for ROTATE_RIGHT.
+     *
      * @param event the move event
      * @return ViewData containing information about the brick's new position
      */
     @Override
     public ViewData onRotateEvent(MoveEvent event) {
-        board.rotateLeftBrick();
+        boolean clockwise = event.getEventType() == EventType.ROTATE_RIGHT;
+        if (brickActive && (clockwise ? board.rotateRightBrick() : board.rotateLeftBrick())) {
+            resetLockDelay();
+        }
+        spectators.publishPiece();
         return board.getViewData();
     }
 
@@ -98,38 +379,377 @@ public class GameController implements InputEventListener {
      */
     @Override
     public void createNewGame() {
-        if (viewGuiController.getCurrentGameMode() == GuiController.GameMode.RELAX) {
-            board.newGame(new RelaxBrickGenerator());
-        } else {
-            board.newGame();
+        timers.cancelAll();
+        shiftDirection = null;
+        GuiController.GameMode mode = viewGuiController.getCurrentGameMode();
+        puzzleMode = mode == GuiController.GameMode.PUZZLE && loadPuzzles();
+        board.newGame(deal(generatorsFor(mode, puzzleMode, puzzleIndex)));
+        if (puzzleMode) {
+            Puzzle puzzle = puzzles.get(puzzleIndex);
+            board.loadBackground(puzzle.toMatrix());
+            puzzlePiecesLeft = puzzle.getPieces().length;
+            showPuzzleStatus();
         }
+        gravity.reset(tableFor(mode));
         gameOverReported = false; // Reset the flag for a new game
+        startBrick();
+        spectators.publishKeyframe();
+        if (mode == GuiController.GameMode.SURVIVAL) {
+            timers.schedule(GARBAGE_TIMER, GARBAGE_FRAMES);
+        }
+        if (mode == GuiController.GameMode.VERSUS) {
+            versus.open();
+        } else {
+            versus.close();
+        }
         viewGuiController.refreshGameBackground(board.getBoardMatrix());
     }
-    
+
+    /**
+     * Starts a new game from a seed of its own, so it can be replayed from a checkpoint.
+     *
+     * @param source builds the generator for a seed
+     * @return the generator of the new game
+     */
+    private ReplayableBrickGenerator deal(LongFunction<BrickGenerator> source) {
+        dealer = new ReplayableBrickGenerator(source, ThreadLocalRandom.current().nextLong(), 0);
+        return dealer;
+    }
+
+    private LongFunction<BrickGenerator> generatorsFor(GuiController.GameMode mode, boolean puzzle, int index) {
+        if (mode == GuiController.GameMode.RELAX) {
+            return RelaxBrickGenerator::new;
+        }
+        if (puzzle) {
+            int[] pieces = puzzles.get(index).getPieces();
+            return seed -> new SequenceBrickGenerator(pieces);
+        }
+        return generators;
+    }
+
+    private GravityTable tableFor(GuiController.GameMode mode) {
+        if (mode == GuiController.GameMode.RELAX || puzzleMode) {
+            return GravityTable.relax();
+        }
+        return mode == GuiController.GameMode.CHALLENGE ? GravityTable.challenge() : GravityTable.classic();
+    }
+
+    private void showPuzzleStatus() {
+        Puzzle puzzle = puzzles.get(puzzleIndex);
+        viewGuiController.showPuzzleStatus(String.format("Puzzle %d/%d: %s", puzzleIndex + 1, puzzles.size(),
+                puzzle.getName()));
+    }
+
+    /**
+     * Hands a snapshot of the game in progress to the checkpointer, or has it remove the checkpoint
+     * when the game cannot be resumed.
+     */
+    public void checkpoint() {
+        autosave.checkpoint();
+    }
+
+    /**
+     * Replaces the current game with a checkpointed one, rebuilding its brick generator from the seed.
+     * The game is shown paused. A brick that had already locked is followed by the next spawn.
+     *
+     * @param snapshot the snapshot to resume
+     * @return false if the snapshot does not fit this game, which then carries on unchanged
+     */
+    public boolean resume(GameSnapshot snapshot) {
+        return autosave.resume(snapshot);
+    }
+
+    /**
+     * Restarts the timers and the view once the board holds a resumed game.
+     *
+     * @param snapshot  the snapshot resumed
+     * @param generator its rebuilt brick generator
+     */
+    private void resumed(GameSnapshot snapshot, ReplayableBrickGenerator generator) {
+        GuiController.GameMode mode = snapshot.getMode();
+        timers.cancelAll();
+        shiftDirection = null;
+        versus.close();
+        dealer = generator;
+        puzzleMode = mode == GuiController.GameMode.PUZZLE && loadPuzzles();
+        if (puzzleMode) {
+            puzzleIndex = snapshot.getPuzzleIndex();
+        }
+        puzzlePiecesLeft = snapshot.getPuzzlePiecesLeft();
+        gravity.reset(tableFor(mode));
+        gravity.onRowsCleared(snapshot.getLines(), snapshot.getScore());
+        gameOverReported = false;
+        if (snapshot.isBrickActive()) {
+            startBrick();
+        } else {
+            // The locked brick is already part of the background; the next one enters after the usual delay
+            brickActive = false;
+            timers.schedule(ENTRY_DELAY_TIMER, ENTRY_DELAY_FRAMES);
+        }
+        spectators.publishKeyframe();
+        if (mode == GuiController.GameMode.SURVIVAL) {
+            timers.schedule(GARBAGE_TIMER, GARBAGE_FRAMES);
+        }
+        viewGuiController.refreshGameBackground(board.getBoardMatrix());
+        viewGuiController.showResumedGame(mode, board.getViewData());
+        if (puzzleMode) {
+            showPuzzleStatus();
+        }
+    }
+
+    /**
+     * Reads the built-in puzzle pack the first time puzzle mode is played.
+     *
+     * @return true if puzzles are available
+     */
+    private boolean loadPuzzles() {
+        if (puzzles == null) {
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream("puzzles.txt")) {
+                if (in == null) {
+                    throw new IOException("Built-in puzzle pack not found");
+                }
+                int[][] matrix = board.getBoardMatrix();
+                puzzles = Puzzle.readPack(new InputStreamReader(in, StandardCharsets.UTF_8), matrix.length, matrix[0].length);
+            } catch (IOException e) {
+                viewGuiController.showPuzzleStatus("Puzzles unavailable");
+                return false;
+            }
+        }
+        return !puzzles.isEmpty();
+    }
+
     /**
      * Handles the drop to bottom event.
-     * Instantly drops the current brick to the bottom of the board.
-     * 
+     * Instantly drops the current brick to the bottom of the board and locks it.
+     *
      * @param event the move event
      * @return DownData containing information about the move result
      */
     @Override
     public DownData onDropToBottomEvent(MoveEvent event) {
-        board.dropBrickToBottom();
-        // After dropping to bottom, we need to merge and create new brick
+        pendingClear = null;
+        if (brickActive) {
+            board.dropBrickToBottom();
+            lockBrick();
+        }
+        spectators.publishPiece();
+        return new DownData(pendingClear, board.getViewData());
+    }
+
+    /**
+     * Dispatches a timer fired by the timer wheel.
+     *
+     * @param timer the timer that fired
+     */
+    private void onTimer(int timer) {
+        switch (timer) {
+            case GRAVITY_TIMER:
+                applyGravity();
+                break;
+            case LOCK_DELAY_TIMER:
+                // The brick may have been moved off the ledge since the delay started
+                if (board.moveBrickDown()) {
+                    brickChanged = true;
+                } else {
+                    lockBrick();
+                }
+                break;
+            case LINE_CLEAR_TIMER:
+                viewGuiController.refreshGameBackground(board.getBoardMatrix());
+                spawnBrick();
+                break;
+            case ENTRY_DELAY_TIMER:
+                spawnBrick();
+                break;
+            case AUTO_SHIFT_TIMER:
+                shift();
+                timers.schedule(AUTO_SHIFT_TIMER, AUTO_REPEAT_FRAMES);
+                break;
+            case GARBAGE_TIMER:
+                raiseGarbage();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Moves the brick down by the rows of one gravity tick, starting the lock delay once it lands.
+     */
+    private void applyGravity() {
+        timers.schedule(GRAVITY_TIMER, gravity.getTickFrames());
+        if (board.moveBrickDown()) {
+            brickChanged = true;
+            // Fast levels move the brick several rows per gravity tick
+            for (int i = 1; i < gravity.getRowsPerTick(); i++) {
+                if (!board.moveBrickDown()) {
+                    break;
+                }
+            }
+        } else if (!timers.isScheduled(LOCK_DELAY_TIMER)) {
+            timers.schedule(LOCK_DELAY_TIMER, LOCK_DELAY_FRAMES);
+        }
+    }
+
+    /**
+     * Pushes a survival garbage row in from the bottom; the interval shrinks as the level rises.
+     * Rows only rise while a brick is falling so the locked brick and the cleared rows stay in view.
+     */
+    private void raiseGarbage() {
+        if (!brickActive) {
+            timers.schedule(GARBAGE_TIMER, 1);
+            return;
+        }
+        int holeColumn = ThreadLocalRandom.current().nextInt(board.getBoardMatrix()[0].length);
+        boolean toppedOut = board.addGarbageRow(holeColumn);
+        spectators.publishGarbage(holeColumn);
+        brickChanged = true;
+        if (toppedOut) {
+            gameOver();
+            return;
+        }
+        viewGuiController.refreshGameBackground(board.getBoardMatrix());
+        int interval = GARBAGE_FRAMES - (gravity.getLevel() - 1) * GARBAGE_FRAMES_PER_LEVEL;
+        timers.schedule(GARBAGE_TIMER, Math.max(MIN_GARBAGE_FRAMES, interval));
+    }
+
+    private void startShift(EventType direction) {
+        if (direction == shiftDirection) {
+            return;
+        }
+        shiftDirection = direction;
+        shift();
+        timers.schedule(AUTO_SHIFT_TIMER, AUTO_SHIFT_DELAY_FRAMES);
+    }
+
+    private void shift() {
+        if (!brickActive) {
+            return;
+        }
+        boolean moved = shiftDirection == EventType.LEFT ? board.moveBrickLeft() : board.moveBrickRight();
+        if (moved) {
+            brickChanged = true;
+            resetLockDelay();
+        }
+    }
+
+    /**
+     * Restarts a running lock delay after a successful move, up to a fixed number of times per brick.
+     */
+    private void resetLockDelay() {
+        if (timers.isScheduled(LOCK_DELAY_TIMER) && lockResets < MAX_LOCK_RESETS) {
+            lockResets++;
+            timers.schedule(LOCK_DELAY_TIMER, LOCK_DELAY_FRAMES);
+        }
+    }
+
+    /**
+     * Merges the brick into the background and clears full rows.
+     * The next brick enters after the line clear delay if rows were cleared, otherwise after the entry delay.
+     */
+    private void lockBrick() {
+        brickActive = false;
+        brickChanged = true;
+        timers.cancel(GRAVITY_TIMER);
+        timers.cancel(LOCK_DELAY_TIMER);
+        if (trainingData != null) {
+            trainingData.beginRecord(board.getBoardMatrix(), board.getViewData());
+        }
         board.mergeBrickToBackground();
+        spectators.publishCells();
+        // Show the full rows until the line clear delay ends
+        viewGuiController.refreshGameBackground(board.getBoardMatrix());
         ClearRow clearRow = board.clearRows();
+        pendingClear = clearRow;
+        if (trainingData != null) {
+            endTrainingRecord(clearRow.getScoreBonus());
+        }
+        if (clearRow.getLinesRemoved() > 0) {
+            spectators.publishClear();
+        }
+        versus.sendClear(clearRow.getLinesRemoved(), board.getBoardMatrix());
         if (clearRow.getLinesRemoved() > 0) {
             board.getScore().add(clearRow.getScoreBonus());
+            gravity.onRowsCleared(clearRow.getLinesRemoved(), clearRow.getScoreBonus());
+            timers.schedule(LINE_CLEAR_TIMER, LINE_CLEAR_FRAMES);
+        } else {
+            timers.schedule(ENTRY_DELAY_TIMER, ENTRY_DELAY_FRAMES);
+        }
+    }
+
+    private void endTrainingRecord(int scoreDelta) {
+        try {
+            trainingData.endRecord(scoreDelta);
+        } catch (IOException e) {
+            // A failing disk must not interrupt the game; recording just stops
+            stopRecording();
+        }
+    }
+
+    private void spawnBrick() {
+        brickChanged = true;
+        if (puzzleMode) {
+            // A cleared board moves on to the next puzzle, running out of pieces ends the attempt
+            if (board.getFeatures().getMaxHeight() == 0) {
+                puzzleIndex = (puzzleIndex + 1) % puzzles.size();
+                createNewGame();
+                return;
+            }
+            if (--puzzlePiecesLeft == 0) {
+                gameOver();
+                return;
+            }
         }
         // Check if creating a new brick results in a conflict (game over)
         boolean isGameOver = board.createNewBrick();
-        if (isGameOver && !gameOverReported) {
+        // Garbage received from a versus opponent rises under the new brick
+        int garbage = versus.takeIncomingGarbage();
+        for (int i = 0; i < garbage && !isGameOver; i++) {
+            isGameOver = board.addGarbageRow(versus.getIncomingHole());
+            spectators.publishGarbage(versus.getIncomingHole());
+        }
+        if (isGameOver) {
+            gameOver();
+            return;
+        }
+        startBrick();
+    }
+
+    private void gameOver() {
+        brickActive = false;
+        timers.cancelAll();
+        if (!gameOverReported) {
             gameOverReported = true;
+            autosave.checkpoint();
             viewGuiController.showGameOverWithScore(board.getScore().scoreProperty().get());
+            recordScore(board.getScore().scoreProperty().get());
+            versus.sendGameOver();
         }
         viewGuiController.refreshGameBackground(board.getBoardMatrix());
-        return new DownData(clearRow, board.getViewData());
     }
-}
\ No newline at end of file
+
+    /**
+     * Submits a final score to the leaderboard and shows its standing once the writer thread has logged it.
+     *
+     * @param score the final score
+     */
+    private void recordScore(int score) {
+        GuiController.GameMode mode = viewGuiController.getCurrentGameMode();
+        if (leaderboard == null || mode == GuiController.GameMode.RELAX) {
+            return;
+        }
+        String name = mode.name().toLowerCase(Locale.ROOT);
+        leaderboard.submit(name, score)
+                .thenCombine(leaderboard.top(name, 1), (rank, best) -> rank > 0
+                        ? String.format("Rank %d  Best %d", rank, best[0].getScore())
+                        : String.format("Best %d", best[0].getScore()))
+                .exceptionally(e -> "Leaderboard unavailable")
+                .thenAccept(standing -> Platform.runLater(() -> viewGuiController.showLeaderboard(standing)));
+    }
+
+    private void startBrick() {
+        brickActive = true;
+        lockResets = 0;
+        timers.schedule(GRAVITY_TIMER, gravity.getTickFrames());
+    }
+}
@@ -12,6 +12,8 @@ public class GameOverPanel extends BorderPane {
     
     private Button restartButton;
 
+    private final Label leaderboardLabel = new Label();
+
     public GameOverPanel() {
         final Label gameOverLabel = new Label("GAME OVER");
         gameOverLabel.getStyleClass().add("gameOverStyle");
@@ -21,7 +23,8 @@ public class GameOverPanel extends BorderPane {
         
         VBox vbox = new VBox(20);
         vbox.setAlignment(javafx.geometry.Pos.CENTER);
-        vbox.getChildren().addAll(gameOverLabel, restartButton);
+        leaderboardLabel.getStyleClass().add("scoreClass");
+        vbox.getChildren().addAll(gameOverLabel, restartButton, leaderboardLabel);
         
         setCenter(vbox);
     }
@@ -30,4 +33,13 @@ public class GameOverPanel extends BorderPane {
         restartButton.setOnAction(handler);
     }
 
+    /**
+     * Shows the standing of the finished game under the restart button.
+     *
+     * @param text the standing, or an empty string to show nothing
+     */
+    public void setLeaderboardText(String text) {
+        leaderboardLabel.setText(text);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,266 @@
+package com.comp2042;
+
+import com.comp2042.dataset.TrainingDataReader;
+import com.comp2042.dataset.TrainingDataWriter;
+import com.comp2042.logic.ai.BotPlayer;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.logic.bricks.SequenceBrickGenerator;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.Region;
+import javafx.stage.Stage;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * End-to-end benchmark of the GUI pipeline. It boots the real FXML scene with a {@link GameController},
+ * as {@link Main} does, and replays a recorded session at high speed by firing key events at the game
+ * panel, so moves go through the same handlers, rectangle refreshes, notification animations and
+ * pulses as a player's. The brick sequence is taken from the recording, and each placement becomes
+ * the rotations, shifts and hard drop that reach it.
+ * <p>
+ * The report gives the distribution of the intervals between pulses, the time spent in each pulse
+ * from the start of its animation phase to the end of CSS and layout (rendering happens after that
+ * and has no public hook), and the garbage collection pauses during the run.
+ * <p>
+ * It needs no display when run under Monocle's headless platform, as the gui-benchmark Maven profile does:
+ * {@code -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw}.
+ */
+public final class GuiBenchmark extends Application {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+    private static final int SPAWN_X = 4;
+    private static final long DROPPED_FRAME_NANOS = 25_000_000L;
+
+    private KeyCode[] script;
+    private int scriptPosition;
+    private int keysPerPulse;
+    private Node gamePanel;
+    private Node gameOverPanel;
+    private GameController controller;
+    private long[] frameIntervals;
+    private long[] pulseTimes;
+    private int frames;
+    private long pulseStart;
+    private long lastPulse;
+    private int placements;
+    private int gamesStarted;
+    private final Map<String, long[]> gcPauses = new TreeMap<>();
+    private final List<Runnable> gcListenerRemovals = new ArrayList<>();
+
+    @Override
+    public void start(Stage stage) throws Exception {
+        List<String> args = getParameters().getUnnamed();
+        keysPerPulse = args.size() > 0 ? Integer.parseInt(args.get(0)) : 4;
+        int maxPlacements = args.size() > 1 ? Integer.parseInt(args.get(1)) : 2000;
+        Path recording = args.size() > 2 ? Path.of(args.get(2)) : recordBotSession(maxPlacements);
+        int[] pieces = loadScript(recording, maxPlacements);
+
+        FXMLLoader fxmlLoader = new FXMLLoader(getClass().getClassLoader().getResource("gameLayout.fxml"));
+        Region root = fxmlLoader.load();
+        GuiController c = fxmlLoader.getController();
+        Scene scene = new Scene(root, 800, 560);
+        stage.setTitle("TetrisJFX benchmark");
+        stage.setScene(scene);
+        stage.show();
+        gamePanel = scene.lookup("#gamePanel");
+        gameOverPanel = scene.lookup("#gameOverPanel");
+        // At least one pulse per key, plus the entry and line clear delays after every drop
+        frameIntervals = new long[script.length + pieces.length * 16];
+        pulseTimes = new long[frameIntervals.length];
+
+        // Started before the game loop, so it runs first in every pulse
+        AnimationTimer driver = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                pulseStart = System.nanoTime();
+                if (scriptPosition >= script.length) {
+                    stop();
+                    finish();
+                    return;
+                }
+                if (gameOverPanel.isVisible()) {
+                    press(KeyCode.N);
+                    gamesStarted++;
+                }
+                // A placement's keys wait for its brick, the delays after a drop are part of the session
+                for (int i = 0; i < keysPerPulse && scriptPosition < script.length && controller.isBrickActive(); i++) {
+                    KeyCode key = script[scriptPosition++];
+                    press(key);
+                    if (key == KeyCode.SPACE) {
+                        placements++;
+                        break;
+                    }
+                }
+            }
+        };
+        scene.addPostLayoutPulseListener(() -> {
+            long end = System.nanoTime();
+            if (pulseStart != 0 && frames < pulseTimes.length) {
+                pulseTimes[frames] = end - pulseStart;
+                frameIntervals[frames] = lastPulse == 0 ? 0 : pulseStart - lastPulse;
+                frames++;
+                lastPulse = pulseStart;
+            }
+            pulseStart = 0;
+        });
+        watchGc();
+        driver.start();
+        controller = new GameController(c, BoardEngine.SIMPLE, new SequenceBrickGenerator(pieces));
+    }
+
+    private void press(KeyCode key) {
+        Event.fireEvent(gamePanel, new KeyEvent(KeyEvent.KEY_PRESSED, "", "", key, false, false, false, false));
+        Event.fireEvent(gamePanel, new KeyEvent(KeyEvent.KEY_RELEASED, "", "", key, false, false, false, false));
+    }
+
+    /**
+     * Turns the placements of a recording into key presses and collects its brick sequence.
+     *
+     * @param recording     the recording to replay
+     * @param maxPlacements the most placements to replay
+     * @return the brick sequence
+     */
+    private int[] loadScript(Path recording, int maxPlacements) throws IOException {
+        List<KeyCode> keys = new ArrayList<>();
+        int[] pieces = new int[maxPlacements];
+        int count = 0;
+        try (TrainingDataReader reader = TrainingDataReader.open(recording)) {
+            while (count < maxPlacements && reader.next()) {
+                pieces[count++] = reader.getCurrentPiece();
+                int rotation = reader.getRotation();
+                if (rotation == 3) {
+                    keys.add(KeyCode.UP);
+                } else {
+                    for (int r = 0; r < rotation; r++) {
+                        keys.add(KeyCode.X);
+                    }
+                }
+                int shift = reader.getX() - SPAWN_X;
+                for (int s = 0; s < Math.abs(shift); s++) {
+                    keys.add(shift < 0 ? KeyCode.LEFT : KeyCode.RIGHT);
+                }
+                keys.add(KeyCode.SPACE);
+            }
+        }
+        if (count == 0) {
+            throw new IOException("No placements in " + recording);
+        }
+        script = keys.toArray(new KeyCode[0]);
+        return Arrays.copyOf(pieces, count);
+    }
+
+    /**
+     * Records bot games until there are enough placements, for when no recording is given.
+     */
+    private static Path recordBotSession(int placements) throws IOException {
+        Path file = Files.createTempFile("gui-benchmark", ".tdat");
+        file.toFile().deleteOnExit();
+        RandomBrickGenerator generator = new RandomBrickGenerator(1);
+        try (TrainingDataWriter writer = TrainingDataWriter.open(file, ROWS, COLUMNS,
+                TrainingDataWriter.DEFAULT_CHUNK_RECORDS)) {
+            while (writer.getRecordCount() < placements) {
+                BotPlayer.playGame(BotPlayer.getDefaultWeights(), generator,
+                        (int) (placements - writer.getRecordCount()), writer);
+            }
+        }
+        return file;
+    }
+
+    private void watchGc() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                NotificationListener listener = (notification, handback) -> {
+                    if (notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                        GarbageCollectionNotificationInfo info =
+                                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                        long duration = info.getGcInfo().getDuration();
+                        synchronized (gcPauses) {
+                            long[] stats = gcPauses.computeIfAbsent(info.getGcName(), name -> new long[3]);
+                            stats[0]++;
+                            stats[1] += duration;
+                            stats[2] = Math.max(stats[2], duration);
+                        }
+                    }
+                };
+                emitter.addNotificationListener(listener, null, null);
+                gcListenerRemovals.add(() -> {
+                    try {
+                        emitter.removeNotificationListener(listener);
+                    } catch (ListenerNotFoundException ignored) {
+                        // Already gone
+                    }
+                });
+            }
+        }
+    }
+
+    private void finish() {
+        gcListenerRemovals.forEach(Runnable::run);
+        // The first interval has no previous pulse
+        long[] intervals = Arrays.copyOfRange(frameIntervals, 1, Math.max(1, frames));
+        long[] pulses = Arrays.copyOf(pulseTimes, frames);
+        long dropped = Arrays.stream(intervals).filter(interval -> interval > DROPPED_FRAME_NANOS).count();
+        Arrays.sort(intervals);
+        Arrays.sort(pulses);
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%d placements, %d key presses in %d pulses, %d new games%n",
+                placements, scriptPosition, frames, gamesStarted));
+        report.append("frame interval ").append(distribution(intervals))
+                .append(String.format(", %d over %d ms%n", dropped, DROPPED_FRAME_NANOS / 1_000_000));
+        report.append("pulse time     ").append(distribution(pulses)).append('\n');
+        synchronized (gcPauses) {
+            if (gcPauses.isEmpty()) {
+                report.append("gc             none\n");
+            }
+            gcPauses.forEach((name, stats) -> report.append(String.format(
+                    "gc %-11s %d collections, %d ms total, %d ms max%n", name, stats[0], stats[1], stats[2])));
+        }
+        System.out.print(report);
+        Platform.exit();
+    }
+
+    private static String distribution(long[] sorted) {
+        if (sorted.length == 0) {
+            return "no samples";
+        }
+        return String.format("p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms",
+                percentile(sorted, 0.5) / 1e6, percentile(sorted, 0.9) / 1e6,
+                percentile(sorted, 0.99) / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))];
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args [key presses per pulse] [placements] [recording]; without a recording a bot session is recorded first
+     */
+    public static void main(String[] args) {
+        launch(GuiBenchmark.class, args);
+    }
+}
@@ -1,7 +1,10 @@
 package com.comp2042;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import com.comp2042.logic.gravity.GravityModel;
+import com.comp2042.logic.gravity.GravityTable;
+import com.comp2042.spectate.SpectatorStream;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -10,6 +13,9 @@ import javafx.event.EventHandler;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
 import javafx.scene.control.MenuItem;
@@ -21,11 +27,13 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 import javafx.scene.shape.Rectangle;
-import javafx.scene.text.Font;
-import javafx.util.Duration;
+import javafx.stage.Screen;
+import javafx.stage.Stage;
+import javafx.stage.Window;
 
 import java.net.URL;
 import java.util.ResourceBundle;
+import java.util.function.Consumer;
 
 /**
  * GuiController manages the graphical user interface for the Tetris game.
@@ -34,9 +42,15 @@ import java.util.ResourceBundle;
 public class GuiController implements Initializable {
 
     private static final int BRICK_SIZE = 20;
-    private static final int BASE_SPEED = 400; // milliseconds
-    private static final int SCORE_PER_LEVEL = 200; // points needed to advance to next level
-    private static final double SPEED_INCREASE_PER_LEVEL = 0.10; // 10% speed increase per level
+
+    private static final String PAUSED_TEXT = "PAUSED";
+
+    // A stall longer than this is not caught up with, so the game does not race after a freeze
+    private static final long MAX_CATCH_UP_NANOS = 250_000_000L;
+
+    private static final long FRAME_PACING_REPORT_NANOS = 10_000_000_000L;
+
+    private static final String WARMING_UP_TEXT = "WARMING UP";
 
     /**
      * Game modes supported by the application.
@@ -47,7 +61,13 @@ public class GuiController implements Initializable {
         /** Challenge mode with level-based speed increases */
         CHALLENGE,
         /** Relax mode with limited brick types and no leaderboard recording */
-        RELAX
+        RELAX,
+        /** Survival mode where garbage rows rise from the bottom on a timer */
+        SURVIVAL,
+        /** Versus mode against a second player on the same machine */
+        VERSUS,
+        /** Puzzle mode where a given board has to be cleared with a fixed sequence of pieces */
+        PUZZLE
     }
 
     @FXML
@@ -73,6 +93,9 @@ public class GuiController implements Initializable {
     
     @FXML
     private Label pauseLabel;
+
+    @FXML
+    private Canvas nextBrickCanvas;
     
     @FXML
     private MenuItem classicModeMenuItem;
@@ -83,22 +106,64 @@ public class GuiController implements Initializable {
     @FXML
     private MenuItem relaxModeMenuItem;
 
+    @FXML
+    private MenuItem survivalModeMenuItem;
+
+    @FXML
+    private MenuItem versusModeMenuItem;
+
+    @FXML
+    private MenuItem puzzleModeMenuItem;
+
+    @FXML
+    private MenuItem spectatorMenuItem;
+
+    @FXML
+    private MenuItem botWallMenuItem;
+
+    @FXML
+    private MenuItem largeBotWallMenuItem;
+
+    private BrickAtlas brickAtlas;
+
+    private int shownNextPiece = -1;
+
     private Rectangle[][] displayMatrix;
 
     private InputEventListener eventListener;
 
     private Rectangle[][] rectangles;
 
-    private Timeline timeLine;
+    // Created with the first game view, so views that never draw do not start the toolkit
+    private AnimationTimer gameLoop;
+
+    private long lastPulse;
+
+    private long pendingFrameNanos;
+
+    private int[][] boardMatrix;
+
+    private boolean brickCanFall;
+
+    private FramePacing framePacing;
+
+    private Consumer<String> framePacingOut;
+
+    private long framePacingStart;
 
     private final BooleanProperty isPause = new SimpleBooleanProperty();
 
     private final BooleanProperty isGameOver = new SimpleBooleanProperty();
+
+    private final BooleanProperty isIdle = new SimpleBooleanProperty();
     
     private IntegerProperty scoreProperty;
+
+    private GravityModel gravityModel;
+
+    private SpectatorStream spectatorStream;
     
     private GameMode currentGameMode = GameMode.CLASSIC;
-    private int currentLevel = 1;
 
     /**
      * Initializes the controller after its root element has been completely processed.
@@ -109,12 +174,13 @@ public class GuiController implements Initializable {
      */
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        Font.loadFont(getClass().getClassLoader().getResource("digital.ttf").toExternalForm(), 38);
+        brickAtlas = new BrickAtlas(BRICK_SIZE, Screen.getPrimary().getOutputScaleX());
         gamePanel.setFocusTraversable(true);
         gamePanel.requestFocus();
         gamePanel.setOnKeyPressed(new EventHandler<KeyEvent>() {
             @Override
             public void handle(KeyEvent keyEvent) {
+                wakeIfIdle();
                 if (isPause.getValue() == Boolean.FALSE && isGameOver.getValue() == Boolean.FALSE) {
                     if (keyEvent.getCode() == KeyCode.LEFT || keyEvent.getCode() == KeyCode.A) {
                         refreshBrick(eventListener.onLeftEvent(new MoveEvent(EventType.LEFT, EventSource.USER)));
@@ -128,6 +194,10 @@ public class GuiController implements Initializable {
                         refreshBrick(eventListener.onRotateEvent(new MoveEvent(EventType.ROTATE, EventSource.USER)));
                         keyEvent.consume();
                     }
+                    if (keyEvent.getCode() == KeyCode.X) {
+                        refreshBrick(eventListener.onRotateEvent(new MoveEvent(EventType.ROTATE_RIGHT, EventSource.USER)));
+                        keyEvent.consume();
+                    }
                     if (keyEvent.getCode() == KeyCode.DOWN || keyEvent.getCode() == KeyCode.S) {
                         moveDown(new MoveEvent(EventType.DOWN, EventSource.USER));
                         keyEvent.consume();
@@ -148,6 +218,17 @@ public class GuiController implements Initializable {
                 }
             }
         });
+        gamePanel.setOnKeyReleased(new EventHandler<KeyEvent>() {
+            @Override
+            public void handle(KeyEvent keyEvent) {
+                if (keyEvent.getCode() == KeyCode.LEFT || keyEvent.getCode() == KeyCode.A) {
+                    eventListener.onReleaseEvent(new MoveEvent(EventType.LEFT, EventSource.USER));
+                }
+                if (keyEvent.getCode() == KeyCode.RIGHT || keyEvent.getCode() == KeyCode.D) {
+                    eventListener.onReleaseEvent(new MoveEvent(EventType.RIGHT, EventSource.USER));
+                }
+            }
+        });
         gameOverPanel.setVisible(false);
         
         // Set up restart button click handler
@@ -157,6 +238,13 @@ public class GuiController implements Initializable {
         classicModeMenuItem.setOnAction(e -> switchToClassicMode());
         challengeModeMenuItem.setOnAction(e -> switchToChallengeMode());
         relaxModeMenuItem.setOnAction(e -> switchToRelaxMode());
+        survivalModeMenuItem.setOnAction(e -> switchToSurvivalMode());
+        versusModeMenuItem.setOnAction(e -> switchToVersusMode());
+        puzzleModeMenuItem.setOnAction(e -> switchToPuzzleMode());
+        spectatorMenuItem.setOnAction(e -> new SpectatorView(spectatorStream.subscribe(),
+                isPause.or(isGameOver).or(isIdle)).show());
+        botWallMenuItem.setOnAction(e -> new WallView(16, 8).show());
+        largeBotWallMenuItem.setOnAction(e -> new WallView(64, 5).show());
 
         final Reflection reflection = new Reflection();
         reflection.setFraction(0.8);
@@ -171,6 +259,7 @@ public class GuiController implements Initializable {
      * @param brick the initial brick view data
      */
     public void initGameView(int[][] boardMatrix, ViewData brick) {
+        this.boardMatrix = boardMatrix;
         displayMatrix = new Rectangle[boardMatrix.length][boardMatrix[0].length];
         for (int i = 2; i < boardMatrix.length; i++) {
             for (int j = 0; j < boardMatrix[i].length; j++) {
@@ -185,21 +274,156 @@ public class GuiController implements Initializable {
         for (int i = 0; i < brick.getBrickData().length; i++) {
             for (int j = 0; j < brick.getBrickData()[i].length; j++) {
                 Rectangle rectangle = new Rectangle(BRICK_SIZE, BRICK_SIZE);
-                rectangle.setFill(getFillColor(brick.getBrickData()[i][j]));
+                rectangle.setFill(brickAtlas.getPaint(brick.getBrickData()[i][j]));
                 rectangles[i][j] = rectangle;
                 brickPanel.add(rectangle, j, i);
             }
         }
         brickPanel.setLayoutX(gamePanel.getLayoutX() + brick.getxPosition() * brickPanel.getVgap() + brick.getxPosition() * BRICK_SIZE);
         brickPanel.setLayoutY(gamePanel.getLayoutY() + brick.getyPosition() * brickPanel.getHgap() + brick.getyPosition() * BRICK_SIZE);
+        refreshNextBrick(brick.getNextBrickData());
 
+        startGameLoop();
+    }
 
-        timeLine = new Timeline(new KeyFrame(
-                Duration.millis(BASE_SPEED),
-                ae -> moveDown(new MoveEvent(EventType.DOWN, EventSource.THREAD))
-        ));
-        timeLine.setCycleCount(Timeline.INDEFINITE);
-        timeLine.play();
+    /**
+     * Starts the game loop, which runs on every pulse, at the display's refresh rate. It advances the
+     * game timers by fixed logic frames of {@link GravityTable#FRAME_NANOS}, as many as the time since
+     * the last pulse holds, and draws the falling brick part of the way to the next row in between, so
+     * the logic stays at a fixed step whatever the refresh rate. Coming back from idle, the part of a
+     * logic frame that had passed before is kept, so the brick carries on from where it was drawn.
+     */
+    private void startGameLoop() {
+        lastPulse = 0;
+        for (Node node : groupNotification.getChildren()) {
+            if (node instanceof NotificationPanel notification) {
+                notification.resume();
+            }
+        }
+        if (gameLoop == null) {
+            gameLoop = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    onPulse(now);
+                }
+            };
+        }
+        gameLoop.start();
+    }
+
+    /**
+     * Goes idle: stops the game loop and freezes the score notifications. With nothing animating,
+     * JavaFX stops requesting pulses and the scene is not rendered again until something in it
+     * changes. Spectator windows stop polling as well, once they have drawn the last move.
+     */
+    private void stopGameLoop() {
+        if (gameLoop != null) {
+            gameLoop.stop();
+        }
+        for (Node node : groupNotification.getChildren()) {
+            if (node instanceof NotificationPanel notification) {
+                notification.pause();
+            }
+        }
+    }
+
+    /**
+     * Holds a running game idle while its window is minimized, or has lost the focus to another
+     * application; focus moving to one of this application's own windows, such as a spectator view,
+     * leaves it running. Unlike a pause, nothing is shown, and the game carries on by itself when the
+     * window is restored or focused again, or on the next key. A versus game never goes idle: its
+     * connection is only served by the game loop, and the opponent would see a frozen peer.
+     *
+     * @param stage the game window
+     */
+    public void bindWindow(Stage stage) {
+        stage.iconifiedProperty().addListener((observable, wasIconified, iconified) -> {
+            if (iconified) {
+                idleIfRunning();
+            } else if (stage.isFocused()) {
+                wakeIfIdle();
+            }
+        });
+        stage.focusedProperty().addListener((observable, wasFocused, focused) -> {
+            if (focused) {
+                wakeIfIdle();
+            } else {
+                // The window taking the focus is only marked focused once this event is over
+                Platform.runLater(() -> {
+                    if (Window.getWindows().stream().noneMatch(Window::isFocused)) {
+                        idleIfRunning();
+                    }
+                });
+            }
+        });
+    }
+
+    private void idleIfRunning() {
+        if (isPause.getValue() == Boolean.FALSE && isGameOver.getValue() == Boolean.FALSE
+                && isIdle.getValue() == Boolean.FALSE && currentGameMode != GameMode.VERSUS) {
+            stopGameLoop();
+            isIdle.setValue(Boolean.TRUE);
+        }
+    }
+
+    private void wakeIfIdle() {
+        if (isIdle.getValue() == Boolean.TRUE) {
+            isIdle.setValue(Boolean.FALSE);
+            startGameLoop();
+        }
+    }
+
+    private void onPulse(long now) {
+        if (lastPulse != 0) {
+            long interval = now - lastPulse;
+            pendingFrameNanos += Math.min(interval, MAX_CATCH_UP_NANOS);
+            if (framePacing != null) {
+                recordFramePacing(now, interval);
+            }
+        }
+        lastPulse = now;
+        while (pendingFrameNanos >= GravityTable.FRAME_NANOS) {
+            pendingFrameNanos -= GravityTable.FRAME_NANOS;
+            onFrame();
+        }
+        drawFall((double) pendingFrameNanos / GravityTable.FRAME_NANOS);
+    }
+
+    /**
+     * Moves the brick panel down by the part of a row the brick has fallen since its last gravity step.
+     * A brick resting on the stack stays on its row.
+     *
+     * @param frameFraction the part of the current logic frame that has passed
+     */
+    private void drawFall(double frameFraction) {
+        double progress = brickCanFall ? eventListener.getFallProgress(frameFraction) : 0;
+        double offset = progress * (brickPanel.getHgap() + BRICK_SIZE);
+        if (brickPanel.getTranslateY() != offset) {
+            brickPanel.setTranslateY(offset);
+        }
+    }
+
+    private void recordFramePacing(long now, long interval) {
+        framePacing.record(interval);
+        if (framePacingStart == 0) {
+            framePacingStart = now;
+        } else if (now - framePacingStart >= FRAME_PACING_REPORT_NANOS) {
+            framePacingOut.accept(framePacing.getReport());
+            framePacing.reset();
+            framePacingStart = now;
+        }
+    }
+
+    /**
+     * Reports the frame pacing of the game loop every ten seconds of play: the refresh rate, interval
+     * percentiles and missed vsyncs.
+     *
+     * @param out where the reports go
+     */
+    public void reportFramePacing(Consumer<String> out) {
+        framePacing = new FramePacing();
+        framePacingOut = out;
+        framePacingStart = 0;
     }
 
     /**
@@ -208,7 +432,7 @@ public class GuiController implements Initializable {
      * @param i the brick cell value
      * @return the Paint color for the cell
      */
-    private Paint getFillColor(int i) {
+    static Paint getFillColor(int i) {
         Paint returnPaint;
         switch (i) {
             case 0:
@@ -235,6 +459,9 @@ public class GuiController implements Initializable {
             case 7:
                 returnPaint = Color.BURLYWOOD;
                 break;
+            case 8:
+                returnPaint = Color.GRAY;
+                break;
             default:
                 returnPaint = Color.WHITE;
                 break;
@@ -249,14 +476,45 @@ public class GuiController implements Initializable {
      */
     private void refreshBrick(ViewData brick) {
         if (isPause.getValue() == Boolean.FALSE) {
-            brickPanel.setLayoutX(gamePanel.getLayoutX() + brick.getxPosition() * brickPanel.getVgap() + brick.getxPosition() * BRICK_SIZE);
-            brickPanel.setLayoutY(gamePanel.getLayoutY() + brick.getyPosition() * brickPanel.getHgap() + brick.getyPosition() * BRICK_SIZE);
-            for (int i = 0; i < brick.getBrickData().length; i++) {
-                for (int j = 0; j < brick.getBrickData()[i].length; j++) {
-                    setRectangleData(brick.getBrickData()[i][j], rectangles[i][j]);
+            drawBrick(brick);
+        }
+    }
+
+    private void drawBrick(ViewData brick) {
+        int[][] shape = brick.getBrickData();
+        brickPanel.setLayoutX(gamePanel.getLayoutX() + brick.getxPosition() * brickPanel.getVgap() + brick.getxPosition() * BRICK_SIZE);
+        brickPanel.setLayoutY(gamePanel.getLayoutY() + brick.getyPosition() * brickPanel.getHgap() + brick.getyPosition() * BRICK_SIZE);
+        refreshCells(brickAtlas, shape, rectangles, 0);
+        refreshNextBrick(brick.getNextBrickData());
+        // Checked once per move rather than per pulse; the fall offset is drawn by the game loop
+        brickCanFall = !MatrixOperations.intersect(boardMatrix, shape, brick.getxPosition(), brick.getyPosition() + 1);
+    }
+
+    /**
+     * Redraws the next brick preview from the brick atlas when the next brick changed.
+     * 
+     * @param nextBrick the shape of the next brick
+     */
+    private void refreshNextBrick(int[][] nextBrick) {
+        int piece = 0;
+        for (int[] row : nextBrick) {
+            for (int cell : row) {
+                if (cell != 0) {
+                    piece = cell;
                 }
             }
         }
+        if (piece == shownNextPiece) {
+            return;
+        }
+        shownNextPiece = piece;
+        GraphicsContext gc = nextBrickCanvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, nextBrickCanvas.getWidth(), nextBrickCanvas.getHeight());
+        for (int i = 0; i < nextBrick.length; i++) {
+            for (int j = 0; j < nextBrick[i].length; j++) {
+                brickAtlas.drawTile(gc, nextBrick[i][j], j * (BRICK_SIZE + 1), i * (BRICK_SIZE + 1));
+            }
+        }
     }
 
     /**
@@ -265,23 +523,52 @@ public class GuiController implements Initializable {
      * @param board the updated board matrix
      */
     public void refreshGameBackground(int[][] board) {
-        for (int i = 2; i < board.length; i++) {
-            for (int j = 0; j < board[i].length; j++) {
-                setRectangleData(board[i][j], displayMatrix[i][j]);
+        boardMatrix = board;
+        refreshCells(brickAtlas, board, displayMatrix, 2);
+    }
+
+    /**
+     * Updates a grid of rectangles from a matrix of cell values, leaving unchanged cells alone.
+     * Also run by {@link WarmUp} on rectangles that are not in a scene.
+     *
+     * @param atlas      the atlas supplying the tiles
+     * @param cells      the cell values
+     * @param rectangles the rectangles, indexed like the cells
+     * @param firstRow   the first row to update, rows above it are hidden
+     */
+    static void refreshCells(BrickAtlas atlas, int[][] cells, Rectangle[][] rectangles, int firstRow) {
+        for (int i = firstRow; i < cells.length; i++) {
+            for (int j = 0; j < cells[i].length; j++) {
+                setRectangleData(atlas, cells[i][j], rectangles[i][j]);
             }
         }
     }
 
     /**
-     * Sets the visual properties of a rectangle based on its color value.
+     * Sets the tile of a rectangle based on its color value.
+     * The rounded corners are part of the atlas tile, and unchanged cells are left alone.
      * 
+     * @param atlas the atlas supplying the tile
      * @param color the color value
      * @param rectangle the rectangle to update
      */
-    private void setRectangleData(int color, Rectangle rectangle) {
-        rectangle.setFill(getFillColor(color));
-        rectangle.setArcHeight(9);
-        rectangle.setArcWidth(9);
+    private static void setRectangleData(BrickAtlas atlas, int color, Rectangle rectangle) {
+        Paint paint = atlas.getPaint(color);
+        if (rectangle.getFill() != paint) {
+            rectangle.setFill(paint);
+        }
+    }
+
+    /**
+     * Advances the game by one logic frame and refreshes the display if anything changed.
+     */
+    private void onFrame() {
+        if (isPause.getValue() == Boolean.FALSE) {
+            DownData downData = eventListener.onTickEvent();
+            if (downData != null) {
+                showDownData(downData);
+            }
+        }
     }
 
     /**
@@ -291,16 +578,24 @@ public class GuiController implements Initializable {
      */
     private void moveDown(MoveEvent event) {
         if (isPause.getValue() == Boolean.FALSE) {
-            DownData downData = eventListener.onDownEvent(event);
-            if (downData.getClearRow() != null && downData.getClearRow().getLinesRemoved() > 0) {
-                NotificationPanel notificationPanel = new NotificationPanel("+" + downData.getClearRow().getScoreBonus());
-                groupNotification.getChildren().add(notificationPanel);
-                notificationPanel.showScore(groupNotification.getChildren());
-            }
-            refreshBrick(downData.getViewData());
+            showDownData(eventListener.onDownEvent(event));
         }
         gamePanel.requestFocus();
     }
+
+    /**
+     * Shows the score bonus of any cleared rows and refreshes the brick.
+     *
+     * @param downData the result of a down move or frame tick
+     */
+    private void showDownData(DownData downData) {
+        if (downData.getClearRow() != null && downData.getClearRow().getLinesRemoved() > 0) {
+            NotificationPanel notificationPanel = new NotificationPanel("+" + downData.getClearRow().getScoreBonus());
+            groupNotification.getChildren().add(notificationPanel);
+            notificationPanel.showScore(groupNotification.getChildren());
+        }
+        refreshBrick(downData.getViewData());
+    }
     
     /**
      * Drops the brick to the bottom of the board.
@@ -309,13 +604,7 @@ public class GuiController implements Initializable {
      */
     private void dropToBottom(MoveEvent event) {
         if (isPause.getValue() == Boolean.FALSE) {
-            DownData downData = eventListener.onDropToBottomEvent(event);
-            if (downData.getClearRow() != null && downData.getClearRow().getLinesRemoved() > 0) {
-                NotificationPanel notificationPanel = new NotificationPanel("+" + downData.getClearRow().getScoreBonus());
-                groupNotification.getChildren().add(notificationPanel);
-                notificationPanel.showScore(groupNotification.getChildren());
-            }
-            refreshBrick(downData.getViewData());
+            showDownData(eventListener.onDropToBottomEvent(event));
         }
         gamePanel.requestFocus();
     }
@@ -324,21 +613,52 @@ public class GuiController implements Initializable {
      * Toggles the pause state of the game.
      */
     private void togglePause() {
+        // An idle game has already stopped its loop, a pause keeps it stopped
+        isIdle.setValue(Boolean.FALSE);
         if (isGameOver.getValue() == Boolean.FALSE) {
             if (isPause.getValue() == Boolean.FALSE) {
-                timeLine.pause();
+                stopGameLoop();
                 isPause.setValue(Boolean.TRUE);
                 // Show pause message
                 pauseLabel.setVisible(true);
             } else {
-                timeLine.play();
+                startGameLoop();
                 isPause.setValue(Boolean.FALSE);
                 // Hide pause message
                 pauseLabel.setVisible(false);
+                pauseLabel.setText(PAUSED_TEXT);
             }
         }
     }
 
+    /**
+     * Holds the game paused while a {@link WarmUp} runs on a background thread, then resumes it and
+     * prints the warm-up report. Resuming the game with the pause key ends the hold early, the warm-up
+     * itself carries on.
+     *
+     * @param budgetMillis the most time the warm-up may take, in milliseconds
+     */
+    public void warmUp(long budgetMillis) {
+        if (isPause.getValue() == Boolean.FALSE) {
+            togglePause();
+        }
+        pauseLabel.setText(WARMING_UP_TEXT);
+        Thread thread = new Thread(() -> {
+            WarmUp warmUp = new WarmUp(brickAtlas, budgetMillis);
+            warmUp.run();
+            System.out.println(warmUp.getReport());
+            Platform.runLater(() -> {
+                boolean holding = isPause.getValue() == Boolean.TRUE && WARMING_UP_TEXT.equals(pauseLabel.getText());
+                pauseLabel.setText(PAUSED_TEXT);
+                if (holding) {
+                    togglePause();
+                }
+            });
+        }, "jit-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     /**
      * Sets the input event listener for handling user input.
      * 
@@ -355,85 +675,41 @@ public class GuiController implements Initializable {
      */
     public void bindScore(IntegerProperty integerProperty) {
         this.scoreProperty = integerProperty;
-        // Add listener to update speed when score changes
-        this.scoreProperty.addListener((observable, oldValue, newValue) -> {
-            updateGameSpeed(newValue.intValue());
-            // Update score display
-            scoreLabel.setText("Score: " + newValue.toString());
-            
-            // Handle level progression in challenge mode
-            if (currentGameMode == GameMode.CHALLENGE) {
-                int newLevel = (newValue.intValue() / SCORE_PER_LEVEL) + 1;
-                if (newLevel != currentLevel) {
-                    currentLevel = newLevel;
-                    levelLabel.setText("Level: " + currentLevel);
-                    updateSpeedDisplay();
-                }
-            }
-        });
+        this.scoreProperty.addListener((observable, oldValue, newValue) -> scoreLabel.setText("Score: " + newValue.toString()));
+    }
+
+    /**
+     * Binds the gravity model that decides the level and the gravity tick interval.
+     * The labels are only updated when the model reports a level change.
+     *
+     * @param gravityModel the gravity model of the current game
+     */
+    public void bindGravity(GravityModel gravityModel) {
+        this.gravityModel = gravityModel;
+        gravityModel.setListener(model -> updateGameSpeed());
     }
     
     /**
-     * Updates the game speed based on the current score or level.
-     * 
-     * @param score the current score
+     * Binds the spectator feed of the current game, used by the spectator windows.
+     *
+     * @param spectatorStream the spectator stream to subscribe to
      */
-    private void updateGameSpeed(int score) {
-        double speedMultiplier;
-        
-        if (currentGameMode == GameMode.CLASSIC) {
-            // Calculate speed multiplier based on score for classic mode
-            if (score >= 0 && score <= 499) {
-                speedMultiplier = 1.0; // Normal speed
-            } else if (score >= 500 && score <= 999) {
-                speedMultiplier = 1.5; // Increase 50% speed
-            } else if (score >= 1000 && score <= 1999) {
-                speedMultiplier = 2.0; // Increase 100% speed
-            } else { // score >= 2000
-                speedMultiplier = 2.5; // Increase 150% speed
-            }
-        } else { // CHALLENGE or RELAX mode
-            // Calculate speed multiplier based on level (10% increase per level)
-            speedMultiplier = 1.0 + (currentLevel - 1) * SPEED_INCREASE_PER_LEVEL;
-        }
-        
-        // Update timeline with new speed
-        if (timeLine != null) {
-            timeLine.stop();
-            timeLine = new Timeline(new KeyFrame(
-                    Duration.millis(BASE_SPEED / speedMultiplier),
-                    ae -> moveDown(new MoveEvent(EventType.DOWN, EventSource.THREAD))
-            ));
-            timeLine.setCycleCount(Timeline.INDEFINITE);
-            
-            // Resume if not paused
-            if (!isPause.getValue() && !isGameOver.getValue()) {
-                timeLine.play();
-            }
-        }
+    public void bindSpectatorStream(SpectatorStream spectatorStream) {
+        this.spectatorStream = spectatorStream;
     }
     
     /**
-     * Updates the speed display label.
+     * Updates the level and speed labels after a level change.
+     * The game loop itself runs at a fixed frame rate, so it does not need rebuilding.
      */
-    private void updateSpeedDisplay() {
+    private void updateGameSpeed() {
         if (currentGameMode == GameMode.CHALLENGE) {
-            int speedPercentage = (int) (100 + (currentLevel - 1) * 10);
-            speedLabel.setText("Speed: " + speedPercentage + "%");
+            levelLabel.setText("Level: " + gravityModel.getLevel());
+        }
+        if (gravityModel.isInstantDrop()) {
+            speedLabel.setText("Speed: 20G");
         } else {
-            // For classic mode, we'll show the current speed level
-            if (scoreProperty != null) {
-                int score = scoreProperty.get();
-                if (score >= 0 && score <= 499) {
-                    speedLabel.setText("Speed: 100%");
-                } else if (score >= 500 && score <= 999) {
-                    speedLabel.setText("Speed: 150%");
-                } else if (score >= 1000 && score <= 1999) {
-                    speedLabel.setText("Speed: 200%");
-                } else {
-                    speedLabel.setText("Speed: 250%");
-                }
-            }
+            speedLabel.setText("Speed: " + gravityModel.getSpeedPercent() + "%");
         }
     }
     
@@ -461,6 +737,30 @@ public class GuiController implements Initializable {
         newGame(null);
     }
     
+    /**
+     * Switches the game to survival mode.
+     */
+    private void switchToSurvivalMode() {
+        currentGameMode = GameMode.SURVIVAL;
+        newGame(null);
+    }
+    
+    /**
+     * Switches the game to versus mode.
+     */
+    private void switchToVersusMode() {
+        currentGameMode = GameMode.VERSUS;
+        newGame(null);
+    }
+    
+    /**
+     * Switches the game to puzzle mode.
+     */
+    private void switchToPuzzleMode() {
+        currentGameMode = GameMode.PUZZLE;
+        newGame(null);
+    }
+    
     /**
      * Gets the current game mode.
      * 
@@ -470,6 +770,24 @@ public class GuiController implements Initializable {
         return currentGameMode;
     }
     
+    /**
+     * Shows the state of the versus opponent in place of the level label.
+     * 
+     * @param status the opponent status text
+     */
+    public void showOpponentStatus(String status) {
+        levelLabel.setText(status);
+    }
+    
+    /**
+     * Shows the puzzle being played in place of the level label.
+     * 
+     * @param status the puzzle status text
+     */
+    public void showPuzzleStatus(String status) {
+        levelLabel.setText(status);
+    }
+    
     /**
      * Shows the game over screen with the final score.
      * 
@@ -479,6 +797,17 @@ public class GuiController implements Initializable {
         // Show game over panel
         gameOverPanel.setVisible(true);
         isGameOver.setValue(Boolean.TRUE);
+        // Nothing moves until a new game starts
+        stopGameLoop();
+    }
+
+    /**
+     * Shows the leaderboard standing of the game that just ended on the game over panel.
+     *
+     * @param standing the standing text
+     */
+    public void showLeaderboard(String standing) {
+        gameOverPanel.setLeaderboardText(standing);
     }
 
     /**
@@ -487,12 +816,15 @@ public class GuiController implements Initializable {
      * @param actionEvent the action event that triggered the new game
      */
     public void newGame(ActionEvent actionEvent) {
-        timeLine.stop();
+        stopGameLoop();
         gameOverPanel.setVisible(false);
+        gameOverPanel.setLeaderboardText("");
         eventListener.createNewGame();
         gamePanel.requestFocus();
-        timeLine.play();
+        pendingFrameNanos = 0;
+        startGameLoop();
         isPause.setValue(Boolean.FALSE);
+        isIdle.setValue(Boolean.FALSE);
         isGameOver.setValue(Boolean.FALSE);
         // Hide pause message when starting new game
         pauseLabel.setVisible(false);
@@ -500,15 +832,42 @@ public class GuiController implements Initializable {
         if (scoreLabel != null && scoreProperty != null) {
             scoreLabel.setText("Score: 0");
         }
-        
-        // Reset level and speed display based on game mode
-        if (currentGameMode == GameMode.CHALLENGE) {
-            currentLevel = 1;
-            levelLabel.setText("Level: 1");
-            speedLabel.setText("Speed: 100%");
-        } else {
+        showModeLabel();
+    }
+
+    /**
+     * Resets the level display based on game mode, the speed label follows the gravity model.
+     */
+    private void showModeLabel() {
+        if (currentGameMode == GameMode.SURVIVAL) {
+            levelLabel.setText("Mode: Survival");
+        } else if (currentGameMode == GameMode.CLASSIC || currentGameMode == GameMode.RELAX) {
             levelLabel.setText("Mode: Classic");
-            speedLabel.setText("Speed: 100%");
+        }
+    }
+
+    /**
+     * Shows a game resumed from a checkpoint, paused so the player can pick up where they left off.
+     * The game controller has already restored the game and redrawn the background.
+     *
+     * @param mode  the game mode of the resumed game
+     * @param brick the current brick of the resumed game
+     */
+    public void showResumedGame(GameMode mode, ViewData brick) {
+        currentGameMode = mode;
+        gameOverPanel.setVisible(false);
+        gameOverPanel.setLeaderboardText("");
+        isGameOver.setValue(Boolean.FALSE);
+        drawBrick(brick);
+        if (scoreLabel != null && scoreProperty != null) {
+            scoreLabel.setText("Score: " + scoreProperty.get());
+        }
+        showModeLabel();
+        if (gravityModel != null) {
+            updateGameSpeed();
+        }
+        if (isPause.getValue() == Boolean.FALSE) {
+            togglePause();
         }
     }
 
@@ -14,4 +14,13 @@ public interface InputEventListener {
     
     // Add method to handle drop to bottom
     DownData onDropToBottomEvent(MoveEvent event);
-}
\ No newline at end of file
+
+    // Key releases stop auto shift (DAS)
+    void onReleaseEvent(MoveEvent event);
+
+    // Advances the game timers by one frame, returns null when nothing visible changed
+    DownData onTickEvent();
+
+    // How far the falling brick is towards its next gravity step, 0 to 1, for drawing between logic frames
+    double getFallProgress(double frameFraction);
+}
@@ -0,0 +1,17 @@
+package com.comp2042;
+
+/**
+ * Entry point for launching the game from the class path, as the fast-start profile does.
+ * The java launcher refuses to start an {@link javafx.application.Application} subclass whose
+ * JavaFX modules are not on the module path, so this class starts {@link Main} for it.
+ */
+public final class Launcher {
+
+    private Launcher() {
+        //We don't want to instantiate this utility class
+    }
+
+    public static void main(String[] args) {
+        Main.main(args);
+    }
+}
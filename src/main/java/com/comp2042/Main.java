@@ -1,34 +1,156 @@
 package com.comp2042;
 
+import com.comp2042.checkpoint.Checkpointer;
+import com.comp2042.checkpoint.GameSnapshot;
+import com.comp2042.leaderboard.Leaderboard;
+import com.comp2042.logic.bricks.PreviewBrickGenerator;
+import com.comp2042.logic.bricks.RandomizerType;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.layout.Region;
 import javafx.stage.Stage;
 
 import java.net.URL;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 
 public class Main extends Application {
 
+    private GameController gameController;
+
+    private Leaderboard leaderboard;
+
+    private Checkpointer checkpointer;
+
     @Override
     public void start(Stage primaryStage) throws Exception {
+        Instant started = Instant.now();
+        // The class-data sharing training run must neither depend on nor change the player's saved files
+        boolean exitAfterFirstFrame = getParameters().getUnnamed().contains("--exit-after-first-frame");
+        // --checkpoint=<file> keeps the game in progress somewhere other than the user's home directory;
+        // it is read on the checkpoint thread while the scene loads
+        CompletableFuture<GameSnapshot> saved;
+        if (exitAfterFirstFrame) {
+            saved = CompletableFuture.completedFuture(null);
+        } else {
+            String checkpoint = getParameters().getNamed().get("checkpoint");
+            checkpointer = new Checkpointer(checkpoint != null ? Paths.get(checkpoint)
+                    : Paths.get(System.getProperty("user.home"), ".tetrisjfx", "checkpoint.bin"));
+            saved = checkpointer.load();
+        }
 
         URL location = getClass().getClassLoader().getResource("gameLayout.fxml");
         ResourceBundle resources = null;
         FXMLLoader fxmlLoader = new FXMLLoader(location, resources);
-        Parent root = fxmlLoader.load();
+        Region root = fxmlLoader.load();
         GuiController c = fxmlLoader.getController();
+        Instant loaded = Instant.now();
 
         primaryStage.setTitle("TetrisJFX");
         Scene scene = new Scene(root, 800, 560); // Increased height to accommodate extended game area
         primaryStage.setScene(scene);
+        reportFirstFrame(scene, started, loaded, exitAfterFirstFrame);
         primaryStage.show();
-        new GameController(c);
+        // --engine=<name> picks the board implementation, see BoardEngine
+        String engine = getParameters().getNamed().get("engine");
+        BoardEngine boardEngine = engine != null ? BoardEngine.fromName(engine) : BoardEngine.SIMPLE;
+        // --randomizer=<name> deals from a seeded randomizer with a preview queue, see RandomizerType
+        String randomizer = getParameters().getNamed().get("randomizer");
+        if (randomizer != null) {
+            RandomizerType randomizerType = RandomizerType.fromName(randomizer);
+            gameController = new GameController(c, boardEngine,
+                    seed -> new PreviewBrickGenerator(randomizerType.create(seed)));
+        } else {
+            gameController = new GameController(c, boardEngine);
+        }
+        // --leaderboard=<dir> keeps the leaderboards somewhere other than the user's home directory
+        if (!exitAfterFirstFrame) {
+            String leaderboardDirectory = getParameters().getNamed().get("leaderboard");
+            leaderboard = new Leaderboard(leaderboardDirectory != null ? Paths.get(leaderboardDirectory)
+                    : Paths.get(System.getProperty("user.home"), ".tetrisjfx", "leaderboard"));
+            gameController.setLeaderboard(leaderboard);
+        }
+        c.bindWindow(primaryStage);
+        // The game in progress when the application last stopped is resumed, paused, as soon as it is read
+        saved.thenAccept(snapshot -> Platform.runLater(() -> {
+            if (snapshot != null) {
+                gameController.resume(snapshot);
+            }
+            gameController.setCheckpointer(checkpointer);
+        }));
+        DeferredAssets.load(root);
+        // --warm-up=<ms> holds the first game until the hot code is compiled, for at most that long
+        String warmUp = getParameters().getNamed().get("warm-up");
+        if (warmUp != null) {
+            c.warmUp(Long.parseLong(warmUp));
+        }
+        // --frame-stats prints the frame pacing of the game loop every ten seconds
+        if (getParameters().getUnnamed().contains("--frame-stats")) {
+            c.reportFramePacing(System.out::println);
+        }
+        // --record=<file> records every placement as training data
+        String record = getParameters().getNamed().get("record");
+        if (record != null) {
+            gameController.recordTrainingData(Paths.get(record));
+        }
+    }
+
+    /**
+     * Prints the time from process start to the first laid-out pulse of the window, split into JVM and
+     * toolkit start-up, FXML loading and building the first frame.
+     *
+     * @param scene  the window's scene
+     * @param started when {@link #start(Stage)} was entered
+     * @param loaded  when the FXML finished loading
+     * @param exit    whether to quit once the first frame is out, as the class-data sharing training run does
+     */
+    private static void reportFirstFrame(Scene scene, Instant started, Instant loaded, boolean exit) {
+        Instant launched = ProcessHandle.current().info().startInstant().orElse(started);
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                Instant firstFrame = Instant.now();
+                System.out.printf("time to first frame %d ms (launch %d ms, fxml %d ms, first frame %d ms)%n",
+                        Duration.between(launched, firstFrame).toMillis(),
+                        Duration.between(launched, started).toMillis(),
+                        Duration.between(started, loaded).toMillis(),
+                        Duration.between(loaded, firstFrame).toMillis());
+                if (exit) {
+                    Platform.runLater(Platform::exit);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void stop() {
+        if (gameController != null) {
+            gameController.stopRecording();
+            gameController.checkpoint();
+        }
+        if (checkpointer != null) {
+            checkpointer.close();
+        }
+        if (leaderboard != null) {
+            leaderboard.close();
+        }
     }
 
 
     public static void main(String[] args) {
+        // --refresh-rate=<hz> lifts JavaFX's 60 Hz pulse cap to the display's rate; it has to be set
+        // before the toolkit starts
+        for (String arg : args) {
+            if (arg.startsWith("--refresh-rate=")) {
+                System.setProperty("javafx.animation.framerate", arg.substring("--refresh-rate=".length()));
+            }
+        }
         launch(args);
     }
 }
@@ -29,7 +29,7 @@ public class MatrixOperations {
 
     private static boolean checkOutOfBound(int[][] matrix, int targetX, int targetY) {
         boolean returnValue = true;
-        if (targetX >= 0 && targetY < matrix.length && targetX < matrix[targetY].length) {
+        if (targetX >= 0 && targetY >= 0 && targetY < matrix.length && targetX < matrix[targetY].length) {
             returnValue = false;
         }
         return returnValue;
@@ -88,10 +88,14 @@ public class MatrixOperations {
                 break;
             }
         }
-        int scoreBonus = 50 * clearedRows.size() * clearedRows.size();
+        int scoreBonus = getScoreBonus(clearedRows.size());
         return new ClearRow(clearedRows.size(), tmp, scoreBonus);
     }
 
+    public static int getScoreBonus(int linesRemoved) {
+        return 50 * linesRemoved * linesRemoved;
+    }
+
     public static List<int[][]> deepCopyList(List<int[][]> list){
         return list.stream().map(MatrixOperations::copy).collect(Collectors.toList());
     }
@@ -1,5 +1,6 @@
 package com.comp2042;
 
+import javafx.animation.Animation;
 import javafx.animation.FadeTransition;
 import javafx.animation.ParallelTransition;
 import javafx.animation.TranslateTransition;
@@ -16,6 +17,8 @@ import javafx.util.Duration;
 
 public class NotificationPanel extends BorderPane {
 
+    private ParallelTransition transition;
+
     public NotificationPanel(String text) {
         setMinHeight(200);
         setMinWidth(220);
@@ -34,7 +37,7 @@ public class NotificationPanel extends BorderPane {
         tt.setToY(this.getLayoutY() - 40);
         ft.setFromValue(1);
         ft.setToValue(0);
-        ParallelTransition transition = new ParallelTransition(tt, ft);
+        transition = new ParallelTransition(tt, ft);
         transition.setOnFinished(new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent event) {
@@ -43,4 +46,22 @@ public class NotificationPanel extends BorderPane {
         });
         transition.play();
     }
+
+    /**
+     * Freezes the notification where it is, while the game is idle.
+     */
+    public void pause() {
+        if (transition != null && transition.getStatus() == Animation.Status.RUNNING) {
+            transition.pause();
+        }
+    }
+
+    /**
+     * Carries on with a paused notification.
+     */
+    public void resume() {
+        if (transition != null && transition.getStatus() == Animation.Status.PAUSED) {
+            transition.play();
+        }
+    }
 }
@@ -0,0 +1,244 @@
+package com.comp2042;
+
+import com.comp2042.dataset.TrainingDataReader;
+import com.comp2042.logic.bricks.BrickShapes;
+import javafx.scene.paint.Color;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Renders a recorded game (a {@link TrainingDataReader} file) to numbered image files without opening a window.
+ * Frames are rendered one after another on the calling thread into pooled pixel buffers, using the
+ * playfield colours of {@link GuiController#getFillColor(int)}, and are encoded and written in parallel
+ * by a worker per core. The buffer pool bounds how many frames are in memory at once.
+ * Recordings only keep which cells are filled, so colours are rebuilt by replaying the placements;
+ * cells that cannot be explained that way (garbage, a new game) are drawn as garbage.
+ */
+public final class ReplayFrameExporter {
+
+    /** Output formats. RAW frames are rgb24, ready for {@code ffmpeg -f rawvideo -pix_fmt rgb24}. */
+    public enum Format {
+        PNG, RAW
+    }
+
+    private static final int HIDDEN_ROWS = 2;
+    private static final int BACKGROUND = 0xFF000000;
+
+    private final Path directory;
+    private final Format format;
+    private final int cellSize;
+    private final int[] palette = new int[SimpleBoard.GARBAGE_CELL + 1];
+    private int width;
+    private int height;
+
+    /**
+     * Constructs a new ReplayFrameExporter.
+     *
+     * @param directory the directory receiving frame_000000.png (or .rgb) and onwards
+     * @param format    the output format
+     * @param cellSize  the size of a cell in pixels
+     */
+    public ReplayFrameExporter(Path directory, Format format, int cellSize) {
+        this.directory = directory;
+        this.format = format;
+        this.cellSize = cellSize;
+        for (int i = 0; i < palette.length; i++) {
+            Color color = (Color) GuiController.getFillColor(i);
+            palette[i] = i == 0 ? BACKGROUND : 0xFF000000
+                    | (int) Math.round(color.getRed() * 255) << 16
+                    | (int) Math.round(color.getGreen() * 255) << 8
+                    | (int) Math.round(color.getBlue() * 255);
+        }
+    }
+
+    /**
+     * Renders one frame per recorded placement, showing the board and the brick where it was placed.
+     *
+     * @param recording the recording to render
+     * @param maxFrames the most frames to write
+     * @param threads   the number of encoding threads
+     * @return the number of frames written
+     * @throws IOException if reading the recording or writing a frame fails
+     */
+    public int export(Path recording, int maxFrames, int threads) throws IOException {
+        Files.createDirectories(directory);
+        try (TrainingDataReader reader = TrainingDataReader.open(recording)) {
+            int rows = reader.getRows();
+            int columns = reader.getColumns();
+            width = columns * cellSize;
+            height = (rows - HIDDEN_ROWS) * cellSize;
+            int[][] board = new int[rows][columns];
+            BlockingQueue<int[]> buffers = new ArrayBlockingQueue<>(threads * 2);
+            for (int i = 0; i < threads * 2; i++) {
+                buffers.add(new int[width * height]);
+            }
+            ExecutorService encoders = Executors.newFixedThreadPool(threads);
+            AtomicReference<IOException> failure = new AtomicReference<>();
+            int frame = 0;
+            try {
+                while (frame < maxFrames && failure.get() == null && reader.next()) {
+                    syncBoard(reader, board);
+                    int[] pixels = buffers.take();
+                    render(reader, board, pixels);
+                    int number = frame++;
+                    encoders.execute(() -> {
+                        try {
+                            write(number, pixels);
+                        } catch (IOException e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            buffers.add(pixels);
+                        }
+                    });
+                    placeAndClear(reader, board);
+                }
+                encoders.shutdown();
+                encoders.awaitTermination(1, TimeUnit.HOURS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while exporting frames", e);
+            } finally {
+                encoders.shutdownNow();
+            }
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            return frame;
+        }
+    }
+
+    /**
+     * Makes the coloured board agree with the recorded cells, keeping the colours that still match.
+     */
+    private static void syncBoard(TrainingDataReader reader, int[][] board) {
+        for (int r = 0; r < board.length; r++) {
+            for (int c = 0; c < board[r].length; c++) {
+                boolean filled = reader.isFilled(r, c);
+                if (!filled) {
+                    board[r][c] = 0;
+                } else if (board[r][c] == 0) {
+                    board[r][c] = SimpleBoard.GARBAGE_CELL;
+                }
+            }
+        }
+    }
+
+    private void render(TrainingDataReader reader, int[][] board, int[] pixels) {
+        Arrays.fill(pixels, BACKGROUND);
+        for (int r = HIDDEN_ROWS; r < board.length; r++) {
+            for (int c = 0; c < board[r].length; c++) {
+                if (board[r][c] != 0) {
+                    fillCell(pixels, r, c, palette[board[r][c]]);
+                }
+            }
+        }
+        int piece = reader.getCurrentPiece();
+        for (int j = 0; j < BrickShapes.SIZE; j++) {
+            int mask = BrickShapes.getRowMask(piece, reader.getRotation(), j);
+            int row = reader.getY() + j;
+            for (int i = 0; i < BrickShapes.SIZE; i++) {
+                int column = reader.getX() + i;
+                if ((mask >>> i & 1) != 0 && row >= HIDDEN_ROWS && row < board.length && column >= 0
+                        && column < board[row].length) {
+                    fillCell(pixels, row, column, palette[piece]);
+                }
+            }
+        }
+    }
+
+    private void fillCell(int[] pixels, int row, int column, int argb) {
+        int top = (row - HIDDEN_ROWS) * cellSize;
+        int left = column * cellSize;
+        // Leave a one pixel gap like the grid gaps of the game panel
+        for (int y = top; y < top + cellSize - 1; y++) {
+            Arrays.fill(pixels, y * width + left, y * width + left + cellSize - 1, argb);
+        }
+    }
+
+    /**
+     * Merges the placed brick into the coloured board and removes full rows, ready for the next record.
+     */
+    private static void placeAndClear(TrainingDataReader reader, int[][] board) {
+        int piece = reader.getCurrentPiece();
+        for (int j = 0; j < BrickShapes.SIZE; j++) {
+            int mask = BrickShapes.getRowMask(piece, reader.getRotation(), j);
+            for (int i = 0; i < BrickShapes.SIZE; i++) {
+                int row = reader.getY() + j;
+                int column = reader.getX() + i;
+                if ((mask >>> i & 1) != 0 && row >= 0 && row < board.length && column >= 0 && column < board[row].length) {
+                    board[row][column] = piece;
+                }
+            }
+        }
+        int write = board.length - 1;
+        for (int r = board.length - 1; r >= 0; r--) {
+            boolean full = true;
+            for (int cell : board[r]) {
+                full &= cell != 0;
+            }
+            if (!full) {
+                System.arraycopy(board[r], 0, board[write--], 0, board[r].length);
+            }
+        }
+        for (int r = write; r >= 0; r--) {
+            Arrays.fill(board[r], 0);
+        }
+    }
+
+    private void write(int frame, int[] pixels) throws IOException {
+        Path file = directory.resolve(String.format("frame_%06d.%s", frame, format == Format.PNG ? "png" : "rgb"));
+        if (format == Format.PNG) {
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            image.setRGB(0, 0, width, height, pixels, 0, width);
+            if (!ImageIO.write(image, "png", file.toFile())) {
+                throw new IOException("No PNG encoder available");
+            }
+        } else {
+            byte[] rgb = new byte[pixels.length * 3];
+            for (int i = 0; i < pixels.length; i++) {
+                rgb[i * 3] = (byte) (pixels[i] >> 16);
+                rgb[i * 3 + 1] = (byte) (pixels[i] >> 8);
+                rgb[i * 3 + 2] = (byte) pixels[i];
+            }
+            try (OutputStream out = Files.newOutputStream(file)) {
+                out.write(rgb);
+            }
+        }
+    }
+
+    /**
+     * Exports frames from the command line.
+     *
+     * @param args recording file, output directory, then optional format (png or raw), cell size and frame limit
+     * @throws IOException if the export fails
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: ReplayFrameExporter <recording> <output dir> [png|raw] [cell size] [max frames]");
+            return;
+        }
+        Format format = args.length > 2 ? Format.valueOf(args[2].toUpperCase(Locale.ROOT)) : Format.PNG;
+        int cellSize = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+        int maxFrames = args.length > 4 ? Integer.parseInt(args[4]) : Integer.MAX_VALUE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long start = System.nanoTime();
+        int frames = new ReplayFrameExporter(Paths.get(args[1]), format, cellSize)
+                .export(Paths.get(args[0]), maxFrames, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d frames in %.1f s (%.0f frames/s)%n", frames, seconds, frames / seconds);
+    }
+}
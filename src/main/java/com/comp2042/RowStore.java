@@ -0,0 +1,190 @@
+package com.comp2042;
+
+import java.util.Arrays;
+
+/**
+ * Row storage for the board background, kept as a circular buffer of row arrays
+ * with an occupancy bitmask per row.
+ * Logical row 0 is the top of the board. Clearing rows only moves row references
+ * below the highest cleared row and rotates the buffer head, and pushing a garbage row
+ * in from the bottom recycles the top row in place, so neither copies the board.
+ * The int[][] returned by {@link #view()} shares its rows with the buffer and is
+ * re-pointed after every structural change.
+ */
+public final class RowStore {
+
+    private final int rows;
+    private final int columns;
+    private final int fullMask;
+    private final int[][] ring;
+    private final int[] masks;
+    private final int[][] spare;
+    private final int[][] view;
+    private int head;
+
+    /**
+     * Constructs a new empty RowStore.
+     *
+     * @param rows    the number of rows
+     * @param columns the number of columns, at most 31
+     */
+    public RowStore(int rows, int columns) {
+        if (columns > 31) {
+            throw new IllegalArgumentException("At most 31 columns are supported: " + columns);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.fullMask = (1 << columns) - 1;
+        ring = new int[rows][columns];
+        masks = new int[rows];
+        spare = new int[rows][];
+        view = new int[rows][];
+        refreshView();
+    }
+
+    /**
+     * Gets the board as a matrix indexed [row][column].
+     * The same array is returned for the lifetime of the store and always reflects its current state.
+     *
+     * @return the live matrix view
+     */
+    public int[][] view() {
+        return view;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int get(int row, int column) {
+        return ring[physical(row)][column];
+    }
+
+    /**
+     * Sets a single cell, keeping the row mask up to date.
+     *
+     * @param row    the logical row
+     * @param column the column
+     * @param value  the cell value, 0 for empty
+     */
+    public void set(int row, int column, int value) {
+        int p = physical(row);
+        ring[p][column] = value;
+        if (value != 0) {
+            masks[p] |= 1 << column;
+        } else {
+            masks[p] &= ~(1 << column);
+        }
+    }
+
+    /**
+     * Gets the occupancy bitmask of a row, bit i being set when column i is filled.
+     *
+     * @param row the logical row
+     * @return the row mask
+     */
+    public int getRowMask(int row) {
+        return masks[physical(row)];
+    }
+
+    public boolean isRowFull(int row) {
+        return masks[physical(row)] == fullMask;
+    }
+
+    /**
+     * Writes the filled cells of a brick shape into the board in place.
+     *
+     * @param brick the brick shape, indexed [row][column]
+     * @param x     the column of the shape's left edge
+     * @param y     the row of the shape's top edge
+     */
+    public void merge(int[][] brick, int x, int y) {
+        for (int i = 0; i < brick.length; i++) {
+            for (int j = 0; j < brick[i].length; j++) {
+                if (brick[j][i] != 0) {
+                    set(y + j, x + i, brick[j][i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes every full row, letting the rows above fall down.
+     * Rows above the highest full row are not touched; the rows below it move up by reference
+     * and the buffer head is rotated so the freed rows become the empty top rows.
+     *
+     * @return the number of rows removed
+     */
+    public int clearFullRows() {
+        int removed = 0;
+        for (int r = 0; r < rows; r++) {
+            int p = physical(r);
+            if (masks[p] == fullMask) {
+                spare[removed++] = ring[p];
+            } else if (removed > 0) {
+                int q = physical(r - removed);
+                ring[q] = ring[p];
+                masks[q] = masks[p];
+            }
+        }
+        if (removed == 0) {
+            return 0;
+        }
+        for (int i = 0; i < removed; i++) {
+            int p = physical(rows - removed + i);
+            ring[p] = spare[i];
+            spare[i] = null;
+            Arrays.fill(ring[p], 0);
+            masks[p] = 0;
+        }
+        head = (head - removed + rows) % rows;
+        refreshView();
+        return removed;
+    }
+
+    /**
+     * Pushes a garbage row in from the bottom, moving every other row up by one.
+     * The row leaving the top is reused for the new bottom row.
+     *
+     * @param value      the cell value used for garbage
+     * @param holeColumn the column left empty in the garbage row
+     * @return true if the row pushed out of the top was not empty
+     */
+    public boolean pushRow(int value, int holeColumn) {
+        int p = physical(0);
+        boolean toppedOut = masks[p] != 0;
+        head = (head + 1) % rows;
+        Arrays.fill(ring[p], value);
+        ring[p][holeColumn] = 0;
+        masks[p] = fullMask & ~(1 << holeColumn);
+        refreshView();
+        return toppedOut;
+    }
+
+    /**
+     * Empties every row.
+     */
+    public void clear() {
+        for (int p = 0; p < rows; p++) {
+            Arrays.fill(ring[p], 0);
+            masks[p] = 0;
+        }
+        head = 0;
+        refreshView();
+    }
+
+    private int physical(int row) {
+        int p = head + row;
+        return p >= rows ? p - rows : p;
+    }
+
+    private void refreshView() {
+        for (int r = 0; r < rows; r++) {
+            view[r] = ring[physical(r)];
+        }
+    }
+}
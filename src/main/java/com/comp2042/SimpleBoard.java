@@ -3,6 +3,7 @@ package com.comp2042;
 import com.comp2042.logic.bricks.Brick;
 import com.comp2042.logic.bricks.BrickGenerator;
 import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.logic.rotation.SuperRotationSystem;
 
 import java.awt.*;
 
@@ -13,11 +14,16 @@ import java.awt.*;
  */
 public class SimpleBoard implements Board {
 
+    /** Cell value used for garbage rows. */
+    public static final int GARBAGE_CELL = 8;
+
     private final int width;
     private final int height;
     private BrickGenerator brickGenerator;
     private final BrickRotator brickRotator;
-    private int[][] currentGameMatrix;
+    private final RowStore rowStore;
+    private final int[][] currentGameMatrix;
+    private final BoardFeatures features;
     private Point currentOffset;
     private final Score score;
 
@@ -31,7 +37,9 @@ public class SimpleBoard implements Board {
     public SimpleBoard(int width, int height) {
         this.width = width;
         this.height = height;
-        currentGameMatrix = new int[width][height];
+        rowStore = new RowStore(width, height);
+        currentGameMatrix = rowStore.view();
+        features = new BoardFeatures(rowStore);
         brickGenerator = new RandomBrickGenerator();
         brickRotator = new BrickRotator();
         score = new Score();
@@ -47,7 +55,9 @@ public class SimpleBoard implements Board {
     public SimpleBoard(int width, int height, BrickGenerator brickGenerator) {
         this.width = width;
         this.height = height;
-        currentGameMatrix = new int[width][height];
+        rowStore = new RowStore(width, height);
+        currentGameMatrix = rowStore.view();
+        features = new BoardFeatures(rowStore);
         this.brickGenerator = brickGenerator;
         brickRotator = new BrickRotator();
         score = new Score();
@@ -117,15 +127,44 @@ public class SimpleBoard implements Board {
      */
     @Override
     public boolean rotateLeftBrick() {
-        int[][] currentMatrix = MatrixOperations.copy(currentGameMatrix);
-        NextShapeInfo nextShape = brickRotator.getNextShape();
-        boolean conflict = MatrixOperations.intersect(currentMatrix, nextShape.getShape(), (int) currentOffset.getX(), (int) currentOffset.getY());
-        if (conflict) {
-            return false;
-        } else {
-            brickRotator.setCurrentShape(nextShape.getPosition());
-            return true;
+        return rotateBrick(-1);
+    }
+
+    /**
+     * Rotates the current brick clockwise.
+     * 
+     * @return true if the brick was able to rotate, false if it couldn't rotate (collision or boundary)
+     */
+    @Override
+    public boolean rotateRightBrick() {
+        return rotateBrick(1);
+    }
+
+    /**
+     * Rotates the current brick using the Super Rotation System, trying each wall kick
+     * of the rotation in order until one fits.
+     * 
+     * @param direction 1 for clockwise, -1 for counterclockwise
+     * @return true if the brick was able to rotate
+     */
+    private boolean rotateBrick(int direction) {
+        int from = brickRotator.getCurrentShapeIndex();
+        int to = brickRotator.getRotatedIndex(direction);
+        int piece = brickRotator.getPiece();
+        int[][] shape = brickRotator.getShape(to);
+        int x = (int) currentOffset.getX();
+        int y = (int) currentOffset.getY();
+        int kicks = SuperRotationSystem.getKickCount(piece, from, to);
+        for (int k = 0; k < kicks; k++) {
+            int kickedX = x + SuperRotationSystem.getKickX(piece, from, to, k);
+            int kickedY = y + SuperRotationSystem.getKickY(piece, from, to, k);
+            if (!MatrixOperations.intersect(currentGameMatrix, shape, kickedX, kickedY)) {
+                currentOffset.setLocation(kickedX, kickedY);
+                brickRotator.setCurrentShape(to);
+                return true;
+            }
         }
+        return false;
     }
 
     /**
@@ -172,7 +211,7 @@ public class SimpleBoard implements Board {
      */
     @Override
     public ViewData getViewData() {
-        return new ViewData(brickRotator.getCurrentShape(), (int) currentOffset.getX(), (int) currentOffset.getY(), brickGenerator.getNextBrick().getShapeMatrix().get(0));
+        return new ViewData(brickRotator.getCurrentShape(), (int) currentOffset.getX(), (int) currentOffset.getY(), brickGenerator.getNextBrick().getShapeMatrix().get(0), brickRotator.getCurrentShapeIndex());
     }
 
     /**
@@ -180,7 +219,11 @@ public class SimpleBoard implements Board {
      */
     @Override
     public void mergeBrickToBackground() {
-        currentGameMatrix = MatrixOperations.merge(currentGameMatrix, brickRotator.getCurrentShape(), (int) currentOffset.getX(), (int) currentOffset.getY());
+        int[][] shape = brickRotator.getCurrentShape();
+        int x = (int) currentOffset.getX();
+        int y = (int) currentOffset.getY();
+        rowStore.merge(shape, x, y);
+        features.onMerge(shape, x, y);
     }
 
     /**
@@ -190,10 +233,39 @@ public class SimpleBoard implements Board {
      */
     @Override
     public ClearRow clearRows() {
-        ClearRow clearRow = MatrixOperations.checkRemoving(currentGameMatrix);
-        currentGameMatrix = clearRow.getNewMatrix();
-        return clearRow;
+        features.beforeClear();
+        int linesRemoved = rowStore.clearFullRows();
+        return new ClearRow(linesRemoved, currentGameMatrix, MatrixOperations.getScoreBonus(linesRemoved));
+    }
 
+    /**
+     * Pushes a garbage row in from the bottom of the board.
+     * If the rising stack overlaps the current brick, the brick is pushed up with it.
+     *
+     * @param holeColumn the column left empty in the garbage row
+     * @return true if the stack was pushed out of the top of the board (game over)
+     */
+    @Override
+    public boolean addGarbageRow(int holeColumn) {
+        boolean toppedOut = rowStore.pushRow(GARBAGE_CELL, holeColumn);
+        features.onGarbage(holeColumn);
+        if (MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentShape(), (int) currentOffset.getX(), (int) currentOffset.getY())) {
+            if (currentOffset.getY() <= 0) {
+                return true;
+            }
+            currentOffset = new Point((int) currentOffset.getX(), (int) currentOffset.getY() - 1);
+        }
+        return toppedOut;
+    }
+
+    /**
+     * Gets the board features, kept up to date by merges, clears and garbage rows.
+     * 
+     * @return the live features of this board
+     */
+    @Override
+    public BoardFeatures getFeatures() {
+        return features;
     }
 
     /**
@@ -211,7 +283,8 @@ public class SimpleBoard implements Board {
      */
     @Override
     public void newGame() {
-        currentGameMatrix = new int[width][height];
+        rowStore.clear();
+        features.rebuild();
         score.reset();
         createNewBrick();
     }
@@ -223,8 +296,38 @@ public class SimpleBoard implements Board {
      */
     public void newGame(BrickGenerator brickGenerator) {
         this.brickGenerator = brickGenerator;
-        currentGameMatrix = new int[width][height];
+        rowStore.clear();
+        features.rebuild();
         score.reset();
         createNewBrick();
     }
-}
\ No newline at end of file
+
+    /**
+     * Replaces the background with the given cells, for example the starting board of a puzzle.
+     * 
+     * @param background the cells, indexed [row][column] and the same size as the board
+     */
+    @Override
+    public void loadBackground(int[][] background) {
+        rowStore.clear();
+        for (int r = 0; r < background.length; r++) {
+            for (int c = 0; c < background[r].length; c++) {
+                rowStore.set(r, c, background[r][c]);
+            }
+        }
+        features.rebuild();
+    }
+
+    /**
+     * Puts the current brick at a given rotation state and position without checking for collisions.
+     *
+     * @param rotation the index of the rotation state
+     * @param x        the column of the brick's top left corner
+     * @param y        the row of the brick's top left corner
+     */
+    @Override
+    public void placeBrick(int rotation, int x, int y) {
+        brickRotator.setCurrentShape(rotation);
+        currentOffset = new Point(x, y);
+    }
+}
@@ -0,0 +1,112 @@
+package com.comp2042;
+
+import com.comp2042.spectate.SpectatorState;
+import com.comp2042.spectate.SpectatorSubscriber;
+import javafx.animation.AnimationTimer;
+import javafx.beans.value.ObservableBooleanValue;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+
+/**
+ * Window that renders a spectator feed on a single Canvas.
+ * It polls its subscriber on every pulse, redraws only when records arrived,
+ * and shows the bandwidth and decode time of its own subscription.
+ * It stops polling while the watched game is idle, once the last records are drawn,
+ * and while its own window is minimized.
+ */
+public class SpectatorView {
+
+    private static final int CELL_SIZE = 16;
+    private static final int HIDDEN_ROWS = 2;
+
+    private final SpectatorSubscriber subscriber;
+    private final SpectatorState state = new SpectatorState();
+    private final Canvas canvas = new Canvas(10 * CELL_SIZE, 23 * CELL_SIZE + 36);
+    private final Stage stage = new Stage();
+    private final ObservableBooleanValue sourceIdle;
+    private final AnimationTimer timer;
+    private long startNanos;
+
+    /**
+     * Constructs a new SpectatorView reading from the given subscriber.
+     *
+     * @param subscriber the spectator subscription to render
+     * @param sourceIdle true while the watched game is paused or over, and publishes nothing
+     */
+    public SpectatorView(SpectatorSubscriber subscriber, ObservableBooleanValue sourceIdle) {
+        this.subscriber = subscriber;
+        this.sourceIdle = sourceIdle;
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                int records = SpectatorView.this.subscriber.poll(state);
+                if (records > 0 && state.isReady()) {
+                    draw(now);
+                } else if (records == 0 && sourceIdle.get()) {
+                    // Everything published before the game went idle has been drawn
+                    stop();
+                }
+            }
+        };
+        stage.setTitle("Spectator");
+        stage.setScene(new Scene(new StackPane(canvas)));
+        stage.setOnHidden(e -> timer.stop());
+        stage.iconifiedProperty().addListener((observable, wasIconified, iconified) -> updateTimer());
+        sourceIdle.addListener((observable, wasIdle, idle) -> updateTimer());
+    }
+
+    /**
+     * Shows the window and starts rendering.
+     */
+    public void show() {
+        startNanos = System.nanoTime();
+        stage.show();
+        timer.start();
+    }
+
+    /**
+     * Polls while the window is visible, and while the watched game runs or has just gone idle.
+     */
+    private void updateTimer() {
+        if (stage.isShowing() && !stage.isIconified()) {
+            // Starting a running timer does nothing; an idle game stops it after one last poll
+            timer.start();
+        } else {
+            timer.stop();
+        }
+    }
+
+    private void draw(long now) {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setFill(Color.BLACK);
+        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        for (int r = HIDDEN_ROWS; r < state.getRows(); r++) {
+            for (int c = 0; c < state.getColumns(); c++) {
+                if (state.getCell(r, c) != 0) {
+                    drawCell(gc, state.getCell(r, c), r, c);
+                }
+            }
+        }
+        int pieceMask = state.getPieceMask();
+        for (int i = 0; i < 16; i++) {
+            int row = state.getPieceY() + i / 4;
+            if ((pieceMask >>> i & 1) != 0 && row >= HIDDEN_ROWS) {
+                drawCell(gc, state.getPieceColor(), row, state.getPieceX() + i % 4);
+            }
+        }
+        double seconds = Math.max(1e-9, (now - startNanos) / 1e9);
+        gc.setFill(Color.WHITE);
+        gc.fillText(String.format("%.1f B/s  %.1f us/record", subscriber.getBytesRead() / seconds,
+                subscriber.getDecodeNanos() / 1000.0 / Math.max(1, subscriber.getRecordsRead())), 4, canvas.getHeight() - 20);
+        gc.fillText("resyncs: " + subscriber.getResyncs(), 4, canvas.getHeight() - 6);
+    }
+
+    private void drawCell(GraphicsContext gc, int value, int row, int column) {
+        gc.setFill(GuiController.getFillColor(value));
+        gc.fillRoundRect(column * CELL_SIZE, (row - HIDDEN_ROWS) * CELL_SIZE, CELL_SIZE - 1, CELL_SIZE - 1, 6, 6);
+    }
+}
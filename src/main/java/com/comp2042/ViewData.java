@@ -6,12 +6,18 @@ public final class ViewData {
     private final int xPosition;
     private final int yPosition;
     private final int[][] nextBrickData;
+    private final int rotation;
 
     public ViewData(int[][] brickData, int xPosition, int yPosition, int[][] nextBrickData) {
+        this(brickData, xPosition, yPosition, nextBrickData, 0);
+    }
+
+    public ViewData(int[][] brickData, int xPosition, int yPosition, int[][] nextBrickData, int rotation) {
         this.brickData = brickData;
         this.xPosition = xPosition;
         this.yPosition = yPosition;
         this.nextBrickData = nextBrickData;
+        this.rotation = rotation;
     }
 
     public int[][] getBrickData() {
@@ -29,4 +35,8 @@ public final class ViewData {
     public int[][] getNextBrickData() {
         return MatrixOperations.copy(nextBrickData);
     }
+
+    public int getRotation() {
+        return rotation;
+    }
 }
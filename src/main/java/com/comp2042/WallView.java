@@ -0,0 +1,198 @@
+package com.comp2042;
+
+import com.comp2042.logic.ai.BotPlayer;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import javafx.animation.AnimationTimer;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.stage.Stage;
+
+/**
+ * Window showing a wall of bot games, each a scaled-down playfield, drawn on a single Canvas.
+ * Every pulse advances some of the games and then makes one render pass: boards whose version
+ * did not change since they were last drawn are skipped, and the cells of the changed boards are
+ * gathered per colour so each colour is set once and then filled cell after cell.
+ * The games are suspended while the window is minimized.
+ */
+public class WallView {
+
+    private static final int HIDDEN_ROWS = 2;
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+    private static final int GAP = 6;
+    private static final int STATUS_HEIGHT = 18;
+    private static final int FRAMES_PER_BRICK = 4;
+    private static final int MAX_BRICKS = 1000;
+    private static final int COLORS = SimpleBoard.GARBAGE_CELL + 1;
+
+    private final int boardCount;
+    private final int cellSize;
+    private final int tileColumns;
+    private final SimpleBoard[] boards;
+    private final int[] bricksPlaced;
+    private final int[] versions;
+    private final int[] drawnVersions;
+    private final BotPlayer bot = new BotPlayer(BotPlayer.getDefaultWeights());
+    private final Paint[] palette = new Paint[COLORS];
+    private final double[][] cellX = new double[COLORS][];
+    private final double[][] cellY = new double[COLORS][];
+    private final int[] cellCount = new int[COLORS];
+    private final Canvas canvas;
+    private final Stage stage = new Stage();
+    private final AnimationTimer timer;
+    private long frame;
+    private long seed;
+    private long drawnBoards;
+    private long passes;
+    private int shownChanged = -1;
+    private long shownAverageTenths = -1;
+    private String status = "";
+
+    /**
+     * Constructs a new WallView.
+     *
+     * @param boardCount the number of games on the wall
+     * @param cellSize   the size of a cell in pixels
+     */
+    public WallView(int boardCount, int cellSize) {
+        this.boardCount = boardCount;
+        this.cellSize = cellSize;
+        // Playfields are tall, so use more tile columns than rows
+        tileColumns = (int) Math.ceil(Math.sqrt(boardCount * 2.3));
+        int tileRows = (boardCount + tileColumns - 1) / tileColumns;
+        boards = new SimpleBoard[boardCount];
+        bricksPlaced = new int[boardCount];
+        versions = new int[boardCount];
+        drawnVersions = new int[boardCount];
+        seed = System.nanoTime();
+        for (int b = 0; b < boardCount; b++) {
+            boards[b] = new SimpleBoard(ROWS, COLUMNS);
+            restart(b);
+            drawnVersions[b] = -1;
+        }
+        int capacity = boardCount * ROWS * COLUMNS;
+        for (int color = 1; color < COLORS; color++) {
+            palette[color] = GuiController.getFillColor(color);
+            cellX[color] = new double[capacity];
+            cellY[color] = new double[capacity];
+        }
+        canvas = new Canvas(tileColumns * (COLUMNS * cellSize + GAP) + GAP,
+                tileRows * ((ROWS - HIDDEN_ROWS) * cellSize + GAP) + GAP + STATUS_HEIGHT);
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                step();
+                draw();
+            }
+        };
+        stage.setTitle("Bot Wall");
+        stage.setScene(new Scene(new StackPane(canvas)));
+        stage.setOnHidden(e -> timer.stop());
+        stage.iconifiedProperty().addListener((observable, wasIconified, iconified) -> {
+            if (iconified) {
+                timer.stop();
+            } else if (stage.isShowing()) {
+                timer.start();
+            }
+        });
+    }
+
+    /**
+     * Shows the window and starts the games.
+     */
+    public void show() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setFill(Color.rgb(30, 30, 30));
+        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        stage.show();
+        timer.start();
+    }
+
+    /**
+     * Lets a staggered share of the bots place their next brick.
+     */
+    private void step() {
+        frame++;
+        for (int b = 0; b < boardCount; b++) {
+            if ((frame + b) % FRAMES_PER_BRICK != 0) {
+                continue;
+            }
+            SimpleBoard board = boards[b];
+            bot.placeBrick(board);
+            board.mergeBrickToBackground();
+            board.clearRows();
+            bricksPlaced[b]++;
+            if (board.createNewBrick() || bricksPlaced[b] >= MAX_BRICKS) {
+                restart(b);
+            }
+            versions[b]++;
+        }
+    }
+
+    private void restart(int b) {
+        boards[b].newGame(new RandomBrickGenerator(seed++));
+        bricksPlaced[b] = 0;
+    }
+
+    private void draw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        int tileWidth = COLUMNS * cellSize;
+        int tileHeight = (ROWS - HIDDEN_ROWS) * cellSize;
+        gc.setFill(Color.BLACK);
+        int changed = 0;
+        for (int b = 0; b < boardCount; b++) {
+            if (versions[b] == drawnVersions[b]) {
+                continue;
+            }
+            drawnVersions[b] = versions[b];
+            changed++;
+            double left = GAP + (b % tileColumns) * (tileWidth + GAP);
+            double top = GAP + (b / tileColumns) * (tileHeight + GAP);
+            gc.fillRect(left, top, tileWidth, tileHeight);
+            int[][] matrix = boards[b].getBoardMatrix();
+            for (int r = HIDDEN_ROWS; r < ROWS; r++) {
+                int[] row = matrix[r];
+                for (int c = 0; c < COLUMNS; c++) {
+                    int color = row[c];
+                    if (color != 0) {
+                        int i = cellCount[color]++;
+                        cellX[color][i] = left + c * cellSize;
+                        cellY[color][i] = top + (r - HIDDEN_ROWS) * cellSize;
+                    }
+                }
+            }
+        }
+        int size = Math.max(1, cellSize - 1);
+        for (int color = 1; color < COLORS; color++) {
+            int count = cellCount[color];
+            if (count == 0) {
+                continue;
+            }
+            gc.setFill(palette[color]);
+            double[] xs = cellX[color];
+            double[] ys = cellY[color];
+            for (int i = 0; i < count; i++) {
+                gc.fillRect(xs[i], ys[i], size, size);
+            }
+            cellCount[color] = 0;
+        }
+        passes++;
+        drawnBoards += changed;
+        double statusTop = canvas.getHeight() - STATUS_HEIGHT;
+        gc.setFill(Color.rgb(30, 30, 30));
+        gc.fillRect(0, statusTop, canvas.getWidth(), STATUS_HEIGHT);
+        gc.setFill(Color.WHITE);
+        long averageTenths = Math.round(drawnBoards * 10.0 / passes);
+        if (changed != shownChanged || averageTenths != shownAverageTenths) {
+            shownChanged = changed;
+            shownAverageTenths = averageTenths;
+            status = boardCount + " games, " + changed + " redrawn this frame, "
+                    + averageTenths / 10 + "." + averageTenths % 10 + " per frame on average";
+        }
+        gc.fillText(status, GAP, canvas.getHeight() - 5);
+    }
+}
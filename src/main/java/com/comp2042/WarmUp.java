@@ -0,0 +1,172 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import javafx.scene.shape.Rectangle;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+/**
+ * Headless simulation that gets the game's hot paths compiled before a player needs them.
+ * It plays random games on a {@link SimpleBoard} with the moves a player makes (shifts, rotations,
+ * soft drops, merges and row clears) and pushes every view through the same rectangle diff as the
+ * game panel, on rectangles that are not in a scene, so it can run off the JavaFX thread.
+ * <p>
+ * Work is done in batches of placements. The code counts as steady once the JIT spent less than
+ * {@value #QUIET_COMPILE_MILLIS} ms compiling during each of {@value #STABLE_BATCHES} batches in a row.
+ * On a JVM without compilation time monitoring the batches have to run within {@value #TOLERANCE_PERCENT}%
+ * of the fastest one instead. The warm-up stops at steady state or when the time budget runs out.
+ */
+public final class WarmUp {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+    private static final int HIDDEN_ROWS = 2;
+    private static final int BATCH_PLACEMENTS = 1000;
+    private static final int STABLE_BATCHES = 5;
+    private static final int QUIET_COMPILE_MILLIS = 2;
+    private static final int TOLERANCE_PERCENT = 25;
+
+    private final BrickAtlas atlas;
+    private final long budgetNanos;
+    private final SimpleBoard board = new SimpleBoard(ROWS, COLUMNS);
+    private final Rectangle[][] cells = new Rectangle[ROWS][COLUMNS];
+    private final Rectangle[][] brickCells = new Rectangle[4][4];
+    private final SplittableRandom random = new SplittableRandom(1);
+    private long seed;
+    private boolean steady;
+    private long elapsedNanos;
+    private long placements;
+    private double firstBatchNanos;
+    private double lastBatchNanos;
+
+    /**
+     * Constructs a new WarmUp.
+     *
+     * @param atlas        the atlas the game panel draws with
+     * @param budgetMillis the most time to spend, in milliseconds
+     */
+    public WarmUp(BrickAtlas atlas, long budgetMillis) {
+        this.atlas = atlas;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        for (Rectangle[] row : cells) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = new Rectangle();
+            }
+        }
+        for (Rectangle[] row : brickCells) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = new Rectangle();
+            }
+        }
+        board.newGame(new RandomBrickGenerator(seed++));
+    }
+
+    /**
+     * Runs batches until the code is steady or the budget is spent.
+     *
+     * @return true if steady state was reached within the budget
+     */
+    public boolean run() {
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean monitored = jit != null && jit.isCompilationTimeMonitoringSupported();
+        long start = System.nanoTime();
+        long compileTime = monitored ? jit.getTotalCompilationTime() : 0;
+        double fastest = Double.MAX_VALUE;
+        int stableBatches = 0;
+        while (System.nanoTime() - start < budgetNanos) {
+            long batchStart = System.nanoTime();
+            for (int i = 0; i < BATCH_PLACEMENTS; i++) {
+                playBrick();
+            }
+            placements += BATCH_PLACEMENTS;
+            lastBatchNanos = (System.nanoTime() - batchStart) / (double) BATCH_PLACEMENTS;
+            if (firstBatchNanos == 0) {
+                firstBatchNanos = lastBatchNanos;
+            }
+            fastest = Math.min(fastest, lastBatchNanos);
+            boolean stable;
+            if (monitored) {
+                long newCompileTime = jit.getTotalCompilationTime();
+                stable = newCompileTime - compileTime < QUIET_COMPILE_MILLIS;
+                compileTime = newCompileTime;
+            } else {
+                stable = lastBatchNanos <= fastest * (100 + TOLERANCE_PERCENT) / 100;
+            }
+            stableBatches = stable ? stableBatches + 1 : 0;
+            if (stableBatches >= STABLE_BATCHES) {
+                steady = true;
+                break;
+            }
+        }
+        elapsedNanos = System.nanoTime() - start;
+        return steady;
+    }
+
+    /**
+     * Plays one brick like a player would: a few random shifts and rotations, soft drops until it lands,
+     * then merges it and clears rows, refreshing the view after every step.
+     */
+    private void playBrick() {
+        int moves = random.nextInt(6);
+        for (int m = 0; m < moves; m++) {
+            switch (random.nextInt(4)) {
+                case 0 -> board.moveBrickLeft();
+                case 1 -> board.moveBrickRight();
+                case 2 -> board.rotateLeftBrick();
+                default -> board.rotateRightBrick();
+            }
+            refreshBrick();
+        }
+        while (board.moveBrickDown()) {
+            refreshBrick();
+        }
+        board.mergeBrickToBackground();
+        board.clearRows();
+        GuiController.refreshCells(atlas, board.getBoardMatrix(), cells, HIDDEN_ROWS);
+        if (board.createNewBrick()) {
+            board.newGame(new RandomBrickGenerator(seed++));
+        }
+        refreshBrick();
+    }
+
+    private void refreshBrick() {
+        GuiController.refreshCells(atlas, board.getViewData().getBrickData(), brickCells, 0);
+    }
+
+    public boolean isSteady() {
+        return steady;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getPlacements() {
+        return placements;
+    }
+
+    /**
+     * Describes the outcome in one line.
+     *
+     * @return the report
+     */
+    public String getReport() {
+        return String.format("warm-up %s after %d ms: %d placements, %.1f us per placement at first, %.1f us at the end",
+                steady ? "reached steady state" : "ran out of budget", elapsedNanos / 1_000_000, placements,
+                firstBatchNanos / 1000, lastBatchNanos / 1000);
+    }
+
+    /**
+     * Runs a warm-up from the command line.
+     *
+     * @param args optional budget in milliseconds
+     */
+    public static void main(String[] args) {
+        long budget = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+        WarmUp warmUp = new WarmUp(new BrickAtlas(20, 1), budget);
+        warmUp.run();
+        System.out.println(warmUp.getReport());
+    }
+}
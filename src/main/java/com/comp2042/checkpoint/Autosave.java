@@ -0,0 +1,128 @@
+package com.comp2042.checkpoint;
+
+import com.comp2042.Board;
+import com.comp2042.GuiController.GameMode;
+import com.comp2042.ViewData;
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.ReplayableBrickGenerator;
+
+import java.util.function.LongFunction;
+
+/**
+ * Checkpoints a game every couple of seconds of play and resumes it from a snapshot. The game is
+ * reached through its {@link ResumableGame} hooks; only the board is copied on the caller's thread,
+ * the writing is left to the {@link Checkpointer}.
+ */
+public final class Autosave {
+
+    private static final int CHECKPOINT_FRAMES = 120;
+
+    private final ResumableGame game;
+    private Checkpointer checkpointer;
+
+    /**
+     * Constructs a new Autosave.
+     *
+     * @param game the game to checkpoint
+     */
+    public Autosave(ResumableGame game) {
+        this.game = game;
+    }
+
+    /**
+     * Sets where the game is checkpointed.
+     *
+     * @param checkpointer the checkpointer, or null to keep no checkpoint
+     */
+    public void setCheckpointer(Checkpointer checkpointer) {
+        this.checkpointer = checkpointer;
+    }
+
+    /**
+     * Checkpoints the game every {@value #CHECKPOINT_FRAMES} logic frames.
+     *
+     * @param frame the current logic frame
+     */
+    public void onFrame(long frame) {
+        if (checkpointer != null && frame % CHECKPOINT_FRAMES == 0) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the game in progress.
+     *
+     * @return the snapshot, or null if the game cannot be resumed
+     */
+    public GameSnapshot snapshot() {
+        GameMode mode = game.getResumableMode();
+        if (mode == null) {
+            return null;
+        }
+        Board board = game.getBoard();
+        ViewData viewData = board.getViewData();
+        ReplayableBrickGenerator dealer = game.getDealer();
+        return new GameSnapshot(mode, board.getBoardMatrix(), game.isBrickActive(), colorOf(viewData.getBrickData()),
+                viewData.getRotation(), viewData.getxPosition(), viewData.getyPosition(),
+                board.getScore().scoreProperty().get(), game.getLines(), dealer.getSeed(), dealer.getDealt(),
+                game.getPuzzleIndex(), game.getPuzzlePiecesLeft());
+    }
+
+    /**
+     * Hands a snapshot of the game in progress to the checkpointer, or has it remove the checkpoint
+     * when the game cannot be resumed.
+     */
+    public void checkpoint() {
+        if (checkpointer == null) {
+            return;
+        }
+        GameSnapshot snapshot = snapshot();
+        if (snapshot != null) {
+            checkpointer.save(snapshot);
+        } else {
+            checkpointer.discard();
+        }
+    }
+
+    /**
+     * Replaces the game with a checkpointed one, rebuilding its brick generator from the seed.
+     *
+     * @param snapshot the snapshot to resume
+     * @return false if the snapshot does not fit the game, which then carries on unchanged
+     */
+    public boolean resume(GameSnapshot snapshot) {
+        Board board = game.getBoard();
+        int[][] matrix = board.getBoardMatrix();
+        if (snapshot.getRows() != matrix.length || snapshot.getColumns() != matrix[0].length) {
+            return false;
+        }
+        LongFunction<BrickGenerator> source = game.getGenerators(snapshot.getMode(), snapshot.getPuzzleIndex());
+        if (source == null) {
+            return false;
+        }
+        // The current brick is the last one dealt, so the bricks before it are skipped
+        ReplayableBrickGenerator generator = new ReplayableBrickGenerator(source, snapshot.getSeed(),
+                Math.max(0, snapshot.getDealt() - 1));
+        if (colorOf(generator.getNextBrick().getShapeMatrix().get(0)) != snapshot.getPiece()) {
+            // Dealt by another generator, for example after a change of --randomizer
+            return false;
+        }
+        board.newGame(generator);
+        board.loadBackground(snapshot.getCells());
+        board.getScore().add(snapshot.getScore());
+        board.placeBrick(snapshot.getRotation(), snapshot.getX(), snapshot.getY());
+        game.onResumed(snapshot, generator);
+        return true;
+    }
+
+    private static int colorOf(int[][] shape) {
+        for (int[] row : shape) {
+            for (int value : row) {
+                if (value != 0) {
+                    return value;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,126 @@
+package com.comp2042.checkpoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the checkpoint of the game in progress in one file. Snapshots are packed and written on a
+ * single writer thread, so the FX thread only pays for copying the board. Each write goes to a
+ * temporary file that is synced and then renamed over the checkpoint, so a crash at any moment
+ * leaves either the previous checkpoint or the new one, never a torn file.
+ * <p>
+ * When the writer falls behind, only the latest snapshot is written. The writer thread is not a
+ * daemon, so writes still queued when the application stops are finished before the JVM exits, and
+ * it ends by itself when idle.
+ */
+public final class Checkpointer implements AutoCloseable {
+
+    private static final long IDLE_SECONDS = 5;
+
+    private final Path file;
+    private final Path temporary;
+    private final ThreadPoolExecutor writer;
+    private final AtomicReference<GameSnapshot> latest = new AtomicReference<>();
+    // Only touched by the caller
+    private boolean discarded;
+
+    /**
+     * Constructs a new Checkpointer.
+     *
+     * @param file the checkpoint file; its directory is created on the first write
+     */
+    public Checkpointer(Path file) {
+        this.file = file.toAbsolutePath();
+        this.temporary = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        writer = new ThreadPoolExecutor(1, 1, IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r ->
+                new Thread(r, "checkpoint-writer"));
+        writer.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Reads the checkpoint on the writer thread.
+     *
+     * @return the snapshot, or null if there is no checkpoint or it cannot be read
+     */
+    public CompletableFuture<GameSnapshot> load() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return GameSnapshot.fromBytes(Files.readAllBytes(file));
+            } catch (IOException e) {
+                // Missing, or unreadable and replaced by the next save
+                return null;
+            }
+        }, writer);
+    }
+
+    /**
+     * Queues a snapshot to replace the checkpoint. A snapshot still waiting when a newer one
+     * arrives is dropped.
+     *
+     * @param snapshot the snapshot of the game in progress
+     */
+    public void save(GameSnapshot snapshot) {
+        discarded = false;
+        latest.set(snapshot);
+        writer.execute(() -> {
+            // Only the newest snapshot is written; the tasks of older ones find it already taken
+            if (latest.compareAndSet(snapshot, null)) {
+                write(snapshot.toBytes());
+            }
+        });
+    }
+
+    /**
+     * Queues the removal of the checkpoint, for when there is no game worth resuming.
+     * Repeated calls without a save in between do nothing.
+     */
+    public void discard() {
+        if (discarded) {
+            return;
+        }
+        discarded = true;
+        latest.set(null);
+        writer.execute(() -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // A stale checkpoint is replaced by the next save
+            }
+        });
+    }
+
+    private void write(byte[] bytes) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ignored) {
+            // A failing disk must not interrupt the game; the previous checkpoint stays in place
+        }
+    }
+
+    /**
+     * Stops accepting snapshots. Queued writes carry on in the background without being waited for.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+    }
+}
@@ -0,0 +1,340 @@
+package com.comp2042.checkpoint;
+
+import com.comp2042.GuiController.GameMode;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Immutable copy of everything needed to resume a game: the mode, the background cells, the current
+ * brick and its rotation and position, the score and cleared lines (from which the level follows),
+ * the brick generator's seed and count of bricks dealt, and the puzzle being played.
+ * <p>
+ * Taking a snapshot only copies the cells; packing it is left to {@link #toBytes()}, which the
+ * {@link Checkpointer} calls on its writer thread. The packed form is a big-endian bit stream:
+ * <pre>
+ * [magic:32][version:8][mode:4][active:1][piece:3][rotation:2][x:8][y:8][rows:8][columns:8]
+ * ([occupied:1]([cell:4] * columns if occupied) * rows
+ * [score:32][lines:32][seed:64][dealt:32][puzzle:16][pieces left:16]
+ * </pre>
+ * padded to a whole byte and followed by the CRC-32 of everything before it. An empty row costs one
+ * bit, so a typical board packs into well under 200 bytes.
+ */
+public final class GameSnapshot {
+
+    static final int MAGIC = 0x544A434B;
+    static final int VERSION = 1;
+
+    private static final int CELL_BITS = 4;
+    private static final int MAX_CELL = (1 << CELL_BITS) - 1;
+
+    private final GameMode mode;
+    private final int rows;
+    private final int columns;
+    private final byte[] cells;
+    private final boolean brickActive;
+    private final int piece;
+    private final int rotation;
+    private final int x;
+    private final int y;
+    private final int score;
+    private final int lines;
+    private final long seed;
+    private final long dealt;
+    private final int puzzleIndex;
+    private final int puzzlePiecesLeft;
+
+    /**
+     * Constructs a new GameSnapshot, copying the board.
+     *
+     * @param mode             the game mode
+     * @param board            the background cells, indexed [row][column]
+     * @param brickActive      false if the current brick is already merged and the next one is due to spawn
+     * @param piece            the piece of the current brick, 1 = I to 7 = Z
+     * @param rotation         the rotation state of the current brick
+     * @param x                the column of the current brick
+     * @param y                the row of the current brick
+     * @param score            the score
+     * @param lines            the lines cleared
+     * @param seed             the seed of the brick generator
+     * @param dealt            the bricks dealt by the generator, including the current one
+     * @param puzzleIndex      the index of the puzzle being played in puzzle mode
+     * @param puzzlePiecesLeft the pieces left for the puzzle
+     */
+    public GameSnapshot(GameMode mode, int[][] board, boolean brickActive, int piece, int rotation, int x, int y,
+                        int score, int lines, long seed, long dealt, int puzzleIndex, int puzzlePiecesLeft) {
+        this.mode = mode;
+        this.rows = board.length;
+        this.columns = board[0].length;
+        this.cells = new byte[rows * columns];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                int cell = board[r][c];
+                if (cell < 0 || cell > MAX_CELL) {
+                    throw new IllegalArgumentException("Cell value does not fit in " + CELL_BITS + " bits: " + cell);
+                }
+                cells[r * columns + c] = (byte) cell;
+            }
+        }
+        this.brickActive = brickActive;
+        this.piece = piece;
+        this.rotation = rotation;
+        this.x = x;
+        this.y = y;
+        this.score = score;
+        this.lines = lines;
+        this.seed = seed;
+        this.dealt = dealt;
+        this.puzzleIndex = puzzleIndex;
+        this.puzzlePiecesLeft = puzzlePiecesLeft;
+    }
+
+    public GameMode getMode() {
+        return mode;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets a copy of the background cells.
+     *
+     * @return the cells, indexed [row][column]
+     */
+    public int[][] getCells() {
+        int[][] board = new int[rows][columns];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                board[r][c] = cells[r * columns + c];
+            }
+        }
+        return board;
+    }
+
+    public boolean isBrickActive() {
+        return brickActive;
+    }
+
+    public int getPiece() {
+        return piece;
+    }
+
+    public int getRotation() {
+        return rotation;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLines() {
+        return lines;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getDealt() {
+        return dealt;
+    }
+
+    public int getPuzzleIndex() {
+        return puzzleIndex;
+    }
+
+    public int getPuzzlePiecesLeft() {
+        return puzzlePiecesLeft;
+    }
+
+    /**
+     * Packs this snapshot into its binary form.
+     *
+     * @return the packed bytes
+     */
+    public byte[] toBytes() {
+        BitWriter out = new BitWriter(64 + (rows * (1 + columns * CELL_BITS) + 7) / 8);
+        out.write(MAGIC, 32);
+        out.write(VERSION, 8);
+        out.write(mode.ordinal(), 4);
+        out.write(brickActive ? 1 : 0, 1);
+        out.write(piece, 3);
+        out.write(rotation, 2);
+        out.write(x, 8);
+        out.write(y, 8);
+        out.write(rows, 8);
+        out.write(columns, 8);
+        for (int r = 0; r < rows; r++) {
+            boolean occupied = false;
+            for (int c = 0; c < columns && !occupied; c++) {
+                occupied = cells[r * columns + c] != 0;
+            }
+            out.write(occupied ? 1 : 0, 1);
+            if (occupied) {
+                for (int c = 0; c < columns; c++) {
+                    out.write(cells[r * columns + c], CELL_BITS);
+                }
+            }
+        }
+        out.write(score, 32);
+        out.write(lines, 32);
+        out.write(seed >>> 32, 32);
+        out.write(seed, 32);
+        out.write(dealt, 32);
+        out.write(puzzleIndex, 16);
+        out.write(puzzlePiecesLeft, 16);
+        int length = out.finish();
+        CRC32 crc = new CRC32();
+        crc.update(out.bytes, 0, length);
+        out.write(crc.getValue(), 32);
+        return out.toByteArray();
+    }
+
+    /**
+     * Unpacks a snapshot written by {@link #toBytes()}.
+     *
+     * @param bytes the packed bytes
+     * @return the snapshot
+     * @throws IOException if the bytes are not a snapshot of this version or fail their checksum
+     */
+    public static GameSnapshot fromBytes(byte[] bytes) throws IOException {
+        if (bytes.length < 8) {
+            throw new IOException("Checkpoint too short: " + bytes.length + " bytes");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        BitReader in = new BitReader(bytes, bytes.length - 4);
+        if ((int) in.read(32) != MAGIC || in.read(8) != VERSION) {
+            throw new IOException("Not a checkpoint of version " + VERSION);
+        }
+        if (crc.getValue() != new BitReader(bytes, bytes.length).skip(bytes.length - 4).read(32)) {
+            throw new IOException("Corrupt checkpoint");
+        }
+        int modeIndex = (int) in.read(4);
+        if (modeIndex >= GameMode.values().length) {
+            throw new IOException("Unknown game mode " + modeIndex);
+        }
+        GameMode mode = GameMode.values()[modeIndex];
+        boolean brickActive = in.read(1) == 1;
+        int piece = (int) in.read(3);
+        int rotation = (int) in.read(2);
+        int x = (byte) in.read(8);
+        int y = (byte) in.read(8);
+        int rows = (int) in.read(8);
+        int columns = (int) in.read(8);
+        if (rows == 0 || columns == 0) {
+            throw new IOException("Empty board in checkpoint");
+        }
+        int[][] board = new int[rows][columns];
+        for (int r = 0; r < rows; r++) {
+            if (in.read(1) == 1) {
+                for (int c = 0; c < columns; c++) {
+                    board[r][c] = (int) in.read(CELL_BITS);
+                }
+            }
+        }
+        int score = (int) in.read(32);
+        int lines = (int) in.read(32);
+        long seed = in.read(32) << 32 | in.read(32);
+        long dealt = in.read(32);
+        int puzzleIndex = (int) in.read(16);
+        int puzzlePiecesLeft = (int) in.read(16);
+        return new GameSnapshot(mode, board, brickActive, piece, rotation, x, y, score, lines, seed, dealt,
+                puzzleIndex, puzzlePiecesLeft);
+    }
+
+    /**
+     * Writes values of up to 32 bits, most significant bit first.
+     */
+    private static final class BitWriter {
+
+        private byte[] bytes;
+        private int length;
+        private long buffer;
+        private int buffered;
+
+        BitWriter(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void write(long value, int bits) {
+            buffer = buffer << bits | value & ((1L << bits) - 1);
+            buffered += bits;
+            while (buffered >= 8) {
+                buffered -= 8;
+                put((int) (buffer >>> buffered));
+            }
+        }
+
+        /**
+         * Pads the last byte with zero bits.
+         *
+         * @return the number of bytes written
+         */
+        int finish() {
+            if (buffered > 0) {
+                write(0, 8 - buffered);
+            }
+            return length;
+        }
+
+        private void put(int b) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, length * 2);
+            }
+            bytes[length++] = (byte) b;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, finish());
+        }
+    }
+
+    /**
+     * Reads values of up to 32 bits, most significant bit first.
+     */
+    private static final class BitReader {
+
+        private final byte[] bytes;
+        private final int limit;
+        private int position;
+        private long buffer;
+        private int buffered;
+
+        BitReader(byte[] bytes, int limit) {
+            this.bytes = bytes;
+            this.limit = limit;
+        }
+
+        BitReader skip(int count) {
+            position += count;
+            return this;
+        }
+
+        long read(int bits) throws IOException {
+            while (buffered < bits) {
+                if (position == limit) {
+                    throw new IOException("Checkpoint truncated");
+                }
+                buffer = buffer << 8 | bytes[position++] & 0xFF;
+                buffered += 8;
+            }
+            buffered -= bits;
+            return buffer >>> buffered & ((1L << bits) - 1);
+        }
+    }
+}
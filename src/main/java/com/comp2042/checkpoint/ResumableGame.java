@@ -0,0 +1,55 @@
+package com.comp2042.checkpoint;
+
+import com.comp2042.Board;
+import com.comp2042.GuiController.GameMode;
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.ReplayableBrickGenerator;
+
+import java.util.function.LongFunction;
+
+/**
+ * The hooks through which an {@link Autosave} snapshots and resumes a game.
+ */
+public interface ResumableGame {
+
+    /**
+     * Gets the mode of the game in progress, if it can be resumed.
+     *
+     * @return the mode, or null if the game is over, in versus mode, or dealt by a generator that cannot be rebuilt
+     */
+    GameMode getResumableMode();
+
+    Board getBoard();
+
+    /**
+     * Checks whether the current brick is still falling, as opposed to already merged into the background.
+     *
+     * @return true if the brick is falling
+     */
+    boolean isBrickActive();
+
+    ReplayableBrickGenerator getDealer();
+
+    int getLines();
+
+    int getPuzzleIndex();
+
+    int getPuzzlePiecesLeft();
+
+    /**
+     * Gets what deals the bricks of a game of the given mode, for rebuilding its generator from the seed.
+     *
+     * @param mode        the game mode
+     * @param puzzleIndex the puzzle played in puzzle mode
+     * @return the generators, or null if no game of that mode can be resumed
+     */
+    LongFunction<BrickGenerator> getGenerators(GameMode mode, int puzzleIndex);
+
+    /**
+     * Called once the board holds the resumed game, with its brick placed, to restart the timers and the view.
+     *
+     * @param snapshot the snapshot resumed
+     * @param dealer   the rebuilt brick generator, now dealing to the board
+     */
+    void onResumed(GameSnapshot snapshot, ReplayableBrickGenerator dealer);
+}
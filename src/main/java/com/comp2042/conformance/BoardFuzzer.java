@@ -0,0 +1,367 @@
+package com.comp2042.conformance;
+
+import com.comp2042.Board;
+import com.comp2042.BoardEngine;
+import com.comp2042.BoardFeatures;
+import com.comp2042.ClearRow;
+import com.comp2042.ViewData;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * Differential fuzzer that checks a candidate {@link BoardEngine} against the reference {@link BoardEngine#SIMPLE}.
+ * Both engines replay the same seeded stream of random actions with the same brick sequence, and after every step
+ * the results of the action, the board matrix, the view data, the features and the score are compared.
+ * The first divergence found is shrunk to a short action stream that still diverges and printed as a reproducer,
+ * which {@code BoardFuzzer replay <engine> <seed> <actions>} runs again.
+ * <p>
+ * Actions are packed into ints, the {@link Action} ordinal in the low byte and its argument (the hole column of a
+ * garbage row) above it.
+ */
+public final class BoardFuzzer {
+
+    /** The steps an action stream is made of. */
+    public enum Action {
+        LEFT, RIGHT, ROTATE_LEFT, ROTATE_RIGHT, DOWN, DROP,
+        /** Merge, clear rows and spawn the next brick, as locking a brick does in the game. */
+        LOCK,
+        MERGE, CLEAR, SPAWN, GARBAGE, NEW_GAME
+    }
+
+    private static final Action[] ACTIONS = Action.values();
+    /** Relative frequency of each action in a random stream, indexed by ordinal. */
+    private static final int[] WEIGHTS = {12, 12, 8, 8, 16, 6, 10, 1, 1, 1, 2, 1};
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+    private static final int BATCH = 256;
+
+    private final BoardEngine candidate;
+    private final int rows;
+    private final int columns;
+
+    /**
+     * Constructs a new BoardFuzzer.
+     *
+     * @param candidate the engine checked against the reference
+     * @param rows      the number of board rows
+     * @param columns   the number of board columns
+     */
+    public BoardFuzzer(BoardEngine candidate, int rows, int columns) {
+        this.candidate = candidate;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * Generates the random action stream of a seed.
+     *
+     * @param seed   the stream seed, which also seeds the bricks
+     * @param length the number of actions
+     * @return the packed actions
+     */
+    public int[] generate(long seed, int length) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int total = Arrays.stream(WEIGHTS).sum();
+        int[] actions = new int[length];
+        for (int i = 0; i < length; i++) {
+            int pick = random.nextInt(total);
+            int ordinal = 0;
+            while (pick >= WEIGHTS[ordinal]) {
+                pick -= WEIGHTS[ordinal++];
+            }
+            int argument = ACTIONS[ordinal] == Action.GARBAGE ? random.nextInt(columns) : 0;
+            actions[i] = pack(ACTIONS[ordinal], argument);
+        }
+        return actions;
+    }
+
+    /**
+     * Replays an action stream on the reference and the candidate, comparing them after every step.
+     *
+     * @param seed    the brick seed
+     * @param actions the packed actions
+     * @return the first divergence, or null if the engines agree on the whole stream
+     */
+    public Divergence replay(long seed, int[] actions) {
+        Board reference = BoardEngine.SIMPLE.create(rows, columns, new RandomBrickGenerator(seed));
+        Board other = candidate.create(rows, columns, new RandomBrickGenerator(seed));
+        int[] referenceFeatures = new int[BoardFeatures.SIZE];
+        int[] otherFeatures = new int[BoardFeatures.SIZE];
+        String mismatch = compare(outcome(reference, -1), outcome(other, -1), reference, other,
+                referenceFeatures, otherFeatures);
+        if (mismatch != null) {
+            return new Divergence(seed, actions, -1, mismatch);
+        }
+        for (int step = 0; step < actions.length; step++) {
+            mismatch = compare(outcome(reference, actions[step]), outcome(other, actions[step]), reference, other,
+                    referenceFeatures, otherFeatures);
+            if (mismatch != null) {
+                return new Divergence(seed, actions, step, mismatch);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Applies one action and describes its result. The initial spawn is action -1.
+     */
+    private static String outcome(Board board, int action) {
+        try {
+            if (action < 0) {
+                return String.valueOf(board.createNewBrick());
+            }
+            switch (ACTIONS[action & 0xFF]) {
+                case LEFT:
+                    return String.valueOf(board.moveBrickLeft());
+                case RIGHT:
+                    return String.valueOf(board.moveBrickRight());
+                case ROTATE_LEFT:
+                    return String.valueOf(board.rotateLeftBrick());
+                case ROTATE_RIGHT:
+                    return String.valueOf(board.rotateRightBrick());
+                case DOWN:
+                    return String.valueOf(board.moveBrickDown());
+                case DROP:
+                    return String.valueOf(board.dropBrickToBottom());
+                case LOCK:
+                    board.mergeBrickToBackground();
+                    return describe(board.clearRows()) + " spawn conflict " + board.createNewBrick();
+                case MERGE:
+                    board.mergeBrickToBackground();
+                    return "merged";
+                case CLEAR:
+                    return describe(board.clearRows());
+                case SPAWN:
+                    return String.valueOf(board.createNewBrick());
+                case GARBAGE:
+                    return String.valueOf(board.addGarbageRow(action >>> 8));
+                default:
+                    board.newGame();
+                    return "new game";
+            }
+        } catch (RuntimeException e) {
+            return "threw " + e.getClass().getSimpleName();
+        }
+    }
+
+    private static String describe(ClearRow clearRow) {
+        // The new matrix itself is checked by the board comparison that follows
+        return clearRow.getLinesRemoved() + " lines, bonus " + clearRow.getScoreBonus() + ", matrix hash "
+                + Arrays.deepHashCode(clearRow.getNewMatrix());
+    }
+
+    private static String compare(String referenceOutcome, String otherOutcome, Board reference, Board other,
+                                  int[] referenceFeatures, int[] otherFeatures) {
+        if (!referenceOutcome.equals(otherOutcome)) {
+            return "result: reference " + referenceOutcome + ", candidate " + otherOutcome;
+        }
+        if (!Arrays.deepEquals(reference.getBoardMatrix(), other.getBoardMatrix())) {
+            return "board: reference " + Arrays.deepToString(reference.getBoardMatrix())
+                    + ", candidate " + Arrays.deepToString(other.getBoardMatrix());
+        }
+        ViewData referenceView = reference.getViewData();
+        ViewData otherView = other.getViewData();
+        if (referenceView.getxPosition() != otherView.getxPosition()
+                || referenceView.getyPosition() != otherView.getyPosition()
+                || referenceView.getRotation() != otherView.getRotation()
+                || !Arrays.deepEquals(referenceView.getBrickData(), otherView.getBrickData())
+                || !Arrays.deepEquals(referenceView.getNextBrickData(), otherView.getNextBrickData())) {
+            return "brick: reference " + describe(referenceView) + ", candidate " + describe(otherView);
+        }
+        reference.getFeatures().getVector(referenceFeatures);
+        other.getFeatures().getVector(otherFeatures);
+        if (!Arrays.equals(referenceFeatures, otherFeatures)) {
+            return "features: reference " + Arrays.toString(referenceFeatures)
+                    + ", candidate " + Arrays.toString(otherFeatures);
+        }
+        if (reference.getScore().scoreProperty().get() != other.getScore().scoreProperty().get()) {
+            return "score: reference " + reference.getScore().scoreProperty().get()
+                    + ", candidate " + other.getScore().scoreProperty().get();
+        }
+        return null;
+    }
+
+    private static String describe(ViewData view) {
+        return "(" + view.getxPosition() + ", " + view.getyPosition() + ") rotation " + view.getRotation() + " "
+                + Arrays.deepToString(view.getBrickData()) + " next " + Arrays.deepToString(view.getNextBrickData());
+    }
+
+    /**
+     * Shrinks a diverging stream: cuts it after the diverging step, then removes ever smaller chunks of actions
+     * and moves garbage holes to column 0 for as long as the engines still diverge.
+     *
+     * @param divergence a divergence found by {@link #replay(long, int[])}
+     * @return a divergence with a stream no longer than the original
+     */
+    public Divergence shrink(Divergence divergence) {
+        Divergence best = cut(divergence);
+        for (int chunk = Math.max(1, best.getActions().length / 2); chunk >= 1; chunk /= 2) {
+            boolean removed = true;
+            while (removed) {
+                removed = false;
+                for (int start = 0; start < best.getActions().length; start += chunk) {
+                    int[] actions = best.getActions();
+                    int end = Math.min(actions.length, start + chunk);
+                    int[] shorter = new int[actions.length - (end - start)];
+                    System.arraycopy(actions, 0, shorter, 0, start);
+                    System.arraycopy(actions, end, shorter, start, actions.length - end);
+                    Divergence found = replay(best.getSeed(), shorter);
+                    if (found != null) {
+                        best = cut(found);
+                        removed = true;
+                    }
+                }
+            }
+        }
+        int[] actions = best.getActions();
+        for (int i = 0; i < actions.length; i++) {
+            if ((actions[i] & 0xFF) == Action.GARBAGE.ordinal() && actions[i] >>> 8 != 0) {
+                int[] simpler = actions.clone();
+                simpler[i] = pack(Action.GARBAGE, 0);
+                Divergence found = replay(best.getSeed(), simpler);
+                if (found != null) {
+                    best = cut(found);
+                    actions = best.getActions();
+                }
+            }
+        }
+        return best;
+    }
+
+    private Divergence cut(Divergence divergence) {
+        int[] actions = Arrays.copyOf(divergence.getActions(), divergence.getStep() + 1);
+        return new Divergence(divergence.getSeed(), actions, divergence.getStep(), divergence.getMismatch());
+    }
+
+    /**
+     * Replays many random streams on all cores and stops at the first divergence.
+     *
+     * @param streams  the number of streams
+     * @param length   the number of actions per stream
+     * @param baseSeed the seed the stream seeds are derived from
+     * @param progress counts the streams checked so far
+     * @return the first divergence found, or null if every stream agreed
+     */
+    public Divergence run(long streams, int length, long baseSeed, AtomicLong progress) {
+        AtomicReference<Divergence> found = new AtomicReference<>();
+        long batches = (streams + BATCH - 1) / BATCH;
+        IntStream.range(0, (int) batches).parallel().forEach(b -> {
+            long end = Math.min(streams, (long) (b + 1) * BATCH);
+            for (long stream = (long) b * BATCH; stream < end && found.get() == null; stream++) {
+                long seed = mix(baseSeed, stream);
+                Divergence divergence = replay(seed, generate(seed, length));
+                if (divergence != null) {
+                    found.compareAndSet(null, divergence);
+                }
+                progress.incrementAndGet();
+            }
+        });
+        return found.get();
+    }
+
+    private static long mix(long seed, long stream) {
+        long z = seed + stream * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    static int pack(Action action, int argument) {
+        return action.ordinal() | argument << 8;
+    }
+
+    /**
+     * Formats packed actions the way {@link #parse(String)} reads them, for example "LEFT,DROP,GARBAGE:3".
+     *
+     * @param actions the packed actions
+     * @return the comma separated actions
+     */
+    public static String format(int[] actions) {
+        List<String> names = new ArrayList<>();
+        for (int action : actions) {
+            Action kind = ACTIONS[action & 0xFF];
+            names.add(kind == Action.GARBAGE ? kind + ":" + (action >>> 8) : kind.toString());
+        }
+        return String.join(",", names);
+    }
+
+    /**
+     * Reads actions written by {@link #format(int[])}.
+     *
+     * @param text the comma separated actions
+     * @return the packed actions
+     */
+    public static int[] parse(String text) {
+        if (text.isEmpty()) {
+            return new int[0];
+        }
+        String[] parts = text.split(",");
+        int[] actions = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String[] action = parts[i].trim().split(":");
+            actions[i] = pack(Action.valueOf(action[0]), action.length > 1 ? Integer.parseInt(action[1]) : 0);
+        }
+        return actions;
+    }
+
+    /**
+     * Fuzzes from the command line, or replays a reproducer.
+     *
+     * @param args optional candidate engine, stream count, actions per stream and base seed;
+     *             or {@code replay <engine> <seed> <actions>}
+     * @throws InterruptedException if interrupted while waiting for the fuzzing to finish
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length > 0 && args[0].equals("replay")) {
+            if (args.length < 3) {
+                System.err.println("usage: BoardFuzzer replay <engine> <seed> [actions]");
+                return;
+            }
+            Divergence divergence = new BoardFuzzer(BoardEngine.fromName(args[1]), ROWS, COLUMNS)
+                    .replay(Long.parseLong(args[2]), parse(args.length > 3 ? args[3] : ""));
+            System.out.println(divergence == null ? "engines agree" : divergence.toString());
+            return;
+        }
+        BoardEngine engine = args.length > 0 ? BoardEngine.fromName(args[0]) : BoardEngine.BITMASK;
+        long streams = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000;
+        int length = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        long baseSeed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        BoardFuzzer fuzzer = new BoardFuzzer(engine, ROWS, COLUMNS);
+        AtomicLong progress = new AtomicLong();
+        Thread reporter = new Thread(() -> {
+            try {
+                while (true) {
+                    Thread.sleep(5000);
+                    System.out.printf("%d of %d streams%n", progress.get(), streams);
+                }
+            } catch (InterruptedException e) {
+                // finished
+            }
+        }, "fuzzer-progress");
+        reporter.setDaemon(true);
+        reporter.start();
+        long start = System.nanoTime();
+        Divergence divergence = fuzzer.run(streams, length, baseSeed, progress);
+        reporter.interrupt();
+        reporter.join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s against simple, base seed %d: %d streams of %d actions in %.1f s (%.0f actions/s)%n",
+                engine, baseSeed, progress.get(), length, seconds, progress.get() * length / seconds);
+        if (divergence == null) {
+            System.out.println("engines agree");
+            return;
+        }
+        System.out.println("divergence found after " + divergence.getActions().length + " actions, shrinking");
+        Divergence shrunk = fuzzer.shrink(divergence);
+        System.out.println(shrunk);
+        System.out.printf("reproduce with: BoardFuzzer replay %s %d %s%n", engine, shrunk.getSeed(),
+                format(shrunk.getActions()));
+    }
+}
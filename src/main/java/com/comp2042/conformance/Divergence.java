@@ -0,0 +1,43 @@
+package com.comp2042.conformance;
+
+/**
+ * A point where a candidate board engine stopped matching the reference: the stream that led there,
+ * the step that diverged (-1 for the first spawn) and what differed.
+ */
+public final class Divergence {
+
+    private final long seed;
+    private final int[] actions;
+    private final int step;
+    private final String mismatch;
+
+    public Divergence(long seed, int[] actions, int step, String mismatch) {
+        this.seed = seed;
+        this.actions = actions;
+        this.step = step;
+        this.mismatch = mismatch;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int[] getActions() {
+        return actions;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    public String getMismatch() {
+        return mismatch;
+    }
+
+    @Override
+    public String toString() {
+        String action = step < 0 ? "first spawn" : BoardFuzzer.format(new int[]{actions[step]});
+        return "seed " + seed + ", step " + step + " (" + action + ") of " + BoardFuzzer.format(actions)
+                + "\n  " + mismatch;
+    }
+}
@@ -0,0 +1,41 @@
+package com.comp2042.dataset;
+
+import com.comp2042.logic.ai.BotPlayer;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command line tool that plays bot games and streams every placement to a training data file.
+ * Memory use does not grow with the number of games, since the writer only keeps two chunks.
+ */
+public final class SimulationExport {
+
+    private SimulationExport() {
+        //We don't want to instantiate this utility class
+    }
+
+    /**
+     * Runs the export.
+     *
+     * @param args optional output file, game count, brick limit per game and seed
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : "training.t2ds");
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int maxBricks = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        double[] weights = BotPlayer.getDefaultWeights();
+        long start = System.nanoTime();
+        try (TrainingDataWriter out = TrainingDataWriter.open(file, 25, 10, TrainingDataWriter.DEFAULT_CHUNK_RECORDS)) {
+            for (int game = 0; game < games; game++) {
+                BotPlayer.playGame(weights, new RandomBrickGenerator(seed + game), maxBricks, out);
+            }
+            System.out.printf("%d records from %d games in %.1f s%n", out.getRecordCount(), games,
+                    (System.nanoTime() - start) / 1e9);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.comp2042.dataset;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file written by {@link TrainingDataWriter} one record at a time.
+ * Only the chunk being read is held in memory; chunks are located through the index
+ * at the end of the file, so a reader can also start at any chunk.
+ */
+public final class TrainingDataReader implements Closeable {
+
+    private final FileChannel channel;
+    private final int rows;
+    private final int columns;
+    private final long[] chunkOffsets;
+    private final int[] chunkSizes;
+    private final ByteBuffer chunkHeader = ByteBuffer.allocate(TrainingDataWriter.CHUNK_HEADER_SIZE);
+    private final int[] lengths = new int[TrainingDataWriter.COLUMN_COUNT];
+    private byte[] data = new byte[0];
+    private long recordCount;
+
+    private int nextChunk;
+    private int chunkRecords;
+    private int record = -1;
+    private int piecesStart;
+    private int xPosition;
+    private int yPosition;
+    private int scorePosition;
+    private int varintEnd;
+
+    private int x;
+    private int y;
+    private int scoreDelta;
+
+    private TrainingDataReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = read(0, 20);
+        if (header.getInt() != TrainingDataWriter.MAGIC) {
+            throw new IOException("Not a training data file");
+        }
+        int version = header.getInt();
+        if (version != TrainingDataWriter.VERSION) {
+            throw new IOException("Unsupported training data version " + version);
+        }
+        rows = header.getInt();
+        columns = header.getInt();
+        header.getInt();
+        ByteBuffer footer = read(channel.size() - TrainingDataWriter.FOOTER_SIZE, TrainingDataWriter.FOOTER_SIZE);
+        long indexOffset = footer.getLong();
+        if (footer.getInt() != TrainingDataWriter.MAGIC) {
+            throw new IOException("Training data file has no index; it was not closed");
+        }
+        int chunks = read(indexOffset, 4).getInt();
+        ByteBuffer index = read(indexOffset + 4, chunks * 12);
+        chunkOffsets = new long[chunks];
+        chunkSizes = new int[chunks];
+        for (int i = 0; i < chunks; i++) {
+            chunkOffsets[i] = index.getLong();
+            chunkSizes[i] = index.getInt();
+            recordCount += chunkSizes[i];
+        }
+    }
+
+    /**
+     * Opens a training data file and reads its index.
+     *
+     * @param file the file to read
+     * @return a reader positioned before the first record
+     * @throws IOException if the file cannot be read or is not a complete training data file
+     */
+    public static TrainingDataReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new TrainingDataReader(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public int getChunkCount() {
+        return chunkOffsets.length;
+    }
+
+    /**
+     * Moves to the first record of a chunk; the next {@link #next()} returns it.
+     *
+     * @param chunk the chunk index
+     */
+    public void seekChunk(int chunk) {
+        nextChunk = chunk;
+        chunkRecords = 0;
+        record = -1;
+    }
+
+    /**
+     * Advances to the next record.
+     *
+     * @return false when there are no more records
+     * @throws IOException if a chunk cannot be read
+     */
+    public boolean next() throws IOException {
+        while (record + 1 >= chunkRecords) {
+            if (nextChunk >= chunkOffsets.length) {
+                return false;
+            }
+            loadChunk(nextChunk++);
+        }
+        record++;
+        int value = readVarint(xPosition);
+        xPosition = varintEnd;
+        x = unzigzag(value);
+        value = readVarint(yPosition);
+        yPosition = varintEnd;
+        y = unzigzag(value);
+        scoreDelta = readVarint(scorePosition);
+        scorePosition = varintEnd;
+        return true;
+    }
+
+    public boolean isFilled(int row, int column) {
+        int bit = (record * rows + row) * columns + column;
+        return (data[bit >>> 3] & 1 << (bit & 7)) != 0;
+    }
+
+    /**
+     * Gets a board row as a bitmask, bit i being set when column i is filled.
+     *
+     * @param row the row
+     * @return the row mask
+     */
+    public int getRowMask(int row) {
+        int mask = 0;
+        for (int c = 0; c < columns; c++) {
+            if (isFilled(row, c)) {
+                mask |= 1 << c;
+            }
+        }
+        return mask;
+    }
+
+    public int getCurrentPiece() {
+        return data[piecesStart + record] & 7;
+    }
+
+    public int getNextPiece() {
+        return data[piecesStart + record] >> 3 & 7;
+    }
+
+    public int getRotation() {
+        return data[piecesStart + record] >> 6 & 3;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getScoreDelta() {
+        return scoreDelta;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void loadChunk(int chunk) throws IOException {
+        long offset = chunkOffsets[chunk];
+        chunkHeader.clear();
+        readFully(chunkHeader, offset);
+        chunkHeader.flip();
+        chunkRecords = chunkHeader.getInt();
+        int total = 0;
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = chunkHeader.getInt();
+            total += lengths[i];
+        }
+        if (data.length < total) {
+            data = new byte[total];
+        }
+        readFully(ByteBuffer.wrap(data, 0, total), offset + TrainingDataWriter.CHUNK_HEADER_SIZE);
+        piecesStart = lengths[0];
+        xPosition = piecesStart + lengths[1];
+        yPosition = xPosition + lengths[2];
+        scorePosition = yPosition + lengths[3];
+        record = -1;
+    }
+
+    private int readVarint(int position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[position++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        varintEnd = position;
+        return value;
+    }
+
+    private static int unzigzag(int value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        readFully(buffer, position);
+        buffer.flip();
+        return buffer;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Training data file is truncated");
+            }
+            position += read;
+        }
+    }
+}
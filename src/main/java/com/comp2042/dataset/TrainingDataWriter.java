@@ -0,0 +1,308 @@
+package com.comp2042.dataset;
+
+import com.comp2042.ViewData;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Streams placement records (board, current brick, next brick, placement, score delta)
+ * into a chunked columnar file.
+ * Records are encoded straight into one of two fixed chunk buffers; when a chunk fills up
+ * it is handed to a background thread and the other buffer takes over, so the caller only
+ * ever pays for encoding and memory stays at two chunks however long the run is.
+ *
+ * <pre>
+ * file   [magic:i32][version:i32][rows:i32][columns:i32][chunkRecords:i32] chunk* index
+ * chunk  [records:i32][length:i32] * 5, then the columns in this order:
+ *        BOARD  rows*columns bits per record, row-major, bit set for a filled cell
+ *        PIECES [current:3 bits][next:3 bits][rotation:2 bits] per record
+ *        X      zigzag varint per record
+ *        Y      zigzag varint per record
+ *        SCORE  varint per record
+ * index  [chunks:i32]([offset:i64][records:i32]) * chunks [indexOffset:i64][magic:i32]
+ * </pre>
+ *
+ * Pieces are the brick cell colours, 1 to 7. Not thread-safe; records must come from one thread.
+ */
+public final class TrainingDataWriter implements Closeable {
+
+    static final int MAGIC = 0x54324453;
+    static final int VERSION = 1;
+    static final int COLUMN_COUNT = 5;
+    static final int CHUNK_HEADER_SIZE = 4 + COLUMN_COUNT * 4;
+    static final int FOOTER_SIZE = 12;
+
+    /** Records per chunk when none is given. */
+    public static final int DEFAULT_CHUNK_RECORDS = 4096;
+
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private final FileChannel channel;
+    private final ExecutorService background;
+    private final int rows;
+    private final int columns;
+    private final int chunkRecords;
+    private Chunk current;
+    private Chunk spare;
+    private Future<?> inFlight;
+    private boolean recordOpen;
+    private int pendingX;
+    private int pendingY;
+    private long recordCount;
+
+    // Written by the background thread only, read after it has finished
+    private long[] chunkOffsets = new long[16];
+    private int[] chunkSizes = new int[16];
+    private int chunkCount;
+
+    private TrainingDataWriter(FileChannel channel, int rows, int columns, int chunkRecords) {
+        this.channel = channel;
+        this.rows = rows;
+        this.columns = columns;
+        this.chunkRecords = chunkRecords;
+        current = new Chunk();
+        spare = new Chunk();
+        background = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "training-data-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates or truncates a training data file.
+     *
+     * @param file         the file to write
+     * @param rows         the number of board rows
+     * @param columns      the number of board columns
+     * @param chunkRecords the number of records per chunk
+     * @return a writer positioned after the file header
+     * @throws IOException if the file cannot be created
+     */
+    public static TrainingDataWriter open(Path file, int rows, int columns, int chunkRecords) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(20);
+        header.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(columns).putInt(chunkRecords).flip();
+        try {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new TrainingDataWriter(channel, rows, columns, chunkRecords);
+    }
+
+    /**
+     * Starts a record with the board the placement was made on and the placement itself.
+     * Everything is encoded now, so the board may change before {@link #endRecord(int)}.
+     *
+     * @param matrix the board before the brick is merged, indexed [row][column]
+     * @param view   the brick at its final position
+     */
+    public void beginRecord(int[][] matrix, ViewData view) {
+        if (recordOpen) {
+            throw new IllegalStateException("Previous record was not ended");
+        }
+        Chunk chunk = current;
+        int bit = chunk.records * rows * columns;
+        for (int r = 0; r < rows; r++) {
+            int[] row = matrix[r];
+            for (int c = 0; c < columns; c++, bit++) {
+                if (row[c] != 0) {
+                    chunk.board[bit >>> 3] |= (byte) (1 << (bit & 7));
+                } else {
+                    chunk.board[bit >>> 3] &= (byte) ~(1 << (bit & 7));
+                }
+            }
+        }
+        int pieces = pieceOf(view.getBrickData()) | pieceOf(view.getNextBrickData()) << 3 | (view.getRotation() & 3) << 6;
+        chunk.pieces[chunk.records] = (byte) pieces;
+        // Lengths are only committed when the record ends
+        pendingX = putVarint(chunk.x, chunk.xLength, zigzag(view.getxPosition()));
+        pendingY = putVarint(chunk.y, chunk.yLength, zigzag(view.getyPosition()));
+        recordOpen = true;
+    }
+
+    /**
+     * Completes the record started by {@link #beginRecord(int[][], ViewData)}.
+     *
+     * @param scoreDelta the score the placement earned
+     * @throws IOException if an earlier chunk failed to write
+     */
+    public void endRecord(int scoreDelta) throws IOException {
+        if (!recordOpen) {
+            throw new IllegalStateException("No record was begun");
+        }
+        Chunk chunk = current;
+        chunk.xLength = pendingX;
+        chunk.yLength = pendingY;
+        chunk.scoreLength = putVarint(chunk.score, chunk.scoreLength, scoreDelta);
+        chunk.records++;
+        recordOpen = false;
+        recordCount++;
+        if (chunk.records == chunkRecords) {
+            flushChunk();
+        }
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Writes the last partial chunk and the index, then closes the file.
+     * A record that was begun but not ended is dropped.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            recordOpen = false;
+            if (current.records > 0) {
+                flushChunk();
+            }
+            awaitInFlight();
+            writeIndex();
+        } finally {
+            background.shutdown();
+            channel.close();
+        }
+    }
+
+    private void flushChunk() throws IOException {
+        awaitInFlight();
+        Chunk full = current;
+        current = spare;
+        spare = full;
+        current.reset();
+        inFlight = background.submit(() -> {
+            full.writeTo();
+            return null;
+        });
+    }
+
+    private void awaitInFlight() throws IOException {
+        if (inFlight == null) {
+            return;
+        }
+        try {
+            inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing a chunk");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } finally {
+            inFlight = null;
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        long indexOffset = channel.position();
+        ByteBuffer index = ByteBuffer.allocate(4 + chunkCount * 12 + FOOTER_SIZE);
+        index.putInt(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            index.putLong(chunkOffsets[i]).putInt(chunkSizes[i]);
+        }
+        index.putLong(indexOffset).putInt(MAGIC).flip();
+        while (index.hasRemaining()) {
+            channel.write(index);
+        }
+    }
+
+    /**
+     * Gets the cell colour of a brick shape, which identifies the piece.
+     */
+    private static int pieceOf(int[][] shape) {
+        for (int[] row : shape) {
+            for (int cell : row) {
+                if (cell != 0) {
+                    return cell & 7;
+                }
+            }
+        }
+        return 0;
+    }
+
+    static int zigzag(int value) {
+        return value << 1 ^ value >> 31;
+    }
+
+    private static int putVarint(byte[] out, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[position++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * Column buffers for one chunk, sized for a full chunk up front.
+     */
+    private final class Chunk {
+
+        private final byte[] board = new byte[(chunkRecords * rows * columns + 7) / 8];
+        private final byte[] pieces = new byte[chunkRecords];
+        private final byte[] x = new byte[chunkRecords * MAX_VARINT_BYTES];
+        private final byte[] y = new byte[chunkRecords * MAX_VARINT_BYTES];
+        private final byte[] score = new byte[chunkRecords * MAX_VARINT_BYTES];
+        private final ByteBuffer header = ByteBuffer.allocate(CHUNK_HEADER_SIZE);
+        private final ByteBuffer[] parts = new ByteBuffer[COLUMN_COUNT + 1];
+        private int records;
+        private int xLength;
+        private int yLength;
+        private int scoreLength;
+
+        void reset() {
+            records = 0;
+            xLength = 0;
+            yLength = 0;
+            scoreLength = 0;
+        }
+
+        /**
+         * Writes the chunk at the end of the file with one gathering write and adds it to the index.
+         * Runs on the background thread.
+         */
+        void writeTo() throws IOException {
+            int boardLength = (records * rows * columns + 7) / 8;
+            header.clear();
+            header.putInt(records).putInt(boardLength).putInt(records).putInt(xLength).putInt(yLength)
+                    .putInt(scoreLength).flip();
+            parts[0] = header;
+            parts[1] = ByteBuffer.wrap(board, 0, boardLength);
+            parts[2] = ByteBuffer.wrap(pieces, 0, records);
+            parts[3] = ByteBuffer.wrap(x, 0, xLength);
+            parts[4] = ByteBuffer.wrap(y, 0, yLength);
+            parts[5] = ByteBuffer.wrap(score, 0, scoreLength);
+            long offset = channel.position();
+            long remaining = CHUNK_HEADER_SIZE + boardLength + records + xLength + yLength + scoreLength;
+            while (remaining > 0) {
+                remaining -= channel.write(parts);
+            }
+            if (chunkCount == chunkOffsets.length) {
+                chunkOffsets = Arrays.copyOf(chunkOffsets, chunkCount * 2);
+                chunkSizes = Arrays.copyOf(chunkSizes, chunkCount * 2);
+            }
+            chunkOffsets[chunkCount] = offset;
+            chunkSizes[chunkCount] = records;
+            chunkCount++;
+        }
+    }
+}
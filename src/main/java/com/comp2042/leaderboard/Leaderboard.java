@@ -0,0 +1,208 @@
+package com.comp2042.leaderboard;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Local leaderboards, one per game mode, each a {@link ScoreLog} of every score plus a {@link TopIndex}
+ * of the best ones, as {@code <board>.log} and {@code <board>.top} in one directory.
+ * All file work happens on a single writer thread: submitting a score and reading a board return
+ * futures at once, so the FX thread never waits on the disk. Files are opened on first use and their
+ * pages are flushed whenever the writer runs out of work.
+ */
+public final class Leaderboard implements AutoCloseable {
+
+    /** Number of best scores kept in each index when none is given. */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private static final Pattern BOARD_NAME = Pattern.compile("[a-z0-9-]+");
+
+    private final Path directory;
+    private final int capacity;
+    private final ThreadPoolExecutor writer;
+    // Only touched by the writer thread
+    private final Map<String, Board> boards = new HashMap<>();
+    private boolean dirty;
+
+    /**
+     * Constructs a new Leaderboard keeping the best {@value #DEFAULT_CAPACITY} scores of each board.
+     *
+     * @param directory the directory of the leaderboard files, created on first use
+     */
+    public Leaderboard(Path directory) {
+        this(directory, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new Leaderboard.
+     *
+     * @param directory the directory of the leaderboard files, created on first use
+     * @param capacity  the number of best scores kept in each index
+     */
+    public Leaderboard(Path directory, int capacity) {
+        this.directory = directory;
+        this.capacity = capacity;
+        writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "leaderboard-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Records a finished game.
+     *
+     * @param board the board name, for example the game mode in lower case
+     * @param score the final score
+     * @return the rank of the score, 1 for the best or 0 outside the kept best scores, once it is logged
+     */
+    public CompletableFuture<Integer> submit(String board, int score) {
+        ScoreEntry entry = new ScoreEntry(score, System.currentTimeMillis());
+        return run(() -> {
+            Board b = board(board);
+            b.log.append(entry);
+            dirty = true;
+            return b.index.add(entry);
+        });
+    }
+
+    /**
+     * Reads the best scores of a board, including every score submitted before.
+     *
+     * @param board the board name
+     * @param count the most scores to return, at most the index capacity
+     * @return the scores, best first
+     */
+    public CompletableFuture<ScoreEntry[]> top(String board, int count) {
+        return run(() -> board(board).index.top(count));
+    }
+
+    /**
+     * Counts the games ever recorded on a board.
+     *
+     * @param board the board name
+     * @return the number of scores in the board's log
+     */
+    public CompletableFuture<Long> count(String board) {
+        return run(() -> board(board).log.getCount());
+    }
+
+    private <T> CompletableFuture<T> run(IoTask<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        writer.execute(() -> {
+            try {
+                result.complete(task.run());
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+            if (dirty && writer.getQueue().isEmpty()) {
+                flush();
+            }
+        });
+        return result;
+    }
+
+    private Board board(String name) throws IOException {
+        Board board = boards.get(name);
+        if (board == null) {
+            if (!BOARD_NAME.matcher(name).matches()) {
+                throw new IllegalArgumentException("Board names are lower case letters, digits and '-': " + name);
+            }
+            Files.createDirectories(directory);
+            ScoreLog log = ScoreLog.open(directory.resolve(name + ".log"));
+            try {
+                board = new Board(log, TopIndex.open(directory.resolve(name + ".top"), capacity, log));
+            } catch (IOException e) {
+                log.close();
+                throw e;
+            }
+            boards.put(name, board);
+        }
+        return board;
+    }
+
+    private void flush() {
+        for (Board board : boards.values()) {
+            board.log.force();
+            board.index.force();
+        }
+        dirty = false;
+    }
+
+    /**
+     * Finishes the pending writes and closes the files.
+     */
+    @Override
+    public void close() {
+        CompletableFuture<Void> closed = run(() -> {
+            for (Board board : boards.values()) {
+                board.log.close();
+                board.index.close();
+            }
+            boards.clear();
+            return null;
+        });
+        writer.shutdown();
+        try {
+            closed.join();
+        } catch (RuntimeException e) {
+            // Nothing more can be done with files that failed to close
+        }
+    }
+
+    private interface IoTask<T> {
+        T run() throws IOException;
+    }
+
+    private static final class Board {
+
+        private final ScoreLog log;
+        private final TopIndex index;
+
+        private Board(ScoreLog log, TopIndex index) {
+            this.log = log;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Prints the best scores of a board, after optionally appending random scores to it.
+     *
+     * @param args [directory] [board] [top count] [random scores to add first]
+     */
+    public static void main(String[] args) {
+        Path directory = Path.of(args.length > 0 ? args[0] : "leaderboard");
+        String board = args.length > 1 ? args[1] : "classic";
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int extra = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        try (Leaderboard leaderboard = new Leaderboard(directory)) {
+            SplittableRandom random = new SplittableRandom();
+            long start = System.nanoTime();
+            CompletableFuture<Integer> last = CompletableFuture.completedFuture(0);
+            for (int i = 0; i < extra; i++) {
+                last = leaderboard.submit(board, random.nextInt(100_000));
+            }
+            last.join();
+            if (extra > 0) {
+                System.out.printf("%d scores added in %.2f s%n", extra, (System.nanoTime() - start) / 1e9);
+            }
+            long games = leaderboard.count(board).join();
+            start = System.nanoTime();
+            ScoreEntry[] top = leaderboard.top(board, count).join();
+            System.out.printf("%s: %d games, top %d read in %.3f ms%n", board, games, top.length,
+                    (System.nanoTime() - start) / 1e6);
+            for (int i = 0; i < top.length; i++) {
+                System.out.printf("%4d. %8d  %tF %<tT%n", i + 1, top[i].getScore(), top[i].getTime());
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.comp2042.leaderboard;
+
+/**
+ * One finished game on a leaderboard.
+ */
+public final class ScoreEntry {
+
+    private final int score;
+    private final long time;
+
+    /**
+     * Constructs a new ScoreEntry.
+     *
+     * @param score the final score
+     * @param time  when the game ended, in milliseconds since the epoch
+     */
+    public ScoreEntry(int score, long time) {
+        this.score = score;
+        this.time = time;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public long getTime() {
+        return time;
+    }
+}
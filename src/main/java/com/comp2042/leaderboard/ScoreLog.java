@@ -0,0 +1,122 @@
+package com.comp2042.leaderboard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only, memory-mapped log of every score of one leaderboard. Records have a fixed size and
+ * are never rewritten; the record count in the header is updated after the record itself, so a
+ * record torn by a crash is simply not counted. The mapping grows by doubling.
+ *
+ * <pre>
+ * header [magic:i32][version:i32][count:i64]
+ * record [time:i64][score:i32][reserved:i32]
+ * </pre>
+ *
+ * A log holds up to about 134 million records, the most a single mapping can address.
+ * Not thread-safe; {@link Leaderboard} uses it from its writer thread only.
+ */
+final class ScoreLog implements Closeable {
+
+    static final int MAGIC = 0x53434C47;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 16;
+
+    private static final long INITIAL_SIZE = HEADER_SIZE + 4096L * RECORD_SIZE;
+    private static final long MAX_SIZE = Integer.MAX_VALUE - (Integer.MAX_VALUE - HEADER_SIZE) % RECORD_SIZE;
+
+    private final FileChannel channel;
+    private MappedByteBuffer map;
+    private long count;
+
+    private ScoreLog(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a log, creating it if it does not exist.
+     *
+     * @param file the log file
+     * @return the log, positioned after its last complete record
+     * @throws IOException if the file cannot be opened or is not a score log
+     */
+    static ScoreLog open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        ScoreLog log = new ScoreLog(channel);
+        try {
+            boolean created = channel.size() == 0;
+            log.remap(Math.max(INITIAL_SIZE, channel.size()));
+            if (created) {
+                log.map.putInt(0, MAGIC);
+                log.map.putInt(4, VERSION);
+                log.map.putLong(8, 0);
+            } else if (log.map.getInt(0) != MAGIC || log.map.getInt(4) != VERSION) {
+                throw new IOException("Not a score log: " + file);
+            }
+            log.count = log.map.getLong(8);
+            if (log.count < 0 || HEADER_SIZE + log.count * RECORD_SIZE > log.map.capacity()) {
+                throw new IOException("Corrupt score log header: " + file);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return log;
+    }
+
+    private void remap(long size) throws IOException {
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param entry the score to log
+     * @return the index of the new record
+     * @throws IOException if the log cannot grow
+     */
+    long append(ScoreEntry entry) throws IOException {
+        long position = HEADER_SIZE + count * RECORD_SIZE;
+        if (position + RECORD_SIZE > map.capacity()) {
+            if (position + RECORD_SIZE > MAX_SIZE) {
+                throw new IOException("Score log is full at " + count + " records");
+            }
+            remap(Math.min(MAX_SIZE, Math.max(position + RECORD_SIZE, (long) map.capacity() * 2)));
+        }
+        int p = (int) position;
+        map.putLong(p, entry.getTime());
+        map.putInt(p + 8, entry.getScore());
+        map.putInt(p + 12, 0);
+        // Counted only once the record is complete
+        map.putLong(8, count + 1);
+        return count++;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    ScoreEntry get(long index) {
+        int p = (int) (HEADER_SIZE + index * RECORD_SIZE);
+        return new ScoreEntry(map.getInt(p + 8), map.getLong(p));
+    }
+
+    /**
+     * Writes the mapped pages back to the file.
+     */
+    void force() {
+        map.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+}
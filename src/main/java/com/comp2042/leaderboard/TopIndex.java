@@ -0,0 +1,180 @@
+package com.comp2042.leaderboard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The best scores of a {@link ScoreLog}, highest first, kept in a small memory-mapped file beside it
+ * so reading the top of a leaderboard never scans the log. Equal scores keep the order they were set in.
+ * The header records how many log records the index has seen and is written after the entries. On
+ * open, an index that has seen fewer records than the log holds is rebuilt from the log, as is a
+ * missing or damaged one: a crash between logging a score and indexing it may have come halfway
+ * through shifting the entries down, so entries the header does not vouch for are never trusted.
+ *
+ * <pre>
+ * header [magic:i32][version:i32][capacity:i32][size:i32][indexed:i64]
+ * entry  [time:i64][score:i32][reserved:i32] * capacity
+ * </pre>
+ */
+final class TopIndex implements Closeable {
+
+    static final int MAGIC = 0x53434958;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int ENTRY_SIZE = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer map;
+    private final int capacity;
+    private final int[] scores;
+    private final long[] times;
+    private int size;
+    private long indexed;
+
+    private TopIndex(FileChannel channel, MappedByteBuffer map, int capacity) {
+        this.channel = channel;
+        this.map = map;
+        this.capacity = capacity;
+        scores = new int[capacity];
+        times = new long[capacity];
+    }
+
+    /**
+     * Opens the index of a log, bringing it up to date with the log.
+     *
+     * @param file     the index file
+     * @param capacity the number of best scores to keep
+     * @param log      the log the index covers
+     * @return the index
+     * @throws IOException if the file cannot be opened
+     */
+    static TopIndex open(Path file, int capacity, ScoreLog log) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        TopIndex index;
+        try {
+            boolean valid = channel.size() == HEADER_SIZE + (long) capacity * ENTRY_SIZE;
+            index = new TopIndex(channel,
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * ENTRY_SIZE), capacity);
+            valid = valid && index.load(log.getCount());
+            if (!valid) {
+                index.map.putInt(0, MAGIC);
+                index.map.putInt(4, VERSION);
+                index.map.putInt(8, capacity);
+                index.size = 0;
+                index.indexed = 0;
+                index.writeHeader();
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        index.catchUp(log);
+        return index;
+    }
+
+    private boolean load(long logCount) {
+        if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION || map.getInt(8) != capacity) {
+            return false;
+        }
+        size = map.getInt(12);
+        indexed = map.getLong(16);
+        if (size < 0 || size > capacity || indexed < 0 || indexed > logCount) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            int p = HEADER_SIZE + i * ENTRY_SIZE;
+            times[i] = map.getLong(p);
+            scores[i] = map.getInt(p + 8);
+        }
+        return true;
+    }
+
+    private void catchUp(ScoreLog log) {
+        long count = log.getCount();
+        if (indexed == count) {
+            return;
+        }
+        // The header stays behind the log until the rebuild is complete, so a crash now rebuilds again
+        size = 0;
+        indexed = 0;
+        while (indexed < count) {
+            add(log.get(indexed));
+        }
+    }
+
+    /**
+     * Adds the record just appended to the log.
+     *
+     * @param entry the logged score
+     * @return the rank of the score, 1 for the best, or 0 if it is not among the best {@code capacity}
+     */
+    int add(ScoreEntry entry) {
+        // After every equal score, so earlier games keep the better rank
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (scores[mid] >= entry.getScore()) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int position = low;
+        if (position < capacity) {
+            int moved = Math.min(size, capacity - 1) - position;
+            System.arraycopy(scores, position, scores, position + 1, moved);
+            System.arraycopy(times, position, times, position + 1, moved);
+            scores[position] = entry.getScore();
+            times[position] = entry.getTime();
+            size = Math.min(size + 1, capacity);
+            for (int i = position; i < size; i++) {
+                int p = HEADER_SIZE + i * ENTRY_SIZE;
+                map.putLong(p, times[i]);
+                map.putInt(p + 8, scores[i]);
+                map.putInt(p + 12, 0);
+            }
+        }
+        indexed++;
+        writeHeader();
+        return position < capacity ? position + 1 : 0;
+    }
+
+    private void writeHeader() {
+        map.putInt(12, size);
+        map.putLong(16, indexed);
+    }
+
+    /**
+     * Gets the best scores.
+     *
+     * @param count the most scores to return
+     * @return the scores, best first
+     */
+    ScoreEntry[] top(int count) {
+        ScoreEntry[] entries = new ScoreEntry[Math.min(count, size)];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new ScoreEntry(scores[i], times[i]);
+        }
+        return entries;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    void force() {
+        map.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+}
@@ -0,0 +1,179 @@
+package com.comp2042.logic.ai;
+
+import com.comp2042.Board;
+import com.comp2042.BoardFeatures;
+import com.comp2042.ClearRow;
+import com.comp2042.MatrixOperations;
+import com.comp2042.SimpleBoard;
+import com.comp2042.ViewData;
+import com.comp2042.dataset.TrainingDataWriter;
+import com.comp2042.logic.bricks.BrickGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Bot that places each brick where a weighted sum of {@link BoardFeatures} is highest.
+ * The candidates are the spawn position turned clockwise zero to three times, stopping at the
+ * first turn that fails, then shifted left or right along that row for as long as each shift fits.
+ * Each is dropped straight down and scored with {@link BoardFeatures#evaluate(int[][], int, int, int[])}.
+ * The best one is played from the spawn position by the same turns and shifts through the normal
+ * {@link Board} moves, so the placement played is always the one scored.
+ */
+public final class BotPlayer {
+
+    // Hand-tuned weights for aggregate height, holes, bumpiness and completed lines
+    private static final double[] DEFAULT_WEIGHTS = {-0.510066, 0, -0.35663, -0.184483, 0, 0, 0.760666};
+
+    private final double[] weights;
+    private final int[] features = new int[BoardFeatures.SIZE];
+
+    /**
+     * Constructs a new BotPlayer.
+     *
+     * @param weights one weight per feature, indexed by the {@link BoardFeatures} constants
+     */
+    public BotPlayer(double[] weights) {
+        if (weights.length != BoardFeatures.SIZE) {
+            throw new IllegalArgumentException("Expected " + BoardFeatures.SIZE + " weights: " + weights.length);
+        }
+        this.weights = weights.clone();
+    }
+
+    /**
+     * Moves the current brick of a board to the best placement found and drops it.
+     * The brick is left in place for the caller to merge.
+     *
+     * @param board the board whose current brick is placed
+     * @throws IllegalStateException if the moves played do not reach the placement that was scored
+     */
+    public void placeBrick(Board board) {
+        int[][] matrix = board.getBoardMatrix();
+        ViewData spawn = board.getViewData();
+        double bestScore = Double.NEGATIVE_INFINITY;
+        int bestTurns = 0;
+        int bestShift = 0;
+        int bestRotation = spawn.getRotation();
+        int bestX = spawn.getxPosition();
+        ViewData view = spawn;
+        for (int turns = 0; turns < 4; turns++) {
+            if (turns > 0) {
+                if (!board.rotateRightBrick()) {
+                    break;
+                }
+                view = board.getViewData();
+            }
+            int[][] shape = view.getBrickData();
+            int x = view.getxPosition();
+            int y = view.getyPosition();
+            // Each shift the board would accept, walking along the row the rotations left the brick on
+            for (int direction = -1; direction <= 1; direction += 2) {
+                int shift = direction < 0 ? 0 : 1;
+                while (!MatrixOperations.intersect(matrix, shape, x + shift * direction, y)) {
+                    double score = score(board, matrix, shape, x + shift * direction, y);
+                    if (score > bestScore) {
+                        bestScore = score;
+                        bestTurns = turns;
+                        bestShift = shift * direction;
+                        bestRotation = view.getRotation();
+                        bestX = x + bestShift;
+                    }
+                    shift++;
+                }
+            }
+        }
+        // Start again from the spawn position and replay the moves of the best placement
+        board.placeBrick(spawn.getRotation(), spawn.getxPosition(), spawn.getyPosition());
+        for (int i = 0; i < bestTurns; i++) {
+            board.rotateRightBrick();
+        }
+        for (int i = 0; i < Math.abs(bestShift); i++) {
+            if (bestShift < 0) {
+                board.moveBrickLeft();
+            } else {
+                board.moveBrickRight();
+            }
+        }
+        view = board.getViewData();
+        if (view.getRotation() != bestRotation || view.getxPosition() != bestX) {
+            throw new IllegalStateException("Brick reached rotation " + view.getRotation() + " at column "
+                    + view.getxPosition() + " instead of rotation " + bestRotation + " at column " + bestX);
+        }
+        board.dropBrickToBottom();
+    }
+
+    /**
+     * Plays one headless game on a {@link SimpleBoard} until it tops out or the brick limit is reached.
+     *
+     * @param weights   the feature weights
+     * @param generator the brick generator of the game
+     * @param maxBricks the most bricks to place
+     * @return the number of lines cleared
+     */
+    public static int playGame(double[] weights, BrickGenerator generator, int maxBricks) {
+        try {
+            return playGame(weights, generator, maxBricks, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Plays one headless game like {@link #playGame(double[], BrickGenerator, int)}, recording every placement.
+     *
+     * @param weights   the feature weights
+     * @param generator the brick generator of the game
+     * @param maxBricks the most bricks to place
+     * @param out       the training data writer receiving each placement, or null
+     * @return the number of lines cleared
+     * @throws IOException if the writer fails
+     */
+    public static int playGame(double[] weights, BrickGenerator generator, int maxBricks, TrainingDataWriter out)
+            throws IOException {
+        BotPlayer bot = new BotPlayer(weights);
+        SimpleBoard board = new SimpleBoard(25, 10, generator);
+        board.newGame(generator);
+        int lines = 0;
+        for (int i = 0; i < maxBricks; i++) {
+            bot.placeBrick(board);
+            if (out != null) {
+                out.beginRecord(board.getBoardMatrix(), board.getViewData());
+            }
+            board.mergeBrickToBackground();
+            ClearRow clearRow = board.clearRows();
+            if (out != null) {
+                out.endRecord(clearRow.getScoreBonus());
+            }
+            lines += clearRow.getLinesRemoved();
+            if (board.createNewBrick()) {
+                break;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Gets hand-tuned weights that play reasonably well, for when no tuned weights are available.
+     *
+     * @return a new copy of the default weights
+     */
+    public static double[] getDefaultWeights() {
+        return DEFAULT_WEIGHTS.clone();
+    }
+
+    /**
+     * Scores the placement of a brick dropped straight down from a position.
+     */
+    private double score(Board board, int[][] matrix, int[][] shape, int x, int y) {
+        int landing = y;
+        while (!MatrixOperations.intersect(matrix, shape, x, landing + 1)) {
+            landing++;
+        }
+        board.getFeatures().evaluate(shape, x, landing, features);
+        double score = 0;
+        for (int i = 0; i < features.length; i++) {
+            score += weights[i] * features[i];
+        }
+        return score;
+    }
+}
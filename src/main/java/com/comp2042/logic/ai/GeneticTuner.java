@@ -0,0 +1,388 @@
+package com.comp2042.logic.ai;
+
+import com.comp2042.BoardFeatures;
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.logic.bricks.RelaxBrickGenerator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evolves {@link BotPlayer} feature weights by playing headless games on
+ * {@link com.comp2042.SimpleBoard}s.
+ * Every game of a generation runs as its own task on a work-stealing {@link ForkJoinPool}.
+ * Game seeds depend only on the run seed, the generation and the game number, so every
+ * candidate of a generation plays the same brick sequences and results do not depend on
+ * thread scheduling. Since those sequences change every generation, the elites of each generation
+ * are also played on a fixed set of validation sequences, and the best weights are the ones that
+ * did best there, not the ones that drew the easiest bricks. The population is checkpointed after
+ * each generation, and a run started on an existing checkpoint resumes from it.
+ */
+public final class GeneticTuner {
+
+    /** Brick sequences the tuner can train on, matching the game modes. */
+    public enum Mode {
+        CLASSIC, RELAX
+    }
+
+    private static final int CHECKPOINT_MAGIC = 0x47545532;
+    // Seed round of the validation games, apart from every generation's
+    private static final int VALIDATION_ROUND = -2;
+    private static final double MUTATION_RATE = 0.05;
+    private static final double MUTATION_STEP = 0.2;
+
+    private final Path checkpoint;
+    private final int populationSize;
+    private final int gamesPerCandidate;
+    private final int maxBricks;
+    private Mode mode;
+    private long seed;
+    private int generation;
+    private double[][] population;
+    private final int[] results;
+    private final int[] fitness;
+    private final int eliteCount;
+    private final double[][] elites;
+    private final int[] validationResults;
+    private double[] best;
+    private int bestFitness = -1;
+
+    /**
+     * Constructs a new GeneticTuner. The mode and seed are replaced by the checkpoint's when resuming.
+     *
+     * @param checkpoint        the checkpoint file, read when it exists and rewritten after every generation
+     * @param mode              the brick sequence to train on
+     * @param seed              the run seed
+     * @param populationSize    the number of candidates per generation
+     * @param gamesPerCandidate the number of games each candidate plays per generation
+     * @param maxBricks         the most bricks placed in one game
+     */
+    public GeneticTuner(Path checkpoint, Mode mode, long seed, int populationSize, int gamesPerCandidate, int maxBricks) {
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("Population needs at least two candidates: " + populationSize);
+        }
+        this.checkpoint = checkpoint;
+        this.mode = mode;
+        this.seed = seed;
+        this.populationSize = populationSize;
+        this.gamesPerCandidate = gamesPerCandidate;
+        this.maxBricks = maxBricks;
+        results = new int[populationSize * gamesPerCandidate];
+        fitness = new int[populationSize];
+        eliteCount = Math.max(1, populationSize / 10);
+        elites = new double[eliteCount][];
+        validationResults = new int[eliteCount * gamesPerCandidate];
+    }
+
+    /**
+     * Evolves the population until the given generation has been evaluated.
+     *
+     * @param generations the generation count to reach, including generations run before a resume
+     * @param parallelism the number of worker threads
+     * @throws IOException if the checkpoint cannot be read or written
+     */
+    public void run(int generations, int parallelism) throws IOException {
+        if (Files.exists(checkpoint)) {
+            load();
+        } else {
+            population = randomPopulation(new Random(mix(seed, -1, 0)));
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            while (generation < generations) {
+                long start = System.nanoTime();
+                pool.invoke(new GameTask(population, results, generation, 0, results.length));
+                long total = score();
+                Integer[] order = rank();
+                int generationBest = fitness[order[0]];
+                validate(pool, order);
+                System.out.printf("generation %d: best %d lines, mean %.1f, best validated %d lines, %.1f s%n",
+                        generation, generationBest, total / (double) populationSize, bestFitness,
+                        (System.nanoTime() - start) / 1e9);
+                population = breed(new Random(mix(seed, generation, -1)), order);
+                generation++;
+                save();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Gets the weights that did best on the validation sequences so far, in this run or the
+     * checkpoint it resumed from.
+     *
+     * @return a copy of the best weights, or null if no generation was evaluated
+     */
+    public double[] getBestWeights() {
+        return best == null ? null : best.clone();
+    }
+
+    /**
+     * Gets the lines the best weights cleared over the validation sequences.
+     *
+     * @return the validation lines, or -1 if no generation was evaluated
+     */
+    public int getBestFitness() {
+        return bestFitness;
+    }
+
+    /**
+     * Plays a range of (candidate, game) pairs, splitting until a single game is left.
+     */
+    private final class GameTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[][] candidates;
+        private final int[] scores;
+        private final int round;
+        private final int from;
+        private final int to;
+
+        /**
+         * @param candidates the weights to play
+         * @param scores     receives the lines of game g of candidate c at c * gamesPerCandidate + g
+         * @param round      the generation, or the validation round, the game seeds are derived from
+         */
+        GameTask(double[][] candidates, int[] scores, int round, int from, int to) {
+            this.candidates = candidates;
+            this.scores = scores;
+            this.round = round;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new GameTask(candidates, scores, round, from, mid),
+                        new GameTask(candidates, scores, round, mid, to));
+                return;
+            }
+            int candidate = from / gamesPerCandidate;
+            int game = from % gamesPerCandidate;
+            scores[from] = BotPlayer.playGame(candidates[candidate], generator(mix(seed, round, game)), maxBricks);
+        }
+    }
+
+    private BrickGenerator generator(long gameSeed) {
+        return mode == Mode.RELAX ? new RelaxBrickGenerator(gameSeed) : new RandomBrickGenerator(gameSeed);
+    }
+
+    private long score() {
+        long total = 0;
+        for (int c = 0; c < populationSize; c++) {
+            int sum = 0;
+            for (int g = 0; g < gamesPerCandidate; g++) {
+                sum += results[c * gamesPerCandidate + g];
+            }
+            fitness[c] = sum;
+            total += sum;
+        }
+        return total;
+    }
+
+    /**
+     * Orders the candidates from the fittest down, ties broken by index.
+     */
+    private Integer[] rank() {
+        Integer[] order = new Integer[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> fitness[a] != fitness[b] ? Integer.compare(fitness[b], fitness[a]) : Integer.compare(a, b));
+        return order;
+    }
+
+    /**
+     * Plays the elites on the validation sequences, which are the same every generation, and keeps
+     * the first one to beat the best validation score so far.
+     */
+    private void validate(ForkJoinPool pool, Integer[] order) {
+        for (int i = 0; i < eliteCount; i++) {
+            elites[i] = population[order[i]];
+        }
+        pool.invoke(new GameTask(elites, validationResults, VALIDATION_ROUND, 0, validationResults.length));
+        for (int i = 0; i < eliteCount; i++) {
+            int sum = 0;
+            for (int g = 0; g < gamesPerCandidate; g++) {
+                sum += validationResults[i * gamesPerCandidate + g];
+            }
+            if (sum > bestFitness) {
+                bestFitness = sum;
+                best = elites[i].clone();
+            }
+        }
+    }
+
+    /**
+     * Builds the next generation: the fittest tenth survives unchanged and the rest are
+     * fitness-weighted crossovers of tournament winners, occasionally mutated.
+     */
+    private double[][] breed(Random random, Integer[] order) {
+        int tournament = Math.max(2, populationSize / 10);
+        double[][] next = new double[populationSize][];
+        for (int i = 0; i < eliteCount; i++) {
+            next[i] = population[order[i]].clone();
+        }
+        for (int i = eliteCount; i < populationSize; i++) {
+            int a = select(random, tournament);
+            int b = select(random, tournament);
+            double wa = fitness[a] + 1;
+            double wb = fitness[b] + 1;
+            double[] child = new double[BoardFeatures.SIZE];
+            for (int k = 0; k < child.length; k++) {
+                child[k] = (population[a][k] * wa + population[b][k] * wb) / (wa + wb);
+            }
+            if (random.nextDouble() < MUTATION_RATE * child.length) {
+                child[random.nextInt(child.length)] += (random.nextDouble() * 2 - 1) * MUTATION_STEP;
+            }
+            next[i] = normalize(child);
+        }
+        return next;
+    }
+
+    private int select(Random random, int tournament) {
+        int winner = random.nextInt(populationSize);
+        for (int i = 1; i < tournament; i++) {
+            int challenger = random.nextInt(populationSize);
+            if (fitness[challenger] > fitness[winner]) {
+                winner = challenger;
+            }
+        }
+        return winner;
+    }
+
+    private double[][] randomPopulation(Random random) {
+        double[][] candidates = new double[populationSize][];
+        for (int i = 0; i < populationSize; i++) {
+            double[] weights = new double[BoardFeatures.SIZE];
+            for (int k = 0; k < weights.length; k++) {
+                weights[k] = random.nextDouble() * 2 - 1;
+            }
+            candidates[i] = normalize(weights);
+        }
+        return candidates;
+    }
+
+    private static double[] normalize(double[] weights) {
+        double length = 0;
+        for (double w : weights) {
+            length += w * w;
+        }
+        length = Math.sqrt(length);
+        if (length > 0) {
+            for (int k = 0; k < weights.length; k++) {
+                weights[k] /= length;
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Derives a well-mixed seed for a generation and game from the run seed.
+     */
+    private static long mix(long seed, int generation, int game) {
+        long z = seed + generation * 0x9E3779B97F4A7C15L + game * 0xC2B2AE3D27D4EB4FL;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Writes the checkpoint to a temporary file and moves it over the old one,
+     * so an interrupted write never leaves a truncated checkpoint behind.
+     */
+    private void save() throws IOException {
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(CHECKPOINT_MAGIC);
+            out.writeInt(mode.ordinal());
+            out.writeLong(seed);
+            out.writeInt(generation);
+            out.writeInt(populationSize);
+            out.writeInt(BoardFeatures.SIZE);
+            out.writeInt(bestFitness);
+            for (int k = 0; k < BoardFeatures.SIZE; k++) {
+                out.writeDouble(best[k]);
+            }
+            for (double[] candidate : population) {
+                for (double w : candidate) {
+                    out.writeDouble(w);
+                }
+            }
+        }
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void load() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpoint)))) {
+            if (in.readInt() != CHECKPOINT_MAGIC) {
+                throw new IOException("Not a tuner checkpoint: " + checkpoint);
+            }
+            mode = Mode.values()[in.readInt()];
+            seed = in.readLong();
+            generation = in.readInt();
+            int size = in.readInt();
+            int weightCount = in.readInt();
+            if (size != populationSize || weightCount != BoardFeatures.SIZE) {
+                throw new IOException("Checkpoint has " + size + " candidates of " + weightCount
+                        + " weights, expected " + populationSize + " of " + BoardFeatures.SIZE);
+            }
+            bestFitness = in.readInt();
+            best = new double[weightCount];
+            for (int k = 0; k < weightCount; k++) {
+                best[k] = in.readDouble();
+            }
+            population = new double[size][weightCount];
+            for (double[] candidate : population) {
+                for (int k = 0; k < weightCount; k++) {
+                    candidate[k] = in.readDouble();
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the tuner from the command line.
+     *
+     * @param args optional checkpoint path, generation count, mode (classic or relax),
+     *             population size, games per candidate, brick limit and run seed; a run without
+     *             a seed picks one and prints it, so it can be repeated
+     * @throws IOException if the checkpoint cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        Path checkpoint = Paths.get(args.length > 0 ? args[0] : "tuner.ckpt");
+        int generations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        Mode mode = args.length > 2 ? Mode.valueOf(args[2].toUpperCase(Locale.ROOT)) : Mode.CLASSIC;
+        int populationSize = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+        int games = args.length > 4 ? Integer.parseInt(args[4]) : 8;
+        int maxBricks = args.length > 5 ? Integer.parseInt(args[5]) : 500;
+        long seed = args.length > 6 ? Long.parseLong(args[6]) : System.nanoTime();
+        if (!Files.exists(checkpoint)) {
+            System.out.println("seed " + seed);
+        }
+        GeneticTuner tuner = new GeneticTuner(checkpoint, mode, seed, populationSize, games, maxBricks);
+        tuner.run(generations, Runtime.getRuntime().availableProcessors());
+        System.out.println("best " + tuner.getBestFitness() + " validation lines: " + Arrays.toString(tuner.getBestWeights()));
+    }
+}
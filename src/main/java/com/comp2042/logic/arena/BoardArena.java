@@ -0,0 +1,381 @@
+package com.comp2042.logic.arena;
+
+import com.comp2042.MatrixOperations;
+import com.comp2042.logic.bricks.BrickShapes;
+import com.comp2042.logic.rotation.SuperRotationSystem;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Off-heap storage for many games at once, for batch simulation.
+ * Every game lives in a fixed-stride slot of one {@link MemorySegment}: the playfield as
+ * row bitmasks plus one byte per cell, the active piece, a preview queue, the random state
+ * of its brick sequence and its score. The operations mirror {@link com.comp2042.SimpleBoard}
+ * (spawn at (4, 1), SRS wall kicks, the same score bonus) but work directly on the segment,
+ * so hundreds of thousands of games put nothing on the Java heap.
+ * The segment is shared: different threads may play different slots at the same time.
+ *
+ * <pre>
+ * 0   random   i64      32  queueHead i32
+ * 8   score    i32      36  queue     u8 * 4
+ * 12  lines    i32      40  flags     i32
+ * 16  piece    i32      44  masks     i32 * ROWS
+ * 20  rotation i32      144 cells     u8 * ROWS * COLUMNS
+ * 24  x        i32      394 padding   up to STRIDE (448)
+ * 28  y        i32
+ * </pre>
+ */
+public final class BoardArena implements AutoCloseable {
+
+    public static final int ROWS = 25;
+    public static final int COLUMNS = 10;
+    /** Number of upcoming pieces kept in each slot's preview queue. */
+    public static final int QUEUE_SIZE = 4;
+
+    private static final long RANDOM = 0;
+    private static final long SCORE = 8;
+    private static final long LINES = 12;
+    private static final long PIECE = 16;
+    private static final long ROTATION = 20;
+    private static final long X = 24;
+    private static final long Y = 28;
+    private static final long QUEUE_HEAD = 32;
+    private static final long QUEUE = 36;
+    private static final long FLAGS = 40;
+    private static final long MASKS = 44;
+    private static final long CELLS = MASKS + ROWS * 4L;
+    /** Bytes per slot: the fields end with the cells, the rest is padding up to a whole cache line. */
+    public static final long STRIDE = (CELLS + ROWS * COLUMNS + 63) & ~63L;
+
+    private static final int GAME_OVER = 1;
+    private static final int FULL_ROW = (1 << COLUMNS) - 1;
+    private static final int SPAWN_X = 4;
+    private static final int SPAWN_Y = 1;
+
+    private final Arena arena;
+    private final MemorySegment memory;
+    private final int slots;
+
+    /**
+     * Allocates an arena with every slot zeroed; call {@link #newGame(int, long)} before playing a slot.
+     *
+     * @param slots the number of games
+     */
+    public BoardArena(int slots) {
+        this.slots = slots;
+        arena = Arena.ofShared();
+        memory = arena.allocate(STRIDE * slots, 64);
+    }
+
+    public int getSlotCount() {
+        return slots;
+    }
+
+    public long getByteSize() {
+        return memory.byteSize();
+    }
+
+    /**
+     * Clears a slot and spawns its first piece.
+     *
+     * @param slot the slot
+     * @param seed the seed of the slot's brick sequence
+     */
+    public void newGame(int slot, long seed) {
+        long base = base(slot);
+        memory.asSlice(base, STRIDE).fill((byte) 0);
+        memory.set(ValueLayout.JAVA_LONG, base + RANDOM, seed);
+        for (int i = 0; i < QUEUE_SIZE; i++) {
+            memory.set(ValueLayout.JAVA_BYTE, base + QUEUE + i, (byte) randomPiece(base));
+        }
+        spawn(base);
+    }
+
+    public boolean isGameOver(int slot) {
+        return (memory.get(ValueLayout.JAVA_INT, base(slot) + FLAGS) & GAME_OVER) != 0;
+    }
+
+    public int getScore(int slot) {
+        return memory.get(ValueLayout.JAVA_INT, base(slot) + SCORE);
+    }
+
+    public int getLines(int slot) {
+        return memory.get(ValueLayout.JAVA_INT, base(slot) + LINES);
+    }
+
+    public int getPiece(int slot) {
+        return memory.get(ValueLayout.JAVA_INT, base(slot) + PIECE);
+    }
+
+    public int getRotation(int slot) {
+        return memory.get(ValueLayout.JAVA_INT, base(slot) + ROTATION);
+    }
+
+    public int getX(int slot) {
+        return memory.get(ValueLayout.JAVA_INT, base(slot) + X);
+    }
+
+    public int getY(int slot) {
+        return memory.get(ValueLayout.JAVA_INT, base(slot) + Y);
+    }
+
+    /**
+     * Gets an upcoming piece.
+     *
+     * @param slot  the slot
+     * @param index 0 for the next piece, up to {@link #QUEUE_SIZE} - 1
+     * @return the piece cell value
+     */
+    public int getQueuedPiece(int slot, int index) {
+        long base = base(slot);
+        int head = memory.get(ValueLayout.JAVA_INT, base + QUEUE_HEAD);
+        return memory.get(ValueLayout.JAVA_BYTE, base + QUEUE + (head + index) % QUEUE_SIZE);
+    }
+
+    public int getRowMask(int slot, int row) {
+        return memory.get(ValueLayout.JAVA_INT, base(slot) + MASKS + row * 4L);
+    }
+
+    public int getCell(int slot, int row, int column) {
+        return memory.get(ValueLayout.JAVA_BYTE, base(slot) + CELLS + row * COLUMNS + column);
+    }
+
+    public boolean moveLeft(int slot) {
+        return shift(base(slot), -1, 0);
+    }
+
+    public boolean moveRight(int slot) {
+        return shift(base(slot), 1, 0);
+    }
+
+    public boolean moveDown(int slot) {
+        return shift(base(slot), 0, 1);
+    }
+
+    /**
+     * Rotates the active piece, trying the SRS wall kicks in order.
+     *
+     * @param slot      the slot
+     * @param direction 1 for clockwise, -1 for counterclockwise
+     * @return true if the piece rotated
+     */
+    public boolean rotate(int slot, int direction) {
+        long base = base(slot);
+        int piece = memory.get(ValueLayout.JAVA_INT, base + PIECE);
+        int from = memory.get(ValueLayout.JAVA_INT, base + ROTATION);
+        int to = Math.floorMod(from + direction, BrickShapes.ROTATIONS);
+        int x = memory.get(ValueLayout.JAVA_INT, base + X);
+        int y = memory.get(ValueLayout.JAVA_INT, base + Y);
+        int kicks = SuperRotationSystem.getKickCount(piece, from, to);
+        for (int k = 0; k < kicks; k++) {
+            int kickedX = x + SuperRotationSystem.getKickX(piece, from, to, k);
+            int kickedY = y + SuperRotationSystem.getKickY(piece, from, to, k);
+            if (!collides(base, piece, to, kickedX, kickedY)) {
+                memory.set(ValueLayout.JAVA_INT, base + ROTATION, to);
+                memory.set(ValueLayout.JAVA_INT, base + X, kickedX);
+                memory.set(ValueLayout.JAVA_INT, base + Y, kickedY);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drops the active piece as far as it goes without locking it.
+     *
+     * @param slot the slot
+     * @return the number of rows it fell
+     */
+    public int hardDrop(int slot) {
+        long base = base(slot);
+        int piece = memory.get(ValueLayout.JAVA_INT, base + PIECE);
+        int rotation = memory.get(ValueLayout.JAVA_INT, base + ROTATION);
+        int x = memory.get(ValueLayout.JAVA_INT, base + X);
+        int y = memory.get(ValueLayout.JAVA_INT, base + Y);
+        int start = y;
+        while (!collides(base, piece, rotation, x, y + 1)) {
+            y++;
+        }
+        memory.set(ValueLayout.JAVA_INT, base + Y, y);
+        return y - start;
+    }
+
+    /**
+     * Merges the active piece, clears full rows, adds the score bonus and spawns the next piece.
+     * The slot is flagged as game over when the next piece does not fit.
+     *
+     * @param slot the slot
+     * @return the number of rows cleared
+     */
+    public int lock(int slot) {
+        long base = base(slot);
+        int piece = memory.get(ValueLayout.JAVA_INT, base + PIECE);
+        int rotation = memory.get(ValueLayout.JAVA_INT, base + ROTATION);
+        int x = memory.get(ValueLayout.JAVA_INT, base + X);
+        int y = memory.get(ValueLayout.JAVA_INT, base + Y);
+        int cleared = 0;
+        for (int j = 0; j < BrickShapes.SIZE; j++) {
+            int bits = placed(BrickShapes.getRowMask(piece, rotation, j), x);
+            if (bits == 0) {
+                continue;
+            }
+            int row = y + j;
+            long maskOffset = base + MASKS + row * 4L;
+            int mask = memory.get(ValueLayout.JAVA_INT, maskOffset) | bits;
+            memory.set(ValueLayout.JAVA_INT, maskOffset, mask);
+            for (int c = 0; c < COLUMNS; c++) {
+                if ((bits & 1 << c) != 0) {
+                    memory.set(ValueLayout.JAVA_BYTE, base + CELLS + row * COLUMNS + c, (byte) piece);
+                }
+            }
+            if (mask == FULL_ROW) {
+                removeRow(base, row);
+                cleared++;
+            }
+        }
+        if (cleared > 0) {
+            memory.set(ValueLayout.JAVA_INT, base + SCORE,
+                    memory.get(ValueLayout.JAVA_INT, base + SCORE) + MatrixOperations.getScoreBonus(cleared));
+            memory.set(ValueLayout.JAVA_INT, base + LINES, memory.get(ValueLayout.JAVA_INT, base + LINES) + cleared);
+        }
+        spawn(base);
+        return cleared;
+    }
+
+    /**
+     * Frees the off-heap memory. The arena must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private long base(int slot) {
+        return slot * STRIDE;
+    }
+
+    private boolean shift(long base, int dx, int dy) {
+        int piece = memory.get(ValueLayout.JAVA_INT, base + PIECE);
+        int rotation = memory.get(ValueLayout.JAVA_INT, base + ROTATION);
+        int x = memory.get(ValueLayout.JAVA_INT, base + X) + dx;
+        int y = memory.get(ValueLayout.JAVA_INT, base + Y) + dy;
+        if (collides(base, piece, rotation, x, y)) {
+            return false;
+        }
+        memory.set(ValueLayout.JAVA_INT, base + X, x);
+        memory.set(ValueLayout.JAVA_INT, base + Y, y);
+        return true;
+    }
+
+    /**
+     * Tests a piece position against the walls, the floor and the stack, like
+     * {@link MatrixOperations#intersect(int[][], int[][], int, int)}.
+     */
+    private boolean collides(long base, int piece, int rotation, int x, int y) {
+        for (int j = 0; j < BrickShapes.SIZE; j++) {
+            int shapeRow = BrickShapes.getRowMask(piece, rotation, j);
+            if (shapeRow == 0) {
+                continue;
+            }
+            int row = y + j;
+            if (row < 0 || row >= ROWS) {
+                return true;
+            }
+            if (x < 0 && (shapeRow & (1 << -x) - 1) != 0) {
+                return true;
+            }
+            int bits = placed(shapeRow, x);
+            if ((bits & ~FULL_ROW) != 0 || (memory.get(ValueLayout.JAVA_INT, base + MASKS + row * 4L) & bits) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int placed(int shapeRow, int x) {
+        return x >= 0 ? shapeRow << x : shapeRow >>> -x;
+    }
+
+    /**
+     * Removes a row by moving every row above it down by one, masks and cells alike.
+     */
+    private void removeRow(long base, int row) {
+        MemorySegment.copy(memory, base + MASKS, memory, base + MASKS + 4, row * 4L);
+        MemorySegment.copy(memory, base + CELLS, memory, base + CELLS + COLUMNS, (long) row * COLUMNS);
+        memory.set(ValueLayout.JAVA_INT, base + MASKS, 0);
+        memory.asSlice(base + CELLS, COLUMNS).fill((byte) 0);
+    }
+
+    private void spawn(long base) {
+        int head = memory.get(ValueLayout.JAVA_INT, base + QUEUE_HEAD);
+        int piece = memory.get(ValueLayout.JAVA_BYTE, base + QUEUE + head);
+        memory.set(ValueLayout.JAVA_BYTE, base + QUEUE + head, (byte) randomPiece(base));
+        memory.set(ValueLayout.JAVA_INT, base + QUEUE_HEAD, (head + 1) % QUEUE_SIZE);
+        memory.set(ValueLayout.JAVA_INT, base + PIECE, piece);
+        memory.set(ValueLayout.JAVA_INT, base + ROTATION, 0);
+        memory.set(ValueLayout.JAVA_INT, base + X, SPAWN_X);
+        memory.set(ValueLayout.JAVA_INT, base + Y, SPAWN_Y);
+        if (collides(base, piece, 0, SPAWN_X, SPAWN_Y)) {
+            memory.set(ValueLayout.JAVA_INT, base + FLAGS, memory.get(ValueLayout.JAVA_INT, base + FLAGS) | GAME_OVER);
+        }
+    }
+
+    /**
+     * Draws a uniformly random piece from the slot's SplitMix64 state.
+     */
+    private int randomPiece(long base) {
+        long state = memory.get(ValueLayout.JAVA_LONG, base + RANDOM) + 0x9E3779B97F4A7C15L;
+        memory.set(ValueLayout.JAVA_LONG, base + RANDOM, state);
+        long z = state;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return 1 + (int) (((z >>> 32) * BrickShapes.PIECE_COUNT) >>> 32);
+    }
+
+    /**
+     * Plays random moves on every slot of a large arena across all cores and reports the throughput.
+     *
+     * @param args optional slot count and placements per slot
+     */
+    public static void main(String[] args) {
+        int slots = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int placements = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        try (BoardArena boards = new BoardArena(slots)) {
+            for (int slot = 0; slot < slots; slot++) {
+                boards.newGame(slot, slot);
+            }
+            int batch = 1024;
+            long start = System.nanoTime();
+            IntStream.range(0, (slots + batch - 1) / batch).parallel().forEach(b -> {
+                SplittableRandom random = new SplittableRandom(b);
+                int end = Math.min(slots, (b + 1) * batch);
+                for (int slot = b * batch; slot < end; slot++) {
+                    for (int i = 0; i < placements; i++) {
+                        boards.rotate(slot, random.nextInt(4) - 1);
+                        int shifts = random.nextInt(9) - 4;
+                        for (int s = 0; s < Math.abs(shifts); s++) {
+                            if (shifts < 0 ? !boards.moveLeft(slot) : !boards.moveRight(slot)) {
+                                break;
+                            }
+                        }
+                        boards.hardDrop(slot);
+                        boards.lock(slot);
+                        if (boards.isGameOver(slot)) {
+                            boards.newGame(slot, random.nextLong());
+                        }
+                    }
+                }
+            });
+            double seconds = (System.nanoTime() - start) / 1e9;
+            Runtime runtime = Runtime.getRuntime();
+            System.out.printf("%d games, %.1f MB off-heap, %.2f M placements/s, heap used %.1f MB%n", slots,
+                    boards.getByteSize() / 1e6, (double) slots * placements / seconds / 1e6,
+                    (runtime.totalMemory() - runtime.freeMemory()) / 1e6);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.comp2042.logic.bricks;
+
+import java.util.SplittableRandom;
+
+/**
+ * The 7-bag randomizer: every run of seven pieces is a shuffled copy of all seven, so a piece
+ * never waits more than twelve pieces and never comes more than twice in a row.
+ */
+public final class BagRandomizer implements Randomizer {
+
+    private final SplittableRandom random;
+    private final byte[] bag = new byte[BrickShapes.PIECE_COUNT];
+    private int next = BrickShapes.PIECE_COUNT;
+
+    /**
+     * Constructs a new BagRandomizer.
+     *
+     * @param seed the seed of the sequence
+     */
+    public BagRandomizer(long seed) {
+        random = new SplittableRandom(seed);
+        for (int i = 0; i < bag.length; i++) {
+            bag[i] = (byte) (i + 1);
+        }
+    }
+
+    @Override
+    public int nextPiece() {
+        if (next == bag.length) {
+            shuffle();
+        }
+        return bag[next++];
+    }
+
+    /**
+     * Copies whole bags at a time rather than drawing piece by piece.
+     */
+    @Override
+    public void fill(byte[] pieces, int offset, int length) {
+        int end = offset + length;
+        int at = offset;
+        while (at < end) {
+            if (next == bag.length) {
+                shuffle();
+            }
+            int count = Math.min(bag.length - next, end - at);
+            System.arraycopy(bag, next, pieces, at, count);
+            next += count;
+            at += count;
+        }
+    }
+
+    private void shuffle() {
+        // Fisher-Yates over the previous bag's order, which is as good a start as the sorted one
+        for (int i = bag.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte swap = bag[i];
+            bag[i] = bag[j];
+            bag[j] = swap;
+        }
+        next = 0;
+    }
+}
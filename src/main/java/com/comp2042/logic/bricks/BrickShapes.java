@@ -0,0 +1,56 @@
+package com.comp2042.logic.bricks;
+
+/**
+ * Rotation states of every brick as row bitmasks, precomputed from the brick classes.
+ * Bit i of a row mask is set when column i of the 4x4 shape is filled. Pieces are
+ * identified by their cell value (1 = I, 2 = J, 3 = L, 4 = O, 5 = S, 6 = T, 7 = Z).
+ */
+public final class BrickShapes {
+
+    /** Number of pieces; valid piece values are 1 to PIECE_COUNT. */
+    public static final int PIECE_COUNT = 7;
+    /** Number of rotation states of every piece. */
+    public static final int ROTATIONS = 4;
+    /** Width and height of a shape. */
+    public static final int SIZE = 4;
+
+    /**
+     * The four rotation states of each piece, one hexadecimal digit per shape row from top (high digit)
+     * to bottom, precomputed from the brick classes so that no brick has to be built to fill the table.
+     */
+    private static final int[] SHAPES = {
+            0x0F00, 0x4444, 0x00F0, 0x2222,
+            0x0170, 0x0622, 0x0074, 0x0223,
+            0x0470, 0x0226, 0x0071, 0x0322,
+            0x0660, 0x0660, 0x0660, 0x0660,
+            0x0630, 0x0264, 0x0063, 0x0132,
+            0x0270, 0x0262, 0x0072, 0x0232,
+            0x0360, 0x0462, 0x0036, 0x0231,
+    };
+
+    private static final int[] ROW_MASKS = new int[(PIECE_COUNT + 1) * ROTATIONS * SIZE];
+
+    static {
+        for (int i = 0; i < SHAPES.length; i++) {
+            for (int row = 0; row < SIZE; row++) {
+                ROW_MASKS[(ROTATIONS + i) * SIZE + row] = SHAPES[i] >>> (SIZE - 1 - row) * SIZE & 0xF;
+            }
+        }
+    }
+
+    private BrickShapes() {
+        //We don't want to instantiate this utility class
+    }
+
+    /**
+     * Gets one row of a rotation state as a bitmask.
+     *
+     * @param piece    the piece cell value, 1 to 7
+     * @param rotation the rotation state, 0 to 3
+     * @param row      the shape row, 0 to 3
+     * @return the row mask
+     */
+    public static int getRowMask(int piece, int rotation, int row) {
+        return ROW_MASKS[(piece * ROTATIONS + rotation) * SIZE + row];
+    }
+}
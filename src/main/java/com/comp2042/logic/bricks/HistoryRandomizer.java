@@ -0,0 +1,61 @@
+package com.comp2042.logic.bricks;
+
+import java.util.SplittableRandom;
+
+/**
+ * A history randomizer in the style of the arcade games: a piece is redrawn, up to a fixed number
+ * of times, while it is one of the last four dealt. Repeats become rare without the strict
+ * period of a bag. The first piece is never S, Z or O, and the history starts as Z, S, Z, S.
+ */
+public final class HistoryRandomizer implements Randomizer {
+
+    private static final int HISTORY_SIZE = 4;
+    private static final int ROLLS = 6;
+    private static final int I = 1;
+    private static final int J = 2;
+    private static final int L = 3;
+    private static final int S = 5;
+    private static final int T = 6;
+    private static final int Z = 7;
+    private static final int[] FIRST_PIECES = {I, J, L, T};
+
+    private final SplittableRandom random;
+    private final int[] history = {Z, S, Z, S};
+    private int oldest;
+    private boolean first = true;
+
+    /**
+     * Constructs a new HistoryRandomizer.
+     *
+     * @param seed the seed of the sequence
+     */
+    public HistoryRandomizer(long seed) {
+        random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int nextPiece() {
+        int piece;
+        if (first) {
+            piece = FIRST_PIECES[random.nextInt(FIRST_PIECES.length)];
+            first = false;
+        } else {
+            piece = 1 + random.nextInt(BrickShapes.PIECE_COUNT);
+            for (int roll = 1; roll < ROLLS && inHistory(piece); roll++) {
+                piece = 1 + random.nextInt(BrickShapes.PIECE_COUNT);
+            }
+        }
+        history[oldest] = piece;
+        oldest = (oldest + 1) % HISTORY_SIZE;
+        return piece;
+    }
+
+    private boolean inHistory(int piece) {
+        for (int recent : history) {
+            if (recent == piece) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -16,6 +16,18 @@ final class IBrick implements Brick {
                 {0, 0, 0, 0},
                 {0, 0, 0, 0}
         });
+        brickMatrix.add(new int[][]{
+                {0, 0, 1, 0},
+                {0, 0, 1, 0},
+                {0, 0, 1, 0},
+                {0, 0, 1, 0}
+        });
+        brickMatrix.add(new int[][]{
+                {0, 0, 0, 0},
+                {0, 0, 0, 0},
+                {1, 1, 1, 1},
+                {0, 0, 0, 0}
+        });
         brickMatrix.add(new int[][]{
                 {0, 1, 0, 0},
                 {0, 1, 0, 0},
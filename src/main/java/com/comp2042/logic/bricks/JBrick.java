@@ -12,8 +12,8 @@ final class JBrick implements Brick {
     public JBrick() {
         brickMatrix.add(new int[][]{
                 {0, 0, 0, 0},
+                {2, 0, 0, 0},
                 {2, 2, 2, 0},
-                {0, 0, 2, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
@@ -24,15 +24,15 @@ final class JBrick implements Brick {
         });
         brickMatrix.add(new int[][]{
                 {0, 0, 0, 0},
-                {0, 2, 0, 0},
-                {0, 2, 2, 2},
-                {0, 0, 0, 0}
+                {0, 0, 0, 0},
+                {2, 2, 2, 0},
+                {0, 0, 2, 0}
         });
         brickMatrix.add(new int[][]{
-                {0, 0, 2, 0},
-                {0, 0, 2, 0},
-                {0, 2, 2, 0},
-                {0, 0, 0, 0}
+                {0, 0, 0, 0},
+                {0, 2, 0, 0},
+                {0, 2, 0, 0},
+                {2, 2, 0, 0}
         });
     }
 
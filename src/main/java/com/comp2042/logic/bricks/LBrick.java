@@ -12,27 +12,27 @@ final class LBrick implements Brick {
     public LBrick() {
         brickMatrix.add(new int[][]{
                 {0, 0, 0, 0},
-                {0, 3, 3, 3},
-                {0, 3, 0, 0},
+                {0, 0, 3, 0},
+                {3, 3, 3, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
                 {0, 0, 0, 0},
-                {0, 3, 3, 0},
-                {0, 0, 3, 0},
-                {0, 0, 3, 0}
+                {0, 3, 0, 0},
+                {0, 3, 0, 0},
+                {0, 3, 3, 0}
         });
         brickMatrix.add(new int[][]{
                 {0, 0, 0, 0},
-                {0, 0, 3, 0},
+                {0, 0, 0, 0},
                 {3, 3, 3, 0},
-                {0, 0, 0, 0}
+                {3, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
+                {0, 0, 0, 0},
+                {3, 3, 0, 0},
                 {0, 3, 0, 0},
-                {0, 3, 0, 0},
-                {0, 3, 3, 0},
-                {0, 0, 0, 0}
+                {0, 3, 0, 0}
         });
     }
 
@@ -0,0 +1,69 @@
+package com.comp2042.logic.bricks;
+
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk generation of piece sequences for simulations. A sequence depends only on its randomizer
+ * type and seed, so batch runs are reproducible, and sequences of different seeds are generated
+ * in parallel.
+ */
+public final class PieceSequences {
+
+    //We don't want to instantiate this utility class
+    private PieceSequences() {
+
+    }
+
+    /**
+     * Generates one sequence.
+     *
+     * @param type   the randomizer type
+     * @param seed   the seed of the sequence
+     * @param length the number of pieces
+     * @return the piece ids, the same a {@link PreviewBrickGenerator} of that randomizer deals
+     */
+    public static byte[] generate(RandomizerType type, long seed, int length) {
+        byte[] pieces = new byte[length];
+        type.create(seed).fill(pieces, 0, length);
+        return pieces;
+    }
+
+    /**
+     * Generates the sequences of consecutive seeds in parallel.
+     *
+     * @param type      the randomizer type
+     * @param firstSeed the seed of the first sequence; sequence i uses firstSeed + i
+     * @param count     the number of sequences
+     * @param length    the number of pieces in each
+     * @return the sequences, indexed [sequence][piece]
+     */
+    public static byte[][] generate(RandomizerType type, long firstSeed, int count, int length) {
+        byte[][] sequences = new byte[count][];
+        IntStream.range(0, count).parallel().forEach(i -> sequences[i] = generate(type, firstSeed + i, length));
+        return sequences;
+    }
+
+    /**
+     * Prints generation throughput and the start of a sequence of every randomizer type.
+     *
+     * @param args [sequences] [length] [seed]
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int length = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        for (RandomizerType type : RandomizerType.values()) {
+            generate(type, seed, count / 10 + 1, length);
+            long start = System.nanoTime();
+            byte[][] sequences = generate(type, seed, count, length);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            StringBuilder prefix = new StringBuilder();
+            for (int i = 0; i < Math.min(21, length); i++) {
+                prefix.append("IJLOSTZ".charAt(sequences[0][i] - 1));
+            }
+            System.out.printf("%-8s %.1f M pieces/s  %s...%n", type.name().toLowerCase(Locale.ROOT),
+                    (double) count * length / seconds / 1e6, prefix);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.comp2042.logic.bricks;
+
+/**
+ * Generator dealing the pieces of a {@link Randomizer} with a preview of the next few. The preview
+ * is a ring of piece ids, refilled by one draw per brick dealt, so it always shows exactly the
+ * pieces that will spawn, in order, and dealing allocates nothing.
+ */
+public class PreviewBrickGenerator implements BrickGenerator {
+
+    /** Preview length used when none is given. */
+    public static final int DEFAULT_PREVIEW_SIZE = 5;
+
+    private final Brick[] bricks = {new IBrick(), new JBrick(), new LBrick(), new OBrick(), new SBrick(),
+            new TBrick(), new ZBrick()};
+
+    private final Randomizer randomizer;
+    private final byte[] ring;
+    private final int mask;
+    private final int previewSize;
+    private int head;
+
+    /**
+     * Constructs a new PreviewBrickGenerator with a preview of {@value #DEFAULT_PREVIEW_SIZE} pieces.
+     *
+     * @param randomizer the source of the pieces
+     */
+    public PreviewBrickGenerator(Randomizer randomizer) {
+        this(randomizer, DEFAULT_PREVIEW_SIZE);
+    }
+
+    /**
+     * Constructs a new PreviewBrickGenerator.
+     *
+     * @param randomizer  the source of the pieces
+     * @param previewSize the number of upcoming pieces known ahead, at least 1
+     */
+    public PreviewBrickGenerator(Randomizer randomizer, int previewSize) {
+        if (previewSize < 1) {
+            throw new IllegalArgumentException("The preview needs at least one piece: " + previewSize);
+        }
+        this.randomizer = randomizer;
+        this.previewSize = previewSize;
+        // A power of two at least as large as the preview; the slot just dealt takes the new draw
+        ring = new byte[Integer.highestOneBit(previewSize * 2 - 1)];
+        mask = ring.length - 1;
+        randomizer.fill(ring, 0, previewSize);
+    }
+
+    @Override
+    public Brick getBrick() {
+        int piece = ring[head & mask];
+        ring[(head + previewSize) & mask] = (byte) randomizer.nextPiece();
+        head++;
+        return bricks[piece - 1];
+    }
+
+    @Override
+    public Brick getNextBrick() {
+        return bricks[ring[head & mask] - 1];
+    }
+
+    public int getPreviewSize() {
+        return previewSize;
+    }
+
+    /**
+     * Gets an upcoming piece.
+     *
+     * @param index 0 for the piece the next {@link #getBrick()} returns, up to {@link #getPreviewSize()} - 1
+     * @return the piece id
+     */
+    public int getPreview(int index) {
+        if (index < 0 || index >= previewSize) {
+            throw new IndexOutOfBoundsException("Preview index " + index + " of " + previewSize);
+        }
+        return ring[(head + index) & mask];
+    }
+}
@@ -4,7 +4,7 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Random;
 
 public class RandomBrickGenerator implements BrickGenerator {
 
@@ -12,7 +12,24 @@ public class RandomBrickGenerator implements BrickGenerator {
 
     private final Deque<Brick> nextBricks = new ArrayDeque<>();
 
+    private final Random random;
+
     public RandomBrickGenerator() {
+        this(new Random());
+    }
+
+    /**
+     * Constructs a generator whose brick sequence is fully determined by a seed,
+     * so headless games can be replayed and compared.
+     *
+     * @param seed the seed of the brick sequence
+     */
+    public RandomBrickGenerator(long seed) {
+        this(new Random(seed));
+    }
+
+    private RandomBrickGenerator(Random random) {
+        this.random = random;
         brickList = new ArrayList<>();
         brickList.add(new IBrick());
         brickList.add(new JBrick());
@@ -21,14 +38,14 @@ public class RandomBrickGenerator implements BrickGenerator {
         brickList.add(new SBrick());
         brickList.add(new TBrick());
         brickList.add(new ZBrick());
-        nextBricks.add(brickList.get(ThreadLocalRandom.current().nextInt(brickList.size())));
-        nextBricks.add(brickList.get(ThreadLocalRandom.current().nextInt(brickList.size())));
+        nextBricks.add(brickList.get(random.nextInt(brickList.size())));
+        nextBricks.add(brickList.get(random.nextInt(brickList.size())));
     }
 
     @Override
     public Brick getBrick() {
         if (nextBricks.size() <= 1) {
-            nextBricks.add(brickList.get(ThreadLocalRandom.current().nextInt(brickList.size())));
+            nextBricks.add(brickList.get(random.nextInt(brickList.size())));
         }
         return nextBricks.poll();
     }
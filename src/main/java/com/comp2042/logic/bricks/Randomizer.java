@@ -0,0 +1,28 @@
+package com.comp2042.logic.bricks;
+
+/**
+ * Source of the piece order of a game, as piece ids from 1 (I) to {@link BrickShapes#PIECE_COUNT} (Z).
+ * Randomizers are seeded, so the same seed always deals the same sequence.
+ */
+public interface Randomizer {
+
+    /**
+     * Draws the next piece.
+     *
+     * @return the piece id
+     */
+    int nextPiece();
+
+    /**
+     * Draws a run of pieces, the same ones {@link #nextPiece()} would return one by one.
+     *
+     * @param pieces the array receiving the piece ids
+     * @param offset the index of the first piece
+     * @param length the number of pieces
+     */
+    default void fill(byte[] pieces, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            pieces[i] = (byte) nextPiece();
+        }
+    }
+}
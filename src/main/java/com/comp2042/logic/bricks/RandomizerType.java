@@ -0,0 +1,52 @@
+package com.comp2042.logic.bricks;
+
+import java.util.Locale;
+
+/**
+ * The available {@link Randomizer}s.
+ */
+public enum RandomizerType {
+
+    /** Independent draws with equal odds, {@link UniformRandomizer}. */
+    UNIFORM {
+        @Override
+        public Randomizer create(long seed) {
+            return new UniformRandomizer(seed);
+        }
+    },
+
+    /** Shuffled bags of all seven pieces, {@link BagRandomizer}. */
+    BAG {
+        @Override
+        public Randomizer create(long seed) {
+            return new BagRandomizer(seed);
+        }
+    },
+
+    /** Redraws of recently dealt pieces, {@link HistoryRandomizer}. */
+    HISTORY {
+        @Override
+        public Randomizer create(long seed) {
+            return new HistoryRandomizer(seed);
+        }
+    };
+
+    /**
+     * Creates a randomizer of this type.
+     *
+     * @param seed the seed of the sequence
+     * @return the new randomizer, positioned at the start of its sequence
+     */
+    public abstract Randomizer create(long seed);
+
+    /**
+     * Looks up a randomizer type by name, ignoring case.
+     *
+     * @param name the type name, for example "bag"
+     * @return the type
+     * @throws IllegalArgumentException if there is no type of that name
+     */
+    public static RandomizerType fromName(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
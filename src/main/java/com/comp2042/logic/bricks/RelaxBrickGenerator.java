@@ -8,33 +8,51 @@ import java.util.Random;
  * by limiting the types of bricks that can appear.
  */
 public class RelaxBrickGenerator implements BrickGenerator {
-    private final Random random = new Random();
+    private final Random random;
+    private Brick next;
 
     /**
-     * Gets a random brick, either I-shaped or O-shaped.
+     * Constructs a new RelaxBrickGenerator with a random seed.
+     */
+    public RelaxBrickGenerator() {
+        random = new Random();
+    }
+
+    /**
+     * Constructs a RelaxBrickGenerator whose brick sequence is fully determined by a seed.
      * 
-     * @return a new IBrick or OBrick instance
+     * @param seed the seed of the brick sequence
+     */
+    public RelaxBrickGenerator(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Gets the next brick, either I-shaped or O-shaped, and draws the one after it.
+     * 
+     * @return the IBrick or OBrick previously shown as next
      */
     @Override
     public Brick getBrick() {
-        // Only generate IBrick (long piece) and OBrick (square piece)
-        int brickType = random.nextInt(2);
-        switch (brickType) {
-            case 0:
-                return new IBrick();
-            case 1:
-            default:
-                return new OBrick();
-        }
+        Brick brick = getNextBrick();
+        next = randomBrick();
+        return brick;
     }
 
     /**
-     * Gets the next random brick, either I-shaped or O-shaped.
+     * Gets the brick that the next call to {@link #getBrick()} returns.
      * 
-     * @return a new IBrick or OBrick instance
+     * @return an IBrick or OBrick instance
      */
     @Override
     public Brick getNextBrick() {
+        if (next == null) {
+            next = randomBrick();
+        }
+        return next;
+    }
+
+    private Brick randomBrick() {
         // Only generate IBrick (long piece) and OBrick (square piece)
         int brickType = random.nextInt(2);
         switch (brickType) {
@@ -45,4 +63,4 @@ public class RelaxBrickGenerator implements BrickGenerator {
                 return new OBrick();
         }
     }
-}
\ No newline at end of file
+}
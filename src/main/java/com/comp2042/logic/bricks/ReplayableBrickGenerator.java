@@ -0,0 +1,55 @@
+package com.comp2042.logic.bricks;
+
+import java.util.function.LongFunction;
+
+/**
+ * Generator dealing from a seeded generator and counting the bricks dealt, so its whole state is the
+ * seed and the count. It is restored by building the generator again from the seed and dealing that
+ * many bricks, which takes microseconds even for a long game.
+ */
+public class ReplayableBrickGenerator implements BrickGenerator {
+
+    private final BrickGenerator generator;
+    private final long seed;
+    private long dealt;
+
+    /**
+     * Constructs a new ReplayableBrickGenerator, skipping the bricks already dealt.
+     *
+     * @param source builds the generator for a seed; the same seed must give the same bricks
+     * @param seed   the seed of the brick sequence
+     * @param dealt  the number of bricks to skip
+     */
+    public ReplayableBrickGenerator(LongFunction<BrickGenerator> source, long seed, long dealt) {
+        this.generator = source.apply(seed);
+        this.seed = seed;
+        for (long i = 0; i < dealt; i++) {
+            generator.getBrick();
+        }
+        this.dealt = dealt;
+    }
+
+    @Override
+    public Brick getBrick() {
+        dealt++;
+        return generator.getBrick();
+    }
+
+    @Override
+    public Brick getNextBrick() {
+        return generator.getNextBrick();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of bricks dealt, including those skipped when this generator was built.
+     *
+     * @return the bricks dealt
+     */
+    public long getDealt() {
+        return dealt;
+    }
+}
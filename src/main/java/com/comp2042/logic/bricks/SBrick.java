@@ -17,10 +17,22 @@ final class SBrick implements Brick {
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
+                {0, 0, 0, 0},
+                {0, 5, 0, 0},
+                {0, 5, 5, 0},
+                {0, 0, 5, 0}
+        });
+        brickMatrix.add(new int[][]{
+                {0, 0, 0, 0},
+                {0, 0, 0, 0},
+                {0, 5, 5, 0},
+                {5, 5, 0, 0}
+        });
+        brickMatrix.add(new int[][]{
+                {0, 0, 0, 0},
                 {5, 0, 0, 0},
                 {5, 5, 0, 0},
-                {0, 5, 0, 0},
-                {0, 0, 0, 0}
+                {0, 5, 0, 0}
         });
     }
 
@@ -0,0 +1,44 @@
+package com.comp2042.logic.bricks;
+
+/**
+ * Generator that deals a fixed sequence of pieces, as puzzles do. Once the sequence is used up
+ * it starts again from the beginning.
+ */
+public class SequenceBrickGenerator implements BrickGenerator {
+
+    private final Brick[] bricks = {new IBrick(), new JBrick(), new LBrick(), new OBrick(), new SBrick(),
+            new TBrick(), new ZBrick()};
+
+    private final int[] pieces;
+
+    private int next;
+
+    /**
+     * Constructs a new SequenceBrickGenerator.
+     *
+     * @param pieces the piece cell values (1 = I to 7 = Z) in the order they are dealt
+     */
+    public SequenceBrickGenerator(int[] pieces) {
+        if (pieces.length == 0) {
+            throw new IllegalArgumentException("The piece sequence is empty");
+        }
+        for (int piece : pieces) {
+            if (piece < 1 || piece > BrickShapes.PIECE_COUNT) {
+                throw new IllegalArgumentException("Unknown piece: " + piece);
+            }
+        }
+        this.pieces = pieces.clone();
+    }
+
+    @Override
+    public Brick getBrick() {
+        Brick brick = bricks[pieces[next] - 1];
+        next = (next + 1) % pieces.length;
+        return brick;
+    }
+
+    @Override
+    public Brick getNextBrick() {
+        return bricks[pieces[next] - 1];
+    }
+}
@@ -12,27 +12,27 @@ final class TBrick implements Brick {
     public TBrick() {
         brickMatrix.add(new int[][]{
                 {0, 0, 0, 0},
-                {6, 6, 6, 0},
                 {0, 6, 0, 0},
+                {6, 6, 6, 0},
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
+                {0, 0, 0, 0},
                 {0, 6, 0, 0},
                 {0, 6, 6, 0},
-                {0, 6, 0, 0},
-                {0, 0, 0, 0}
+                {0, 6, 0, 0}
         });
         brickMatrix.add(new int[][]{
-                {0, 6, 0, 0},
-                {6, 6, 6, 0},
                 {0, 0, 0, 0},
-                {0, 0, 0, 0}
+                {0, 0, 0, 0},
+                {6, 6, 6, 0},
+                {0, 6, 0, 0}
         });
         brickMatrix.add(new int[][]{
+                {0, 0, 0, 0},
                 {0, 6, 0, 0},
                 {6, 6, 0, 0},
-                {0, 6, 0, 0},
-                {0, 0, 0, 0}
+                {0, 6, 0, 0}
         });
     }
 
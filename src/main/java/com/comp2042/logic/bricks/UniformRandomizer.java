@@ -0,0 +1,25 @@
+package com.comp2042.logic.bricks;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws every piece independently with equal odds, so droughts and floods are possible.
+ */
+public final class UniformRandomizer implements Randomizer {
+
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a new UniformRandomizer.
+     *
+     * @param seed the seed of the sequence
+     */
+    public UniformRandomizer(long seed) {
+        random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int nextPiece() {
+        return 1 + random.nextInt(BrickShapes.PIECE_COUNT);
+    }
+}
@@ -17,10 +17,22 @@ final class ZBrick implements Brick {
                 {0, 0, 0, 0}
         });
         brickMatrix.add(new int[][]{
+                {0, 0, 0, 0},
+                {0, 0, 7, 0},
+                {0, 7, 7, 0},
+                {0, 7, 0, 0}
+        });
+        brickMatrix.add(new int[][]{
+                {0, 0, 0, 0},
+                {0, 0, 0, 0},
+                {7, 7, 0, 0},
+                {0, 7, 7, 0}
+        });
+        brickMatrix.add(new int[][]{
+                {0, 0, 0, 0},
                 {0, 7, 0, 0},
                 {7, 7, 0, 0},
-                {7, 0, 0, 0},
-                {0, 0, 0, 0}
+                {7, 0, 0, 0}
         });
     }
 
@@ -0,0 +1,136 @@
+package com.comp2042.logic.gravity;
+
+/**
+ * Tracks the current level of a game and the gravity that goes with it.
+ * The model is fed score and cleared lines by the game logic and only changes state
+ * when the next threshold of its {@link GravityTable} is crossed, so the GUI loop and
+ * headless simulations can read the tick interval without recomputing it.
+ */
+public final class GravityModel {
+
+    private GravityTable table;
+    private int levelIndex;
+    private int score;
+    private int lines;
+    private int nextThreshold;
+    private LevelListener listener;
+
+    /**
+     * Constructs a new GravityModel starting at level 1 of the given table.
+     *
+     * @param table the gravity table to use
+     */
+    public GravityModel(GravityTable table) {
+        reset(table);
+    }
+
+    /**
+     * Restarts from level 1, switching to a new table.
+     *
+     * @param table the gravity table for the new game
+     */
+    public void reset(GravityTable table) {
+        this.table = table;
+        levelIndex = 0;
+        score = 0;
+        lines = 0;
+        nextThreshold = table.getThreshold(1);
+        if (listener != null) {
+            listener.onLevelChanged(this);
+        }
+    }
+
+    /**
+     * Records the result of a line clear.
+     *
+     * @param linesRemoved the number of lines removed
+     * @param scoreBonus   the score awarded for them
+     * @return true if the level changed
+     */
+    public boolean onRowsCleared(int linesRemoved, int scoreBonus) {
+        lines += linesRemoved;
+        score += scoreBonus;
+        int progress = table.getDriver() == GravityTable.Driver.LINES ? lines : score;
+        if (progress < nextThreshold) {
+            return false;
+        }
+        while (progress >= nextThreshold) {
+            levelIndex++;
+            nextThreshold = table.getThreshold(levelIndex + 1);
+        }
+        if (listener != null) {
+            listener.onLevelChanged(this);
+        }
+        return true;
+    }
+
+    public void setListener(LevelListener listener) {
+        this.listener = listener;
+    }
+
+    public GravityTable getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the current level.
+     *
+     * @return the one-based level number
+     */
+    public int getLevel() {
+        return levelIndex + 1;
+    }
+
+    public int getLines() {
+        return lines;
+    }
+
+    /**
+     * Gets the interval between gravity ticks at the current level.
+     *
+     * @return the tick interval in nanoseconds
+     */
+    public long getTickNanos() {
+        return table.getTickNanos(levelIndex);
+    }
+
+    /**
+     * Gets the interval between gravity ticks at the current level.
+     *
+     * @return the tick interval in milliseconds
+     */
+    public double getTickMillis() {
+        return table.getTickNanos(levelIndex) / 1_000_000.0;
+    }
+
+    /**
+     * Gets the interval between gravity ticks at the current level, rounded to whole logic frames.
+     *
+     * @return the tick interval in frames, at least 1
+     */
+    public int getTickFrames() {
+        return (int) Math.max(1, Math.round((double) table.getTickNanos(levelIndex) / GravityTable.FRAME_NANOS));
+    }
+
+    /**
+     * Gets how many rows the brick falls on each gravity tick.
+     *
+     * @return the rows per tick
+     */
+    public int getRowsPerTick() {
+        return table.getRowsPerTick(levelIndex);
+    }
+
+    /**
+     * Checks whether the current level is a 20G level.
+     *
+     * @return true if bricks drop to the stack on the first tick
+     */
+    public boolean isInstantDrop() {
+        return table.getRowsPerTick(levelIndex) >= GravityTable.INSTANT_DROP_ROWS;
+    }
+
+    public int getSpeedPercent() {
+        return table.getSpeedPercent(levelIndex);
+    }
+}
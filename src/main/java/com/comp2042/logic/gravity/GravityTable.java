@@ -0,0 +1,154 @@
+package com.comp2042.logic.gravity;
+
+/**
+ * Precomputed gravity curve for one game mode.
+ * For every level the table stores the threshold needed to reach it, the interval
+ * between gravity ticks and how many rows the brick falls on each tick.
+ * Levels that fall {@link #INSTANT_DROP_ROWS} rows per tick are 20G levels,
+ * where a brick reaches the stack on the first tick after it spawns.
+ */
+public final class GravityTable {
+
+    /** Length of one logic frame at 60 frames per second, in nanoseconds. */
+    public static final long FRAME_NANOS = 1_000_000_000L / 60;
+
+    /** Rows per tick used by 20G levels, enough to cross the whole board. */
+    public static final int INSTANT_DROP_ROWS = 20;
+
+    private static final long BASE_TICK_NANOS = 400_000_000L; // 400 ms per row at level 1
+
+    /**
+     * What a table counts towards its level thresholds.
+     */
+    public enum Driver {
+        /** Thresholds are score points */
+        SCORE,
+        /** Thresholds are cleared lines */
+        LINES
+    }
+
+    private final Driver driver;
+    private final int[] thresholds;
+    private final long[] tickNanos;
+    private final int[] rowsPerTick;
+
+    private GravityTable(Driver driver, int[] thresholds, long[] tickNanos, int[] rowsPerTick) {
+        this.driver = driver;
+        this.thresholds = thresholds;
+        this.tickNanos = tickNanos;
+        this.rowsPerTick = rowsPerTick;
+    }
+
+    /**
+     * Classic mode: speed steps up at 500, 1000 and 2000 points.
+     *
+     * @return the classic gravity table
+     */
+    public static GravityTable classic() {
+        int[] thresholds = {0, 500, 1000, 2000};
+        double[] multipliers = {1.0, 1.5, 2.0, 2.5};
+        long[] tickNanos = new long[thresholds.length];
+        int[] rowsPerTick = new int[thresholds.length];
+        for (int i = 0; i < thresholds.length; i++) {
+            tickNanos[i] = (long) (BASE_TICK_NANOS / multipliers[i]);
+            rowsPerTick[i] = 1;
+        }
+        return new GravityTable(Driver.SCORE, thresholds, tickNanos, rowsPerTick);
+    }
+
+    /**
+     * Challenge mode: a new level every 200 points, each one 10% faster than level 1,
+     * ending in a 20G level once level 30 is reached.
+     *
+     * @return the challenge gravity table
+     */
+    public static GravityTable challenge() {
+        int levels = 30;
+        int[] thresholds = new int[levels];
+        long[] tickNanos = new long[levels];
+        int[] rowsPerTick = new int[levels];
+        for (int i = 0; i < levels - 1; i++) {
+            thresholds[i] = i * 200;
+            tickNanos[i] = (long) (BASE_TICK_NANOS / (1.0 + i * 0.10));
+            rowsPerTick[i] = 1;
+        }
+        thresholds[levels - 1] = (levels - 1) * 200;
+        tickNanos[levels - 1] = FRAME_NANOS;
+        rowsPerTick[levels - 1] = INSTANT_DROP_ROWS;
+        return new GravityTable(Driver.SCORE, thresholds, tickNanos, rowsPerTick);
+    }
+
+    /**
+     * Relax mode: a single level at the base speed.
+     *
+     * @return the relax gravity table
+     */
+    public static GravityTable relax() {
+        return new GravityTable(Driver.SCORE, new int[]{0}, new long[]{BASE_TICK_NANOS}, new int[]{1});
+    }
+
+    /**
+     * Line-driven curve used by headless simulations: a new level every 10 lines,
+     * following the guideline formula (0.8 - (level - 1) * 0.007)^(level - 1) seconds per row,
+     * and 20G from level 20 onwards.
+     *
+     * @return the line-driven gravity table
+     */
+    public static GravityTable lines() {
+        int levels = 30;
+        int[] thresholds = new int[levels];
+        long[] tickNanos = new long[levels];
+        int[] rowsPerTick = new int[levels];
+        for (int i = 0; i < levels; i++) {
+            thresholds[i] = i * 10;
+            double nanosPerRow = Math.pow(0.8 - i * 0.007, i) * 1_000_000_000L;
+            if (i >= 19) {
+                tickNanos[i] = FRAME_NANOS;
+                rowsPerTick[i] = INSTANT_DROP_ROWS;
+            } else if (nanosPerRow < FRAME_NANOS) {
+                tickNanos[i] = FRAME_NANOS;
+                rowsPerTick[i] = Math.min(INSTANT_DROP_ROWS, (int) Math.ceil(FRAME_NANOS / nanosPerRow));
+            } else {
+                tickNanos[i] = (long) nanosPerRow;
+                rowsPerTick[i] = 1;
+            }
+        }
+        return new GravityTable(Driver.LINES, thresholds, tickNanos, rowsPerTick);
+    }
+
+    public Driver getDriver() {
+        return driver;
+    }
+
+    public int getLevelCount() {
+        return thresholds.length;
+    }
+
+    /**
+     * Gets the score or line count needed to reach a level.
+     *
+     * @param levelIndex zero-based level index
+     * @return the threshold, or {@link Integer#MAX_VALUE} past the last level
+     */
+    public int getThreshold(int levelIndex) {
+        return levelIndex < thresholds.length ? thresholds[levelIndex] : Integer.MAX_VALUE;
+    }
+
+    public long getTickNanos(int levelIndex) {
+        return tickNanos[levelIndex];
+    }
+
+    public int getRowsPerTick(int levelIndex) {
+        return rowsPerTick[levelIndex];
+    }
+
+    /**
+     * Gets the fall speed of a level relative to level 1 of the classic curve.
+     *
+     * @param levelIndex zero-based level index
+     * @return the speed as a percentage, 100 being 400 ms per row
+     */
+    public int getSpeedPercent(int levelIndex) {
+        return (int) Math.round(100.0 * BASE_TICK_NANOS * rowsPerTick[levelIndex] / tickNanos[levelIndex]);
+    }
+}
@@ -0,0 +1,14 @@
+package com.comp2042.logic.gravity;
+
+/**
+ * Notified when a {@link GravityModel} moves to a different level.
+ */
+public interface LevelListener {
+
+    /**
+     * Called after the level changed, either by crossing a threshold or by a reset.
+     *
+     * @param model the model whose level changed
+     */
+    void onLevelChanged(GravityModel model);
+}
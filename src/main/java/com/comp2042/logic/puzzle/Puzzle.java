@@ -0,0 +1,180 @@
+package com.comp2042.logic.puzzle;
+
+import com.comp2042.SimpleBoard;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A clear-the-board challenge: a starting board and a fixed sequence of pieces that has to empty it.
+ * <p>
+ * Puzzle packs are text files with one block per puzzle, blocks separated by blank lines and lines
+ * starting with # ignored:
+ * <pre>
+ * name Two towers
+ * pieces I O
+ * XXXX..XXXX
+ * XXXX..XXXX
+ * </pre>
+ * The rows sit at the bottom of the board, '.' is an empty cell and any other character a filled one.
+ * Pieces are given by their letters (I, J, L, O, S, T, Z).
+ */
+public final class Puzzle {
+
+    private static final String PIECE_LETTERS = "IJLOSTZ";
+
+    private final String name;
+    private final int rows;
+    private final int columns;
+    private final int[] rowMasks;
+    private final int[] pieces;
+
+    /**
+     * Constructs a new Puzzle.
+     *
+     * @param name     the name shown to the player
+     * @param rows     the number of board rows
+     * @param columns  the number of board columns
+     * @param rowMasks the filled cells of every row, top row first, bit i being column i
+     * @param pieces   the piece cell values in the order they are dealt
+     */
+    public Puzzle(String name, int rows, int columns, int[] rowMasks, int[] pieces) {
+        if (rowMasks.length != rows) {
+            throw new IllegalArgumentException("Expected " + rows + " rows: " + rowMasks.length);
+        }
+        this.name = name;
+        this.rows = rows;
+        this.columns = columns;
+        this.rowMasks = rowMasks.clone();
+        this.pieces = pieces.clone();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int[] getRowMasks() {
+        return rowMasks.clone();
+    }
+
+    public int[] getPieces() {
+        return pieces.clone();
+    }
+
+    /**
+     * Gets the starting board as a matrix, with filled cells drawn as garbage.
+     *
+     * @return the cells, indexed [row][column]
+     */
+    public int[][] toMatrix() {
+        int[][] matrix = new int[rows][columns];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                if ((rowMasks[r] >>> c & 1) != 0) {
+                    matrix[r][c] = SimpleBoard.GARBAGE_CELL;
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Gets the letter of a piece.
+     *
+     * @param piece the piece cell value, 1 to 7
+     * @return the letter, for example 'T'
+     */
+    public static char getPieceLetter(int piece) {
+        return PIECE_LETTERS.charAt(piece - 1);
+    }
+
+    /**
+     * Reads a puzzle pack.
+     *
+     * @param source  the pack text
+     * @param rows    the number of board rows
+     * @param columns the number of board columns
+     * @return the puzzles in the order they appear
+     * @throws IOException if reading fails or a puzzle is malformed
+     */
+    public static List<Puzzle> readPack(Reader source, int rows, int columns) throws IOException {
+        List<Puzzle> puzzles = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(source);
+        List<String> block = new ArrayList<>();
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.startsWith("#")) {
+                continue;
+            }
+            if (line.isBlank()) {
+                if (!block.isEmpty()) {
+                    puzzles.add(parse(block, rows, columns, lineNumber));
+                    block.clear();
+                }
+            } else {
+                block.add(line.strip());
+            }
+        }
+        if (!block.isEmpty()) {
+            puzzles.add(parse(block, rows, columns, lineNumber));
+        }
+        return puzzles;
+    }
+
+    private static Puzzle parse(List<String> block, int rows, int columns, int lineNumber) throws IOException {
+        String name = null;
+        int[] pieces = null;
+        List<String> cells = new ArrayList<>();
+        for (String line : block) {
+            if (line.startsWith("name ")) {
+                name = line.substring(5).strip();
+            } else if (line.startsWith("pieces ")) {
+                String letters = line.substring(7).replaceAll("\\s", "").toUpperCase(Locale.ROOT);
+                pieces = new int[letters.length()];
+                for (int i = 0; i < letters.length(); i++) {
+                    int piece = PIECE_LETTERS.indexOf(letters.charAt(i)) + 1;
+                    if (piece == 0) {
+                        throw new IOException("Unknown piece '" + letters.charAt(i) + "' in the puzzle ending at line " + lineNumber);
+                    }
+                    pieces[i] = piece;
+                }
+            } else {
+                cells.add(line);
+            }
+        }
+        if (name == null || pieces == null || pieces.length == 0) {
+            throw new IOException("Missing name or pieces in the puzzle ending at line " + lineNumber);
+        }
+        if (cells.size() > rows) {
+            throw new IOException("Puzzle " + name + " has more than " + rows + " rows");
+        }
+        int[] rowMasks = new int[rows];
+        int top = rows - cells.size();
+        for (int r = 0; r < cells.size(); r++) {
+            String row = cells.get(r);
+            if (row.length() != columns) {
+                throw new IOException("Puzzle " + name + " has a row of " + row.length() + " cells, expected " + columns);
+            }
+            for (int c = 0; c < columns; c++) {
+                if (row.charAt(c) != '.') {
+                    rowMasks[top + r] |= 1 << c;
+                }
+            }
+        }
+        return new Puzzle(name, rows, columns, rowMasks, pieces);
+    }
+}
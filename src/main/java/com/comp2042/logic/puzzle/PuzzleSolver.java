@@ -0,0 +1,618 @@
+package com.comp2042.logic.puzzle;
+
+import com.comp2042.SimpleBoard;
+import com.comp2042.ViewData;
+import com.comp2042.logic.bricks.BrickShapes;
+import com.comp2042.logic.bricks.SequenceBrickGenerator;
+import com.comp2042.logic.rotation.SuperRotationSystem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds a way to clear a {@link Puzzle}'s board with its pieces, or proves there is none.
+ * <p>
+ * The placements of a piece are every resting spot reachable from the spawn position with the moves of
+ * {@link SimpleBoard}: shifts, soft drops and rotations with the same Super Rotation System kicks, ignoring
+ * how long the moves take. The search is a depth-first search over placements that forks the first
+ * {@value #FORK_DEPTH} levels into fork/join tasks. Boards are kept as row bitmasks. A board is pruned when
+ * the cells still to come cannot complete every occupied row, since each occupied row has to be cleared,
+ * and placements that clear lines or leave fewer cells and a lower stack are tried first. Boards proven to
+ * have no solution with the pieces left are memoized, shared by all tasks, so a board reached through
+ * different placement orders is only searched once.
+ */
+public final class PuzzleSolver {
+
+    /** Move letters of a solution: shift left, shift right, soft drop, rotate left and rotate right. */
+    public static final char LEFT = 'L';
+    public static final char RIGHT = 'R';
+    public static final char DOWN = 'D';
+    public static final char ROTATE_LEFT = 'A';
+    public static final char ROTATE_RIGHT = 'C';
+
+    private static final int SPAWN_X = 4;
+    private static final int SPAWN_Y = 1;
+    private static final int FORK_DEPTH = 3;
+    private static final int MARGIN = BrickShapes.SIZE - 1;
+
+    private final Puzzle puzzle;
+    private final int rows;
+    private final int columns;
+    private final int fullMask;
+    private final int[] pieces;
+    private final Set<State> unsolvable = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean solved = new AtomicBoolean();
+    private final LongAdder searched = new LongAdder();
+
+    /**
+     * Constructs a new PuzzleSolver.
+     *
+     * @param puzzle the puzzle to solve
+     */
+    public PuzzleSolver(Puzzle puzzle) {
+        this.puzzle = puzzle;
+        this.rows = puzzle.getRows();
+        this.columns = puzzle.getColumns();
+        this.fullMask = (1 << columns) - 1;
+        this.pieces = puzzle.getPieces();
+    }
+
+    /** A placement of one piece, with the moves that bring it there from the spawn position. */
+    public static final class Placement {
+
+        private final int piece;
+        private final int rotation;
+        private final int x;
+        private final int y;
+        private String moves;
+
+        Placement(int piece, int rotation, int x, int y) {
+            this.piece = piece;
+            this.rotation = rotation;
+            this.x = x;
+            this.y = y;
+        }
+
+        public int getPiece() {
+            return piece;
+        }
+
+        public int getRotation() {
+            return rotation;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        /**
+         * Gets the moves from the spawn position, using the move letters of {@link PuzzleSolver}.
+         * The piece is then locked where it rests.
+         *
+         * @return the moves, empty if the piece is locked at the spawn position
+         */
+        public String getMoves() {
+            return moves;
+        }
+
+        @Override
+        public String toString() {
+            return Puzzle.getPieceLetter(piece) + " rotation " + rotation + " at (" + x + ", " + y + ") via "
+                    + (moves.isEmpty() ? "-" : moves);
+        }
+    }
+
+    /** The outcome of a search. */
+    public static final class Result {
+
+        private final List<Placement> placements;
+        private final long searchedBoards;
+        private final long elapsedNanos;
+
+        Result(List<Placement> placements, long searchedBoards, long elapsedNanos) {
+            this.placements = placements;
+            this.searchedBoards = searchedBoards;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public boolean isSolved() {
+            return placements != null;
+        }
+
+        /**
+         * Gets the solution.
+         *
+         * @return the placements in order, or null if the puzzle has no solution
+         */
+        public List<Placement> getPlacements() {
+            return placements;
+        }
+
+        public long getSearchedBoards() {
+            return searchedBoards;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    /** A board and the index of the next piece, the key of the memo. */
+    private static final class State {
+
+        private final int[] masks;
+        private final int index;
+        private final int hash;
+
+        State(int[] masks, int index) {
+            this.masks = masks;
+            this.index = index;
+            this.hash = 31 * Arrays.hashCode(masks) + index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof State && ((State) o).index == index && Arrays.equals(((State) o).masks, masks);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /** A board reached by one placement, after its full rows were cleared. */
+    private static final class Child {
+
+        private final int[] masks;
+        private final Placement placement;
+        private final int linesCleared;
+        private final int cells;
+        private final int height;
+
+        Child(int[] masks, Placement placement, int linesCleared, int cells, int height) {
+            this.masks = masks;
+            this.placement = placement;
+            this.linesCleared = linesCleared;
+            this.cells = cells;
+            this.height = height;
+        }
+    }
+
+    private static final Comparator<Child> MOST_PROMISING_FIRST = Comparator
+            .comparingInt((Child child) -> -child.linesCleared)
+            .thenComparingInt(child -> child.cells)
+            .thenComparingInt(child -> child.height);
+
+    /** A solution as a linked list of placements. */
+    private static final class Step {
+
+        private final Placement placement;
+        private final Step next;
+
+        Step(Placement placement, Step next) {
+            this.placement = placement;
+            this.next = next;
+        }
+    }
+
+    private final class SearchTask extends RecursiveTask<Step> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] masks;
+        private final int index;
+
+        SearchTask(int[] masks, int index) {
+            this.masks = masks;
+            this.index = index;
+        }
+
+        @Override
+        protected Step compute() {
+            if (index >= FORK_DEPTH) {
+                return search(masks, index);
+            }
+            if (!worthSearching(masks, index)) {
+                return null;
+            }
+            searched.increment();
+            List<Child> children = expand(masks, pieces[index]);
+            for (Child child : children) {
+                if (isEmpty(child.masks)) {
+                    solved.set(true);
+                    return new Step(child.placement, null);
+                }
+            }
+            List<SearchTask> tasks = new ArrayList<>();
+            for (Child child : children) {
+                tasks.add(new SearchTask(child.masks, index + 1));
+            }
+            invokeAll(tasks);
+            for (int i = 0; i < tasks.size(); i++) {
+                Step rest = tasks.get(i).join();
+                if (rest != null) {
+                    return new Step(children.get(i).placement, rest);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Searches for a solution.
+     *
+     * @param pool the pool running the search tasks
+     * @return the result, with the moves of every placement filled in
+     */
+    public Result solve(ForkJoinPool pool) {
+        long start = System.nanoTime();
+        int[] masks = puzzle.getRowMasks();
+        List<Placement> placements = null;
+        if (isEmpty(masks)) {
+            placements = new ArrayList<>();
+        } else {
+            Step step = pool.invoke(new SearchTask(masks, 0));
+            if (step != null) {
+                placements = new ArrayList<>();
+                for (; step != null; step = step.next) {
+                    placements.add(step.placement);
+                }
+                fillMoves(placements);
+            }
+        }
+        return new Result(placements, searched.sum(), System.nanoTime() - start);
+    }
+
+    /**
+     * Searches the remaining pieces one after another on the current thread.
+     */
+    private Step search(int[] masks, int index) {
+        if (solved.get() || !worthSearching(masks, index)) {
+            return null;
+        }
+        State state = new State(masks, index);
+        if (unsolvable.contains(state)) {
+            return null;
+        }
+        searched.increment();
+        List<Child> children = expand(masks, pieces[index]);
+        for (Child child : children) {
+            if (isEmpty(child.masks)) {
+                solved.set(true);
+                return new Step(child.placement, null);
+            }
+        }
+        for (Child child : children) {
+            Step rest = search(child.masks, index + 1);
+            if (rest != null) {
+                return new Step(child.placement, rest);
+            }
+        }
+        // A search cut short by a solution found elsewhere proves nothing
+        if (!solved.get()) {
+            unsolvable.add(state);
+        }
+        return null;
+    }
+
+    /**
+     * Checks that pieces are left and that their cells can complete every occupied row:
+     * emptying the board takes cells + 4 * pieces = columns * cleared lines for some number of
+     * the remaining pieces, with at least one cleared line per occupied row.
+     */
+    private boolean worthSearching(int[] masks, int index) {
+        int remaining = pieces.length - index;
+        if (remaining <= 0) {
+            return false;
+        }
+        int cells = 0;
+        int occupiedRows = 0;
+        for (int mask : masks) {
+            if (mask != 0) {
+                cells += Integer.bitCount(mask);
+                occupiedRows++;
+            }
+        }
+        for (int used = 1; used <= remaining; used++) {
+            int total = cells + BrickShapes.SIZE * used;
+            if (total % columns == 0 && total >= columns * occupiedRows) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEmpty(int[] masks) {
+        for (int mask : masks) {
+            if (mask != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int stateCount() {
+        return BrickShapes.ROTATIONS * (rows + MARGIN) * (columns + MARGIN);
+    }
+
+    private int encode(int rotation, int x, int y) {
+        return (rotation * (rows + MARGIN) + y + MARGIN) * (columns + MARGIN) + x + MARGIN;
+    }
+
+    private boolean inRange(int x, int y) {
+        return x >= -MARGIN && x < columns && y >= -MARGIN && y < rows;
+    }
+
+    /**
+     * Explores every position of a piece reachable from the spawn position, breadth first.
+     *
+     * @param parents receives the state each state was first reached from, -1 for the spawn
+     * @param moves   receives the move that first reached each state
+     * @return the visited states in the order they were reached, empty if the spawn position is blocked
+     */
+    private int[] explore(int[] masks, int piece, int[] parents, char[] moves) {
+        Arrays.fill(parents, -2);
+        int[] queue = new int[parents.length];
+        if (collides(masks, piece, 0, SPAWN_X, SPAWN_Y)) {
+            return new int[0];
+        }
+        int head = 0;
+        int tail = 0;
+        int spawn = encode(0, SPAWN_X, SPAWN_Y);
+        parents[spawn] = -1;
+        queue[tail++] = spawn;
+        while (head < tail) {
+            int s = queue[head++];
+            int x = s % (columns + MARGIN) - MARGIN;
+            int y = s / (columns + MARGIN) % (rows + MARGIN) - MARGIN;
+            int rotation = s / ((columns + MARGIN) * (rows + MARGIN));
+            tail = visit(masks, piece, s, rotation, x - 1, y, LEFT, parents, moves, queue, tail);
+            tail = visit(masks, piece, s, rotation, x + 1, y, RIGHT, parents, moves, queue, tail);
+            tail = visit(masks, piece, s, rotation, x, y + 1, DOWN, parents, moves, queue, tail);
+            for (int direction = -1; direction <= 1; direction += 2) {
+                int to = Math.floorMod(rotation + direction, BrickShapes.ROTATIONS);
+                int kicks = SuperRotationSystem.getKickCount(piece, rotation, to);
+                for (int k = 0; k < kicks; k++) {
+                    int kickedX = x + SuperRotationSystem.getKickX(piece, rotation, to, k);
+                    int kickedY = y + SuperRotationSystem.getKickY(piece, rotation, to, k);
+                    if (!collides(masks, piece, to, kickedX, kickedY)) {
+                        tail = visit(masks, piece, s, to, kickedX, kickedY, direction < 0 ? ROTATE_LEFT : ROTATE_RIGHT,
+                                parents, moves, queue, tail);
+                        break;
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(queue, tail);
+    }
+
+    private int visit(int[] masks, int piece, int from, int rotation, int x, int y, char move, int[] parents,
+                      char[] moves, int[] queue, int tail) {
+        if (!inRange(x, y)) {
+            return tail;
+        }
+        int s = encode(rotation, x, y);
+        if (parents[s] != -2 || collides(masks, piece, rotation, x, y)) {
+            return tail;
+        }
+        parents[s] = from;
+        moves[s] = move;
+        queue[tail] = s;
+        return tail + 1;
+    }
+
+    /**
+     * Lists the distinct boards reachable by placing a piece, most promising first.
+     */
+    private List<Child> expand(int[] masks, int piece) {
+        int[] parents = new int[stateCount()];
+        char[] moves = new char[parents.length];
+        int[] reached = explore(masks, piece, parents, moves);
+        List<Child> children = new ArrayList<>();
+        Set<State> seen = new HashSet<>();
+        for (int s : reached) {
+            int x = s % (columns + MARGIN) - MARGIN;
+            int y = s / (columns + MARGIN) % (rows + MARGIN) - MARGIN;
+            int rotation = s / ((columns + MARGIN) * (rows + MARGIN));
+            if (!collides(masks, piece, rotation, x, y + 1)) {
+                continue;
+            }
+            int[] board = masks.clone();
+            for (int j = 0; j < BrickShapes.SIZE; j++) {
+                int shapeRow = BrickShapes.getRowMask(piece, rotation, j);
+                if (shapeRow != 0) {
+                    board[y + j] |= x >= 0 ? shapeRow << x : shapeRow >>> -x;
+                }
+            }
+            int linesCleared = clearFullRows(board);
+            if (!seen.add(new State(board, 0))) {
+                continue;
+            }
+            int cells = 0;
+            int height = 0;
+            for (int r = 0; r < rows; r++) {
+                cells += Integer.bitCount(board[r]);
+                if (board[r] != 0 && height == 0) {
+                    height = rows - r;
+                }
+            }
+            children.add(new Child(board, new Placement(piece, rotation, x, y), linesCleared, cells, height));
+        }
+        children.sort(MOST_PROMISING_FIRST);
+        return children;
+    }
+
+    private int clearFullRows(int[] board) {
+        int write = rows - 1;
+        for (int r = rows - 1; r >= 0; r--) {
+            if (board[r] != fullMask) {
+                board[write--] = board[r];
+            }
+        }
+        int cleared = write + 1;
+        for (int r = write; r >= 0; r--) {
+            board[r] = 0;
+        }
+        return cleared;
+    }
+
+    /**
+     * Checks whether a rotation state of a piece at a position leaves the board or overlaps a filled cell,
+     * the same test as {@link com.comp2042.MatrixOperations#intersect}.
+     */
+    private boolean collides(int[] masks, int piece, int rotation, int x, int y) {
+        for (int j = 0; j < BrickShapes.SIZE; j++) {
+            int shapeRow = BrickShapes.getRowMask(piece, rotation, j);
+            if (shapeRow == 0) {
+                continue;
+            }
+            int row = y + j;
+            if (row < 0 || row >= rows || x >= columns || x <= -BrickShapes.SIZE) {
+                return true;
+            }
+            int placed;
+            if (x >= 0) {
+                placed = shapeRow << x;
+            } else if ((shapeRow & ((1 << -x) - 1)) != 0) {
+                return true;
+            } else {
+                placed = shapeRow >>> -x;
+            }
+            if ((placed & ~fullMask) != 0 || (placed & masks[row]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replays the solution's boards to find the moves that lead to each placement.
+     */
+    private void fillMoves(List<Placement> placements) {
+        int[] masks = puzzle.getRowMasks();
+        int[] parents = new int[stateCount()];
+        char[] moves = new char[parents.length];
+        for (Placement placement : placements) {
+            explore(masks, placement.piece, parents, moves);
+            StringBuilder path = new StringBuilder();
+            for (int s = encode(placement.rotation, placement.x, placement.y); parents[s] != -1; s = parents[s]) {
+                path.append(moves[s]);
+            }
+            placement.moves = path.reverse().toString();
+            for (int j = 0; j < BrickShapes.SIZE; j++) {
+                int shapeRow = BrickShapes.getRowMask(placement.piece, placement.rotation, j);
+                if (shapeRow != 0) {
+                    masks[placement.y + j] |= placement.x >= 0 ? shapeRow << placement.x : shapeRow >>> -placement.x;
+                }
+            }
+            clearFullRows(masks);
+        }
+    }
+
+    /**
+     * Plays a solution on a {@link SimpleBoard} with the puzzle's board and pieces: every move has to succeed,
+     * every piece has to rest where the solution says, and the board has to be empty at the end.
+     *
+     * @param puzzle     the puzzle
+     * @param placements the solution
+     * @return a description of the first problem, or null if the solution holds
+     */
+    public static String verify(Puzzle puzzle, List<Placement> placements) {
+        SimpleBoard board = new SimpleBoard(puzzle.getRows(), puzzle.getColumns());
+        board.newGame(new SequenceBrickGenerator(puzzle.getPieces()));
+        board.loadBackground(puzzle.toMatrix());
+        for (int p = 0; p < placements.size(); p++) {
+            Placement placement = placements.get(p);
+            if (p > 0 && board.createNewBrick()) {
+                return "piece " + p + " cannot spawn";
+            }
+            for (char move : placement.getMoves().toCharArray()) {
+                boolean moved = switch (move) {
+                    case LEFT -> board.moveBrickLeft();
+                    case RIGHT -> board.moveBrickRight();
+                    case DOWN -> board.moveBrickDown();
+                    case ROTATE_LEFT -> board.rotateLeftBrick();
+                    default -> board.rotateRightBrick();
+                };
+                if (!moved) {
+                    return "piece " + p + " cannot make move " + move;
+                }
+            }
+            ViewData view = board.getViewData();
+            if (board.moveBrickDown() || view.getxPosition() != placement.getX() || view.getyPosition() != placement.getY()
+                    || view.getRotation() != placement.getRotation()) {
+                return "piece " + p + " does not rest at " + placement;
+            }
+            board.mergeBrickToBackground();
+            board.clearRows();
+        }
+        return board.getFeatures().getMaxHeight() == 0 ? null : "the board is not empty at the end";
+    }
+
+    /**
+     * Solves every puzzle of a pack and checks each solution on a {@link SimpleBoard}. Exits with status 1
+     * if a puzzle has no solution or a solution does not hold, so packs can be validated in a build.
+     *
+     * @param args optional pack file, the built-in pack by default, and number of threads
+     * @throws IOException if the pack cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        List<Puzzle> puzzles;
+        if (args.length > 0) {
+            try (Reader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+                puzzles = Puzzle.readPack(reader, 25, 10);
+            }
+        } else {
+            try (InputStream in = PuzzleSolver.class.getClassLoader().getResourceAsStream("puzzles.txt")) {
+                if (in == null) {
+                    throw new IOException("Built-in puzzle pack not found");
+                }
+                puzzles = Puzzle.readPack(new InputStreamReader(in, StandardCharsets.UTF_8), 25, 10);
+            }
+        }
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        boolean valid = true;
+        long start = System.nanoTime();
+        for (Puzzle puzzle : puzzles) {
+            Result result = new PuzzleSolver(puzzle).solve(pool);
+            String problem = result.isSolved() ? verify(puzzle, result.getPlacements()) : "no solution";
+            valid &= problem == null;
+            System.out.printf("%-24s %s, %d boards searched in %.1f ms%n", puzzle.getName(),
+                    problem == null ? "solved in " + result.getPlacements().size() + " pieces" : problem.toUpperCase(Locale.ROOT),
+                    result.getSearchedBoards(), result.getElapsedNanos() / 1e6);
+            if (problem == null) {
+                for (Placement placement : result.getPlacements()) {
+                    System.out.println("    " + placement);
+                }
+            }
+        }
+        pool.shutdown();
+        System.out.printf("%d puzzles in %.1f s%n", puzzles.size(), (System.nanoTime() - start) / 1e9);
+        if (!valid) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.comp2042.logic.rotation;
+
+/**
+ * Super Rotation System wall kick tables.
+ * Offsets are stored in flat primitive arrays indexed by piece, from-rotation, to-rotation and kick,
+ * so testing the kicks of a rotation reads a few ints and allocates nothing.
+ * Pieces are identified by their cell value (1 = I, 2 = J, 3 = L, 4 = O, 5 = S, 6 = T, 7 = Z)
+ * and rotations are 0 (spawn), 1 (R), 2 and 3 (L). Offsets use board coordinates,
+ * with y growing downwards.
+ */
+public final class SuperRotationSystem {
+
+    /** Maximum number of positions tested for one rotation. */
+    public static final int MAX_KICKS = 5;
+
+    private static final int PIECES = 8;
+    private static final int ROTATIONS = 4;
+    private static final int I_PIECE = 1;
+    private static final int O_PIECE = 4;
+
+    private static final int[] KICK_X = new int[PIECES * ROTATIONS * ROTATIONS * MAX_KICKS];
+    private static final int[] KICK_Y = new int[PIECES * ROTATIONS * ROTATIONS * MAX_KICKS];
+    private static final int[] KICK_COUNT = new int[PIECES * ROTATIONS * ROTATIONS];
+
+    // Guideline tables with y pointing up, one row per {from, to} pair: x0, y0, x1, y1, ...
+    private static final int[][] JLSTZ_KICKS = {
+            {0, 1, 0, 0, -1, 0, -1, 1, 0, -2, -1, -2},
+            {1, 0, 0, 0, 1, 0, 1, -1, 0, 2, 1, 2},
+            {1, 2, 0, 0, 1, 0, 1, -1, 0, 2, 1, 2},
+            {2, 1, 0, 0, -1, 0, -1, 1, 0, -2, -1, -2},
+            {2, 3, 0, 0, 1, 0, 1, 1, 0, -2, 1, -2},
+            {3, 2, 0, 0, -1, 0, -1, -1, 0, 2, -1, 2},
+            {3, 0, 0, 0, -1, 0, -1, -1, 0, 2, -1, 2},
+            {0, 3, 0, 0, 1, 0, 1, 1, 0, -2, 1, -2}
+    };
+    private static final int[][] I_KICKS = {
+            {0, 1, 0, 0, -2, 0, 1, 0, -2, -1, 1, 2},
+            {1, 0, 0, 0, 2, 0, -1, 0, 2, 1, -1, -2},
+            {1, 2, 0, 0, -1, 0, 2, 0, -1, 2, 2, -1},
+            {2, 1, 0, 0, 1, 0, -2, 0, 1, -2, -2, 1},
+            {2, 3, 0, 0, 2, 0, -1, 0, 2, 1, -1, -2},
+            {3, 2, 0, 0, -2, 0, 1, 0, -2, -1, 1, 2},
+            {3, 0, 0, 0, 1, 0, -2, 0, 1, -2, -2, 1},
+            {0, 3, 0, 0, -1, 0, 2, 0, -1, 2, 2, -1}
+    };
+
+    static {
+        for (int piece = 1; piece < PIECES; piece++) {
+            int[][] kicks = piece == I_PIECE ? I_KICKS : JLSTZ_KICKS;
+            for (int[] row : kicks) {
+                int pair = pairIndex(piece, row[0], row[1]);
+                // The O brick never moves when it rotates
+                int count = piece == O_PIECE ? 1 : MAX_KICKS;
+                KICK_COUNT[pair] = count;
+                for (int k = 0; k < count; k++) {
+                    KICK_X[pair * MAX_KICKS + k] = row[2 + k * 2];
+                    KICK_Y[pair * MAX_KICKS + k] = -row[3 + k * 2];
+                }
+            }
+        }
+    }
+
+    //We don't want to instantiate this utility class
+    private SuperRotationSystem() {
+
+    }
+
+    /**
+     * Gets how many kick positions to test for a rotation.
+     *
+     * @param piece the piece cell value
+     * @param from  the current rotation
+     * @param to    the target rotation, one step away from {@code from}
+     * @return the number of kicks, 0 if the rotation is not in the tables
+     */
+    public static int getKickCount(int piece, int from, int to) {
+        return KICK_COUNT[pairIndex(piece, from, to)];
+    }
+
+    public static int getKickX(int piece, int from, int to, int kick) {
+        return KICK_X[pairIndex(piece, from, to) * MAX_KICKS + kick];
+    }
+
+    public static int getKickY(int piece, int from, int to, int kick) {
+        return KICK_Y[pairIndex(piece, from, to) * MAX_KICKS + kick];
+    }
+
+    private static int pairIndex(int piece, int from, int to) {
+        return (piece * ROTATIONS + from) * ROTATIONS + to;
+    }
+}
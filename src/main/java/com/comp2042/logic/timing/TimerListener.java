@@ -0,0 +1,15 @@
+package com.comp2042.logic.timing;
+
+/**
+ * Receives the timers fired by a {@link TimerWheel}.
+ */
+public interface TimerListener {
+
+    /**
+     * Called when a timer reaches its deadline.
+     * The timer is idle again when this is called, so it may be rescheduled from here.
+     *
+     * @param timer the handle of the timer that fired
+     */
+    void onTimer(int timer);
+}
@@ -0,0 +1,151 @@
+package com.comp2042.logic.timing;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel counting in logic frames.
+ * Timers are identified by small integer handles fixed at construction, and each slot of the
+ * wheel holds an intrusive doubly linked list of the timers due in it. Scheduling and cancelling
+ * are O(1) and advancing the wheel never allocates, so one wheel can serve a single game or
+ * many headless games at once by giving each game its own range of handles.
+ */
+public final class TimerWheel {
+
+    private static final int NONE = -1;
+    private static final long IDLE = -1L;
+
+    private final int mask;
+    private final int[] slotHead;
+    private final int[] next;
+    private final int[] prev;
+    private final int[] slotOf;
+    private final long[] deadline;
+    private final int[] due;
+    private final TimerListener listener;
+    private long now;
+
+    /**
+     * Constructs a new TimerWheel.
+     *
+     * @param timerCount the number of timer handles, numbered from 0
+     * @param slotCount  the number of wheel slots, must be a power of two
+     * @param listener   the listener notified when a timer fires
+     */
+    public TimerWheel(int timerCount, int slotCount, TimerListener listener) {
+        if (slotCount <= 0 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("slotCount must be a power of two: " + slotCount);
+        }
+        this.mask = slotCount - 1;
+        this.listener = listener;
+        slotHead = new int[slotCount];
+        Arrays.fill(slotHead, NONE);
+        next = new int[timerCount];
+        prev = new int[timerCount];
+        slotOf = new int[timerCount];
+        Arrays.fill(slotOf, NONE);
+        deadline = new long[timerCount];
+        Arrays.fill(deadline, IDLE);
+        due = new int[timerCount];
+    }
+
+    /**
+     * Schedules a timer, replacing any deadline it already had.
+     *
+     * @param timer       the timer handle
+     * @param delayFrames the number of frames until it fires, at least 1
+     */
+    public void schedule(int timer, int delayFrames) {
+        unlink(timer);
+        long when = now + Math.max(1, delayFrames);
+        int slot = (int) (when & mask);
+        deadline[timer] = when;
+        slotOf[timer] = slot;
+        prev[timer] = NONE;
+        next[timer] = slotHead[slot];
+        if (slotHead[slot] != NONE) {
+            prev[slotHead[slot]] = timer;
+        }
+        slotHead[slot] = timer;
+    }
+
+    /**
+     * Cancels a timer. Cancelling an idle timer does nothing.
+     *
+     * @param timer the timer handle
+     */
+    public void cancel(int timer) {
+        unlink(timer);
+        deadline[timer] = IDLE;
+    }
+
+    /**
+     * Cancels every timer.
+     */
+    public void cancelAll() {
+        for (int timer = 0; timer < deadline.length; timer++) {
+            cancel(timer);
+        }
+    }
+
+    public boolean isScheduled(int timer) {
+        return deadline[timer] != IDLE;
+    }
+
+    /**
+     * Gets the number of frames left before a timer fires.
+     *
+     * @param timer the timer handle
+     * @return the remaining frames, or -1 if the timer is idle
+     */
+    public int getRemainingFrames(int timer) {
+        return deadline[timer] == IDLE ? -1 : (int) (deadline[timer] - now);
+    }
+
+    public long getFrame() {
+        return now;
+    }
+
+    /**
+     * Advances the wheel by one frame and fires every timer due in it.
+     * Timers are detached from the wheel before any of them fire, so listeners are free
+     * to schedule or cancel timers, including ones due in the same frame.
+     */
+    public void advance() {
+        now++;
+        int slot = (int) (now & mask);
+        int dueCount = 0;
+        int timer = slotHead[slot];
+        while (timer != NONE) {
+            int following = next[timer];
+            if (deadline[timer] == now) {
+                unlink(timer);
+                due[dueCount++] = timer;
+            }
+            timer = following;
+        }
+        for (int i = 0; i < dueCount; i++) {
+            int fired = due[i];
+            // Skip timers cancelled or rescheduled by an earlier listener call
+            if (deadline[fired] == now) {
+                deadline[fired] = IDLE;
+                listener.onTimer(fired);
+            }
+        }
+    }
+
+    private void unlink(int timer) {
+        int slot = slotOf[timer];
+        if (slot == NONE) {
+            return;
+        }
+        if (prev[timer] != NONE) {
+            next[prev[timer]] = next[timer];
+        } else {
+            slotHead[slot] = next[timer];
+        }
+        if (next[timer] != NONE) {
+            prev[next[timer]] = prev[timer];
+        }
+        slotOf[timer] = NONE;
+    }
+}
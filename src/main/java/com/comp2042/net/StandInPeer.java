@@ -0,0 +1,181 @@
+package com.comp2042.net;
+
+import com.comp2042.ClearRow;
+import com.comp2042.SimpleBoard;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless stand-in opponent for versus games and loopback tests.
+ * It plays its own {@link SimpleBoard}, dropping each brick at a random column on a fixed
+ * interval, sends the garbage its clears earn plus a board frame after every drop,
+ * takes incoming garbage and answers pings. It also pings the other side and keeps
+ * the worst and average round trip it saw.
+ */
+public final class StandInPeer implements Runnable, VersusListener {
+
+    private static final long POLL_PARK_NANOS = 50_000L;
+    private static final long PING_INTERVAL_NANOS = 100_000_000L;
+
+    private final int port;
+    private final long dropIntervalNanos;
+    private final Random random;
+    private final SimpleBoard board = new SimpleBoard(25, 10);
+    private volatile boolean running = true;
+    private VersusConnection connection;
+
+    private int pendingGarbage;
+    private int pendingHole;
+    private long pongCount;
+    private long pongTotalNanos;
+    private volatile long pongMaxNanos;
+    private volatile long pongAverageNanos;
+
+    /**
+     * Constructs a new StandInPeer.
+     *
+     * @param port              the loopback port of the player it joins
+     * @param dropIntervalNanos the time between two dropped bricks
+     * @param seed              the seed for brick placement and garbage holes
+     */
+    public StandInPeer(int port, long dropIntervalNanos, long seed) {
+        this.port = port;
+        this.dropIntervalNanos = dropIntervalNanos;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Connects to the player, retrying until it is listening, then plays until stopped.
+     */
+    @Override
+    public void run() {
+        try {
+            while (running && connection == null) {
+                try {
+                    connection = VersusConnection.connect(port);
+                } catch (IOException e) {
+                    LockSupport.parkNanos(PING_INTERVAL_NANOS);
+                }
+            }
+            board.newGame();
+            long nextDrop = System.nanoTime() + dropIntervalNanos;
+            long nextPing = System.nanoTime();
+            while (running && connection.isConnected()) {
+                connection.poll(this);
+                long now = System.nanoTime();
+                if (now >= nextPing) {
+                    connection.sendPing();
+                    nextPing = now + PING_INTERVAL_NANOS;
+                }
+                if (now >= nextDrop) {
+                    dropBrick();
+                    nextDrop = now + dropIntervalNanos;
+                }
+                LockSupport.parkNanos(POLL_PARK_NANOS);
+            }
+        } catch (IOException e) {
+            running = false;
+        } finally {
+            stop();
+        }
+    }
+
+    /**
+     * Stops the peer and closes its connection.
+     */
+    public void stop() {
+        running = false;
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (IOException ignored) {
+                // Already closing
+            }
+        }
+    }
+
+    public long getMaxRoundTripNanos() {
+        return pongMaxNanos;
+    }
+
+    public long getAverageRoundTripNanos() {
+        return pongAverageNanos;
+    }
+
+    @Override
+    public void onAttack(int lines, int holeColumn) {
+        pendingGarbage += lines;
+        pendingHole = holeColumn;
+    }
+
+    @Override
+    public void onBoard(int[] rowMasks, int rows) {
+        // The stand-in does not look at the other board
+    }
+
+    @Override
+    public void onGameOver() {
+        board.newGame();
+    }
+
+    @Override
+    public void onPong(long roundTripNanos) {
+        pongCount++;
+        pongTotalNanos += roundTripNanos;
+        pongAverageNanos = pongTotalNanos / pongCount;
+        if (roundTripNanos > pongMaxNanos) {
+            pongMaxNanos = roundTripNanos;
+        }
+    }
+
+    @Override
+    public void onDisconnected() {
+        running = false;
+    }
+
+    private void dropBrick() throws IOException {
+        while (board.moveBrickLeft()) {
+            // Start from the left wall
+        }
+        int shifts = random.nextInt(board.getBoardMatrix()[0].length);
+        for (int i = 0; i < shifts && board.moveBrickRight(); i++) {
+            // Walk right to a random column
+        }
+        board.dropBrickToBottom();
+        board.mergeBrickToBackground();
+        ClearRow clearRow = board.clearRows();
+        int attack = VersusRules.getAttack(clearRow.getLinesRemoved());
+        int cancelled = Math.min(attack, pendingGarbage);
+        pendingGarbage -= cancelled;
+        if (attack > cancelled) {
+            connection.sendAttack(attack - cancelled, random.nextInt(board.getBoardMatrix()[0].length));
+        }
+        boolean toppedOut = board.createNewBrick();
+        while (pendingGarbage > 0 && !toppedOut) {
+            toppedOut = board.addGarbageRow(pendingHole);
+            pendingGarbage--;
+        }
+        pendingGarbage = 0;
+        connection.sendBoard(board.getBoardMatrix());
+        if (toppedOut) {
+            connection.sendGameOver();
+            board.newGame();
+        }
+    }
+
+    /**
+     * Runs a stand-in opponent from the command line.
+     *
+     * @param args optional port and drop interval in milliseconds
+     */
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : VersusConnection.DEFAULT_PORT;
+        long dropMillis = args.length > 1 ? Long.parseLong(args[1]) : 1000L;
+        StandInPeer peer = new StandInPeer(port, dropMillis * 1_000_000L, System.nanoTime());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.printf("round trip avg %.3f ms, max %.3f ms%n",
+                peer.getAverageRoundTripNanos() / 1e6, peer.getMaxRoundTripNanos() / 1e6)));
+        peer.run();
+    }
+}
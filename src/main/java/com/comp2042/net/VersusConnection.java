@@ -0,0 +1,281 @@
+package com.comp2042.net;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Non-blocking connection between the two players of a versus game.
+ * Frames are [type:u8][length:u8][payload] and are encoded into and decoded from
+ * direct buffers owned by the connection, so sending and polling never allocate.
+ * Both ends run on loopback; TCP_NODELAY keeps small frames from being batched.
+ *
+ * <pre>
+ * ATTACK    [lines:u8][hole:u8]
+ * BOARD     [rows:u8][mask:u16] * rows
+ * GAME_OVER (empty)
+ * PING      [sent:i64]
+ * PONG      [sent:i64]
+ * </pre>
+ */
+public final class VersusConnection implements Closeable {
+
+    /** Loopback port used when none is given. */
+    public static final int DEFAULT_PORT = 52042;
+
+    private static final byte ATTACK = 1;
+    private static final byte BOARD = 2;
+    private static final byte GAME_OVER = 3;
+    private static final byte PING = 4;
+    private static final byte PONG = 5;
+
+    private static final int HEADER_SIZE = 2;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ServerSocketChannel server;
+    private SocketChannel channel;
+    private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final int[] rowMasks = new int[255];
+
+    private VersusConnection(ServerSocketChannel server, SocketChannel channel) throws IOException {
+        this.server = server;
+        if (channel != null) {
+            accept(channel);
+        }
+    }
+
+    /**
+     * Starts listening for the opponent on the loopback interface.
+     * The opponent is accepted by a later {@link #poll(VersusListener)}.
+     *
+     * @param port the port to listen on
+     * @return a connection waiting for its opponent
+     * @throws IOException if the port cannot be bound
+     */
+    public static VersusConnection host(int port) throws IOException {
+        ServerSocketChannel server = ServerSocketChannel.open();
+        try {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            server.configureBlocking(false);
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+        return new VersusConnection(server, null);
+    }
+
+    /**
+     * Connects to an opponent already listening on the loopback interface.
+     *
+     * @param port the port the opponent listens on
+     * @return a connected connection
+     * @throws IOException if nobody is listening
+     */
+    public static VersusConnection connect(int port) throws IOException {
+        SocketChannel channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        return new VersusConnection(null, channel);
+    }
+
+    /**
+     * Joins an opponent waiting on the port, or starts waiting for one if there is none.
+     *
+     * @param port the loopback port
+     * @return the connection
+     * @throws IOException if neither connecting nor listening works
+     */
+    public static VersusConnection hostOrConnect(int port) throws IOException {
+        try {
+            return connect(port);
+        } catch (ConnectException e) {
+            return host(port);
+        }
+    }
+
+    /**
+     * Gets the port this connection listens on, for example after hosting on port 0.
+     *
+     * @return the loopback port, or -1 if this end connected to a waiting opponent
+     */
+    public int getPort() {
+        return server != null ? server.socket().getLocalPort() : -1;
+    }
+
+    public boolean isConnected() {
+        return channel != null;
+    }
+
+    public void sendAttack(int lines, int holeColumn) throws IOException {
+        if (beginFrame(ATTACK, 2)) {
+            out.put((byte) lines);
+            out.put((byte) holeColumn);
+            flush();
+        }
+    }
+
+    /**
+     * Sends the occupied cells of a board as one bitmask per row.
+     *
+     * @param matrix the board matrix, indexed [row][column], at most 16 columns
+     * @throws IOException if writing fails
+     */
+    public void sendBoard(int[][] matrix) throws IOException {
+        if (beginFrame(BOARD, 1 + matrix.length * 2)) {
+            out.put((byte) matrix.length);
+            for (int[] row : matrix) {
+                int mask = 0;
+                for (int c = 0; c < row.length; c++) {
+                    if (row[c] != 0) {
+                        mask |= 1 << c;
+                    }
+                }
+                out.putShort((short) mask);
+            }
+            flush();
+        }
+    }
+
+    public void sendGameOver() throws IOException {
+        if (beginFrame(GAME_OVER, 0)) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends a ping; the round trip is reported through {@link VersusListener#onPong(long)}.
+     *
+     * @throws IOException if writing fails
+     */
+    public void sendPing() throws IOException {
+        if (beginFrame(PING, 8)) {
+            out.putLong(System.nanoTime());
+            flush();
+        }
+    }
+
+    /**
+     * Accepts a waiting opponent, flushes pending output and dispatches every complete frame received.
+     * Pings are answered here. Never blocks.
+     *
+     * @param listener the listener receiving the decoded frames
+     * @throws IOException if the connection fails
+     */
+    public void poll(VersusListener listener) throws IOException {
+        if (channel == null) {
+            SocketChannel accepted = server != null ? server.accept() : null;
+            if (accepted == null) {
+                return;
+            }
+            accept(accepted);
+        }
+        flush();
+        int read = channel.read(in);
+        if (read < 0) {
+            disconnect();
+            listener.onDisconnected();
+            return;
+        }
+        in.flip();
+        while (in.remaining() >= HEADER_SIZE) {
+            int start = in.position();
+            int type = in.get(start);
+            int length = in.get(start + 1) & 0xFF;
+            if (in.remaining() < HEADER_SIZE + length) {
+                break;
+            }
+            in.position(start + HEADER_SIZE);
+            dispatch(type, listener);
+            in.position(start + HEADER_SIZE + length);
+        }
+        in.compact();
+    }
+
+    @Override
+    public void close() throws IOException {
+        disconnect();
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private void dispatch(int type, VersusListener listener) throws IOException {
+        switch (type) {
+            case ATTACK:
+                int lines = in.get() & 0xFF;
+                listener.onAttack(lines, in.get() & 0xFF);
+                break;
+            case BOARD:
+                int rows = in.get() & 0xFF;
+                for (int r = 0; r < rows; r++) {
+                    rowMasks[r] = in.getShort() & 0xFFFF;
+                }
+                listener.onBoard(rowMasks, rows);
+                break;
+            case GAME_OVER:
+                listener.onGameOver();
+                break;
+            case PING:
+                long sent = in.getLong();
+                if (beginFrame(PONG, 8)) {
+                    out.putLong(sent);
+                    flush();
+                }
+                break;
+            case PONG:
+                listener.onPong(System.nanoTime() - in.getLong());
+                break;
+            default:
+                // Unknown frames are skipped by their length
+                break;
+        }
+    }
+
+    /**
+     * Starts a frame in the output buffer, flushing it first if the frame does not fit.
+     *
+     * @return false if there is no opponent yet to send to
+     * @throws IOException if the opponent has stopped reading and the frame still does not fit,
+     *                     since dropping it could lose garbage lines without anyone noticing
+     */
+    private boolean beginFrame(byte type, int length) throws IOException {
+        if (channel == null) {
+            return false;
+        }
+        if (out.remaining() < HEADER_SIZE + length) {
+            flush();
+            if (out.remaining() < HEADER_SIZE + length) {
+                throw new IOException("Opponent is not reading; " + out.position() + " bytes are still unsent");
+            }
+        }
+        out.put(type);
+        out.put((byte) length);
+        return true;
+    }
+
+    private void flush() throws IOException {
+        out.flip();
+        channel.write(out);
+        out.compact();
+    }
+
+    private void accept(SocketChannel accepted) throws IOException {
+        accepted.configureBlocking(false);
+        accepted.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel = accepted;
+        in.clear();
+        out.clear();
+    }
+
+    private void disconnect() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.comp2042.net;
+
+/**
+ * Receives the frames decoded by {@link VersusConnection#poll(VersusListener)}.
+ * Callbacks only receive primitives or buffers owned by the connection, so decoding never allocates.
+ */
+public interface VersusListener {
+
+    /**
+     * Called when the opponent sends garbage.
+     *
+     * @param lines      the number of garbage rows
+     * @param holeColumn the column left empty in the garbage rows
+     */
+    void onAttack(int lines, int holeColumn);
+
+    /**
+     * Called when the opponent sends its board.
+     * The array is reused for the next board frame and must not be kept.
+     *
+     * @param rowMasks one occupancy bitmask per row, top row first
+     * @param rows     the number of valid entries in rowMasks
+     */
+    void onBoard(int[] rowMasks, int rows);
+
+    /**
+     * Called when the opponent topped out.
+     */
+    void onGameOver();
+
+    /**
+     * Called when one of our pings comes back.
+     *
+     * @param roundTripNanos the round trip time in nanoseconds
+     */
+    void onPong(long roundTripNanos);
+
+    /**
+     * Called when the opponent closed the connection.
+     */
+    void onDisconnected();
+}
@@ -0,0 +1,192 @@
+package com.comp2042.net;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Plays one side of a versus game over a {@link VersusConnection}: sends our attacks, board and top out,
+ * pings the opponent, and keeps the garbage it sends until it can rise under our next brick.
+ * The opponent is reported as status text, rebuilt from a board frame only when its height or the
+ * ping changed. A connection that fails is dropped and reported as lost.
+ */
+public final class VersusMatch {
+
+    private static final int PING_FRAMES = 60;
+
+    private final int port;
+    private final Consumer<String> status;
+    private VersusConnection connection;
+    private int incomingGarbage;
+    private int incomingHole;
+    private long roundTripNanos;
+    // The opponent status last shown, so a board frame that changes neither builds no new text
+    private int shownHeight = -1;
+    private long shownPingTenths = -1;
+    private final VersusListener listener = new VersusListener() {
+        @Override
+        public void onAttack(int lines, int holeColumn) {
+            incomingGarbage += lines;
+            incomingHole = holeColumn;
+        }
+
+        @Override
+        public void onBoard(int[] rowMasks, int rows) {
+            int height = VersusRules.getStackHeight(rowMasks, rows);
+            long pingTenths = Math.round(roundTripNanos / 1e5);
+            if (height != shownHeight || pingTenths != shownPingTenths) {
+                shownHeight = height;
+                shownPingTenths = pingTenths;
+                status.accept("Opp: " + height + " rows " + pingTenths / 10 + "." + pingTenths % 10 + "ms");
+            }
+        }
+
+        @Override
+        public void onGameOver() {
+            showStatus("Opp: topped out");
+        }
+
+        @Override
+        public void onPong(long roundTripNanos) {
+            VersusMatch.this.roundTripNanos = roundTripNanos;
+        }
+
+        @Override
+        public void onDisconnected() {
+            showStatus("Opp: left");
+        }
+    };
+
+    /**
+     * Constructs a new VersusMatch.
+     *
+     * @param port   the loopback port opponents meet on
+     * @param status shows the opponent status
+     */
+    public VersusMatch(int port, Consumer<String> status) {
+        this.port = port;
+        this.status = status;
+    }
+
+    /**
+     * Starts a new game, joining or waiting for an opponent unless one is already connected.
+     * Garbage still waiting from the previous game is dropped.
+     */
+    public void open() {
+        incomingGarbage = 0;
+        if (connection != null) {
+            return;
+        }
+        try {
+            connection = VersusConnection.hostOrConnect(port);
+            showStatus(connection.isConnected() ? "Opp: joined" : "Opp: waiting");
+        } catch (IOException e) {
+            showStatus("Opp: unavailable");
+        }
+    }
+
+    /**
+     * Leaves the opponent, if any.
+     */
+    public void close() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (IOException ignored) {
+                // Nothing left to do with a connection we are dropping
+            }
+            connection = null;
+        }
+    }
+
+    public boolean isOpen() {
+        return connection != null;
+    }
+
+    /**
+     * Handles the frames the opponent sent since the last call, and pings it once a second.
+     *
+     * @param frame the current logic frame
+     */
+    public void poll(long frame) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.poll(listener);
+            if (connection.isConnected() && frame % PING_FRAMES == 0) {
+                connection.sendPing();
+            }
+        } catch (IOException e) {
+            lose();
+        }
+    }
+
+    /**
+     * Sends the garbage earned by a clear, after cancelling it against garbage still waiting to rise,
+     * followed by the updated board.
+     *
+     * @param linesRemoved the number of lines just cleared
+     * @param matrix       our board after the clear
+     */
+    public void sendClear(int linesRemoved, int[][] matrix) {
+        if (connection == null) {
+            return;
+        }
+        int attack = VersusRules.getAttack(linesRemoved);
+        int cancelled = Math.min(attack, incomingGarbage);
+        incomingGarbage -= cancelled;
+        try {
+            if (attack > cancelled) {
+                connection.sendAttack(attack - cancelled, ThreadLocalRandom.current().nextInt(matrix[0].length));
+            }
+            connection.sendBoard(matrix);
+        } catch (IOException e) {
+            lose();
+        }
+    }
+
+    /**
+     * Tells the opponent we topped out.
+     */
+    public void sendGameOver() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.sendGameOver();
+        } catch (IOException e) {
+            lose();
+        }
+    }
+
+    /**
+     * Takes the garbage rows waiting to rise, all with their hole in {@link #getIncomingHole()}.
+     *
+     * @return the number of rows, after which none are waiting
+     */
+    public int takeIncomingGarbage() {
+        int rows = incomingGarbage;
+        incomingGarbage = 0;
+        return rows;
+    }
+
+    public int getIncomingHole() {
+        return incomingHole;
+    }
+
+    private void lose() {
+        close();
+        showStatus("Opp: connection lost");
+    }
+
+    /**
+     * Shows an opponent status other than the board, so the next board frame is shown again.
+     *
+     * @param text the status text
+     */
+    private void showStatus(String text) {
+        shownHeight = -1;
+        status.accept(text);
+    }
+}
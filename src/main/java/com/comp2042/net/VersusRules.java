@@ -0,0 +1,44 @@
+package com.comp2042.net;
+
+/**
+ * Attack rules for versus games.
+ */
+public final class VersusRules {
+
+    // Garbage sent for 0, 1, 2, 3 and 4 cleared lines
+    private static final int[] ATTACK_TABLE = {0, 0, 1, 2, 4};
+
+    //We don't want to instantiate this utility class
+    private VersusRules() {
+
+    }
+
+    /**
+     * Gets the number of garbage rows sent for a line clear.
+     *
+     * @param linesRemoved the value of {@link com.comp2042.ClearRow#getLinesRemoved()}
+     * @return the number of garbage rows to send
+     */
+    public static int getAttack(int linesRemoved) {
+        if (linesRemoved < ATTACK_TABLE.length) {
+            return ATTACK_TABLE[linesRemoved];
+        }
+        return linesRemoved;
+    }
+
+    /**
+     * Computes the height of the stack from a board frame.
+     *
+     * @param rowMasks one occupancy bitmask per row, top row first
+     * @param rows     the number of rows
+     * @return the number of rows from the highest filled row to the bottom
+     */
+    public static int getStackHeight(int[] rowMasks, int rows) {
+        for (int r = 0; r < rows; r++) {
+            if (rowMasks[r] != 0) {
+                return rows - r;
+            }
+        }
+        return 0;
+    }
+}
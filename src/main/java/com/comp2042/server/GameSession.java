@@ -0,0 +1,221 @@
+package com.comp2042.server;
+
+import com.comp2042.Board;
+import com.comp2042.BoardEngine;
+import com.comp2042.ClearRow;
+import com.comp2042.ViewData;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One headless game hosted by the {@link SessionServer}. The rules are those of
+ * {@link com.comp2042.GameController} without its timers: a soft drop onto the stack locks the brick,
+ * a hard drop locks it where it lands, full rows are cleared and scored, and a brick that cannot
+ * spawn ends the game. Gravity is left to the client, which sends soft drops when it wants time to pass.
+ * <p>
+ * Actions are single ASCII letters:
+ * <pre>
+ * L left   R right   A rotate counterclockwise   C rotate clockwise
+ * D soft drop        H hard drop                 N new game
+ * </pre>
+ * Every reply is a state frame, big-endian:
+ * <pre>
+ * [flags:u8][score:i32][lines:i32][piece:u8][rotation:u8][x:i8][y:i8][next:u8][rows:u8]([row:u8][mask:u16]) * rows
+ * </pre>
+ * Flag {@link #GAME_OVER} marks a finished game and flag {@link #FULL} a frame listing every row;
+ * otherwise only the rows whose occupancy changed since the previous frame are listed.
+ */
+public final class GameSession {
+
+    /** Flag of a frame whose game has ended. */
+    public static final int GAME_OVER = 1;
+    /** Flag of a frame that lists every row rather than the changed ones. */
+    public static final int FULL = 2;
+    /** Bytes before the row list of a frame. */
+    public static final int HEADER_SIZE = 15;
+
+    private final Board board;
+    private final int[] sentMasks;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int lines;
+    private boolean gameOver;
+
+    /**
+     * Constructs a new GameSession and spawns its first brick.
+     *
+     * @param engine  the board implementation to play on
+     * @param rows    the number of rows
+     * @param columns the number of columns, at most 16
+     * @param seed    the seed of the brick sequence
+     */
+    public GameSession(BoardEngine engine, int rows, int columns, long seed) {
+        if (columns > 16) {
+            throw new IllegalArgumentException("Row masks are sent as 16 bits: " + columns + " columns");
+        }
+        board = engine.create(rows, columns, new RandomBrickGenerator(seed));
+        board.newGame();
+        sentMasks = new int[rows];
+    }
+
+    /**
+     * Gets the lock that serialises requests to this session. A {@link ReentrantLock} rather than
+     * a monitor, so a virtual thread waiting on a busy session does not pin its carrier.
+     *
+     * @return the session lock
+     */
+    public ReentrantLock getLock() {
+        return lock;
+    }
+
+    /**
+     * Gets the board being played, for checking frames against it.
+     * The caller must hold {@link #getLock()} while reading it.
+     *
+     * @return the live board
+     */
+    Board getBoard() {
+        return board;
+    }
+
+    public int getLines() {
+        return lines;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Plays a sequence of actions. Actions after the end of the game are ignored, except a new game.
+     * The caller must hold {@link #getLock()}.
+     *
+     * @param actions the action letters
+     * @param offset  the index of the first action
+     * @param length  the number of actions
+     * @throws IllegalArgumentException if a letter is not an action; the actions before it have been played
+     */
+    public void play(byte[] actions, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            switch (actions[i]) {
+                case 'L' -> {
+                    if (!gameOver) {
+                        board.moveBrickLeft();
+                    }
+                }
+                case 'R' -> {
+                    if (!gameOver) {
+                        board.moveBrickRight();
+                    }
+                }
+                case 'A' -> {
+                    if (!gameOver) {
+                        board.rotateLeftBrick();
+                    }
+                }
+                case 'C' -> {
+                    if (!gameOver) {
+                        board.rotateRightBrick();
+                    }
+                }
+                case 'D' -> {
+                    if (!gameOver && !board.moveBrickDown()) {
+                        lockBrick();
+                    }
+                }
+                case 'H' -> {
+                    if (!gameOver) {
+                        board.dropBrickToBottom();
+                        lockBrick();
+                    }
+                }
+                case 'N' -> {
+                    board.newGame();
+                    lines = 0;
+                    gameOver = false;
+                }
+                default -> throw new IllegalArgumentException("Unknown action '" + (char) actions[i] + "'");
+            }
+        }
+    }
+
+    private void lockBrick() {
+        board.mergeBrickToBackground();
+        ClearRow clearRow = board.clearRows();
+        if (clearRow.getLinesRemoved() > 0) {
+            board.getScore().add(clearRow.getScoreBonus());
+            lines += clearRow.getLinesRemoved();
+        }
+        gameOver = board.createNewBrick();
+    }
+
+    /**
+     * Gets the largest frame this session can write.
+     *
+     * @return the size in bytes
+     */
+    public int getMaxFrameSize() {
+        return HEADER_SIZE + sentMasks.length * 3;
+    }
+
+    /**
+     * Writes a state frame and remembers its rows as sent. The caller must hold {@link #getLock()}.
+     *
+     * @param out  the buffer, at least {@link #getMaxFrameSize()} bytes from offset
+     * @param offset the index to write at
+     * @param full true to list every row, for clients that lost track of the board
+     * @return the number of bytes written
+     */
+    public int writeFrame(byte[] out, int offset, boolean full) {
+        ViewData viewData = board.getViewData();
+        int[][] next = viewData.getNextBrickData();
+        int p = offset;
+        out[p++] = (byte) ((gameOver ? GAME_OVER : 0) | (full ? FULL : 0));
+        p = putInt(out, p, board.getScore().scoreProperty().get());
+        p = putInt(out, p, lines);
+        out[p++] = (byte) colorOf(viewData.getBrickData());
+        out[p++] = (byte) viewData.getRotation();
+        out[p++] = (byte) viewData.getxPosition();
+        out[p++] = (byte) viewData.getyPosition();
+        out[p++] = (byte) colorOf(next);
+        int countAt = p++;
+        int count = 0;
+        int[][] matrix = board.getBoardMatrix();
+        for (int r = 0; r < matrix.length; r++) {
+            int mask = 0;
+            for (int c = 0; c < matrix[r].length; c++) {
+                if (matrix[r][c] != 0) {
+                    mask |= 1 << c;
+                }
+            }
+            if (full || mask != sentMasks[r]) {
+                sentMasks[r] = mask;
+                out[p++] = (byte) r;
+                out[p++] = (byte) (mask >>> 8);
+                out[p++] = (byte) mask;
+                count++;
+            }
+        }
+        out[countAt] = (byte) count;
+        return p - offset;
+    }
+
+    private static int colorOf(int[][] shape) {
+        for (int[] row : shape) {
+            for (int value : row) {
+                if (value != 0) {
+                    return value;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static int putInt(byte[] out, int p, int value) {
+        out[p] = (byte) (value >>> 24);
+        out[p + 1] = (byte) (value >>> 16);
+        out[p + 2] = (byte) (value >>> 8);
+        out[p + 3] = (byte) value;
+        return p + 4;
+    }
+}
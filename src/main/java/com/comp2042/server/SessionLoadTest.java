@@ -0,0 +1,218 @@
+package com.comp2042.server;
+
+import com.comp2042.BoardEngine;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test for the {@link SessionServer} over loopback. It opens many sessions, then a number of
+ * clients, each a virtual thread owning every n-th session, play random moves ending in a drop on
+ * their sessions in turn for a fixed time. Every reply frame is checked, and the report gives the
+ * request rate and latency percentiles.
+ */
+public final class SessionLoadTest implements AutoCloseable {
+
+    private static final String MOVES = "LRAC";
+
+    private final URI base;
+    private final int sessions;
+    private final int clients;
+    private final int actionsPerRequest;
+    private final HttpClient http;
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * Constructs a new SessionLoadTest.
+     *
+     * @param port              the port of the server on the loopback interface
+     * @param sessions          the number of sessions to open
+     * @param clients           the number of concurrent clients
+     * @param actionsPerRequest the number of actions sent in each request, the last one a drop
+     */
+    public SessionLoadTest(int port, int sessions, int clients, int actionsPerRequest) {
+        this.base = URI.create("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + port
+                + SessionServer.PATH);
+        this.sessions = sessions;
+        this.clients = clients;
+        this.actionsPerRequest = actionsPerRequest;
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    /**
+     * Opens the sessions, plays them for a while and closes them.
+     *
+     * @param seconds how long to play
+     * @return the report
+     * @throws Exception if a client fails
+     */
+    public String run(double seconds) throws Exception {
+        int[] ids = new int[sessions];
+        long openStart = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> opened = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                opened.add(executor.submit(() -> {
+                    for (int s = client; s < sessions; s += clients) {
+                        HttpResponse<byte[]> response = http.send(
+                                HttpRequest.newBuilder(URI.create(base + "?seed=" + s))
+                                        .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                                HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() != 201) {
+                            throw new IOException("Opening a session failed with status " + response.statusCode());
+                        }
+                        byte[] body = response.body();
+                        ids[s] = (body[0] & 0xFF) << 24 | (body[1] & 0xFF) << 16 | (body[2] & 0xFF) << 8 | body[3] & 0xFF;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : opened) {
+                future.get();
+            }
+        }
+        double openSeconds = (System.nanoTime() - openStart) / 1e9;
+
+        long deadline = System.nanoTime() + (long) (seconds * 1e9);
+        List<Future<long[]>> results = new ArrayList<>();
+        long playStart = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                results.add(executor.submit(() -> play(client, ids, deadline)));
+            }
+        }
+        double playSeconds = (System.nanoTime() - playStart) / 1e9;
+        long[] latencies = merge(results);
+
+        for (int id : ids) {
+            http.send(HttpRequest.newBuilder(URI.create(base + "/" + id)).DELETE().build(),
+                    HttpResponse.BodyHandlers.discarding());
+        }
+        Arrays.sort(latencies);
+        return String.format("%d sessions opened in %.2f s by %d clients%n"
+                        + "%d requests of %d actions in %.2f s: %.0f requests/s, %d errors%n"
+                        + "latency p50 %s, p90 %s, p99 %s, p99.9 %s, max %s",
+                sessions, openSeconds, clients, latencies.length, actionsPerRequest, playSeconds,
+                latencies.length / playSeconds, errors.get(), millis(percentile(latencies, 0.5)),
+                millis(percentile(latencies, 0.9)), millis(percentile(latencies, 0.99)),
+                millis(percentile(latencies, 0.999)), millis(latencies.length == 0 ? 0 : latencies[latencies.length - 1]));
+    }
+
+    @Override
+    public void close() {
+        http.close();
+    }
+
+    private long[] play(int client, int[] ids, long deadline) throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(client);
+        boolean[] over = new boolean[(ids.length + clients - 1) / clients];
+        long[] latencies = new long[1024];
+        int count = 0;
+        byte[] actions = new byte[actionsPerRequest];
+        int turn = 0;
+        while (System.nanoTime() < deadline) {
+            int s = client + turn * clients;
+            if (s >= ids.length) {
+                turn = 0;
+                s = client;
+            }
+            for (int i = 0; i < actions.length - 1; i++) {
+                actions[i] = (byte) MOVES.charAt(random.nextInt(MOVES.length()));
+            }
+            actions[0] = over[turn] ? (byte) 'N' : actions[0];
+            actions[actions.length - 1] = (byte) (random.nextInt(4) == 0 ? 'D' : 'H');
+            HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/" + ids[s]))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(actions)).build();
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long latency = System.nanoTime() - start;
+            byte[] frame = response.body();
+            if (response.statusCode() != 200 || !isValidFrame(frame)) {
+                errors.incrementAndGet();
+            } else {
+                over[turn] = (frame[0] & GameSession.GAME_OVER) != 0;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            turn++;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static boolean isValidFrame(byte[] frame) {
+        return frame.length >= GameSession.HEADER_SIZE
+                && frame.length == GameSession.HEADER_SIZE + (frame[GameSession.HEADER_SIZE - 1] & 0xFF) * 3;
+    }
+
+    private static long[] merge(List<Future<long[]>> results) throws Exception {
+        long[][] parts = new long[results.size()][];
+        int total = 0;
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = results.get(i).get();
+            total += parts[i].length;
+        }
+        long[] all = new long[total];
+        int at = 0;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, all, at, part.length);
+            at += part.length;
+        }
+        return all;
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f ms", nanos / 1e6);
+    }
+
+    /**
+     * Runs a load test.
+     *
+     * @param args [port, 0 to start a server in this process] [sessions] [clients] [seconds] [actions per request]
+     * @throws Exception if the test fails
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        int sessions = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        double seconds = args.length > 3 ? Double.parseDouble(args[3]) : 10;
+        int actionsPerRequest = args.length > 4 ? Integer.parseInt(args[4]) : 8;
+        SessionServer server = null;
+        if (port == 0) {
+            SessionServer.disableNagle();
+            server = new SessionServer(0, BoardEngine.BITMASK, sessions);
+            port = server.getPort();
+        }
+        try (SessionLoadTest test = new SessionLoadTest(port, sessions, clients, actionsPerRequest)) {
+            System.out.println(test.run(seconds));
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.comp2042.server;
+
+import com.comp2042.BoardEngine;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Headless HTTP server hosting many independent {@link GameSession}s on the loopback interface,
+ * for bot competitions and automated tests. Every request runs on its own virtual thread, so a
+ * client blocked on a slow connection costs a few hundred bytes rather than a platform thread.
+ *
+ * <pre>
+ * POST   /session[?seed=N&amp;engine=E]  create a session: [id:i32] then a full frame
+ * POST   /session/{id}                 play the action letters in the body: a delta frame
+ * GET    /session/{id}                 a full frame
+ * DELETE /session/{id}                 end the session
+ * </pre>
+ * Frames are described by {@link GameSession}.
+ */
+public final class SessionServer implements AutoCloseable {
+
+    /** Loopback port used when none is given. */
+    public static final int DEFAULT_PORT = 52043;
+    /** Most sessions hosted at once when no limit is given. */
+    public static final int DEFAULT_MAX_SESSIONS = 100_000;
+
+    static final String PATH = "/session";
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+    private static final int MAX_ACTIONS = 4096;
+    private static final int BACKLOG = 4096;
+    private static final String NO_DELAY = "sun.net.httpserver.nodelay";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Integer, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private final BoardEngine defaultEngine;
+    private final int maxSessions;
+
+    /**
+     * Starts a server.
+     *
+     * @param port          the loopback port, 0 for any free port
+     * @param defaultEngine the engine of sessions that do not ask for one
+     * @param maxSessions   the most sessions hosted at once
+     * @throws IOException if the port cannot be bound
+     */
+    public SessionServer(int port, BoardEngine defaultEngine, int maxSessions) throws IOException {
+        this.defaultEngine = defaultEngine;
+        this.maxSessions = maxSessions;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+        sessions.clear();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if (path.equals(PATH) || path.equals(PATH + "/")) {
+                if (method.equals("POST")) {
+                    create(exchange);
+                } else {
+                    send(exchange, 405, null, 0);
+                }
+                return;
+            }
+            GameSession session = null;
+            int id = 0;
+            try {
+                id = Integer.parseInt(path.substring(PATH.length() + 1));
+                session = sessions.get(id);
+            } catch (NumberFormatException e) {
+                // Falls through to not found
+            }
+            if (session == null) {
+                send(exchange, 404, null, 0);
+                return;
+            }
+            switch (method) {
+                case "POST" -> play(exchange, session);
+                case "GET" -> frame(exchange, session);
+                case "DELETE" -> {
+                    sessions.remove(id);
+                    send(exchange, 204, null, 0);
+                }
+                default -> send(exchange, 405, null, 0);
+            }
+        }
+    }
+
+    private void create(HttpExchange exchange) throws IOException {
+        long seed = ThreadLocalRandom.current().nextLong();
+        BoardEngine engine = defaultEngine;
+        String query = exchange.getRequestURI().getRawQuery();
+        try {
+            if (query != null) {
+                for (String parameter : query.split("&")) {
+                    if (parameter.startsWith("seed=")) {
+                        seed = Long.parseLong(parameter.substring(5));
+                    } else if (parameter.startsWith("engine=")) {
+                        engine = BoardEngine.fromName(parameter.substring(7));
+                    }
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, null, 0);
+            return;
+        }
+        // The check races with other creations, so the limit may be passed by a few sessions
+        if (sessions.size() >= maxSessions) {
+            send(exchange, 503, null, 0);
+            return;
+        }
+        GameSession session = new GameSession(engine, ROWS, COLUMNS, seed);
+        int id = nextId.getAndIncrement();
+        byte[] out = new byte[4 + session.getMaxFrameSize()];
+        out[0] = (byte) (id >>> 24);
+        out[1] = (byte) (id >>> 16);
+        out[2] = (byte) (id >>> 8);
+        out[3] = (byte) id;
+        // Not published yet, so nobody else can hold the lock
+        int length = 4 + session.writeFrame(out, 4, true);
+        sessions.put(id, session);
+        send(exchange, 201, out, length);
+    }
+
+    private void play(HttpExchange exchange, GameSession session) throws IOException {
+        byte[] actions;
+        try (InputStream in = exchange.getRequestBody()) {
+            actions = in.readNBytes(MAX_ACTIONS + 1);
+        }
+        if (actions.length > MAX_ACTIONS) {
+            send(exchange, 413, null, 0);
+            return;
+        }
+        byte[] out = new byte[session.getMaxFrameSize()];
+        int status = 200;
+        int length;
+        ReentrantLock lock = session.getLock();
+        lock.lock();
+        try {
+            try {
+                session.play(actions, 0, actions.length);
+            } catch (IllegalArgumentException e) {
+                // The valid prefix was played; a full frame lets the client resynchronise
+                status = 400;
+            }
+            length = session.writeFrame(out, 0, status != 200);
+        } finally {
+            lock.unlock();
+        }
+        send(exchange, status, out, length);
+    }
+
+    private void frame(HttpExchange exchange, GameSession session) throws IOException {
+        byte[] out = new byte[session.getMaxFrameSize()];
+        int length;
+        ReentrantLock lock = session.getLock();
+        lock.lock();
+        try {
+            length = session.writeFrame(out, 0, true);
+        } finally {
+            lock.unlock();
+        }
+        send(exchange, 200, out, length);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body, int length) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+        exchange.sendResponseHeaders(status, length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body, 0, length);
+        }
+    }
+
+    /**
+     * Turns off Nagle's algorithm for the JDK's HTTP server, unless the launch command chose with
+     * {@code -Dsun.net.httpserver.nodelay}. The server writes the headers and the body as separate
+     * segments; with Nagle's algorithm on, the body waits for the client's delayed ACK of the headers,
+     * about 40 ms a request. The property is read once, when the JDK creates its first HttpServer, so
+     * this must run before any server is started.
+     */
+    static void disableNagle() {
+        if (System.getProperty(NO_DELAY) == null) {
+            System.setProperty(NO_DELAY, "true");
+        }
+    }
+
+    /**
+     * Runs a server until the process is stopped.
+     *
+     * @param args [port] [engine] [max sessions]
+     * @throws IOException if the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        disableNagle();
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        BoardEngine engine = args.length > 1 ? BoardEngine.fromName(args[1]) : BoardEngine.BITMASK;
+        int maxSessions = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_SESSIONS;
+        SessionServer server = new SessionServer(port, engine, maxSessions);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.printf("Hosting up to %d %s sessions on http://%s:%d%s%n", maxSessions,
+                engine.name().toLowerCase(Locale.ROOT), InetAddress.getLoopbackAddress().getHostAddress(), server.getPort(), PATH);
+    }
+}
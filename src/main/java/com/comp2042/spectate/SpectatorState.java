@@ -0,0 +1,149 @@
+package com.comp2042.spectate;
+
+import java.util.Arrays;
+
+/**
+ * Board and brick as rebuilt by a {@link SpectatorSubscriber}.
+ * Renderers read it directly; it is only written by {@link SpectatorSubscriber#poll(SpectatorState)}.
+ */
+public final class SpectatorState {
+
+    private int[][] cells = new int[0][0];
+    private final int[][] shapes = new int[SpectatorStream.MAX_COLORS][SpectatorStream.MAX_ROTATIONS];
+    private int pieceColor;
+    private int pieceX;
+    private int pieceY;
+    private int pieceRotation;
+    private boolean ready;
+
+    public int getRows() {
+        return cells.length;
+    }
+
+    public int getColumns() {
+        return cells.length == 0 ? 0 : cells[0].length;
+    }
+
+    public int getCell(int row, int column) {
+        return cells[row][column];
+    }
+
+    /**
+     * Checks whether a keyframe has been received.
+     *
+     * @return true once the state can be rendered
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getPieceColor() {
+        return pieceColor;
+    }
+
+    public int getPieceX() {
+        return pieceX;
+    }
+
+    public int getPieceY() {
+        return pieceY;
+    }
+
+    /**
+     * Gets the current brick shape as a 4x4 bitmask, bit (row * 4 + column) being set for filled cells.
+     *
+     * @return the shape mask, 0 if the shape has not been received
+     */
+    public int getPieceMask() {
+        return shapes[pieceColor][pieceRotation];
+    }
+
+    void invalidate() {
+        ready = false;
+    }
+
+    void readKeyframe(SpectatorStream stream, long position) {
+        int rows = stream.byteAt(position);
+        int columns = stream.byteAt(position + 1);
+        if (cells.length != rows || getColumns() != columns) {
+            cells = new int[rows][columns];
+        }
+        long p = position + 2;
+        for (int i = 0; i < rows * columns; i++) {
+            int packed = stream.byteAt(p + i / 2);
+            cells[i / columns][i % columns] = (i & 1) == 0 ? packed & 0x0F : packed >>> 4;
+        }
+        ready = true;
+    }
+
+    void readCells(SpectatorStream stream, long position) {
+        int count = stream.byteAt(position);
+        long p = position + 1;
+        for (int i = 0; i < count; i++, p += 3) {
+            cells[stream.byteAt(p)][stream.byteAt(p + 1)] = stream.byteAt(p + 2);
+        }
+    }
+
+    void readClear() {
+        removeFullRows(cells);
+    }
+
+    void readGarbage(SpectatorStream stream, long position) {
+        pushRow(cells, stream.byteAt(position), stream.byteAt(position + 1));
+    }
+
+    void readSpawn(SpectatorStream stream, long position) {
+        pieceColor = stream.byteAt(position);
+    }
+
+    void readShape(SpectatorStream stream, long position) {
+        shapes[stream.byteAt(position)][stream.byteAt(position + 1)] = stream.byteAt(position + 2) | stream.byteAt(position + 3) << 8;
+    }
+
+    void readMove(SpectatorStream stream, long position) {
+        pieceX = (byte) stream.byteAt(position);
+        pieceY = (byte) stream.byteAt(position + 1);
+        pieceRotation = stream.byteAt(position + 2);
+    }
+
+    /**
+     * Removes the full rows of a matrix in place, letting the rows above fall.
+     *
+     * @param matrix the matrix indexed [row][column]
+     */
+    static void removeFullRows(int[][] matrix) {
+        int write = matrix.length - 1;
+        for (int r = matrix.length - 1; r >= 0; r--) {
+            boolean full = true;
+            for (int value : matrix[r]) {
+                if (value == 0) {
+                    full = false;
+                    break;
+                }
+            }
+            if (!full) {
+                int[] row = matrix[r];
+                matrix[r] = matrix[write];
+                matrix[write--] = row;
+            }
+        }
+        for (int r = write; r >= 0; r--) {
+            Arrays.fill(matrix[r], 0);
+        }
+    }
+
+    /**
+     * Pushes a garbage row in from the bottom of a matrix in place.
+     *
+     * @param matrix     the matrix indexed [row][column]
+     * @param holeColumn the empty column of the new row
+     * @param value      the cell value of the new row
+     */
+    static void pushRow(int[][] matrix, int holeColumn, int value) {
+        int[] recycled = matrix[0];
+        System.arraycopy(matrix, 1, matrix, 0, matrix.length - 1);
+        Arrays.fill(recycled, value);
+        recycled[holeColumn] = 0;
+        matrix[matrix.length - 1] = recycled;
+    }
+}
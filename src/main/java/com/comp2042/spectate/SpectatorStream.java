@@ -0,0 +1,321 @@
+package com.comp2042.spectate;
+
+import com.comp2042.Board;
+import com.comp2042.SimpleBoard;
+import com.comp2042.ViewData;
+
+import java.util.Arrays;
+
+/**
+ * Delta-encoded spectator feed of one board.
+ * Records are appended once to a shared byte ring and every {@link SpectatorSubscriber}
+ * reads them in place with its own cursor, so adding spectators costs no copies.
+ * Records are [type:u8][length:u16][payload]:
+ *
+ * <pre>
+ * KEYFRAME [rows:u8][columns:u8][cells, two 4-bit values per byte]
+ * CELLS    [count:u8]([row:u8][column:u8][value:u8]) * count
+ * CLEAR    [count:u8][row:u8] * count
+ * GARBAGE  [hole:u8][value:u8]
+ * SPAWN    [color:u8]
+ * SHAPE    [color:u8][rotation:u8][mask:u16]
+ * MOVE     [x:i8][y:i8][rotation:u8]
+ * </pre>
+ *
+ * A keyframe is written every few seconds of play so late or lapped subscribers can resynchronise.
+ */
+public final class SpectatorStream {
+
+    static final int KEYFRAME = 1;
+    static final int CELLS = 2;
+    static final int CLEAR = 3;
+    static final int GARBAGE = 4;
+    static final int SPAWN = 5;
+    static final int SHAPE = 6;
+    static final int MOVE = 7;
+
+    static final int HEADER_SIZE = 3;
+    static final int MAX_COLORS = 16;
+    static final int MAX_ROTATIONS = 4;
+
+    private static final int DEFAULT_CAPACITY = 1 << 20;
+    private static final int DEFAULT_KEYFRAME_FRAMES = 180;
+    // The brick records written after every keyframe: SPAWN, SHAPE and MOVE
+    private static final int KEYFRAME_PIECE_SIZE = HEADER_SIZE + 1 + HEADER_SIZE + 4 + HEADER_SIZE + 3;
+    // A CELLS record counts its cells in one byte
+    private static final int MAX_CELLS_COUNT = 255;
+
+    private final byte[] ring;
+    private final int mask;
+    private final Board board;
+    private final int keyframeFrames;
+    private final int rows;
+    private final int columns;
+    private final int[][] shadow;
+    private final int maxDeltaCells;
+    private final boolean[][] shapeSent = new boolean[MAX_COLORS][MAX_ROTATIONS];
+
+    private long writePosition;
+    private volatile long published;
+    private volatile long keyframePosition = -1;
+    private int framesSinceKeyframe;
+    private int pieceColor;
+    private int pieceX;
+    private int pieceY;
+    private int pieceRotation;
+    private long keyframeBytes;
+
+    /**
+     * Constructs a new SpectatorStream with a 1 MiB ring and a keyframe every 3 seconds.
+     *
+     * @param board the board to publish
+     */
+    public SpectatorStream(Board board) {
+        this(board, DEFAULT_CAPACITY, DEFAULT_KEYFRAME_FRAMES);
+    }
+
+    /**
+     * Constructs a new SpectatorStream.
+     *
+     * @param board          the board to publish
+     * @param capacity       the ring size in bytes, a power of two
+     * @param keyframeFrames the number of frames between keyframes
+     */
+    public SpectatorStream(Board board, int capacity, int keyframeFrames) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.ring = new byte[capacity];
+        this.mask = capacity - 1;
+        this.board = board;
+        this.keyframeFrames = keyframeFrames;
+        int[][] matrix = board.getBoardMatrix();
+        rows = matrix.length;
+        columns = matrix[0].length;
+        shadow = new int[rows][columns];
+        // Past this many changed cells a keyframe is smaller than the delta: a CELLS record takes
+        // three bytes a cell, a keyframe half a byte a cell of the whole board and the brick records
+        int keyframeSize = HEADER_SIZE + 2 + (rows * columns + 1) / 2 + KEYFRAME_PIECE_SIZE;
+        maxDeltaCells = Math.min(MAX_CELLS_COUNT, (keyframeSize - HEADER_SIZE - 1) / 3);
+    }
+
+    /**
+     * Creates a subscriber positioned at the latest keyframe.
+     *
+     * @return a new subscriber
+     */
+    public SpectatorSubscriber subscribe() {
+        return new SpectatorSubscriber(this);
+    }
+
+    /**
+     * Counts one logic frame, writing a keyframe when the interval has passed
+     * or before the last keyframe is about to be overwritten in the ring.
+     */
+    public void onFrame() {
+        if (++framesSinceKeyframe >= keyframeFrames || writePosition - keyframePosition > ring.length / 2) {
+            publishKeyframe();
+        }
+    }
+
+    /**
+     * Writes the whole board and the current brick.
+     */
+    public void publishKeyframe() {
+        long start = writePosition;
+        int[][] matrix = board.getBoardMatrix();
+        int cells = rows * columns;
+        begin(KEYFRAME, 2 + (cells + 1) / 2);
+        put(rows);
+        put(columns);
+        int packed = 0;
+        for (int i = 0; i < cells; i++) {
+            int value = matrix[i / columns][i % columns];
+            shadow[i / columns][i % columns] = value;
+            if ((i & 1) == 0) {
+                packed = value & 0x0F;
+            } else {
+                put(packed | (value & 0x0F) << 4);
+            }
+        }
+        if ((cells & 1) == 1) {
+            put(packed);
+        }
+        for (boolean[] sent : shapeSent) {
+            Arrays.fill(sent, false);
+        }
+        pieceColor = 0;
+        publishPiece();
+        keyframeBytes += writePosition - start;
+        framesSinceKeyframe = 0;
+        published = writePosition;
+        keyframePosition = start;
+    }
+
+    /**
+     * Writes the cells that changed since the last record, such as those of a merged brick.
+     */
+    public void publishCells() {
+        int[][] matrix = board.getBoardMatrix();
+        int count = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                if (matrix[r][c] != shadow[r][c]) {
+                    count++;
+                }
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        if (count > maxDeltaCells) {
+            publishKeyframe();
+            return;
+        }
+        begin(CELLS, 1 + count * 3);
+        put(count);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                if (matrix[r][c] != shadow[r][c]) {
+                    shadow[r][c] = matrix[r][c];
+                    put(r);
+                    put(c);
+                    put(matrix[r][c]);
+                }
+            }
+        }
+        published = writePosition;
+    }
+
+    /**
+     * Writes the removal of the full rows. Must follow {@link #publishCells()} for the merge that filled them.
+     */
+    public void publishClear() {
+        int count = 0;
+        for (int r = 0; r < rows; r++) {
+            if (isFull(shadow[r])) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        begin(CLEAR, 1 + count);
+        put(count);
+        for (int r = 0; r < rows; r++) {
+            if (isFull(shadow[r])) {
+                put(r);
+            }
+        }
+        SpectatorState.removeFullRows(shadow);
+        published = writePosition;
+    }
+
+    /**
+     * Writes a garbage row pushed in from the bottom.
+     *
+     * @param holeColumn the empty column of the garbage row
+     */
+    public void publishGarbage(int holeColumn) {
+        begin(GARBAGE, 2);
+        put(holeColumn);
+        put(SimpleBoard.GARBAGE_CELL);
+        SpectatorState.pushRow(shadow, holeColumn, SimpleBoard.GARBAGE_CELL);
+        published = writePosition;
+    }
+
+    /**
+     * Writes the current brick if it changed: its colour when a new brick spawned,
+     * its shape the first time a rotation is seen after a keyframe, and its position.
+     */
+    public void publishPiece() {
+        ViewData viewData = board.getViewData();
+        int[][] brick = viewData.getBrickData();
+        int color = 0;
+        int shapeMask = 0;
+        for (int r = 0; r < brick.length; r++) {
+            for (int c = 0; c < brick[r].length; c++) {
+                if (brick[r][c] != 0) {
+                    color = brick[r][c];
+                    shapeMask |= 1 << (r * 4 + c);
+                }
+            }
+        }
+        int rotation = viewData.getRotation();
+        int x = viewData.getxPosition();
+        int y = viewData.getyPosition();
+        boolean spawned = color != pieceColor;
+        if (spawned) {
+            begin(SPAWN, 1);
+            put(color);
+            pieceColor = color;
+        }
+        if (!shapeSent[color][rotation]) {
+            begin(SHAPE, 4);
+            put(color);
+            put(rotation);
+            put(shapeMask);
+            put(shapeMask >>> 8);
+            shapeSent[color][rotation] = true;
+        }
+        if (spawned || x != pieceX || y != pieceY || rotation != pieceRotation) {
+            begin(MOVE, 3);
+            put(x);
+            put(y);
+            put(rotation);
+            pieceX = x;
+            pieceY = y;
+            pieceRotation = rotation;
+        }
+        published = writePosition;
+    }
+
+    /**
+     * Gets the total number of bytes written, which is also what each spectator receives.
+     *
+     * @return the bytes published since the stream was created
+     */
+    public long getBytesPublished() {
+        return published;
+    }
+
+    public long getKeyframeBytes() {
+        return keyframeBytes;
+    }
+
+    int getCapacity() {
+        return ring.length;
+    }
+
+    long getPublished() {
+        return published;
+    }
+
+    long getKeyframePosition() {
+        return keyframePosition;
+    }
+
+    int byteAt(long position) {
+        return ring[(int) (position & mask)] & 0xFF;
+    }
+
+    private boolean isFull(int[] row) {
+        for (int value : row) {
+            if (value == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void begin(int type, int length) {
+        put(type);
+        put(length);
+        put(length >>> 8);
+    }
+
+    private void put(int value) {
+        ring[(int) (writePosition & mask)] = (byte) value;
+        writePosition++;
+    }
+}
@@ -0,0 +1,115 @@
+package com.comp2042.spectate;
+
+/**
+ * One spectator's cursor into a {@link SpectatorStream}.
+ * Records are decoded straight from the shared ring; if the publisher laps this cursor
+ * it jumps to the latest keyframe. Bytes read and decode time are counted per subscriber
+ * so the bandwidth and CPU cost of each spectator can be reported.
+ */
+public final class SpectatorSubscriber {
+
+    private final SpectatorStream stream;
+    private long position;
+    private long bytesRead;
+    private long recordsRead;
+    private long decodeNanos;
+    private int resyncs;
+
+    SpectatorSubscriber(SpectatorStream stream) {
+        this.stream = stream;
+        this.position = Math.max(0, stream.getKeyframePosition());
+    }
+
+    /**
+     * Applies every record published since the last poll.
+     *
+     * @param state the state to update
+     * @return the number of records applied
+     */
+    public int poll(SpectatorState state) {
+        long start = System.nanoTime();
+        long limit = stream.getPublished();
+        if (limit - position > stream.getCapacity()) {
+            resync(state);
+        }
+        long first = position;
+        int applied = 0;
+        while (position < limit) {
+            int type = stream.byteAt(position);
+            int length = stream.byteAt(position + 1) | stream.byteAt(position + 2) << 8;
+            long payload = position + SpectatorStream.HEADER_SIZE;
+            // Until a keyframe arrives there is no board to apply deltas to
+            if (!state.isReady() && type != SpectatorStream.KEYFRAME) {
+                type = 0;
+            }
+            switch (type) {
+                case SpectatorStream.KEYFRAME:
+                    state.readKeyframe(stream, payload);
+                    break;
+                case SpectatorStream.CELLS:
+                    state.readCells(stream, payload);
+                    break;
+                case SpectatorStream.CLEAR:
+                    state.readClear();
+                    break;
+                case SpectatorStream.GARBAGE:
+                    state.readGarbage(stream, payload);
+                    break;
+                case SpectatorStream.SPAWN:
+                    state.readSpawn(stream, payload);
+                    break;
+                case SpectatorStream.SHAPE:
+                    state.readShape(stream, payload);
+                    break;
+                case SpectatorStream.MOVE:
+                    state.readMove(stream, payload);
+                    break;
+                default:
+                    break;
+            }
+            position = payload + length;
+            applied++;
+        }
+        bytesRead += position - first;
+        recordsRead += applied;
+        // The publisher may have overwritten what we just read; start again from a keyframe
+        if (stream.getPublished() - first > stream.getCapacity()) {
+            resync(state);
+        }
+        decodeNanos += System.nanoTime() - start;
+        return applied;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    /**
+     * Gets the time spent in {@link #poll(SpectatorState)}.
+     *
+     * @return the total decode time in nanoseconds
+     */
+    public long getDecodeNanos() {
+        return decodeNanos;
+    }
+
+    public int getResyncs() {
+        return resyncs;
+    }
+
+    private void resync(SpectatorState state) {
+        long keyframe = stream.getKeyframePosition();
+        if (keyframe >= 0 && stream.getPublished() - keyframe <= stream.getCapacity()) {
+            position = keyframe;
+        } else {
+            // The last keyframe is gone too; wait for the next one
+            position = stream.getPublished();
+        }
+        state.invalidate();
+        resyncs++;
+    }
+}
@@ -0,0 +1,101 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BoardFeaturesTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+    private static final int GAMES = 300;
+    private static final int MAX_PIECES = 200;
+
+    /**
+     * Plays random games and, after every placement, clear and garbage row, compares the incremental
+     * features and the placement evaluation with features computed from scratch.
+     */
+    @Test
+    void matchesARebuildOverRandomPlay() {
+        Random random = new Random(32);
+        int[] evaluated = new int[BoardFeatures.SIZE];
+        int[] expected = new int[BoardFeatures.SIZE];
+        for (int game = 0; game < GAMES; game++) {
+            SimpleBoard board = new SimpleBoard(ROWS, COLUMNS, new RandomBrickGenerator(game));
+            board.newGame();
+            BoardFeatures features = board.getFeatures();
+            for (int piece = 0; piece < MAX_PIECES; piece++) {
+                String at = "game " + game + " piece " + piece;
+                for (int move = random.nextInt(6); move > 0; move--) {
+                    switch (random.nextInt(3)) {
+                        case 0 -> board.moveBrickLeft();
+                        case 1 -> board.moveBrickRight();
+                        default -> board.rotateRightBrick();
+                    }
+                }
+                board.dropBrickToBottom();
+                ViewData brick = board.getViewData();
+                features.evaluate(brick.getBrickData(), brick.getxPosition(), brick.getyPosition(), evaluated);
+                board.mergeBrickToBackground();
+
+                BoardFeatures rebuilt = rebuild(board);
+                rebuilt.getVector(expected);
+                expected[BoardFeatures.COMPLETED_LINES] = fullRows(board);
+                assertArrayEquals(expected, evaluated, "evaluate, " + at);
+                assertFeaturesEqual(rebuilt, features, "merge, " + at);
+
+                board.clearRows();
+                assertFeaturesEqual(rebuild(board), features, "clear, " + at);
+                if (random.nextInt(8) == 0) {
+                    boolean toppedOut = board.addGarbageRow(random.nextInt(COLUMNS));
+                    assertFeaturesEqual(rebuild(board), features, "garbage, " + at);
+                    if (toppedOut) {
+                        break;
+                    }
+                }
+                if (board.createNewBrick()) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static BoardFeatures rebuild(Board board) {
+        int[][] matrix = board.getBoardMatrix();
+        RowStore store = new RowStore(ROWS, COLUMNS);
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLUMNS; c++) {
+                store.set(r, c, matrix[r][c]);
+            }
+        }
+        return new BoardFeatures(store);
+    }
+
+    private static int fullRows(Board board) {
+        int full = 0;
+        for (int[] row : board.getBoardMatrix()) {
+            boolean filled = true;
+            for (int cell : row) {
+                filled &= cell != 0;
+            }
+            full += filled ? 1 : 0;
+        }
+        return full;
+    }
+
+    private static void assertFeaturesEqual(BoardFeatures expected, BoardFeatures actual, String at) {
+        int[] expectedVector = new int[BoardFeatures.SIZE];
+        int[] actualVector = new int[BoardFeatures.SIZE];
+        expected.getVector(expectedVector);
+        actual.getVector(actualVector);
+        assertArrayEquals(expectedVector, actualVector, at);
+        for (int c = 0; c < COLUMNS; c++) {
+            assertEquals(expected.getColumnHeight(c), actual.getColumnHeight(c), at + " height of column " + c);
+            assertEquals(expected.getColumnHoles(c), actual.getColumnHoles(c), at + " holes of column " + c);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.comp2042;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowStoreTest {
+
+    private static final int GARBAGE = SimpleBoard.GARBAGE_CELL;
+
+    @Test
+    void clearsNonAdjacentRows() {
+        RowStore store = new RowStore(6, 4);
+        fillRow(store, 1, 1, 0, 0, 0);
+        fillRow(store, 2, 2, 2, 2, 2);
+        fillRow(store, 3, 0, 3, 0, 0);
+        fillRow(store, 4, 4, 4, 4, 4);
+        fillRow(store, 5, 0, 0, 5, 0);
+
+        assertEquals(2, store.clearFullRows());
+
+        assertCells(store, new int[][]{
+                {0, 0, 0, 0},
+                {0, 0, 0, 0},
+                {0, 0, 0, 0},
+                {1, 0, 0, 0},
+                {0, 3, 0, 0},
+                {0, 0, 5, 0}});
+    }
+
+    @Test
+    void clearsAfterTheHeadHasWrapped() {
+        RowStore store = new RowStore(5, 3);
+        // Each push moves the head forward and each clear moves it back past zero
+        fillRow(store, 4, 1, 1, 1);
+        assertEquals(1, store.clearFullRows());
+        for (int i = 0; i < 3; i++) {
+            store.pushRow(GARBAGE, i);
+        }
+        fillRow(store, 0, 0, 7, 0);
+        fillRow(store, 1, 6, 6, 6);
+        fillRow(store, 3, 5, 5, 5);
+
+        assertEquals(2, store.clearFullRows());
+
+        assertCells(store, new int[][]{
+                {0, 0, 0},
+                {0, 0, 0},
+                {0, 7, 0},
+                {0, GARBAGE, GARBAGE},
+                {GARBAGE, GARBAGE, 0}});
+    }
+
+    @Test
+    void pushRowReportsToppingOut() {
+        RowStore store = new RowStore(4, 3);
+        assertFalse(store.pushRow(GARBAGE, 1));
+        store.set(1, 0, 3);
+
+        assertFalse(store.pushRow(GARBAGE, 2));
+        assertTrue(store.pushRow(GARBAGE, 0));
+
+        assertCells(store, new int[][]{
+                {0, 0, 0},
+                {GARBAGE, 0, GARBAGE},
+                {GARBAGE, GARBAGE, 0},
+                {0, GARBAGE, GARBAGE}});
+        assertEquals(0b110, store.getRowMask(3));
+    }
+
+    @Test
+    void viewStaysLive() {
+        RowStore store = new RowStore(4, 3);
+        int[][] view = store.view();
+        fillRow(store, 3, 1, 1, 1);
+        store.set(2, 1, 2);
+        store.clearFullRows();
+        store.pushRow(GARBAGE, 0);
+
+        assertSame(view, store.view());
+        assertArrayEquals(new int[]{0, 2, 0}, view[2]);
+        assertArrayEquals(new int[]{0, GARBAGE, GARBAGE}, view[3]);
+    }
+
+    @Test
+    void clearsLikeCheckRemovingOnRandomBoards() {
+        Random random = new Random(2042);
+        for (int trial = 0; trial < 2000; trial++) {
+            int rows = 2 + random.nextInt(24);
+            int columns = 1 + random.nextInt(10);
+            RowStore store = new RowStore(rows, columns);
+            // Rotate the head to a random position first
+            for (int i = random.nextInt(rows * 2); i > 0; i--) {
+                store.pushRow(GARBAGE, random.nextInt(columns));
+            }
+            for (int r = 0; r < rows; r++) {
+                boolean full = random.nextInt(3) == 0;
+                for (int c = 0; c < columns; c++) {
+                    store.set(r, c, full || random.nextInt(4) != 0 ? 1 + random.nextInt(GARBAGE) : 0);
+                }
+            }
+            ClearRow expected = MatrixOperations.checkRemoving(MatrixOperations.copy(store.view()));
+
+            assertEquals(expected.getLinesRemoved(), store.clearFullRows(), "trial " + trial);
+            assertCells(store, expected.getNewMatrix());
+        }
+    }
+
+    private static void fillRow(RowStore store, int row, int... cells) {
+        for (int c = 0; c < cells.length; c++) {
+            store.set(row, c, cells[c]);
+        }
+    }
+
+    /**
+     * Checks the cells through both the view and the accessors, and that every row mask matches its cells.
+     */
+    private static void assertCells(RowStore store, int[][] expected) {
+        assertEquals(expected.length, store.getRows());
+        for (int r = 0; r < expected.length; r++) {
+            assertArrayEquals(expected[r], store.view()[r], "row " + r);
+            int mask = 0;
+            for (int c = 0; c < expected[r].length; c++) {
+                assertEquals(expected[r][c], store.get(r, c), "row " + r + " column " + c);
+                if (expected[r][c] != 0) {
+                    mask |= 1 << c;
+                }
+            }
+            assertEquals(mask, store.getRowMask(r), "mask of row " + r);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.comp2042.checkpoint;
+
+import com.comp2042.Board;
+import com.comp2042.BoardEngine;
+import com.comp2042.ClearRow;
+import com.comp2042.GuiController.GameMode;
+import com.comp2042.ViewData;
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.logic.bricks.ReplayableBrickGenerator;
+import com.comp2042.logic.bricks.SequenceBrickGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutosaveTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+
+    @Test
+    void resumesTheSnapshotOnAnotherBoard() {
+        for (BoardEngine engine : BoardEngine.values()) {
+            Game played = new Game(engine, RandomBrickGenerator::new, 7);
+            play(played.board, 6);
+            GameSnapshot snapshot = new Autosave(played).snapshot();
+
+            Game resumed = new Game(engine, RandomBrickGenerator::new, 99);
+            assertTrue(new Autosave(resumed).resume(snapshot), engine.name());
+
+            assertSame(snapshot, resumed.resumed);
+            assertSame(resumed.dealer, resumed.resumedDealer);
+            assertArrayEquals(played.board.getBoardMatrix(), resumed.board.getBoardMatrix(), engine.name());
+            ViewData expected = played.board.getViewData();
+            ViewData actual = resumed.board.getViewData();
+            assertArrayEquals(expected.getBrickData(), actual.getBrickData());
+            assertArrayEquals(expected.getNextBrickData(), actual.getNextBrickData());
+            assertEquals(expected.getRotation(), actual.getRotation());
+            assertEquals(expected.getxPosition(), actual.getxPosition());
+            assertEquals(expected.getyPosition(), actual.getyPosition());
+            assertEquals(played.board.getScore().scoreProperty().get(), resumed.board.getScore().scoreProperty().get());
+            assertEquals(played.dealer.getDealt(), resumed.dealer.getDealt());
+        }
+    }
+
+    @Test
+    void refusesASnapshotDealtByAnotherGenerator() {
+        Game played = new Game(BoardEngine.SIMPLE, RandomBrickGenerator::new, 7);
+        play(played.board, 3);
+        GameSnapshot snapshot = new Autosave(played).snapshot();
+        int other = snapshot.getPiece() % 7 + 1;
+
+        Game resumed = new Game(BoardEngine.SIMPLE, seed -> new SequenceBrickGenerator(new int[]{other}), 1);
+        int[][] before = resumed.board.getBoardMatrix();
+
+        assertFalse(new Autosave(resumed).resume(snapshot));
+        assertNull(resumed.resumed);
+        assertArrayEquals(before, resumed.board.getBoardMatrix());
+    }
+
+    @Test
+    void refusesASnapshotOfAnotherBoardSize() {
+        Game resumed = new Game(BoardEngine.SIMPLE, RandomBrickGenerator::new, 7);
+        GameSnapshot snapshot = new GameSnapshot(GameMode.CLASSIC, new int[ROWS - 1][COLUMNS], true, 1, 0, 3, 0,
+                0, 0, 7, 1, 0, 0);
+
+        assertFalse(new Autosave(resumed).resume(snapshot));
+        assertNull(resumed.resumed);
+    }
+
+    @Test
+    void takesNoSnapshotOfAGameThatCannotBeResumed() {
+        Game game = new Game(BoardEngine.SIMPLE, RandomBrickGenerator::new, 7);
+        game.mode = null;
+
+        assertNull(new Autosave(game).snapshot());
+    }
+
+    /**
+     * Drops bricks in turn down the left and right walls, then moves the next brick part way down.
+     */
+    private static void play(Board board, int bricks) {
+        board.createNewBrick();
+        for (int i = 0; i < bricks; i++) {
+            for (int step = 0; step < COLUMNS; step++) {
+                if (i % 2 == 0) {
+                    board.moveBrickLeft();
+                } else {
+                    board.moveBrickRight();
+                }
+            }
+            board.dropBrickToBottom();
+            board.mergeBrickToBackground();
+            ClearRow clearRow = board.clearRows();
+            board.getScore().add(10 + clearRow.getScoreBonus());
+            board.createNewBrick();
+        }
+        board.rotateRightBrick();
+        board.moveBrickDown();
+        board.moveBrickDown();
+    }
+
+    private static final class Game implements ResumableGame {
+
+        private final Board board;
+        private final LongFunction<BrickGenerator> generators;
+        private ReplayableBrickGenerator dealer;
+        private GameMode mode = GameMode.CLASSIC;
+        private GameSnapshot resumed;
+        private ReplayableBrickGenerator resumedDealer;
+
+        Game(BoardEngine engine, LongFunction<BrickGenerator> generators, long seed) {
+            this.generators = generators;
+            dealer = new ReplayableBrickGenerator(generators, seed, 0);
+            board = engine.create(ROWS, COLUMNS, dealer);
+        }
+
+        @Override
+        public GameMode getResumableMode() {
+            return mode;
+        }
+
+        @Override
+        public Board getBoard() {
+            return board;
+        }
+
+        @Override
+        public boolean isBrickActive() {
+            return true;
+        }
+
+        @Override
+        public ReplayableBrickGenerator getDealer() {
+            return dealer;
+        }
+
+        @Override
+        public int getLines() {
+            return 0;
+        }
+
+        @Override
+        public int getPuzzleIndex() {
+            return 0;
+        }
+
+        @Override
+        public int getPuzzlePiecesLeft() {
+            return 0;
+        }
+
+        @Override
+        public LongFunction<BrickGenerator> getGenerators(GameMode mode, int puzzleIndex) {
+            return generators;
+        }
+
+        @Override
+        public void onResumed(GameSnapshot snapshot, ReplayableBrickGenerator dealer) {
+            resumed = snapshot;
+            resumedDealer = dealer;
+            this.dealer = dealer;
+        }
+    }
+}
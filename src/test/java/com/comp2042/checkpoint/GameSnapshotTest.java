@@ -0,0 +1,116 @@
+package com.comp2042.checkpoint;
+
+import com.comp2042.GuiController.GameMode;
+import com.comp2042.SimpleBoard;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameSnapshotTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+
+    @Test
+    void roundTripsANegativePosition() throws IOException {
+        int[][] board = new int[ROWS][COLUMNS];
+        board[24][0] = 3;
+        GameSnapshot snapshot = new GameSnapshot(GameMode.CLASSIC, board, true, 1, 3, -2, -1, 1200, 14,
+                -8_070_450_532_247_928_832L, 4_000_000_000L, 0, 0);
+
+        GameSnapshot restored = GameSnapshot.fromBytes(snapshot.toBytes());
+
+        assertEquals(-2, restored.getX());
+        assertEquals(-1, restored.getY());
+        assertSnapshotEquals(snapshot, restored);
+    }
+
+    @Test
+    void roundTripsEveryMode() throws IOException {
+        for (GameMode mode : GameMode.values()) {
+            int[][] board = new int[ROWS][COLUMNS];
+            board[ROWS - 1][mode.ordinal()] = 1 + mode.ordinal();
+            GameSnapshot snapshot = new GameSnapshot(mode, board, mode.ordinal() % 2 == 0, 1 + mode.ordinal(),
+                    mode.ordinal() % 4, 3 + mode.ordinal(), mode.ordinal(), 100 * mode.ordinal(), mode.ordinal(),
+                    mode.ordinal(), mode.ordinal(), 2 * mode.ordinal(), 5);
+
+            assertSnapshotEquals(snapshot, GameSnapshot.fromBytes(snapshot.toBytes()));
+        }
+    }
+
+    @Test
+    void roundTripsAFullBoard() throws IOException {
+        GameSnapshot snapshot = new GameSnapshot(GameMode.SURVIVAL, fullBoard(), false, 7, 2, 9, 20,
+                Integer.MAX_VALUE, 65_535, Long.MAX_VALUE, 0xFFFF_FFFFL, 65_535, 65_535);
+
+        GameSnapshot restored = GameSnapshot.fromBytes(snapshot.toBytes());
+
+        assertEquals(SimpleBoard.GARBAGE_CELL, restored.getCells()[0][SimpleBoard.GARBAGE_CELL - 1]);
+        assertSnapshotEquals(snapshot, restored);
+    }
+
+    @Test
+    void rejectsTruncatedBytes() {
+        byte[] bytes = new GameSnapshot(GameMode.PUZZLE, fullBoard(), true, 4, 1, 4, 6, 50, 1, 42, 8, 3, 2)
+                .toBytes();
+        for (int length = 0; length < bytes.length; length++) {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            assertThrows(IOException.class, () -> GameSnapshot.fromBytes(truncated), "length " + length);
+        }
+    }
+
+    @Test
+    void rejectsCorruptedBytes() {
+        byte[] bytes = new GameSnapshot(GameMode.RELAX, fullBoard(), true, 2, 0, 4, 1, 50, 1, 42, 8, 0, 0)
+                .toBytes();
+        for (int bit = 0; bit < bytes.length * 8; bit++) {
+            byte[] corrupted = bytes.clone();
+            corrupted[bit / 8] ^= (byte) (1 << bit % 8);
+            assertThrows(IOException.class, () -> GameSnapshot.fromBytes(corrupted), "bit " + bit);
+        }
+    }
+
+    @Test
+    void rejectsCellsWiderThanFourBits() {
+        int[][] board = new int[ROWS][COLUMNS];
+        board[10][5] = 16;
+        assertThrows(IllegalArgumentException.class, () ->
+                new GameSnapshot(GameMode.CLASSIC, board, true, 1, 0, 4, 0, 0, 0, 0, 0, 0, 0));
+    }
+
+    /**
+     * Fills every cell, cycling through the pieces and the garbage cell.
+     */
+    private static int[][] fullBoard() {
+        int[][] board = new int[ROWS][COLUMNS];
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLUMNS; c++) {
+                board[r][c] = 1 + (r * COLUMNS + c) % SimpleBoard.GARBAGE_CELL;
+            }
+        }
+        return board;
+    }
+
+    private static void assertSnapshotEquals(GameSnapshot expected, GameSnapshot actual) {
+        assertEquals(expected.getMode(), actual.getMode());
+        assertEquals(expected.getRows(), actual.getRows());
+        assertEquals(expected.getColumns(), actual.getColumns());
+        assertArrayEquals(expected.getCells(), actual.getCells());
+        assertEquals(expected.isBrickActive(), actual.isBrickActive());
+        assertEquals(expected.getPiece(), actual.getPiece());
+        assertEquals(expected.getRotation(), actual.getRotation());
+        assertEquals(expected.getX(), actual.getX());
+        assertEquals(expected.getY(), actual.getY());
+        assertEquals(expected.getScore(), actual.getScore());
+        assertEquals(expected.getLines(), actual.getLines());
+        assertEquals(expected.getSeed(), actual.getSeed());
+        assertEquals(expected.getDealt(), actual.getDealt());
+        assertEquals(expected.getPuzzleIndex(), actual.getPuzzleIndex());
+        assertEquals(expected.getPuzzlePiecesLeft(), actual.getPuzzlePiecesLeft());
+    }
+}
@@ -0,0 +1,311 @@
+package com.comp2042.conformance;
+
+import com.comp2042.Board;
+import com.comp2042.BoardEngine;
+import com.comp2042.EventSource;
+import com.comp2042.EventType;
+import com.comp2042.GameController;
+import com.comp2042.GuiController;
+import com.comp2042.MoveEvent;
+import com.comp2042.ViewData;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.logic.gravity.GravityModel;
+import javafx.beans.property.IntegerProperty;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Allocation regression gate for the gameplay hot path. It plays scripted games headlessly, on every
+ * {@link BoardEngine} directly and through a {@link GameController} with a view that draws nothing,
+ * and counts the bytes the playing thread allocates per move, per piece and per frame with the
+ * thread allocation counter of {@link com.sun.management.ThreadMXBean}.
+ * <p>
+ * The results are compared with a checked-in budget file of {@code metric=bytes} lines, and the gate
+ * fails when a metric goes over its budget or has none. {@link AllocationGateTest} runs it with the
+ * tests, on the JVM of the build, since the figures depend on its JIT and escape analysis. Each metric
+ * is measured after a warm-up, so escape analysis has had its chance, and the lowest of several rounds
+ * is kept.
+ */
+public final class AllocationGate {
+
+    /** Budget file, relative to the project directory. */
+    public static final String DEFAULT_BUDGET = "allocation-budget.properties";
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+    private static final int WARM_UP_PIECES = 20_000;
+    private static final int MEASURED_PIECES = 2_000;
+    private static final int ROUNDS = 5;
+    // Budgets recorded with 10% and a few bytes of headroom, so JIT noise does not fail the build
+    private static final double HEADROOM = 1.1;
+    private static final int HEADROOM_BYTES = 8;
+    private static final int FRAMES_AFTER_DROP = 13;
+    private static final MoveEvent DOWN = new MoveEvent(EventType.DOWN, EventSource.USER);
+    private static final MoveEvent[] MOVES = {
+            new MoveEvent(EventType.LEFT, EventSource.USER),
+            new MoveEvent(EventType.RIGHT, EventSource.USER),
+            new MoveEvent(EventType.ROTATE, EventSource.USER),
+            new MoveEvent(EventType.ROTATE_RIGHT, EventSource.USER),
+            DOWN
+    };
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final long overhead;
+
+    /**
+     * Constructs a new AllocationGate.
+     *
+     * @throws IllegalStateException if this JVM cannot count allocated bytes per thread
+     */
+    public AllocationGate() {
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM does not count allocated bytes per thread");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long least = Long.MAX_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            least = Math.min(least, -allocated() + allocated());
+        }
+        overhead = least;
+    }
+
+    private long allocated() {
+        return threads.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Measures every metric.
+     *
+     * @return bytes allocated per operation, by metric name
+     */
+    public Map<String, Double> measure() {
+        Map<String, Double> results = new LinkedHashMap<>();
+        for (BoardEngine engine : BoardEngine.values()) {
+            String prefix = "board." + engine.name().toLowerCase(Locale.ROOT) + ".";
+            playBoard(engine, WARM_UP_PIECES);
+            for (int round = 0; round < ROUNDS; round++) {
+                keepLowest(results, prefix, playBoard(engine, MEASURED_PIECES));
+            }
+        }
+        playController(WARM_UP_PIECES);
+        for (int round = 0; round < ROUNDS; round++) {
+            keepLowest(results, "controller.", playController(MEASURED_PIECES));
+        }
+        return results;
+    }
+
+    private static void keepLowest(Map<String, Double> results, String prefix, Counters counters) {
+        counters.forEach((name, bytes) -> results.merge(prefix + name, bytes, Math::min));
+    }
+
+    /**
+     * Plays a board the way the game panel uses it: a few moves with a view refresh after each,
+     * then a hard drop, merge, row clear and spawn.
+     */
+    private Counters playBoard(BoardEngine engine, int pieces) {
+        SplittableRandom random = new SplittableRandom(1);
+        Board board = engine.create(ROWS, COLUMNS, new RandomBrickGenerator(1));
+        board.newGame();
+        Counters counters = new Counters("move", "view", "piece");
+        for (int p = 0; p < pieces; p++) {
+            long pieceStart = allocated();
+            int moves = 1 + random.nextInt(8);
+            for (int m = 0; m < moves; m++) {
+                int move = random.nextInt(MOVES.length);
+                long start = allocated();
+                switch (move) {
+                    case 0 -> board.moveBrickLeft();
+                    case 1 -> board.moveBrickRight();
+                    case 2 -> board.rotateLeftBrick();
+                    case 3 -> board.rotateRightBrick();
+                    default -> board.moveBrickDown();
+                }
+                long moved = allocated();
+                ViewData viewData = board.getViewData();
+                long viewed = allocated();
+                counters.add(0, moved - start - overhead);
+                counters.add(1, viewed - moved - overhead);
+                // Keeps the view data in use, as the game panel does, so it cannot be optimised away
+                if (viewData.getRotation() < 0) {
+                    throw new IllegalStateException("Negative rotation");
+                }
+            }
+            board.dropBrickToBottom();
+            board.mergeBrickToBackground();
+            board.clearRows();
+            if (board.createNewBrick()) {
+                board.newGame();
+            }
+            counters.add(2, allocated() - pieceStart - overhead);
+        }
+        return counters;
+    }
+
+    /**
+     * Plays a GameController through its input events and logic frames: a few moves, each followed
+     * by one frame, then a hard drop and the frames of the entry or line clear delay.
+     */
+    private Counters playController(int pieces) {
+        SplittableRandom random = new SplittableRandom(1);
+        HeadlessView view = new HeadlessView();
+        GameController controller = new GameController(view, BoardEngine.SIMPLE);
+        Counters counters = new Counters("move", "frame", "piece");
+        for (int p = 0; p < pieces; p++) {
+            long pieceStart = allocated();
+            int moves = 1 + random.nextInt(8);
+            for (int m = 0; m < moves; m++) {
+                MoveEvent event = MOVES[random.nextInt(MOVES.length)];
+                long start = allocated();
+                switch (event.getEventType()) {
+                    case LEFT -> controller.onLeftEvent(event);
+                    case RIGHT -> controller.onRightEvent(event);
+                    case ROTATE, ROTATE_RIGHT -> controller.onRotateEvent(event);
+                    case DOWN -> controller.onDownEvent(event);
+                }
+                controller.onReleaseEvent(event);
+                counters.add(0, allocated() - start - overhead);
+                long frameStart = allocated();
+                controller.onTickEvent();
+                counters.add(1, allocated() - frameStart - overhead);
+            }
+            controller.onDropToBottomEvent(DOWN);
+            for (int f = 0; f < FRAMES_AFTER_DROP; f++) {
+                controller.onTickEvent();
+            }
+            if (view.gameOver) {
+                view.gameOver = false;
+                controller.createNewGame();
+            }
+            counters.add(2, allocated() - pieceStart - overhead);
+        }
+        return counters;
+    }
+
+    /**
+     * Compares measurements with a budget.
+     *
+     * @param results the bytes per operation by metric
+     * @param budget  the budgets by metric
+     * @param out     where to print the table
+     * @return true if every metric is within its budget
+     */
+    public static boolean check(Map<String, Double> results, Properties budget, Appendable out) throws IOException {
+        boolean passed = true;
+        for (Map.Entry<String, Double> result : results.entrySet()) {
+            String limit = budget.getProperty(result.getKey());
+            String verdict;
+            if (limit == null) {
+                verdict = "NO BUDGET";
+                passed = false;
+            } else if (result.getValue() > Double.parseDouble(limit)) {
+                verdict = "OVER BUDGET";
+                passed = false;
+            } else {
+                verdict = "ok";
+            }
+            out.append(String.format("%-24s %10.1f B/op  budget %8s  %s%n", result.getKey(), result.getValue(),
+                    limit == null ? "-" : limit, verdict));
+        }
+        return passed;
+    }
+
+    /**
+     * Writes a budget with headroom above the measurements.
+     *
+     * @param results the bytes per operation by metric
+     * @param file    the budget file to write
+     * @throws IOException if writing fails
+     */
+    public static void record(Map<String, Double> results, Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            writer.write("# Bytes allocated per operation on the gameplay hot path, checked by\n");
+            writer.write("# com.comp2042.conformance.AllocationGateTest. Lower a budget when allocation drops;\n");
+            writer.write("# raise one only when the extra allocation is deliberate.\n");
+            for (Map.Entry<String, Double> result : results.entrySet()) {
+                long limit = (long) Math.ceil(result.getValue() * HEADROOM) + HEADROOM_BYTES;
+                writer.write(result.getKey() + "=" + limit + "\n");
+            }
+        }
+    }
+
+    /**
+     * Bytes and operation counts of a few named metrics.
+     */
+    private static final class Counters {
+
+        private final String[] names;
+        private final long[] bytes;
+        private final long[] operations;
+
+        Counters(String... names) {
+            this.names = names;
+            bytes = new long[names.length];
+            operations = new long[names.length];
+        }
+
+        void add(int metric, long allocated) {
+            bytes[metric] += Math.max(0, allocated);
+            operations[metric]++;
+        }
+
+        void forEach(ObjDoubleConsumer<String> action) {
+            for (int i = 0; i < names.length; i++) {
+                action.accept(names[i], operations[i] == 0 ? 0 : (double) bytes[i] / operations[i]);
+            }
+        }
+    }
+
+    /**
+     * A view that draws nothing and only notes when the game ends.
+     */
+    private static final class HeadlessView extends GuiController {
+
+        private boolean gameOver;
+
+        @Override
+        public void initGameView(int[][] boardMatrix, ViewData brick) {
+            // Nothing to draw
+        }
+
+        @Override
+        public void bindScore(IntegerProperty integerProperty) {
+            // No score label
+        }
+
+        @Override
+        public void bindGravity(GravityModel gravityModel) {
+            // No level labels
+        }
+
+        @Override
+        public void refreshGameBackground(int[][] board) {
+            // Nothing to draw
+        }
+
+        @Override
+        public void showOpponentStatus(String status) {
+            // No status label
+        }
+
+        @Override
+        public void showPuzzleStatus(String status) {
+            // No status label
+        }
+
+        @Override
+        public void showGameOverWithScore(int score) {
+            gameOver = true;
+        }
+    }
+}
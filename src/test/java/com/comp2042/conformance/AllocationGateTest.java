@@ -0,0 +1,38 @@
+package com.comp2042.conformance;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fails the build when the gameplay hot path allocates more than allocation-budget.properties allows.
+ * After a change that lowers allocation, tighten the budget with
+ * {@code mvn test -Dtest=AllocationGateTest -Dallocation.mode=record}.
+ */
+class AllocationGateTest {
+
+    @Test
+    void staysWithinTheBudget() throws IOException {
+        Path file = Path.of(AllocationGate.DEFAULT_BUDGET);
+        Map<String, Double> results = new AllocationGate().measure();
+        if ("record".equals(System.getProperty("allocation.mode"))) {
+            AllocationGate.record(results, file);
+            return;
+        }
+        Properties budget = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            budget.load(reader);
+        }
+        StringBuilder table = new StringBuilder();
+        boolean passed = AllocationGate.check(results, budget, table);
+        System.out.print(table);
+        assertTrue(passed, "Allocation over budget; see " + file + "\n" + table);
+    }
+}
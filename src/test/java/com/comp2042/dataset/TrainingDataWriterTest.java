@@ -0,0 +1,174 @@
+package com.comp2042.dataset;
+
+import com.comp2042.ViewData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrainingDataWriterTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+    private static final int CHUNK_RECORDS = 100;
+    private static final int RECORDS = 1234;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackEveryRecordAcrossChunks() throws IOException {
+        Path file = directory.resolve("placements.t2ds");
+        Placement[] placements = write(file, RECORDS);
+
+        try (TrainingDataReader reader = TrainingDataReader.open(file)) {
+            assertEquals(ROWS, reader.getRows());
+            assertEquals(COLUMNS, reader.getColumns());
+            assertEquals(RECORDS, reader.getRecordCount());
+            assertEquals((RECORDS + CHUNK_RECORDS - 1) / CHUNK_RECORDS, reader.getChunkCount());
+            for (int i = 0; i < RECORDS; i++) {
+                assertTrue(reader.next(), "record " + i);
+                assertRecord(placements[i], reader, i);
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void seeksToTheFirstRecordOfAChunk() throws IOException {
+        Path file = directory.resolve("placements.t2ds");
+        Placement[] placements = write(file, RECORDS);
+
+        try (TrainingDataReader reader = TrainingDataReader.open(file)) {
+            int last = reader.getChunkCount() - 1;
+            reader.seekChunk(last);
+            for (int i = last * CHUNK_RECORDS; i < RECORDS; i++) {
+                assertTrue(reader.next(), "record " + i);
+                assertRecord(placements[i], reader, i);
+            }
+            assertFalse(reader.next());
+
+            reader.seekChunk(3);
+            assertTrue(reader.next());
+            assertRecord(placements[3 * CHUNK_RECORDS], reader, 3 * CHUNK_RECORDS);
+        }
+    }
+
+    @Test
+    void dropsARecordThatWasNotEnded() throws IOException {
+        Path file = directory.resolve("placements.t2ds");
+        Placement[] placements = generate(3);
+        try (TrainingDataWriter writer = TrainingDataWriter.open(file, ROWS, COLUMNS, CHUNK_RECORDS)) {
+            for (int i = 0; i < 2; i++) {
+                writer.beginRecord(placements[i].matrix, placements[i].view);
+                writer.endRecord(placements[i].score);
+            }
+            writer.beginRecord(placements[2].matrix, placements[2].view);
+        }
+
+        try (TrainingDataReader reader = TrainingDataReader.open(file)) {
+            assertEquals(2, reader.getRecordCount());
+            for (int i = 0; i < 2; i++) {
+                assertTrue(reader.next());
+                assertRecord(placements[i], reader, i);
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void rejectsAFileWithoutAnIndex() throws IOException {
+        Path file = directory.resolve("placements.t2ds");
+        write(file, 10);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(IOException.class, () -> TrainingDataReader.open(file));
+    }
+
+    private static Placement[] write(Path file, int records) throws IOException {
+        Placement[] placements = generate(records);
+        try (TrainingDataWriter writer = TrainingDataWriter.open(file, ROWS, COLUMNS, CHUNK_RECORDS)) {
+            for (Placement placement : placements) {
+                writer.beginRecord(placement.matrix, placement.view);
+                // The board may change before the record ends
+                placement.matrix[0][0] ^= 1;
+                writer.endRecord(placement.score);
+                placement.matrix[0][0] ^= 1;
+            }
+            assertEquals(records, writer.getRecordCount());
+        }
+        return placements;
+    }
+
+    /**
+     * Builds random boards and placements, with negative columns and large score deltas so every
+     * varint width is written.
+     */
+    private static Placement[] generate(int records) {
+        SplittableRandom random = new SplittableRandom(records);
+        Placement[] placements = new Placement[records];
+        for (int i = 0; i < records; i++) {
+            int[][] matrix = new int[ROWS][COLUMNS];
+            for (int r = random.nextInt(ROWS); r < ROWS; r++) {
+                for (int c = 0; c < COLUMNS; c++) {
+                    matrix[r][c] = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(8);
+                }
+            }
+            int piece = 1 + random.nextInt(7);
+            int next = 1 + random.nextInt(7);
+            ViewData view = new ViewData(brick(piece, random.nextInt(16)), random.nextInt(-3, COLUMNS),
+                    random.nextInt(-2, ROWS), brick(next, random.nextInt(16)), random.nextInt(4));
+            int score = random.nextInt(4) == 0 ? random.nextInt(1 << 28) : random.nextInt(1000);
+            placements[i] = new Placement(matrix, view, score, piece, next);
+        }
+        return placements;
+    }
+
+    private static int[][] brick(int piece, int cell) {
+        int[][] shape = new int[4][4];
+        shape[cell / 4][cell % 4] = piece;
+        return shape;
+    }
+
+    private static void assertRecord(Placement expected, TrainingDataReader reader, int record) {
+        String message = "record " + record;
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLUMNS; c++) {
+                assertEquals(expected.matrix[r][c] != 0, reader.isFilled(r, c), message + " cell " + r + ", " + c);
+            }
+        }
+        assertEquals(expected.piece, reader.getCurrentPiece(), message);
+        assertEquals(expected.next, reader.getNextPiece(), message);
+        assertEquals(expected.view.getRotation(), reader.getRotation(), message);
+        assertEquals(expected.view.getxPosition(), reader.getX(), message);
+        assertEquals(expected.view.getyPosition(), reader.getY(), message);
+        assertEquals(expected.score, reader.getScoreDelta(), message);
+    }
+
+    private static final class Placement {
+
+        private final int[][] matrix;
+        private final ViewData view;
+        private final int score;
+        private final int piece;
+        private final int next;
+
+        private Placement(int[][] matrix, ViewData view, int score, int piece, int next) {
+            this.matrix = matrix;
+            this.view = view;
+            this.score = score;
+            this.piece = piece;
+            this.next = next;
+        }
+    }
+}
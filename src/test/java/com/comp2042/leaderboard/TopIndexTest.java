@@ -0,0 +1,139 @@
+package com.comp2042.leaderboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TopIndexTest {
+
+    private static final int CAPACITY = 5;
+
+    @TempDir
+    Path directory;
+
+    private Path logFile;
+    private Path indexFile;
+
+    @BeforeEach
+    void files() {
+        logFile = directory.resolve("classic.log");
+        indexFile = directory.resolve("classic.top");
+    }
+
+    @Test
+    void keepsTheBestScoresInOrder() throws IOException {
+        try (ScoreLog log = ScoreLog.open(logFile); TopIndex index = TopIndex.open(indexFile, CAPACITY, log)) {
+            int[] scores = {30, 50, 10, 50, 40, 20, 60, 5};
+            int[] ranks = {1, 1, 3, 2, 3, 5, 1, 0};
+            for (int i = 0; i < scores.length; i++) {
+                assertEquals(ranks[i], index.add(entry(log, scores[i], i)), "score " + i);
+            }
+            assertTop(log, index);
+        }
+    }
+
+    @Test
+    void rebuildsAnIndexTornWhileShifting() throws IOException {
+        try (ScoreLog log = ScoreLog.open(logFile); TopIndex index = TopIndex.open(indexFile, CAPACITY, log)) {
+            for (int score = 50; score >= 10; score -= 10) {
+                index.add(entry(log, score, 60 - score));
+            }
+            // The game that scored 45 is logged, then the index dies after writing two of its shifted entries
+            entry(log, 45, 100);
+        }
+        writeEntry(1, 45, 100);
+        writeEntry(2, 40, 20);
+
+        try (ScoreLog log = ScoreLog.open(logFile); TopIndex index = TopIndex.open(indexFile, CAPACITY, log)) {
+            assertScores(index, 50, 45, 40, 30, 20);
+            assertTop(log, index);
+        }
+    }
+
+    @Test
+    void catchesUpWithALaggingIndex() throws IOException {
+        try (ScoreLog log = ScoreLog.open(logFile); TopIndex index = TopIndex.open(indexFile, CAPACITY, log)) {
+            index.add(entry(log, 20, 0));
+            index.add(entry(log, 40, 1));
+            // Logged, but the process stops before the index hears of them
+            entry(log, 30, 2);
+            entry(log, 40, 3);
+        }
+
+        try (ScoreLog log = ScoreLog.open(logFile); TopIndex index = TopIndex.open(indexFile, CAPACITY, log)) {
+            assertScores(index, 40, 40, 30, 20);
+            assertTop(log, index);
+        }
+    }
+
+    @Test
+    void rebuildsAMissingOrDamagedIndex() throws IOException {
+        try (ScoreLog log = ScoreLog.open(logFile); TopIndex index = TopIndex.open(indexFile, CAPACITY, log)) {
+            for (int i = 0; i < 12; i++) {
+                index.add(entry(log, (i * 37) % 100, i));
+            }
+        }
+        Files.delete(indexFile);
+        try (ScoreLog log = ScoreLog.open(logFile); TopIndex index = TopIndex.open(indexFile, CAPACITY, log)) {
+            assertTop(log, index);
+        }
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 0xBAD), 0);
+        }
+        try (ScoreLog log = ScoreLog.open(logFile); TopIndex index = TopIndex.open(indexFile, CAPACITY, log)) {
+            assertTop(log, index);
+        }
+    }
+
+    private static ScoreEntry entry(ScoreLog log, int score, long time) throws IOException {
+        ScoreEntry entry = new ScoreEntry(score, time);
+        log.append(entry);
+        return entry;
+    }
+
+    private void writeEntry(int position, int score, long time) throws IOException {
+        ByteBuffer entry = ByteBuffer.allocate(TopIndex.ENTRY_SIZE).putLong(time).putInt(score).putInt(0).flip();
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.WRITE)) {
+            channel.write(entry, TopIndex.HEADER_SIZE + (long) position * TopIndex.ENTRY_SIZE);
+        }
+    }
+
+    private static void assertScores(TopIndex index, int... expected) {
+        ScoreEntry[] top = index.top(CAPACITY);
+        int[] scores = new int[top.length];
+        for (int i = 0; i < top.length; i++) {
+            scores[i] = top[i].getScore();
+        }
+        assertArrayEquals(expected, scores);
+    }
+
+    /**
+     * Checks the index against a stable sort of the whole log, so equal scores keep the order they were set in.
+     */
+    private static void assertTop(ScoreLog log, TopIndex index) {
+        List<ScoreEntry> all = new ArrayList<>();
+        for (long i = 0; i < log.getCount(); i++) {
+            all.add(log.get(i));
+        }
+        all.sort(Comparator.comparingInt(ScoreEntry::getScore).reversed());
+        ScoreEntry[] top = index.top(CAPACITY);
+        assertEquals(Math.min(CAPACITY, all.size()), top.length);
+        for (int i = 0; i < top.length; i++) {
+            assertEquals(all.get(i).getScore(), top[i].getScore(), "rank " + (i + 1));
+            assertEquals(all.get(i).getTime(), top[i].getTime(), "rank " + (i + 1));
+        }
+    }
+}
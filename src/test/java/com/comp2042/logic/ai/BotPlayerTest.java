@@ -0,0 +1,114 @@
+package com.comp2042.logic.ai;
+
+import com.comp2042.Board;
+import com.comp2042.BoardEngine;
+import com.comp2042.BoardFeatures;
+import com.comp2042.ViewData;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.logic.bricks.SequenceBrickGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BotPlayerTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+
+    @Test
+    void playsTheBestReachablePlacementWithDefaultWeights() {
+        playGames(BotPlayer.getDefaultWeights());
+    }
+
+    @Test
+    void playsTheBestReachablePlacementOnATallStack() {
+        // Weights that like height and holes build towers the other bricks have to get around
+        playGames(new double[]{0.5, 0, 0.3, -0.1, 0, 0, 0});
+    }
+
+    /**
+     * Plays a few games on every engine, checking before each drop that the placement played
+     * scores as well as the best one any turns and shifts from the spawn position can reach.
+     */
+    private static void playGames(double[] weights) {
+        for (BoardEngine engine : BoardEngine.values()) {
+            for (long seed = 0; seed < 4; seed++) {
+                RandomBrickGenerator generator = new RandomBrickGenerator(seed);
+                Board board = engine.create(ROWS, COLUMNS, generator);
+                board.newGame(generator);
+                BotPlayer bot = new BotPlayer(weights);
+                for (int i = 0; i < 200; i++) {
+                    ViewData spawn = board.getViewData();
+                    int[][] background = board.getBoardMatrix();
+                    double expected = bestReachableScore(engine, background, spawn, weights);
+
+                    bot.placeBrick(board);
+
+                    assertEquals(expected, score(board, weights), 1e-9, engine + " seed " + seed + " brick " + i);
+                    board.mergeBrickToBackground();
+                    board.clearRows();
+                    if (board.createNewBrick()) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Plays every sequence of clockwise turns then shifts from the spawn position on a copy of the
+     * board and scores where each one lands.
+     */
+    private static double bestReachableScore(BoardEngine engine, int[][] background, ViewData spawn,
+                                             double[] weights) {
+        double best = Double.NEGATIVE_INFINITY;
+        for (int turns = 0; turns < 4; turns++) {
+            for (int shift = -COLUMNS; shift <= COLUMNS; shift++) {
+                Board board = copy(engine, background, spawn);
+                boolean reached = true;
+                for (int i = 0; i < turns && reached; i++) {
+                    reached = board.rotateRightBrick();
+                }
+                for (int i = 0; i < Math.abs(shift) && reached; i++) {
+                    reached = shift < 0 ? board.moveBrickLeft() : board.moveBrickRight();
+                }
+                if (reached) {
+                    board.dropBrickToBottom();
+                    best = Math.max(best, score(board, weights));
+                }
+            }
+        }
+        return best;
+    }
+
+    private static Board copy(BoardEngine engine, int[][] background, ViewData spawn) {
+        SequenceBrickGenerator generator = new SequenceBrickGenerator(new int[]{pieceOf(spawn.getBrickData())});
+        Board board = engine.create(ROWS, COLUMNS, generator);
+        board.newGame(generator);
+        board.loadBackground(background);
+        board.placeBrick(spawn.getRotation(), spawn.getxPosition(), spawn.getyPosition());
+        return board;
+    }
+
+    private static int pieceOf(int[][] shape) {
+        for (int[] row : shape) {
+            for (int value : row) {
+                if (value != 0) {
+                    return value;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static double score(Board board, double[] weights) {
+        ViewData view = board.getViewData();
+        int[] features = new int[BoardFeatures.SIZE];
+        board.getFeatures().evaluate(view.getBrickData(), view.getxPosition(), view.getyPosition(), features);
+        double score = 0;
+        for (int i = 0; i < features.length; i++) {
+            score += weights[i] * features[i];
+        }
+        return score;
+    }
+}
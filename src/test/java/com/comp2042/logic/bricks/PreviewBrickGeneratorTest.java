@@ -0,0 +1,58 @@
+package com.comp2042.logic.bricks;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PreviewBrickGeneratorTest {
+
+    private static final int DEALS = 200;
+
+    /**
+     * The ring holds the preview plus the slot being dealt, so every size from 1 to 9 crosses a
+     * different power of two. A ring that is too small would overwrite pieces still on preview.
+     */
+    @Test
+    void previewsExactlyThePiecesThatSpawn() {
+        for (RandomizerType type : RandomizerType.values()) {
+            for (int size = 1; size <= 9; size++) {
+                PreviewBrickGenerator generator = new PreviewBrickGenerator(type.create(size), size);
+                Randomizer reference = type.create(size);
+                int[] expected = new int[DEALS + size];
+                for (int i = 0; i < expected.length; i++) {
+                    expected[i] = reference.nextPiece();
+                }
+
+                assertEquals(size, generator.getPreviewSize());
+                for (int dealt = 0; dealt < DEALS; dealt++) {
+                    String at = type + " preview " + size + " deal " + dealt;
+                    for (int i = 0; i < size; i++) {
+                        assertEquals(expected[dealt + i], generator.getPreview(i), at + " index " + i);
+                    }
+                    assertEquals(expected[dealt], piece(generator.getNextBrick()), at);
+                    assertEquals(expected[dealt], piece(generator.getBrick()), at);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsPreviewsOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new PreviewBrickGenerator(new BagRandomizer(0), 0));
+        PreviewBrickGenerator generator = new PreviewBrickGenerator(new BagRandomizer(0), 3);
+        assertThrows(IndexOutOfBoundsException.class, () -> generator.getPreview(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> generator.getPreview(-1));
+    }
+
+    private static int piece(Brick brick) {
+        for (int[] row : brick.getShapeMatrix().get(0)) {
+            for (int cell : row) {
+                if (cell != 0) {
+                    return cell;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,89 @@
+package com.comp2042.logic.bricks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RandomizerTest {
+
+    private static final int PIECES = 7_000;
+
+    @Test
+    void bagDealsEverySevenPiecesOnce() {
+        for (long seed = 0; seed < 20; seed++) {
+            byte[] pieces = deal(new BagRandomizer(seed), PIECES);
+            for (int bag = 0; bag < PIECES; bag += BrickShapes.PIECE_COUNT) {
+                boolean[] seen = new boolean[BrickShapes.PIECE_COUNT + 1];
+                for (int i = bag; i < bag + BrickShapes.PIECE_COUNT; i++) {
+                    assertFalse(seen[pieces[i]], "seed " + seed + " piece " + i + " repeats within its bag");
+                    seen[pieces[i]] = true;
+                }
+            }
+        }
+    }
+
+    @Test
+    void bagStaysCompleteWhenFilledAcrossBags() {
+        BagRandomizer randomizer = new BagRandomizer(46);
+        byte[] pieces = new byte[PIECES];
+        // Runs of 1 to 10 pieces start and end anywhere in a bag
+        for (int at = 0, length = 1; at < PIECES; at += length, length = length % 10 + 1) {
+            randomizer.fill(pieces, at, Math.min(length, PIECES - at));
+        }
+        for (int bag = 0; bag < PIECES; bag += BrickShapes.PIECE_COUNT) {
+            int seen = 0;
+            for (int i = bag; i < bag + BrickShapes.PIECE_COUNT; i++) {
+                seen |= 1 << pieces[i];
+            }
+            assertEquals(0b11111110, seen, "bag starting at " + bag);
+        }
+    }
+
+    @Test
+    void sameSeedDealsTheSameSequence() {
+        for (RandomizerType type : RandomizerType.values()) {
+            byte[] pieces = deal(type.create(2042), PIECES);
+
+            assertArrayEquals(pieces, deal(type.create(2042), PIECES), type.toString());
+            assertFalse(Arrays.equals(pieces, deal(type.create(2043), PIECES)), type.toString());
+            for (byte piece : pieces) {
+                assertTrue(piece >= 1 && piece <= BrickShapes.PIECE_COUNT, type + " dealt " + piece);
+            }
+        }
+    }
+
+    @Test
+    void fillDealsWhatNextPieceDeals() {
+        for (RandomizerType type : RandomizerType.values()) {
+            Randomizer filled = type.create(7);
+            byte[] pieces = new byte[PIECES + 3];
+            filled.fill(pieces, 3, 5);
+            filled.fill(pieces, 8, PIECES - 5);
+
+            byte[] drawn = new byte[PIECES + 3];
+            System.arraycopy(deal(type.create(7), PIECES), 0, drawn, 3, PIECES);
+            assertArrayEquals(drawn, pieces, type.toString());
+        }
+    }
+
+    @Test
+    void historyNeverStartsWithSZOrO() {
+        for (long seed = 0; seed < 500; seed++) {
+            int first = new HistoryRandomizer(seed).nextPiece();
+            assertTrue(first != 4 && first != 5 && first != 7, "seed " + seed + " starts with " + first);
+        }
+    }
+
+    private static byte[] deal(Randomizer randomizer, int count) {
+        byte[] pieces = new byte[count];
+        for (int i = 0; i < count; i++) {
+            pieces[i] = (byte) randomizer.nextPiece();
+        }
+        return pieces;
+    }
+}
@@ -0,0 +1,89 @@
+package com.comp2042.logic.rotation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SuperRotationSystemTest {
+
+    private static final int I = 1;
+    private static final int O = 4;
+    private static final int[] JLSTZ = {2, 3, 5, 6, 7};
+
+    /**
+     * The guideline offsets, written as published: rotations 0, R, 2, L and y pointing up.
+     */
+    private static final String[][] JLSTZ_GUIDELINE = {
+            {"0->R", "(0,0) (-1,0) (-1,+1) (0,-2) (-1,-2)"},
+            {"R->0", "(0,0) (+1,0) (+1,-1) (0,+2) (+1,+2)"},
+            {"R->2", "(0,0) (+1,0) (+1,-1) (0,+2) (+1,+2)"},
+            {"2->R", "(0,0) (-1,0) (-1,+1) (0,-2) (-1,-2)"},
+            {"2->L", "(0,0) (+1,0) (+1,+1) (0,-2) (+1,-2)"},
+            {"L->2", "(0,0) (-1,0) (-1,-1) (0,+2) (-1,+2)"},
+            {"L->0", "(0,0) (-1,0) (-1,-1) (0,+2) (-1,+2)"},
+            {"0->L", "(0,0) (+1,0) (+1,+1) (0,-2) (+1,-2)"}
+    };
+    private static final String[][] I_GUIDELINE = {
+            {"0->R", "(0,0) (-2,0) (+1,0) (-2,-1) (+1,+2)"},
+            {"R->0", "(0,0) (+2,0) (-1,0) (+2,+1) (-1,-2)"},
+            {"R->2", "(0,0) (-1,0) (+2,0) (-1,+2) (+2,-1)"},
+            {"2->R", "(0,0) (+1,0) (-2,0) (+1,-2) (-2,+1)"},
+            {"2->L", "(0,0) (+2,0) (-1,0) (+2,+1) (-1,-2)"},
+            {"L->2", "(0,0) (-2,0) (+1,0) (-2,-1) (+1,+2)"},
+            {"L->0", "(0,0) (+1,0) (-2,0) (+1,-2) (-2,+1)"},
+            {"0->L", "(0,0) (-1,0) (+2,0) (-1,+2) (+2,-1)"}
+    };
+
+    @Test
+    void jlstzKicksMatchTheGuideline() {
+        for (int piece : JLSTZ) {
+            assertKicks(piece, JLSTZ_GUIDELINE);
+        }
+    }
+
+    @Test
+    void iKicksMatchTheGuideline() {
+        assertKicks(I, I_GUIDELINE);
+    }
+
+    @Test
+    void oOnlyTriesItsOwnPosition() {
+        for (String[] row : JLSTZ_GUIDELINE) {
+            int from = rotation(row[0].charAt(0));
+            int to = rotation(row[0].charAt(3));
+            assertEquals(1, SuperRotationSystem.getKickCount(O, from, to), row[0]);
+            assertEquals(0, SuperRotationSystem.getKickX(O, from, to, 0), row[0]);
+            assertEquals(0, SuperRotationSystem.getKickY(O, from, to, 0), row[0]);
+        }
+    }
+
+    @Test
+    void rotationsMoreThanOneStepApartHaveNoKicks() {
+        for (int piece = 1; piece <= 7; piece++) {
+            for (int from = 0; from < 4; from++) {
+                assertEquals(0, SuperRotationSystem.getKickCount(piece, from, from));
+                assertEquals(0, SuperRotationSystem.getKickCount(piece, from, (from + 2) % 4));
+            }
+        }
+    }
+
+    private static void assertKicks(int piece, String[][] guideline) {
+        for (String[] row : guideline) {
+            int from = rotation(row[0].charAt(0));
+            int to = rotation(row[0].charAt(3));
+            String[] offsets = row[1].split(" ");
+            assertEquals(offsets.length, SuperRotationSystem.getKickCount(piece, from, to), row[0]);
+            for (int k = 0; k < offsets.length; k++) {
+                String[] xy = offsets[k].substring(1, offsets[k].length() - 1).split(",");
+                String test = "piece " + piece + " " + row[0] + " kick " + k;
+                assertEquals(Integer.parseInt(xy[0]), SuperRotationSystem.getKickX(piece, from, to, k), test);
+                // The tables use board coordinates, with y growing downwards
+                assertEquals(-Integer.parseInt(xy[1]), SuperRotationSystem.getKickY(piece, from, to, k), test);
+            }
+        }
+    }
+
+    private static int rotation(char state) {
+        return "0R2L".indexOf(state);
+    }
+}
@@ -0,0 +1,146 @@
+package com.comp2042.logic.timing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TimerWheelTest {
+
+    private static final int SLOTS = 8;
+
+    private final List<String> fired = new ArrayList<>();
+    private TimerListener onFire = timer -> { };
+    private final TimerWheel wheel = new TimerWheel(4, SLOTS, timer -> {
+        fired.add(timer + "@" + this.wheel.getFrame());
+        onFire.onTimer(timer);
+    });
+
+    @Test
+    void firesAfterItsDelay() {
+        wheel.schedule(0, 3);
+        assertEquals(3, wheel.getRemainingFrames(0));
+
+        advance(2);
+        assertEquals(List.of(), fired);
+        assertEquals(1, wheel.getRemainingFrames(0));
+        advance(1);
+
+        assertEquals(List.of("0@3"), fired);
+        assertFalse(wheel.isScheduled(0));
+        assertEquals(-1, wheel.getRemainingFrames(0));
+    }
+
+    @Test
+    void treatsDelaysBelowOneAsOne() {
+        wheel.schedule(0, 0);
+        wheel.schedule(1, -5);
+        advance(1);
+
+        assertEquals(2, fired.size());
+    }
+
+    @Test
+    void waitsOutDelaysLongerThanTheWheel() {
+        // 4, 12 and 20 all hash to the same slot
+        wheel.schedule(0, 20);
+        wheel.schedule(1, 4);
+        wheel.schedule(2, SLOTS + 4);
+        wheel.schedule(3, SLOTS);
+        advance(3 * SLOTS);
+
+        assertEquals(List.of("1@4", "3@8", "2@12", "0@20"), fired);
+    }
+
+    @Test
+    void cancelsFromAnyPositionInASlot() {
+        for (int timer = 0; timer < 4; timer++) {
+            wheel.schedule(timer, 5);
+        }
+        // Newest first in the slot list: 3 is the head, 0 the tail, 1 and 2 in between
+        wheel.cancel(2);
+        wheel.cancel(3);
+        wheel.cancel(0);
+        advance(5);
+
+        assertEquals(List.of("1@5"), fired);
+        assertFalse(wheel.isScheduled(2));
+    }
+
+    @Test
+    void cancelsIdleTimersAndEverything() {
+        wheel.cancel(1);
+        wheel.schedule(0, 2);
+        wheel.schedule(1, 2 + SLOTS);
+        wheel.cancelAll();
+        advance(2 * SLOTS);
+
+        assertEquals(List.of(), fired);
+    }
+
+    @Test
+    void reschedulingReplacesTheDeadline() {
+        wheel.schedule(0, 2);
+        wheel.schedule(0, 5);
+        advance(6);
+
+        assertEquals(List.of("0@5"), fired);
+    }
+
+    @Test
+    void listenerCanRescheduleItsOwnTimer() {
+        onFire = timer -> wheel.schedule(timer, 3);
+        wheel.schedule(0, 3);
+        advance(10);
+
+        assertEquals(List.of("0@3", "0@6", "0@9"), fired);
+        assertEquals(2, wheel.getRemainingFrames(0));
+    }
+
+    @Test
+    void listenerCanCancelATimerDueInTheSameFrame() {
+        onFire = timer -> wheel.cancel(1 - timer);
+        wheel.schedule(0, 2);
+        wheel.schedule(1, 2);
+        advance(4);
+
+        // Whichever fires first stops the other
+        assertEquals(1, fired.size());
+        assertFalse(wheel.isScheduled(0));
+        assertFalse(wheel.isScheduled(1));
+    }
+
+    @Test
+    void listenerCanDelayATimerDueInTheSameFrame() {
+        onFire = timer -> {
+            if (fired.size() == 1) {
+                wheel.schedule(1 - timer, SLOTS);
+            }
+        };
+        wheel.schedule(0, 2);
+        wheel.schedule(1, 2);
+        advance(2);
+        assertEquals(1, fired.size());
+        int delayed = fired.get(0).startsWith("0") ? 1 : 0;
+        advance(SLOTS);
+
+        assertEquals(List.of(fired.get(0), delayed + "@" + (2 + SLOTS)), fired);
+    }
+
+    @Test
+    void rejectsSlotCountsThatAreNotPowersOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel(1, 12, timer -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel(1, 0, timer -> { }));
+        assertEquals(0, new TimerWheel(1, 1, timer -> { }).getFrame());
+    }
+
+    private void advance(int frames) {
+        for (int i = 0; i < frames; i++) {
+            wheel.advance();
+        }
+    }
+}
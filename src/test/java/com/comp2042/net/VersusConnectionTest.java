@@ -0,0 +1,172 @@
+package com.comp2042.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class VersusConnectionTest {
+
+    private static final long TIMEOUT_NANOS = 10_000_000_000L;
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+    private static final int FULL_ROW = (1 << COLUMNS) - 1;
+
+    @Test
+    void decodesEveryFrameTheOtherEndSends() throws IOException {
+        try (VersusConnection host = VersusConnection.host(0);
+             VersusConnection guest = VersusConnection.connect(host.getPort())) {
+            Recorder atHost = new Recorder();
+            Recorder atGuest = new Recorder();
+            pollUntil(host, atHost, host::isConnected);
+            assertTrue(guest.isConnected());
+            assertEquals(-1, guest.getPort());
+
+            int[][] matrix = new int[ROWS][COLUMNS];
+            matrix[ROWS - 1] = new int[]{1, 2, 3, 0, 5, 6, 7, 8, 0, 1};
+            matrix[ROWS - 2][9] = 4;
+            matrix[3][0] = 8;
+            guest.sendAttack(4, 9);
+            guest.sendBoard(matrix);
+            guest.sendGameOver();
+            guest.sendPing();
+            pollUntil(host, atHost, () -> atHost.gameOvers == 1);
+            // The host answered the ping while polling
+            pollUntil(guest, atGuest, () -> atGuest.pongs == 1);
+
+            assertEquals(List.of(4, 9), atHost.attacks);
+            int[] expected = new int[ROWS];
+            expected[ROWS - 1] = 0b10_1111_0111;
+            expected[ROWS - 2] = 1 << 9;
+            expected[3] = 1;
+            assertEquals(1, atHost.boards.size());
+            assertArrayEquals(expected, atHost.boards.get(0));
+            assertTrue(atGuest.lastRoundTripNanos > 0);
+
+            guest.close();
+            pollUntil(host, atHost, () -> atHost.disconnects == 1);
+            assertFalse(host.isConnected());
+        }
+    }
+
+    @Test
+    void playsAgainstTheStandInPeer() throws Exception {
+        try (VersusConnection host = VersusConnection.host(0)) {
+            StandInPeer peer = new StandInPeer(host.getPort(), 2_000_000L, 7);
+            Thread thread = new Thread(peer, "stand-in-peer");
+            thread.start();
+            try {
+                Recorder recorder = new Recorder();
+                pollUntil(host, recorder, () -> recorder.boards.size() >= 5);
+                for (int[] rows : recorder.boards) {
+                    assertEquals(ROWS, rows.length);
+                    for (int mask : rows) {
+                        assertEquals(mask, mask & FULL_ROW);
+                    }
+                }
+
+                // Three garbage rows with the hole in column 6 rise under the peer's next brick
+                host.sendAttack(3, 6);
+                int garbage = FULL_ROW & ~(1 << 6);
+                int seen = recorder.boards.size();
+                pollUntil(host, recorder, () -> {
+                    for (int i = seen; i < recorder.boards.size(); i++) {
+                        int[] rows = recorder.boards.get(i);
+                        if (rows[ROWS - 1] == garbage && rows[ROWS - 2] == garbage && rows[ROWS - 3] == garbage) {
+                            return true;
+                        }
+                    }
+                    return false;
+                });
+
+                host.sendPing();
+                pollUntil(host, recorder, () -> recorder.pongs > 0);
+                pollUntil(host, recorder, () -> peer.getAverageRoundTripNanos() > 0);
+            } finally {
+                peer.stop();
+                thread.join();
+            }
+        }
+    }
+
+    @Test
+    void failsInsteadOfDroppingFramesTheOpponentDoesNotRead() throws IOException {
+        try (VersusConnection host = VersusConnection.host(0);
+             SocketChannel silent = SocketChannel.open(
+                     new InetSocketAddress(InetAddress.getLoopbackAddress(), host.getPort()))) {
+            pollUntil(host, new Recorder(), host::isConnected);
+            int[][] matrix = new int[ROWS][COLUMNS];
+            // Once the socket buffers are full, a frame that does not fit must fail the connection
+            assertThrows(IOException.class, () -> {
+                for (int i = 0; i < 10_000_000; i++) {
+                    host.sendBoard(matrix);
+                }
+            });
+        }
+    }
+
+    private static void pollUntil(VersusConnection connection, VersusListener listener, BooleanSupplier done)
+            throws IOException {
+        long deadline = System.nanoTime() + TIMEOUT_NANOS;
+        while (!done.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out polling the connection");
+            }
+            connection.poll(listener);
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Keeps every frame received, copying the board masks the connection reuses.
+     */
+    private static final class Recorder implements VersusListener {
+
+        private final List<Integer> attacks = new ArrayList<>();
+        private final List<int[]> boards = new ArrayList<>();
+        private int gameOvers;
+        private int pongs;
+        private long lastRoundTripNanos;
+        private int disconnects;
+
+        @Override
+        public void onAttack(int lines, int holeColumn) {
+            attacks.add(lines);
+            attacks.add(holeColumn);
+        }
+
+        @Override
+        public void onBoard(int[] rowMasks, int rows) {
+            boards.add(Arrays.copyOf(rowMasks, rows));
+        }
+
+        @Override
+        public void onGameOver() {
+            gameOvers++;
+        }
+
+        @Override
+        public void onPong(long roundTripNanos) {
+            pongs++;
+            lastRoundTripNanos = roundTripNanos;
+        }
+
+        @Override
+        public void onDisconnected() {
+            disconnects++;
+        }
+    }
+}
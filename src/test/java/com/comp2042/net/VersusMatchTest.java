@@ -0,0 +1,110 @@
+package com.comp2042.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class VersusMatchTest {
+
+    private static final long TIMEOUT_NANOS = 10_000_000_000L;
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+
+    @Test
+    void sendsAttacksAfterCancellingIncomingGarbage() throws IOException {
+        int port = freePort();
+        List<String> hostStatus = new ArrayList<>();
+        List<String> guestStatus = new ArrayList<>();
+        VersusMatch host = new VersusMatch(port, hostStatus::add);
+        VersusMatch guest = new VersusMatch(port, guestStatus::add);
+        try {
+            host.open();
+            guest.open();
+            assertEquals(List.of("Opp: waiting"), hostStatus);
+            assertEquals(List.of("Opp: joined"), guestStatus);
+
+            int[][] matrix = new int[ROWS][COLUMNS];
+            matrix[ROWS - 1][0] = 1;
+            matrix[ROWS - 2][0] = 1;
+            // A tetris sends four rows
+            guest.sendClear(4, matrix);
+            int[] received = new int[1];
+            pollUntil(host, () -> (received[0] += host.takeIncomingGarbage()) > 0
+                    && hostStatus.get(hostStatus.size() - 1).startsWith("Opp: 2 rows"));
+            assertEquals(4, received[0]);
+            assertEquals(0, host.takeIncomingGarbage());
+
+            // A triple sends two rows, both cancelled by the four waiting to rise
+            host.sendClear(4, matrix);
+            pollUntil(guest, () -> guestStatus.size() > 1);
+            guest.sendClear(3, matrix);
+            guest.sendClear(3, matrix);
+            assertEquals(0, guest.takeIncomingGarbage());
+            guest.sendGameOver();
+            pollUntil(host, () -> hostStatus.contains("Opp: topped out"));
+            assertEquals(0, host.takeIncomingGarbage());
+
+            guest.close();
+            assertFalse(guest.isOpen());
+            pollUntil(host, () -> hostStatus.contains("Opp: left"));
+            assertTrue(host.isOpen());
+        } finally {
+            host.close();
+            guest.close();
+        }
+    }
+
+    @Test
+    void showsTheOpponentBoardOnlyWhenItsHeightChanges() throws IOException {
+        int port = freePort();
+        List<String> hostStatus = new ArrayList<>();
+        VersusMatch host = new VersusMatch(port, hostStatus::add);
+        VersusMatch guest = new VersusMatch(port, status -> { });
+        try {
+            host.open();
+            guest.open();
+            int[][] matrix = new int[ROWS][COLUMNS];
+            matrix[ROWS - 1][0] = 1;
+            guest.sendClear(0, matrix);
+            guest.sendClear(0, matrix);
+            matrix[ROWS - 2][0] = 1;
+            guest.sendClear(0, matrix);
+            pollUntil(host, () -> hostStatus.stream().anyMatch(s -> s.startsWith("Opp: 2 rows")));
+
+            assertEquals(List.of("Opp: waiting", "Opp: 1 rows 0.0ms", "Opp: 2 rows 0.0ms"), hostStatus);
+        } finally {
+            host.close();
+            guest.close();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Polls with a frame that never pings, so the status shows no round trip.
+     */
+    private static void pollUntil(VersusMatch match, BooleanSupplier done) {
+        long deadline = System.nanoTime() + TIMEOUT_NANOS;
+        while (!done.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for the opponent");
+            }
+            match.poll(1);
+            Thread.onSpinWait();
+        }
+    }
+}
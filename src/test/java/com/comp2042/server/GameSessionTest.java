@@ -0,0 +1,155 @@
+package com.comp2042.server;
+
+import com.comp2042.BoardEngine;
+import com.comp2042.ViewData;
+import com.comp2042.logic.ai.BotPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameSessionTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+    private static final String ACTIONS = "LLRRACDDH";
+
+    @Test
+    void deltaFramesRebuildTheBoard() {
+        for (BoardEngine engine : BoardEngine.values()) {
+            GameSession session = new GameSession(engine, ROWS, COLUMNS, 42);
+            byte[] out = new byte[session.getMaxFrameSize()];
+            int[] masks = new int[ROWS];
+            decode(out, session.writeFrame(out, 0, true), masks, session, true);
+
+            SplittableRandom random = new SplittableRandom(42);
+            BotPlayer bot = new BotPlayer(BotPlayer.getDefaultWeights());
+            byte[] actions = new byte[8];
+            int games = 0;
+            int lines = 0;
+            for (int request = 0; request < 3000; request++) {
+                if (session.isGameOver()) {
+                    lines += session.getLines();
+                    games++;
+                    session.play(actions("N"), 0, 1);
+                } else if (random.nextInt(3) == 0) {
+                    // A well placed brick now and then, so rows get cleared as well as filled
+                    bot.placeBrick(session.getBoard());
+                    session.play(actions("H"), 0, 1);
+                } else {
+                    for (int i = 0; i < actions.length; i++) {
+                        actions[i] = (byte) ACTIONS.charAt(random.nextInt(ACTIONS.length()));
+                    }
+                    session.play(actions, 0, actions.length);
+                }
+                decode(out, session.writeFrame(out, 0, false), masks, session, false);
+            }
+            assertTrue(games > 0, engine + " never finished a game");
+            assertTrue(lines + session.getLines() > 0, engine + " never cleared a line");
+        }
+    }
+
+    @Test
+    void unchangedBoardSendsNoRows() {
+        GameSession session = new GameSession(BoardEngine.BITMASK, ROWS, COLUMNS, 1);
+        byte[] out = new byte[session.getMaxFrameSize()];
+        assertEquals(session.getMaxFrameSize(), session.writeFrame(out, 0, true));
+
+        session.play(actions("LR"), 0, 2);
+
+        assertEquals(GameSession.HEADER_SIZE, session.writeFrame(out, 0, false));
+        assertEquals(0, out[GameSession.HEADER_SIZE - 1]);
+    }
+
+    @Test
+    void writesAtAnOffset() {
+        GameSession session = new GameSession(BoardEngine.SIMPLE, ROWS, COLUMNS, 3);
+        byte[] out = new byte[4 + session.getMaxFrameSize()];
+        int length = session.writeFrame(out, 4, true);
+        byte[] frame = new byte[length];
+        System.arraycopy(out, 4, frame, 0, length);
+
+        decode(frame, length, new int[ROWS], session, true);
+    }
+
+    @Test
+    void invalidActionKeepsThePlayedPrefix() {
+        GameSession session = new GameSession(BoardEngine.SIMPLE, ROWS, COLUMNS, 5);
+        int x = session.getBoard().getViewData().getxPosition();
+
+        assertThrows(IllegalArgumentException.class, () -> session.play(actions("LLxR"), 0, 4));
+
+        assertEquals(x - 2, session.getBoard().getViewData().getxPosition());
+    }
+
+    @Test
+    void gameOverIsFlaggedUntilANewGame() {
+        GameSession session = new GameSession(BoardEngine.SIMPLE, ROWS, COLUMNS, 9);
+        byte[] out = new byte[session.getMaxFrameSize()];
+        for (int i = 0; i < ROWS * COLUMNS && !session.isGameOver(); i++) {
+            session.play(actions("H"), 0, 1);
+        }
+        assertTrue(session.isGameOver());
+        session.writeFrame(out, 0, false);
+        assertEquals(GameSession.GAME_OVER, out[0] & GameSession.GAME_OVER);
+
+        session.play(actions("N"), 0, 1);
+        int[] masks = new int[ROWS];
+        decode(out, session.writeFrame(out, 0, false), masks, session, false);
+        assertEquals(0, out[0] & GameSession.GAME_OVER);
+        assertEquals(0, session.getLines());
+    }
+
+    /**
+     * Applies a frame to the row masks a client keeps and checks the result against the session.
+     */
+    private static void decode(byte[] frame, int length, int[] masks, GameSession session, boolean full) {
+        assertEquals(full ? GameSession.FULL : 0, frame[0] & GameSession.FULL);
+        assertEquals(session.isGameOver() ? GameSession.GAME_OVER : 0, frame[0] & GameSession.GAME_OVER);
+        assertEquals(session.getBoard().getScore().scoreProperty().get(), getInt(frame, 1));
+        assertEquals(session.getLines(), getInt(frame, 5));
+        ViewData view = session.getBoard().getViewData();
+        assertEquals(colorOf(view.getBrickData()), frame[9]);
+        assertEquals(view.getRotation(), frame[10]);
+        assertEquals(view.getxPosition(), frame[11]);
+        assertEquals(view.getyPosition(), frame[12]);
+        assertEquals(colorOf(view.getNextBrickData()), frame[13]);
+        int rows = frame[14] & 0xFF;
+        assertEquals(GameSession.HEADER_SIZE + rows * 3, length);
+        if (full) {
+            assertEquals(ROWS, rows);
+        }
+        for (int i = 0, p = GameSession.HEADER_SIZE; i < rows; i++, p += 3) {
+            masks[frame[p] & 0xFF] = (frame[p + 1] & 0xFF) << 8 | frame[p + 2] & 0xFF;
+        }
+        int[][] matrix = session.getBoard().getBoardMatrix();
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLUMNS; c++) {
+                assertEquals(matrix[r][c] != 0, (masks[r] & 1 << c) != 0, "cell " + r + ", " + c);
+            }
+        }
+    }
+
+    private static int getInt(byte[] frame, int p) {
+        return (frame[p] & 0xFF) << 24 | (frame[p + 1] & 0xFF) << 16 | (frame[p + 2] & 0xFF) << 8 | frame[p + 3] & 0xFF;
+    }
+
+    private static int colorOf(int[][] shape) {
+        for (int[] row : shape) {
+            for (int value : row) {
+                if (value != 0) {
+                    return value;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static byte[] actions(String letters) {
+        return letters.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,160 @@
+package com.comp2042.spectate;
+
+import com.comp2042.Board;
+import com.comp2042.BoardEngine;
+import com.comp2042.ViewData;
+import com.comp2042.logic.ai.BotPlayer;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpectatorStreamTest {
+
+    private static final int ROWS = 25;
+    private static final int COLUMNS = 10;
+
+    @Test
+    void followsTheBoardThroughGarbageAndClears() {
+        for (BoardEngine engine : BoardEngine.values()) {
+            Board board = newBoard(engine, 1);
+            SpectatorStream stream = new SpectatorStream(board);
+            stream.publishKeyframe();
+            SpectatorSubscriber subscriber = stream.subscribe();
+            SpectatorState state = new SpectatorState();
+
+            int lines = play(board, stream, 400, () -> {
+                subscriber.poll(state);
+                assertSameBoard(board, state);
+            });
+
+            assertTrue(lines > 0, engine + " cleared no lines");
+            assertEquals(0, subscriber.getResyncs());
+            assertEquals(stream.getBytesPublished(), subscriber.getBytesRead());
+        }
+    }
+
+    @Test
+    void lappedSubscriberResynchronisesFromAKeyframe() {
+        Board board = newBoard(BoardEngine.SIMPLE, 2);
+        SpectatorStream stream = new SpectatorStream(board, 1024, 1000);
+        stream.publishKeyframe();
+        SpectatorSubscriber subscriber = stream.subscribe();
+        SpectatorState state = new SpectatorState();
+        subscriber.poll(state);
+
+        // Far more than the ring holds is published between two polls
+        play(board, stream, 200, () -> { });
+        subscriber.poll(state);
+
+        assertTrue(subscriber.getResyncs() > 0);
+        assertTrue(state.isReady());
+        assertSameBoard(board, state);
+    }
+
+    @Test
+    void lateSubscriberStartsAtTheLatestKeyframe() {
+        Board board = newBoard(BoardEngine.BITMASK, 3);
+        SpectatorStream stream = new SpectatorStream(board);
+        stream.publishKeyframe();
+        play(board, stream, 50, () -> { });
+        stream.publishKeyframe();
+        play(board, stream, 3, () -> { });
+
+        SpectatorSubscriber subscriber = stream.subscribe();
+        SpectatorState state = new SpectatorState();
+        assertFalse(state.isReady());
+        subscriber.poll(state);
+
+        assertSameBoard(board, state);
+        assertEquals(0, subscriber.getResyncs());
+    }
+
+    private static Board newBoard(BoardEngine engine, long seed) {
+        RandomBrickGenerator generator = new RandomBrickGenerator(seed);
+        Board board = engine.create(ROWS, COLUMNS, generator);
+        board.newGame(generator);
+        return board;
+    }
+
+    /**
+     * Plays bricks the way GameController publishes them: the moves of each brick, its merge and
+     * any clear, now and then a garbage row, and the next spawn. The check runs after every step.
+     *
+     * @return the number of lines cleared
+     */
+    private static int play(Board board, SpectatorStream stream, int bricks, Runnable check) {
+        BotPlayer bot = new BotPlayer(BotPlayer.getDefaultWeights());
+        SplittableRandom random = new SplittableRandom(bricks);
+        int lines = 0;
+        for (int i = 0; i < bricks; i++) {
+            bot.placeBrick(board);
+            stream.publishPiece();
+            stream.onFrame();
+            check.run();
+
+            board.mergeBrickToBackground();
+            stream.publishCells();
+            int cleared = board.clearRows().getLinesRemoved();
+            if (cleared > 0) {
+                stream.publishClear();
+                lines += cleared;
+            }
+            stream.onFrame();
+            check.run();
+
+            if (i % 7 == 3) {
+                int hole = random.nextInt(COLUMNS);
+                boolean toppedOut = board.addGarbageRow(hole);
+                stream.publishGarbage(hole);
+                // The rising stack may push the brick up
+                stream.publishPiece();
+                check.run();
+                if (toppedOut) {
+                    board.newGame();
+                    stream.publishKeyframe();
+                }
+            }
+            if (board.createNewBrick()) {
+                board.newGame();
+                stream.publishKeyframe();
+            } else {
+                stream.publishPiece();
+            }
+            check.run();
+        }
+        return lines;
+    }
+
+    private static void assertSameBoard(Board board, SpectatorState state) {
+        int[][] matrix = board.getBoardMatrix();
+        assertTrue(state.isReady());
+        assertEquals(matrix.length, state.getRows());
+        assertEquals(matrix[0].length, state.getColumns());
+        for (int r = 0; r < matrix.length; r++) {
+            for (int c = 0; c < matrix[r].length; c++) {
+                assertEquals(matrix[r][c], state.getCell(r, c), "cell " + r + ", " + c);
+            }
+        }
+        ViewData view = board.getViewData();
+        int[][] brick = view.getBrickData();
+        int color = 0;
+        int mask = 0;
+        for (int r = 0; r < brick.length; r++) {
+            for (int c = 0; c < brick[r].length; c++) {
+                if (brick[r][c] != 0) {
+                    color = brick[r][c];
+                    mask |= 1 << (r * 4 + c);
+                }
+            }
+        }
+        assertEquals(color, state.getPieceColor());
+        assertEquals(mask, state.getPieceMask());
+        assertEquals(view.getxPosition(), state.getPieceX());
+        assertEquals(view.getyPosition(), state.getPieceY());
+    }
+}